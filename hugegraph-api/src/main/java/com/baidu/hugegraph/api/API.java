@@ -23,11 +23,15 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.NotSupportedException;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.slf4j.Logger;
 
@@ -54,6 +58,14 @@ public class API {
                                APPLICATION_JSON + ";charset=" + CHARSET;
     public static final String JSON = MediaType.APPLICATION_JSON_TYPE
                                                .getSubtype();
+    public static final MediaType APPLICATION_JSON_WITH_CHARSET_TYPE =
+                                  MediaType.valueOf(
+                                  APPLICATION_JSON_WITH_CHARSET);
+
+    public static final String APPLICATION_BINARY =
+                               "application/x-hugegraph-binary";
+    public static final MediaType APPLICATION_BINARY_TYPE =
+                                  MediaType.valueOf(APPLICATION_BINARY);
 
     public static final String ACTION_APPEND = "append";
     public static final String ACTION_ELIMINATE = "eliminate";
@@ -121,6 +133,58 @@ public class API {
         });
     }
 
+    /**
+     * The returned output is written after the resource method returned,
+     * so the transaction opened by the query is closed after writing, or
+     * immediately if failed to create the output
+     */
+    public static StreamingOutput streaming(HugeGraph g,
+                                            Supplier<StreamingOutput> output) {
+        StreamingOutput streaming;
+        try {
+            streaming = output.get();
+        } catch (Throwable e) {
+            closeTx(g);
+            throw e;
+        }
+        return out -> {
+            try {
+                streaming.write(out);
+            } finally {
+                closeTx(g);
+            }
+        };
+    }
+
+    /**
+     * Choose the binary format only if the client prefers it explicitly,
+     * json is returned if any json or wildcard type is preferred
+     */
+    public static MediaType mediaType(HttpHeaders headers) {
+        // The acceptable types are sorted by quality
+        for (MediaType type : headers.getAcceptableMediaTypes()) {
+            if (APPLICATION_BINARY_TYPE.getType().equals(type.getType()) &&
+                APPLICATION_BINARY_TYPE.getSubtype()
+                                       .equals(type.getSubtype())) {
+                return APPLICATION_BINARY_TYPE;
+            }
+            if (type.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+                break;
+            }
+        }
+        return APPLICATION_JSON_WITH_CHARSET_TYPE;
+    }
+
+    public static Response response(MediaType type, StreamingOutput output) {
+        return Response.ok(output, type).build();
+    }
+
+    private static void closeTx(HugeGraph g) {
+        if (g.tx().isOpen()) {
+            g.tx().close();
+        }
+    }
+
     public static Object[] properties(Map<String, Object> properties) {
         Object[] list = new Object[properties.size() * 2];
         int i = 0;
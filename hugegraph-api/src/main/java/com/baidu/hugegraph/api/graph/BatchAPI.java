@@ -19,6 +19,7 @@
 
 package com.baidu.hugegraph.api.graph;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -36,6 +37,7 @@ import com.baidu.hugegraph.define.UpdateStrategy;
 import com.baidu.hugegraph.metrics.MetricsUtil;
 import com.baidu.hugegraph.server.RestServer;
 import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.structure.HugeProperty;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 import com.codahale.metrics.Meter;
@@ -99,6 +101,17 @@ public class BatchAPI extends API {
         public abstract void checkUpdate();
 
         protected abstract Object[] properties();
+
+        /**
+         * Fill label and properties with an element read from binary body
+         */
+        protected void fill(HugeElement element) {
+            this.label = element.label();
+            this.properties = new HashMap<>();
+            for (HugeProperty<?> prop : element.getProperties().values()) {
+                this.properties.put(prop.key(), prop.value());
+            }
+        }
     }
 
     protected void updateExistElement(JsonElement oldElement,
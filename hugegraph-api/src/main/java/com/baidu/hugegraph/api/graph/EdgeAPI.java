@@ -39,6 +39,9 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Direction;
@@ -55,6 +58,7 @@ import com.baidu.hugegraph.api.filter.StatusFilter.Status;
 import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.ServerOptions;
 import com.baidu.hugegraph.core.GraphManager;
@@ -63,6 +67,7 @@ import com.baidu.hugegraph.exception.NotFoundException;
 import com.baidu.hugegraph.schema.EdgeLabel;
 import com.baidu.hugegraph.schema.PropertyKey;
 import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.serializer.BinaryElementSerializer;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.traversal.optimize.QueryHolder;
@@ -130,11 +135,46 @@ public class EdgeAPI extends BatchAPI {
                          @DefaultValue("true") boolean checkVertex,
                          List<JsonEdge> jsonEdges) {
         LOG.debug("Graph [{}] create edges: {}", graph, jsonEdges);
-        checkCreatingBody(jsonEdges);
-        checkBatchSize(config, jsonEdges);
+        HugeGraph g = graph(manager, graph);
+
+        List<Id> ids = this.create(config, g, checkVertex, jsonEdges);
+        return manager.serializer(g).writeIds(ids);
+    }
 
+    @POST
+    @Timed(name = "batch-create-binary")
+    @Decompress
+    @Path("batch")
+    @Status(Status.CREATED)
+    @Consumes(APPLICATION_BINARY)
+    @Produces(APPLICATION_BINARY)
+    @RolesAllowed({"admin", "$owner=$graph $action=edge_write"})
+    public byte[] createBinary(@Context HugeConfig config,
+                               @Context GraphManager manager,
+                               @PathParam("graph") String graph,
+                               @QueryParam("check_vertex")
+                               @DefaultValue("true") boolean checkVertex,
+                               byte[] body) {
         HugeGraph g = graph(manager, graph);
 
+        BinaryElementSerializer serializer = BinaryElementSerializer.instance();
+        BytesBuffer buffer = BytesBuffer.wrap(body);
+        List<JsonEdge> jsonEdges = new ArrayList<>();
+        serializer.readElements(buffer, () -> {
+            HugeEdge edge = serializer.readEdge(g, buffer);
+            jsonEdges.add(JsonEdge.of(edge));
+        });
+        LOG.debug("Graph [{}] create edges: {}", graph, jsonEdges);
+
+        List<Id> ids = this.create(config, g, checkVertex, jsonEdges);
+        return serializer.writeIds(ids);
+    }
+
+    private List<Id> create(HugeConfig config, HugeGraph g,
+                            boolean checkVertex, List<JsonEdge> jsonEdges) {
+        checkCreatingBody(jsonEdges);
+        checkBatchSize(config, jsonEdges);
+
         TriFunction<HugeGraph, Object, String, Vertex> getVertex =
                     checkVertex ? EdgeAPI::getVertex : EdgeAPI::newVertex;
 
@@ -154,7 +194,7 @@ public class EdgeAPI extends BatchAPI {
                                               jsonEdge.properties());
                 ids.add((Id) edge.id());
             }
-            return manager.serializer(g).writeIds(ids);
+            return ids;
         });
     }
 
@@ -260,19 +300,20 @@ public class EdgeAPI extends BatchAPI {
     @GET
     @Timed
     @Compress
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY})
     @RolesAllowed({"admin", "$owner=$graph $action=edge_read"})
-    public String list(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       @QueryParam("vertex_id") String vertexId,
-                       @QueryParam("direction") String direction,
-                       @QueryParam("label") String label,
-                       @QueryParam("properties") String properties,
-                       @QueryParam("keep_start_p")
-                       @DefaultValue("false") boolean keepStartP,
-                       @QueryParam("offset") @DefaultValue("0") long offset,
-                       @QueryParam("page") String page,
-                       @QueryParam("limit") @DefaultValue("100") long limit) {
+    public Response list(@Context GraphManager manager,
+                         @Context HttpHeaders headers,
+                         @PathParam("graph") String graph,
+                         @QueryParam("vertex_id") String vertexId,
+                         @QueryParam("direction") String direction,
+                         @QueryParam("label") String label,
+                         @QueryParam("properties") String properties,
+                         @QueryParam("keep_start_p")
+                         @DefaultValue("false") boolean keepStartP,
+                         @QueryParam("offset") @DefaultValue("0") long offset,
+                         @QueryParam("page") String page,
+                         @QueryParam("limit") @DefaultValue("100") long limit) {
         LOG.debug("Graph [{}] query edges by vertex: {}, direction: {}, " +
                   "label: {}, properties: {}, offset: {}, page: {}, limit: {}",
                   graph, vertexId, direction,
@@ -325,13 +366,12 @@ public class EdgeAPI extends BatchAPI {
                                  .limit(limit);
         }
 
-        try {
-            return manager.serializer(g).writeEdges(traversal, page != null);
-        } finally {
-            if (g.tx().isOpen()) {
-                g.tx().close();
-            }
-        }
+        GraphTraversal<?, Edge> edges = traversal;
+        MediaType type = mediaType(headers);
+        return response(type, streaming(g, () -> {
+            return manager.serializer(g, type)
+                          .streamEdges(edges, page != null);
+        }));
     }
 
     @GET
@@ -509,6 +549,16 @@ public class EdgeAPI extends BatchAPI {
 
     private static class JsonEdge extends JsonElement {
 
+        public static JsonEdge of(HugeEdge edge) {
+            JsonEdge jsonEdge = new JsonEdge();
+            jsonEdge.fill(edge);
+            jsonEdge.source = edge.sourceVertex().id().asObject();
+            jsonEdge.sourceLabel = edge.sourceVertex().label();
+            jsonEdge.target = edge.targetVertex().id().asObject();
+            jsonEdge.targetLabel = edge.targetVertex().label();
+            return jsonEdge;
+        }
+
         @JsonProperty("outV")
         public Object source;
         @JsonProperty("outVLabel")
@@ -40,6 +40,9 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -54,6 +57,7 @@ import com.baidu.hugegraph.api.filter.StatusFilter.Status;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.SplicingIdGenerator;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.ServerOptions;
 import com.baidu.hugegraph.core.GraphManager;
@@ -61,6 +65,7 @@ import com.baidu.hugegraph.define.UpdateStrategy;
 import com.baidu.hugegraph.exception.NotFoundException;
 import com.baidu.hugegraph.schema.PropertyKey;
 import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.serializer.BinaryElementSerializer;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.traversal.optimize.QueryHolder;
 import com.baidu.hugegraph.traversal.optimize.Text;
@@ -109,17 +114,50 @@ public class VertexAPI extends BatchAPI {
                          @PathParam("graph") String graph,
                          List<JsonVertex> jsonVertices) {
         LOG.debug("Graph [{}] create vertices: {}", graph, jsonVertices);
-        checkCreatingBody(jsonVertices);
-        checkBatchSize(config, jsonVertices);
+        HugeGraph g = graph(manager, graph);
+
+        List<Id> ids = this.create(config, g, jsonVertices);
+        return manager.serializer(g).writeIds(ids);
+    }
 
+    @POST
+    @Timed(name = "batch-create-binary")
+    @Decompress
+    @Path("batch")
+    @Status(Status.CREATED)
+    @Consumes(APPLICATION_BINARY)
+    @Produces(APPLICATION_BINARY)
+    @RolesAllowed({"admin", "$owner=$graph $action=vertex_write"})
+    public byte[] createBinary(@Context HugeConfig config,
+                               @Context GraphManager manager,
+                               @PathParam("graph") String graph,
+                               byte[] body) {
         HugeGraph g = graph(manager, graph);
 
+        BinaryElementSerializer serializer = BinaryElementSerializer.instance();
+        BytesBuffer buffer = BytesBuffer.wrap(body);
+        List<JsonVertex> jsonVertices = new ArrayList<>();
+        serializer.readElements(buffer, () -> {
+            HugeVertex vertex = serializer.readVertex(g, buffer);
+            jsonVertices.add(JsonVertex.of(vertex));
+        });
+        LOG.debug("Graph [{}] create vertices: {}", graph, jsonVertices);
+
+        List<Id> ids = this.create(config, g, jsonVertices);
+        return serializer.writeIds(ids);
+    }
+
+    private List<Id> create(HugeConfig config, HugeGraph g,
+                            List<JsonVertex> jsonVertices) {
+        checkCreatingBody(jsonVertices);
+        checkBatchSize(config, jsonVertices);
+
         return this.commit(config, g, jsonVertices.size(), () -> {
             List<Id> ids = new ArrayList<>(jsonVertices.size());
             for (JsonVertex vertex : jsonVertices) {
                 ids.add((Id) g.addVertex(vertex.properties()).id());
             }
-            return manager.serializer(g).writeIds(ids);
+            return ids;
         });
     }
 
@@ -220,17 +258,18 @@ public class VertexAPI extends BatchAPI {
     @GET
     @Timed
     @Compress
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY})
     @RolesAllowed({"admin", "$owner=$graph $action=vertex_read"})
-    public String list(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       @QueryParam("label") String label,
-                       @QueryParam("properties") String properties,
-                       @QueryParam("keep_start_p")
-                       @DefaultValue("false") boolean keepStartP,
-                       @QueryParam("offset") @DefaultValue("0") long offset,
-                       @QueryParam("page") String page,
-                       @QueryParam("limit") @DefaultValue("100") long limit) {
+    public Response list(@Context GraphManager manager,
+                         @Context HttpHeaders headers,
+                         @PathParam("graph") String graph,
+                         @QueryParam("label") String label,
+                         @QueryParam("properties") String properties,
+                         @QueryParam("keep_start_p")
+                         @DefaultValue("false") boolean keepStartP,
+                         @QueryParam("offset") @DefaultValue("0") long offset,
+                         @QueryParam("page") String page,
+                         @QueryParam("limit") @DefaultValue("100") long limit) {
         LOG.debug("Graph [{}] query vertices by label: {}, properties: {}, " +
                   "offset: {}, page: {}, limit: {}",
                   graph, label, properties, offset, page, limit);
@@ -269,14 +308,12 @@ public class VertexAPI extends BatchAPI {
                                  .limit(limit);
         }
 
-        try {
-            return manager.serializer(g).writeVertices(traversal,
-                                                       page != null);
-        } finally {
-            if (g.tx().isOpen()) {
-                g.tx().close();
-            }
-        }
+        GraphTraversal<Vertex, Vertex> vertices = traversal;
+        MediaType type = mediaType(headers);
+        return response(type, streaming(g, () -> {
+            return manager.serializer(g, type)
+                          .streamVertices(vertices, page != null);
+        }));
     }
 
     @GET
@@ -421,6 +458,15 @@ public class VertexAPI extends BatchAPI {
 
     private static class JsonVertex extends JsonElement {
 
+        public static JsonVertex of(HugeVertex vertex) {
+            JsonVertex jsonVertex = new JsonVertex();
+            jsonVertex.fill(vertex);
+            if (vertex.id() != null) {
+                jsonVertex.id = vertex.id().asObject();
+            }
+            return jsonVertex;
+        }
+
         @Override
         public void checkCreate(boolean isBatch) {
             E.checkArgumentNotNull(this.label,
@@ -32,6 +32,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.slf4j.Logger;
 
@@ -58,19 +59,19 @@ public class AllShortestPathsAPI extends API {
     @GET
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String get(@Context GraphManager manager,
-                      @PathParam("graph") String graph,
-                      @QueryParam("source") String source,
-                      @QueryParam("target") String target,
-                      @QueryParam("direction") String direction,
-                      @QueryParam("label") String edgeLabel,
-                      @QueryParam("max_depth") int depth,
-                      @QueryParam("max_degree")
-                      @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
-                      @QueryParam("skip_degree")
-                      @DefaultValue("0") long skipDegree,
-                      @QueryParam("capacity")
-                      @DefaultValue(DEFAULT_CAPACITY) long capacity) {
+    public StreamingOutput get(@Context GraphManager manager,
+                               @PathParam("graph") String graph,
+                               @QueryParam("source") String source,
+                               @QueryParam("target") String target,
+                               @QueryParam("direction") String direction,
+                               @QueryParam("label") String edgeLabel,
+                               @QueryParam("max_depth") int depth,
+                               @QueryParam("max_degree")
+                               @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
+                               @QueryParam("skip_degree")
+                               @DefaultValue("0") long skipDegree,
+                               @QueryParam("capacity")
+                               @DefaultValue(DEFAULT_CAPACITY) long capacity) {
         LOG.debug("Graph [{}] get shortest path from '{}', to '{}' with " +
                   "direction {}, edge label {}, max depth '{}', " +
                   "max degree '{}', skipped degree '{}' and capacity '{}'",
@@ -89,6 +90,6 @@ public class AllShortestPathsAPI extends API {
         HugeTraverser.PathSet paths = traverser.allShortestPaths(
                                       sourceId, targetId, dir, edgeLabels,
                                       depth, maxDegree, skipDegree, capacity);
-        return manager.serializer(g).writePaths("paths", paths, false);
+        return manager.serializer(g).streamPaths("paths", paths, false);
     }
 }
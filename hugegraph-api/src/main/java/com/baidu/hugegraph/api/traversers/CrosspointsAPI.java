@@ -31,6 +31,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.slf4j.Logger;
 
@@ -56,19 +57,19 @@ public class CrosspointsAPI extends API {
     @GET
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String get(@Context GraphManager manager,
-                      @PathParam("graph") String graph,
-                      @QueryParam("source") String source,
-                      @QueryParam("target") String target,
-                      @QueryParam("direction") String direction,
-                      @QueryParam("label") String edgeLabel,
-                      @QueryParam("max_depth") int depth,
-                      @QueryParam("max_degree")
-                      @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
-                      @QueryParam("capacity")
-                      @DefaultValue(DEFAULT_CAPACITY) long capacity,
-                      @QueryParam("limit")
-                      @DefaultValue(DEFAULT_PATHS_LIMIT) long limit) {
+    public StreamingOutput get(@Context GraphManager manager,
+                               @PathParam("graph") String graph,
+                               @QueryParam("source") String source,
+                               @QueryParam("target") String target,
+                               @QueryParam("direction") String direction,
+                               @QueryParam("label") String edgeLabel,
+                               @QueryParam("max_depth") int depth,
+                               @QueryParam("max_degree")
+                               @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
+                               @QueryParam("capacity")
+                               @DefaultValue(DEFAULT_CAPACITY) long capacity,
+                               @QueryParam("limit")
+                               @DefaultValue(DEFAULT_PATHS_LIMIT) long limit) {
         LOG.debug("Graph [{}] get crosspoints with paths from '{}', to '{}' " +
                   "with direction '{}', edge label '{}', max depth '{}', " +
                   "max degree '{}', capacity '{}' and limit '{}'",
@@ -84,6 +85,6 @@ public class CrosspointsAPI extends API {
         HugeTraverser.PathSet paths = traverser.paths(sourceId, dir, targetId,
                                                       dir, edgeLabel, depth,
                                                       maxDegree, capacity, limit);
-        return manager.serializer(g).writePaths("crosspoints", paths, true);
+        return manager.serializer(g).streamPaths("crosspoints", paths, true);
     }
 }
@@ -37,6 +37,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
@@ -66,9 +67,9 @@ public class CustomizedCrosspointsAPI extends API {
     @Timed
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       CrosspointsRequest request) {
+    public StreamingOutput post(@Context GraphManager manager,
+                                @PathParam("graph") String graph,
+                                CrosspointsRequest request) {
         E.checkArgumentNotNull(request,
                                "The crosspoints request body can't be null");
         E.checkArgumentNotNull(request.sources,
@@ -96,8 +97,8 @@ public class CustomizedCrosspointsAPI extends API {
                                            request.limit);
         Iterator<Vertex> iter = QueryResults.emptyIterator();
         if (!request.withVertex) {
-            return manager.serializer(g).writeCrosspoints(paths, iter,
-                                                          request.withPath);
+            return manager.serializer(g).streamCrosspoints(paths, iter,
+                                                           request.withPath);
         }
         Set<Id> ids = new HashSet<>();
         if (request.withPath) {
@@ -110,8 +111,8 @@ public class CustomizedCrosspointsAPI extends API {
         if (!ids.isEmpty()) {
             iter = g.vertices(ids.toArray());
         }
-        return manager.serializer(g).writeCrosspoints(paths, iter,
-                                                      request.withPath);
+        return manager.serializer(g).streamCrosspoints(paths, iter,
+                                                       request.withPath);
     }
 
     private static List<CustomizedCrosspointsTraverser.PathPattern>
@@ -39,6 +39,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
@@ -69,9 +70,9 @@ public class CustomizedPathsAPI extends API {
     @Timed
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       PathRequest request) {
+    public StreamingOutput post(@Context GraphManager manager,
+                                @PathParam("graph") String graph,
+                                PathRequest request) {
         E.checkArgumentNotNull(request, "The path request body can't be null");
         E.checkArgumentNotNull(request.sources,
                                "The sources of path request can't be null");
@@ -104,7 +105,7 @@ public class CustomizedPathsAPI extends API {
         }
 
         if (!request.withVertex) {
-            return manager.serializer(g).writePaths("paths", paths, false);
+            return manager.serializer(g).streamPaths("paths", paths, false);
         }
 
         Set<Id> ids = new HashSet<>();
@@ -115,7 +116,7 @@ public class CustomizedPathsAPI extends API {
         if (!ids.isEmpty()) {
             iter = g.vertices(ids.toArray());
         }
-        return manager.serializer(g).writePaths("paths", paths, false, iter);
+        return manager.serializer(g).streamPaths("paths", paths, false, iter);
     }
 
     private static List<WeightedEdgeStep> step(HugeGraph graph,
@@ -33,6 +33,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
@@ -61,9 +62,9 @@ public class FusiformSimilarityAPI extends API {
     @Timed
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       FusiformSimilarityRequest request) {
+    public StreamingOutput post(@Context GraphManager manager,
+                                @PathParam("graph") String graph,
+                                FusiformSimilarityRequest request) {
         E.checkArgumentNotNull(request, "The fusiform similarity " +
                                "request body can't be null");
         E.checkArgumentNotNull(request.sources,
@@ -116,7 +117,7 @@ public class FusiformSimilarityAPI extends API {
         if (request.withVertex && !result.isEmpty()) {
             iterator = g.vertices(result.vertices().toArray());
         }
-        return manager.serializer(g).writeSimilars(result, iterator);
+        return manager.serializer(g).streamSimilars(result, iterator);
     }
 
     private static class FusiformSimilarityRequest {
@@ -36,6 +36,9 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
@@ -46,6 +49,7 @@ import com.baidu.hugegraph.api.graph.VertexAPI;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.QueryResults;
 import com.baidu.hugegraph.core.GraphManager;
+import com.baidu.hugegraph.serializer.StreamingSerializer;
 import com.baidu.hugegraph.server.RestServer;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.traversal.algorithm.records.KneighborRecords;
@@ -99,10 +103,11 @@ public class KneighborAPI extends TraverserAPI {
     @POST
     @Timed
     @Consumes(APPLICATION_JSON)
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       Request request) {
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY})
+    public Response post(@Context GraphManager manager,
+                         @Context HttpHeaders headers,
+                         @PathParam("graph") String graph,
+                         Request request) {
         E.checkArgumentNotNull(request, "The request body can't be null");
         E.checkArgumentNotNull(request.source,
                                "The source of request can't be null");
@@ -150,9 +155,11 @@ public class KneighborAPI extends TraverserAPI {
                 iter = g.vertices(ids.toArray());
             }
         }
-        return manager.serializer(g).writeNodesWithPath("kneighbor", neighbors,
-                                                        paths, iter,
-                                                        request.countOnly);
+        MediaType type = mediaType(headers);
+        StreamingSerializer serializer = manager.serializer(g, type);
+        return response(type, serializer.streamNodesWithPath(
+                              "kneighbor", neighbors, paths, iter,
+                              request.countOnly));
     }
 
     private static class Request {
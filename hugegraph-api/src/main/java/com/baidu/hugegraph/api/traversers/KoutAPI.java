@@ -37,6 +37,9 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
@@ -104,10 +107,11 @@ public class KoutAPI extends TraverserAPI {
     @POST
     @Timed
     @Consumes(APPLICATION_JSON)
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       Request request) {
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY})
+    public Response post(@Context GraphManager manager,
+                         @Context HttpHeaders headers,
+                         @PathParam("graph") String graph,
+                         Request request) {
         E.checkArgumentNotNull(request, "The request body can't be null");
         E.checkArgumentNotNull(request.source,
                                "The source of request can't be null");
@@ -159,9 +163,11 @@ public class KoutAPI extends TraverserAPI {
                 iter = g.vertices(ids.toArray());
             }
         }
-        return manager.serializer(g).writeNodesWithPath("kout", neighbors,
-                                                        paths, iter,
-                                                        request.countOnly);
+        MediaType type = mediaType(headers);
+        return response(type, manager.serializer(g, type)
+                                     .streamNodesWithPath("kout", neighbors,
+                                                          paths, iter,
+                                                          request.countOnly));
     }
 
     private static class Request {
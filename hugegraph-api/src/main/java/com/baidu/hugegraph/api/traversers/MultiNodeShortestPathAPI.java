@@ -33,6 +33,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
@@ -60,9 +61,9 @@ public class MultiNodeShortestPathAPI extends TraverserAPI {
     @Timed
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       Request request) {
+    public StreamingOutput post(@Context GraphManager manager,
+                                @PathParam("graph") String graph,
+                                Request request) {
         E.checkArgumentNotNull(request, "The request body can't be null");
         E.checkArgumentNotNull(request.vertices,
                                "The vertices of request can't be null");
@@ -89,7 +90,7 @@ public class MultiNodeShortestPathAPI extends TraverserAPI {
         }
 
         if (!request.withVertex) {
-            return manager.serializer(g).writePaths("paths", paths, false);
+            return manager.serializer(g).streamPaths("paths", paths, false);
         }
 
         Set<Id> ids = new HashSet<>();
@@ -100,7 +101,7 @@ public class MultiNodeShortestPathAPI extends TraverserAPI {
         if (!ids.isEmpty()) {
             iter = g.vertices(ids.toArray());
         }
-        return manager.serializer(g).writePaths("paths", paths, false, iter);
+        return manager.serializer(g).streamPaths("paths", paths, false, iter);
     }
 
     private static class Request {
@@ -38,6 +38,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
@@ -68,19 +69,19 @@ public class PathsAPI extends TraverserAPI {
     @GET
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String get(@Context GraphManager manager,
-                      @PathParam("graph") String graph,
-                      @QueryParam("source") String source,
-                      @QueryParam("target") String target,
-                      @QueryParam("direction") String direction,
-                      @QueryParam("label") String edgeLabel,
-                      @QueryParam("max_depth") int depth,
-                      @QueryParam("max_degree")
-                      @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
-                      @QueryParam("capacity")
-                      @DefaultValue(DEFAULT_CAPACITY) long capacity,
-                      @QueryParam("limit")
-                      @DefaultValue(DEFAULT_PATHS_LIMIT) long limit) {
+    public StreamingOutput get(@Context GraphManager manager,
+                               @PathParam("graph") String graph,
+                               @QueryParam("source") String source,
+                               @QueryParam("target") String target,
+                               @QueryParam("direction") String direction,
+                               @QueryParam("label") String edgeLabel,
+                               @QueryParam("max_depth") int depth,
+                               @QueryParam("max_degree")
+                               @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
+                               @QueryParam("capacity")
+                               @DefaultValue(DEFAULT_CAPACITY) long capacity,
+                               @QueryParam("limit")
+                               @DefaultValue(DEFAULT_PATHS_LIMIT) long limit) {
         LOG.debug("Graph [{}] get paths from '{}', to '{}' with " +
                   "direction {}, edge label {}, max depth '{}', " +
                   "max degree '{}', capacity '{}' and limit '{}'",
@@ -97,16 +98,16 @@ public class PathsAPI extends TraverserAPI {
                                                       dir.opposite(), edgeLabel,
                                                       depth, maxDegree, capacity,
                                                       limit);
-        return manager.serializer(g).writePaths("paths", paths, false);
+        return manager.serializer(g).streamPaths("paths", paths, false);
     }
 
     @POST
     @Timed
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       Request request) {
+    public StreamingOutput post(@Context GraphManager manager,
+                                @PathParam("graph") String graph,
+                                Request request) {
         E.checkArgumentNotNull(request, "The request body can't be null");
         E.checkArgumentNotNull(request.sources,
                                "The sources of request can't be null");
@@ -137,7 +138,7 @@ public class PathsAPI extends TraverserAPI {
                                 request.limit);
 
         if (!request.withVertex) {
-            return manager.serializer(g).writePaths("paths", paths, false);
+            return manager.serializer(g).streamPaths("paths", paths, false);
         }
 
         Set<Id> ids = new HashSet<>();
@@ -148,7 +149,7 @@ public class PathsAPI extends TraverserAPI {
         if (!ids.isEmpty()) {
             iter = g.vertices(ids.toArray());
         }
-        return manager.serializer(g).writePaths("paths", paths, false, iter);
+        return manager.serializer(g).streamPaths("paths", paths, false, iter);
     }
 
     private static class Request {
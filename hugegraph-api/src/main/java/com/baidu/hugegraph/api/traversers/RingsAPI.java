@@ -31,6 +31,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.slf4j.Logger;
 
@@ -56,20 +57,20 @@ public class RingsAPI extends API {
     @GET
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String get(@Context GraphManager manager,
-                      @PathParam("graph") String graph,
-                      @QueryParam("source") String sourceV,
-                      @QueryParam("direction") String direction,
-                      @QueryParam("label") String edgeLabel,
-                      @QueryParam("max_depth") int depth,
-                      @QueryParam("source_in_ring")
-                      @DefaultValue("true") boolean sourceInRing,
-                      @QueryParam("max_degree")
-                      @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
-                      @QueryParam("capacity")
-                      @DefaultValue(DEFAULT_CAPACITY) long capacity,
-                      @QueryParam("limit")
-                      @DefaultValue(DEFAULT_PATHS_LIMIT) long limit) {
+    public StreamingOutput get(@Context GraphManager manager,
+                               @PathParam("graph") String graph,
+                               @QueryParam("source") String sourceV,
+                               @QueryParam("direction") String direction,
+                               @QueryParam("label") String edgeLabel,
+                               @QueryParam("max_depth") int depth,
+                               @QueryParam("source_in_ring")
+                               @DefaultValue("true") boolean sourceInRing,
+                               @QueryParam("max_degree")
+                               @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
+                               @QueryParam("capacity")
+                               @DefaultValue(DEFAULT_CAPACITY) long capacity,
+                               @QueryParam("limit")
+                               @DefaultValue(DEFAULT_PATHS_LIMIT) long limit) {
         LOG.debug("Graph [{}] get rings paths reachable from '{}' with " +
                   "direction '{}', edge label '{}', max depth '{}', " +
                   "source in ring '{}', max degree '{}', capacity '{}' " +
@@ -86,6 +87,6 @@ public class RingsAPI extends API {
         HugeTraverser.PathSet paths = traverser.rings(source, dir, edgeLabel,
                                                       depth, sourceInRing,
                                                       maxDegree, capacity, limit);
-        return manager.serializer(g).writePaths("rings", paths, false);
+        return manager.serializer(g).streamPaths("rings", paths, false);
     }
 }
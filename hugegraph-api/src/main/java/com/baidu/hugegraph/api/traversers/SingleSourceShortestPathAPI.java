@@ -33,6 +33,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
@@ -60,21 +61,21 @@ public class SingleSourceShortestPathAPI extends API {
     @GET
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String get(@Context GraphManager manager,
-                      @PathParam("graph") String graph,
-                      @QueryParam("source") String source,
-                      @QueryParam("direction") String direction,
-                      @QueryParam("label") String edgeLabel,
-                      @QueryParam("weight") String weight,
-                      @QueryParam("max_degree")
-                      @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
-                      @QueryParam("skip_degree")
-                      @DefaultValue("0") long skipDegree,
-                      @QueryParam("capacity")
-                      @DefaultValue(DEFAULT_CAPACITY) long capacity,
-                      @QueryParam("limit")
-                      @DefaultValue(DEFAULT_PATHS_LIMIT) long limit,
-                      @QueryParam("with_vertex") boolean withVertex) {
+    public StreamingOutput get(@Context GraphManager manager,
+                               @PathParam("graph") String graph,
+                               @QueryParam("source") String source,
+                               @QueryParam("direction") String direction,
+                               @QueryParam("label") String edgeLabel,
+                               @QueryParam("weight") String weight,
+                               @QueryParam("max_degree")
+                               @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
+                               @QueryParam("skip_degree")
+                               @DefaultValue("0") long skipDegree,
+                               @QueryParam("capacity")
+                               @DefaultValue(DEFAULT_CAPACITY) long capacity,
+                               @QueryParam("limit")
+                               @DefaultValue(DEFAULT_PATHS_LIMIT) long limit,
+                               @QueryParam("with_vertex") boolean withVertex) {
         LOG.debug("Graph [{}] get single source shortest path from '{}' " +
                   "with direction {}, edge label {}, weight property {}, " +
                   "max degree '{}', limit '{}' and with vertex '{}'",
@@ -95,6 +96,6 @@ public class SingleSourceShortestPathAPI extends API {
         if (!paths.isEmpty() && withVertex) {
             iterator = g.vertices(paths.vertices().toArray());
         }
-        return manager.serializer(g).writeWeightedPaths(paths, iterator);
+        return manager.serializer(g).streamWeightedPaths(paths, iterator);
     }
 }
@@ -35,6 +35,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
@@ -62,9 +63,9 @@ public class TemplatePathsAPI extends TraverserAPI {
     @Timed
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       Request request) {
+    public StreamingOutput post(@Context GraphManager manager,
+                                @PathParam("graph") String graph,
+                                Request request) {
         E.checkArgumentNotNull(request, "The request body can't be null");
         E.checkArgumentNotNull(request.sources,
                                "The sources of request can't be null");
@@ -91,7 +92,7 @@ public class TemplatePathsAPI extends TraverserAPI {
                                         request.limit);
 
         if (!request.withVertex) {
-            return manager.serializer(g).writePaths("paths", paths, false);
+            return manager.serializer(g).streamPaths("paths", paths, false);
         }
 
         Set<Id> ids = new HashSet<>();
@@ -102,7 +103,7 @@ public class TemplatePathsAPI extends TraverserAPI {
         if (!ids.isEmpty()) {
             iter = g.vertices(ids.toArray());
         }
-        return manager.serializer(g).writePaths("paths", paths, false, iter);
+        return manager.serializer(g).streamPaths("paths", paths, false, iter);
     }
 
     private static List<RepeatEdgeStep> steps(HugeGraph g,
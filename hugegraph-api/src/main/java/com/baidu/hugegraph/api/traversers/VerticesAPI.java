@@ -32,6 +32,9 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
@@ -59,10 +62,11 @@ public class VerticesAPI extends API {
     @GET
     @Timed
     @Compress
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String list(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       @QueryParam("ids") List<String> stringIds) {
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY})
+    public Response list(@Context GraphManager manager,
+                         @Context HttpHeaders headers,
+                         @PathParam("graph") String graph,
+                         @QueryParam("ids") List<String> stringIds) {
         LOG.debug("Graph [{}] get vertices by ids: {}", graph, stringIds);
 
         E.checkArgument(stringIds != null && !stringIds.isEmpty(),
@@ -76,7 +80,9 @@ public class VerticesAPI extends API {
         HugeGraph g = graph(manager, graph);
 
         Iterator<Vertex> vertices = g.vertices(ids);
-        return manager.serializer(g).writeVertices(vertices, false);
+        MediaType type = mediaType(headers);
+        return response(type, manager.serializer(g, type)
+                                     .streamVertices(vertices, false));
     }
 
     @GET
@@ -99,14 +105,15 @@ public class VerticesAPI extends API {
     @Timed
     @Path("scan")
     @Compress
-    @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String scan(@Context GraphManager manager,
-                       @PathParam("graph") String graph,
-                       @QueryParam("start") String start,
-                       @QueryParam("end") String end,
-                       @QueryParam("page") String page,
-                       @QueryParam("page_limit")
-                       @DefaultValue(DEFAULT_PAGE_LIMIT) long pageLimit) {
+    @Produces({APPLICATION_JSON_WITH_CHARSET, APPLICATION_BINARY})
+    public Response scan(@Context GraphManager manager,
+                         @Context HttpHeaders headers,
+                         @PathParam("graph") String graph,
+                         @QueryParam("start") String start,
+                         @QueryParam("end") String end,
+                         @QueryParam("page") String page,
+                         @QueryParam("page_limit")
+                         @DefaultValue(DEFAULT_PAGE_LIMIT) long pageLimit) {
         LOG.debug("Graph [{}] query vertices by shard(start: {}, end: {}, " +
                   "page: {}) ", graph, start, end, page);
 
@@ -120,6 +127,8 @@ public class VerticesAPI extends API {
         }
         Iterator<Vertex> vertices = g.vertices(query);
 
-        return manager.serializer(g).writeVertices(vertices, query.paging());
+        MediaType type = mediaType(headers);
+        return response(type, manager.serializer(g, type)
+                                     .streamVertices(vertices, query.paging()));
     }
 }
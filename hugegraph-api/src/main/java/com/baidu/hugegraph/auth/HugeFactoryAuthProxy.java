@@ -56,6 +56,7 @@ import com.baidu.hugegraph.task.TaskCallable.SysTaskCallable;
 import com.baidu.hugegraph.task.TaskManager;
 import com.baidu.hugegraph.traversal.optimize.HugeCountStepStrategy;
 import com.baidu.hugegraph.traversal.optimize.HugeGraphStepStrategy;
+import com.baidu.hugegraph.traversal.optimize.HugeVertexStepByBatchStrategy;
 import com.baidu.hugegraph.traversal.optimize.HugeVertexStepStrategy;
 import com.baidu.hugegraph.variables.HugeVariables;
 import com.google.common.collect.ImmutableSet;
@@ -194,6 +195,8 @@ public final class HugeFactoryAuthProxy {
         Reflection.registerMethodsToFilter(com.baidu.hugegraph.serializer.JsonSerializer.class, "writeIterator", "instance");
         Reflection.registerFieldsToFilter(com.baidu.hugegraph.traversal.optimize.HugeVertexStepStrategy.class, "serialVersionUID", "INSTANCE");
         Reflection.registerMethodsToFilter(com.baidu.hugegraph.traversal.optimize.HugeVertexStepStrategy.class, "instance");
+        Reflection.registerFieldsToFilter(com.baidu.hugegraph.traversal.optimize.HugeVertexStepByBatchStrategy.class, "serialVersionUID", "INSTANCE");
+        Reflection.registerMethodsToFilter(com.baidu.hugegraph.traversal.optimize.HugeVertexStepByBatchStrategy.class, "instance");
         Reflection.registerFieldsToFilter(com.baidu.hugegraph.traversal.optimize.HugeGraphStepStrategy.class, "serialVersionUID", "INSTANCE");
         Reflection.registerMethodsToFilter(com.baidu.hugegraph.traversal.optimize.HugeGraphStepStrategy.class, "instance");
         Reflection.registerFieldsToFilter(com.baidu.hugegraph.traversal.optimize.HugeCountStepStrategy.class, "serialVersionUID", "INSTANCE");
@@ -265,6 +268,7 @@ public final class HugeFactoryAuthProxy {
         registerPrivateActions(ServerReporter.class);
         registerPrivateActions(JsonSerializer.class);
         registerPrivateActions(HugeVertexStepStrategy.class);
+        registerPrivateActions(HugeVertexStepByBatchStrategy.class);
         registerPrivateActions(HugeGraphStepStrategy.class);
         registerPrivateActions(HugeCountStepStrategy.class);
     }
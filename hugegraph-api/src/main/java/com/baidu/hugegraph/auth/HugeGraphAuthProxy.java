@@ -66,11 +66,13 @@ import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.BackendFeatures;
 import com.baidu.hugegraph.backend.store.BackendStoreSystemInfo;
 import com.baidu.hugegraph.backend.store.raft.RaftGroupManager;
+import com.baidu.hugegraph.backend.store.ram.RamTable;
 import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.TypedOption;
 import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.iterator.FilterIterator;
+import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.rpc.RpcServiceConfig4Client;
 import com.baidu.hugegraph.rpc.RpcServiceConfig4Server;
 import com.baidu.hugegraph.schema.EdgeLabel;
@@ -91,6 +93,7 @@ import com.baidu.hugegraph.task.TaskStatus;
 import com.baidu.hugegraph.traversal.optimize.HugeScriptTraversal;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.Namifiable;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.GraphMode;
 import com.baidu.hugegraph.type.define.GraphReadMode;
 import com.baidu.hugegraph.type.define.NodeRole;
@@ -493,6 +496,28 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         return verifyElemPermission(HugePermission.READ, edges);
     }
 
+    @Override
+    public Iterator<Edge> adjacentEdges(Collection<Id> vertexIds,
+                                        Directions direction,
+                                        Id[] edgeLabels, long limit) {
+        Iterator<Edge> edges = this.hugegraph.adjacentEdges(vertexIds,
+                                                            direction,
+                                                            edgeLabels, limit);
+        return verifyElemPermission(HugePermission.READ, edges);
+    }
+
+    @Override
+    public Iterator<Id> adjacentVertexIds(Collection<Id> vertexIds,
+                                          Directions direction,
+                                          Id[] edgeLabels, long limit) {
+        // Read the edges to verify the permission of each edge
+        Iterator<Edge> edges = this.adjacentEdges(vertexIds, direction,
+                                                  edgeLabels, limit);
+        return new MapperIterator<>(edges, edge -> {
+            return ((HugeEdge) edge).id().otherVertexId();
+        });
+    }
+
     @Override
     public Number queryNumber(Query query) {
         ResourceType resType;
@@ -679,6 +704,15 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         return this.hugegraph.raftGroupManager(group);
     }
 
+    @Override
+    public RamTable ramtable() {
+        /*
+         * The adjacency in ramtable can't be verified edge by edge, so just
+         * hide it and let the caller read edges through this proxy
+         */
+        return null;
+    }
+
     @Override
     public void registerRpcServices(RpcServiceConfig4Server serverConfig,
                                     RpcServiceConfig4Client clientConfig) {
@@ -27,6 +27,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.ws.rs.core.MediaType;
+
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticationException;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -36,6 +38,7 @@ import org.slf4j.Logger;
 
 import com.baidu.hugegraph.HugeFactory;
 import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.api.API;
 import com.baidu.hugegraph.auth.AuthManager;
 import com.baidu.hugegraph.auth.HugeAuthenticator;
 import com.baidu.hugegraph.auth.HugeFactoryAuthProxy;
@@ -43,6 +46,7 @@ import com.baidu.hugegraph.auth.HugeGraphAuthProxy;
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.cache.Cache;
 import com.baidu.hugegraph.backend.cache.CacheManager;
+import com.baidu.hugegraph.backend.cache.LevelCache;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.store.BackendStoreSystemInfo;
 import com.baidu.hugegraph.config.HugeConfig;
@@ -55,8 +59,10 @@ import com.baidu.hugegraph.rpc.RpcClientProvider;
 import com.baidu.hugegraph.rpc.RpcConsumerConfig;
 import com.baidu.hugegraph.rpc.RpcProviderConfig;
 import com.baidu.hugegraph.rpc.RpcServer;
+import com.baidu.hugegraph.serializer.BinaryElementSerializer;
 import com.baidu.hugegraph.serializer.JsonSerializer;
 import com.baidu.hugegraph.serializer.Serializer;
+import com.baidu.hugegraph.serializer.StreamingSerializer;
 import com.baidu.hugegraph.server.RestServer;
 import com.baidu.hugegraph.task.TaskManager;
 import com.baidu.hugegraph.type.define.NodeRole;
@@ -126,6 +132,13 @@ public final class GraphManager {
         return JsonSerializer.instance();
     }
 
+    public StreamingSerializer serializer(Graph g, MediaType type) {
+        if (API.APPLICATION_BINARY_TYPE.isCompatible(type)) {
+            return BinaryElementSerializer.instance();
+        }
+        return this.serializer(g);
+    }
+
     public void rollbackAll() {
         this.graphs.values().forEach(graph -> {
             if (graph.features().graph().supportsTransactions() &&
@@ -345,21 +358,40 @@ public final class GraphManager {
             Cache<?, ?> cache = entry.getValue();
 
             String hits = String.format("%s.%s", key, "hits");
-            String miss = String.format("%s.%s", key, "miss");
             String exp = String.format("%s.%s", key, "expire");
-            String size = String.format("%s.%s", key, "size");
-            String cap = String.format("%s.%s", key, "capacity");
 
             // Avoid registering multiple times
             if (names.stream().anyMatch(name -> name.endsWith(hits))) {
                 continue;
             }
 
-            MetricsUtil.registerGauge(Cache.class, hits, () -> cache.hits());
-            MetricsUtil.registerGauge(Cache.class, miss, () -> cache.miss());
+            registerCacheMetrics(key, cache);
             MetricsUtil.registerGauge(Cache.class, exp, () -> cache.expire());
-            MetricsUtil.registerGauge(Cache.class, size, () -> cache.size());
-            MetricsUtil.registerGauge(Cache.class, cap, () -> cache.capacity());
+
+            if (cache instanceof LevelCache) {
+                LevelCache levelCache = (LevelCache) cache;
+                String prom = String.format("%s.%s", key, "promotions");
+                MetricsUtil.registerGauge(Cache.class, prom,
+                                          () -> levelCache.promotions());
+                for (int i = 0; i < levelCache.levels(); i++) {
+                    String level = String.format("%s.level%s", key, i + 1);
+                    registerCacheMetrics(level, levelCache.level(i));
+                }
+            }
         }
     }
+
+    private static void registerCacheMetrics(String key, Cache<?, ?> cache) {
+        String hits = String.format("%s.%s", key, "hits");
+        String miss = String.format("%s.%s", key, "miss");
+        String evict = String.format("%s.%s", key, "evictions");
+        String size = String.format("%s.%s", key, "size");
+        String cap = String.format("%s.%s", key, "capacity");
+
+        MetricsUtil.registerGauge(Cache.class, hits, () -> cache.hits());
+        MetricsUtil.registerGauge(Cache.class, miss, () -> cache.miss());
+        MetricsUtil.registerGauge(Cache.class, evict, () -> cache.evictions());
+        MetricsUtil.registerGauge(Cache.class, size, () -> cache.size());
+        MetricsUtil.registerGauge(Cache.class, cap, () -> cache.capacity());
+    }
 }
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.page.PageInfo;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.iterator.Metadatable;
+import com.baidu.hugegraph.schema.EdgeLabel;
+import com.baidu.hugegraph.schema.PropertyKey;
+import com.baidu.hugegraph.schema.SchemaElement;
+import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.structure.HugeProperty;
+import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+import com.baidu.hugegraph.traversal.optimize.TraversalUtil;
+
+/**
+ * The compact binary wire format of elements, which is schema-aware: labels
+ * and property keys are written as their ids, and the values are encoded by
+ * BytesBuffer like the binary backend serializer does.
+ *
+ * vertex: label(vint) + has-id(bool) + [id] + properties
+ * edge: label(vint) + source-id + target-id + properties
+ * properties: size(vint) + {property-key(vint) + value}
+ * element list: {0x01 + element} + 0x00 + has-page(bool) + [page(string)]
+ * ids: size(vint) + {id}
+ *
+ * The client is expected to hold the schema to map the ids to names, and
+ * the edge id can be got by HugeEdge.assignId() after the edge is read.
+ */
+public class BinaryElementSerializer implements StreamingSerializer {
+
+    private static final byte ELEMENT_NEXT = 0x01;
+    private static final byte ELEMENT_END = 0x00;
+
+    // Write elements to the response stream by 8KB chunks
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private static BinaryElementSerializer INSTANCE =
+                                           new BinaryElementSerializer();
+
+    private BinaryElementSerializer() {
+    }
+
+    public static BinaryElementSerializer instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public StreamingOutput streamVertices(Iterator<Vertex> vertices,
+                                          boolean paging) {
+        return this.streamIterator(vertices, paging, (buffer, vertex) -> {
+            this.writeVertex(buffer, (HugeVertex) vertex);
+        });
+    }
+
+    @Override
+    public StreamingOutput streamEdges(Iterator<Edge> edges, boolean paging) {
+        return this.streamIterator(edges, paging, (buffer, edge) -> {
+            this.writeEdge(buffer, (HugeEdge) edge);
+        });
+    }
+
+    @Override
+    public StreamingOutput streamNodesWithPath(String name, Set<Id> nodes,
+                                               Collection<HugeTraverser.Path>
+                                               paths,
+                                               Iterator<Vertex> iterator,
+                                               boolean countOnly) {
+        return out -> {
+            BytesBuffer buffer = BytesBuffer.allocate(CHUNK_SIZE);
+            buffer.writeVInt(nodes.size());
+            if (countOnly) {
+                buffer.writeVInt(0);
+            } else {
+                this.writeIds(out, buffer, nodes);
+            }
+            buffer.writeVInt(paths.size());
+            for (HugeTraverser.Path path : paths) {
+                this.writeIds(out, buffer, path.vertices());
+            }
+            this.writeElements(out, buffer, iterator, false, (buf, vertex) -> {
+                this.writeVertex(buf, (HugeVertex) vertex);
+            });
+        };
+    }
+
+    /**
+     * Write the vertices like streamVertices(), it's used by clients to
+     * build the body of batch creating request
+     */
+    public byte[] writeVertices(Collection<HugeVertex> vertices) {
+        return this.writeElements(vertices.iterator(), this::writeVertex);
+    }
+
+    /**
+     * Write the edges like streamEdges(), it's used by clients to build
+     * the body of batch creating request
+     */
+    public byte[] writeEdges(Collection<HugeEdge> edges) {
+        return this.writeElements(edges.iterator(), this::writeEdge);
+    }
+
+    public byte[] writeIds(List<Id> ids) {
+        BytesBuffer buffer = BytesBuffer.allocate(4 + 8 * ids.size());
+        buffer.writeVInt(ids.size());
+        for (Id id : ids) {
+            buffer.writeId(id);
+        }
+        return buffer.bytes();
+    }
+
+    public List<Id> readIds(BytesBuffer buffer) {
+        int size = buffer.readVInt();
+        List<Id> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(buffer.readId());
+        }
+        return ids;
+    }
+
+    public void writeVertex(BytesBuffer buffer, HugeVertex vertex) {
+        vertex.forceLoad();
+        buffer.writeVInt(SchemaElement.schemaId(vertex.schemaLabel().id()));
+        Id id = vertex.id();
+        buffer.writeBoolean(id != null);
+        if (id != null) {
+            buffer.writeId(id);
+        }
+        this.writeProperties(buffer, vertex);
+    }
+
+    public HugeVertex readVertex(HugeGraph graph, BytesBuffer buffer) {
+        VertexLabel label = graph.vertexLabel(readSchemaId(buffer));
+        Id id = buffer.readBoolean() ? buffer.readId() : null;
+        HugeVertex vertex = new HugeVertex(graph, id, label);
+        this.readProperties(graph, buffer, vertex);
+        return vertex;
+    }
+
+    public void writeEdge(BytesBuffer buffer, HugeEdge edge) {
+        edge.forceLoad();
+        buffer.writeVInt(SchemaElement.schemaId(edge.schemaLabel().id()));
+        buffer.writeId(edge.sourceVertex().id());
+        buffer.writeId(edge.targetVertex().id());
+        this.writeProperties(buffer, edge);
+    }
+
+    public HugeEdge readEdge(HugeGraph graph, BytesBuffer buffer) {
+        EdgeLabel label = graph.edgeLabel(readSchemaId(buffer));
+        HugeVertex source = new HugeVertex(graph, buffer.readId(),
+                                           graph.vertexLabel(
+                                           label.sourceLabel()));
+        HugeVertex target = new HugeVertex(graph, buffer.readId(),
+                                           graph.vertexLabel(
+                                           label.targetLabel()));
+        HugeEdge edge = new HugeEdge(graph, null, label);
+        edge.vertices(true, source, target);
+        this.readProperties(graph, buffer, edge);
+        return edge;
+    }
+
+    /**
+     * Read the element list written by streamVertices() or streamEdges()
+     * @return the page of the next list if exists
+     */
+    public String readElements(BytesBuffer buffer, Runnable elementReader) {
+        while (buffer.read() == ELEMENT_NEXT) {
+            elementReader.run();
+        }
+        return buffer.readBoolean() ? buffer.readString() : null;
+    }
+
+    private void writeProperties(BytesBuffer buffer, HugeElement element) {
+        Collection<HugeProperty<?>> props = element.getFilledProperties()
+                                                   .values();
+        buffer.writeVInt(props.size());
+        for (HugeProperty<?> prop : props) {
+            PropertyKey pkey = prop.propertyKey();
+            buffer.writeVInt(SchemaElement.schemaId(pkey.id()));
+            buffer.writeProperty(pkey, prop.value());
+        }
+    }
+
+    private void readProperties(HugeGraph graph, BytesBuffer buffer,
+                                HugeElement owner) {
+        int size = buffer.readVInt();
+        for (int i = 0; i < size; i++) {
+            PropertyKey pkey = graph.propertyKey(readSchemaId(buffer));
+            owner.addProperty(pkey, buffer.readProperty(pkey));
+        }
+    }
+
+    private static Id readSchemaId(BytesBuffer buffer) {
+        return IdGenerator.of(buffer.readVInt());
+    }
+
+    private <T> StreamingOutput streamIterator(Iterator<T> iter,
+                                               boolean paging,
+                                               ElementWriter<T> writer) {
+        // Early throw if needed, before the response is committed
+        try {
+            iter.hasNext();
+        } catch (RuntimeException e) {
+            CloseableIterator.closeIterator(iter);
+            throw e;
+        }
+
+        return out -> {
+            BytesBuffer buffer = BytesBuffer.allocate(CHUNK_SIZE);
+            this.writeElements(out, buffer, iter, paging, writer);
+        };
+    }
+
+    private <T> byte[] writeElements(Iterator<T> iter,
+                                     ElementWriter<T> writer) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            BytesBuffer buffer = BytesBuffer.allocate(CHUNK_SIZE);
+            this.writeElements(out, buffer, iter, false, writer);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new HugeException("Failed to serialize elements", e);
+        }
+    }
+
+    private <T> void writeElements(OutputStream out, BytesBuffer buffer,
+                                   Iterator<T> iter, boolean paging,
+                                   ElementWriter<T> writer)
+                                   throws IOException {
+        try {
+            while (iter.hasNext()) {
+                buffer.write(ELEMENT_NEXT);
+                writer.write(buffer, iter.next());
+                flushIfFull(out, buffer);
+            }
+            buffer.write(ELEMENT_END);
+
+            String page = null;
+            if (paging) {
+                if (iter instanceof GraphTraversal<?, ?>) {
+                    page = TraversalUtil.page((GraphTraversal<?, ?>) iter);
+                } else if (iter instanceof Metadatable) {
+                    page = PageInfo.pageInfo(iter);
+                } else {
+                    throw new HugeException("Invalid paging iterator: %s",
+                                            iter.getClass());
+                }
+            }
+            buffer.writeBoolean(page != null);
+            if (page != null) {
+                buffer.writeString(page);
+            }
+            out.write(buffer.array(), 0, buffer.position());
+            out.flush();
+        } finally {
+            CloseableIterator.closeIterator(iter);
+        }
+    }
+
+    private void writeIds(OutputStream out, BytesBuffer buffer,
+                          Collection<Id> ids) throws IOException {
+        buffer.writeVInt(ids.size());
+        for (Id id : ids) {
+            buffer.writeId(id);
+            flushIfFull(out, buffer);
+        }
+    }
+
+    private static void flushIfFull(OutputStream out, BytesBuffer buffer)
+                                    throws IOException {
+        if (buffer.position() < CHUNK_SIZE) {
+            return;
+        }
+        out.write(buffer.array(), 0, buffer.position());
+        // Reuse the buffer for the next chunk
+        buffer.asByteBuffer().clear();
+    }
+
+    @FunctionalInterface
+    private interface ElementWriter<T> {
+
+        public void write(BytesBuffer buffer, T element);
+    }
+}
@@ -20,17 +20,22 @@
 package com.baidu.hugegraph.serializer;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.ws.rs.core.StreamingOutput;
+
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.shaded.jackson.core.JsonGenerator;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.api.API;
@@ -49,9 +54,9 @@ import com.baidu.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser
 import com.baidu.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser.WeightedPaths;
 import com.baidu.hugegraph.traversal.optimize.TraversalUtil;
 import com.baidu.hugegraph.util.JsonUtil;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
 
 public class JsonSerializer implements Serializer {
 
@@ -88,23 +93,45 @@ public class JsonSerializer implements Serializer {
         // Early throw if needed
         iter.hasNext();
 
-        // Serialize Iterator
         try (ByteArrayOutputStream out = new ByteArrayOutputStream(LBUF_SIZE)) {
-            out.write("{".getBytes(API.CHARSET));
+            this.writeIterator(out, label, iter, paging);
+            return out.toString(API.CHARSET);
+        } catch (HugeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HugeException("Failed to serialize %s", e, label);
+        }
+    }
+
+    private StreamingOutput streamIterator(String label, Iterator<?> iter,
+                                           boolean paging) {
+        // Early throw if needed, before the response is committed
+        try {
+            iter.hasNext();
+        } catch (RuntimeException e) {
+            CloseableIterator.closeIterator(iter);
+            throw e;
+        }
 
-            out.write(String.format("\"%s\":[", label).getBytes(API.CHARSET));
+        return out -> this.writeIterator(out, label, iter, paging);
+    }
+
+    /**
+     * Serialize iterator to the stream element by element, nothing except
+     * the buffer of the json generator is held in memory
+     */
+    private void writeIterator(OutputStream out, String label,
+                               Iterator<?> iter, boolean paging) {
+        try {
+            JsonGenerator generator = JsonUtil.generator(out);
+            generator.writeStartObject();
 
             // Write data
-            boolean first = true;
+            generator.writeArrayFieldStart(label);
             while (iter.hasNext()) {
-                if (!first) {
-                    out.write(",".getBytes(API.CHARSET));
-                } else {
-                    first = false;
-                }
-                out.write(JsonUtil.toJson(iter.next()).getBytes(API.CHARSET));
+                JsonUtil.toJson(generator, iter.next());
             }
-            out.write("]".getBytes(API.CHARSET));
+            generator.writeEndArray();
 
             // Write page
             if (paging) {
@@ -117,16 +144,11 @@ public class JsonSerializer implements Serializer {
                     throw new HugeException("Invalid paging iterator: %s",
                                             iter.getClass());
                 }
-                if (page != null) {
-                    page = String.format(",\"page\": \"%s\"", page);
-                } else {
-                    page = ",\"page\": null";
-                }
-                out.write(page.getBytes(API.CHARSET));
+                generator.writeStringField("page", page);
             }
 
-            out.write("}".getBytes(API.CHARSET));
-            return out.toString(API.CHARSET);
+            generator.writeEndObject();
+            generator.close();
         } catch (HugeException e) {
             throw e;
         } catch (Exception e) {
@@ -200,6 +222,12 @@ public class JsonSerializer implements Serializer {
         return this.writeIterator("vertices", vertices, paging);
     }
 
+    @Override
+    public StreamingOutput streamVertices(Iterator<Vertex> vertices,
+                                          boolean paging) {
+        return this.streamIterator("vertices", vertices, paging);
+    }
+
     @Override
     public String writeEdge(Edge edge) {
         return JsonUtil.toJson(edge);
@@ -210,6 +238,11 @@ public class JsonSerializer implements Serializer {
         return this.writeIterator("edges", edges, paging);
     }
 
+    @Override
+    public StreamingOutput streamEdges(Iterator<Edge> edges, boolean paging) {
+        return this.streamIterator("edges", edges, paging);
+    }
+
     @Override
     public String writeIds(List<Id> ids) {
         return JsonUtil.toJson(ids);
@@ -231,67 +264,67 @@ public class JsonSerializer implements Serializer {
     }
 
     @Override
-    public String writePaths(String name, Collection<HugeTraverser.Path> paths,
-                             boolean withCrossPoint,
-                             Iterator<Vertex> vertices) {
-        List<Map<String, Object>> pathList = new ArrayList<>(paths.size());
-        for (HugeTraverser.Path path : paths) {
-            pathList.add(path.toMap(withCrossPoint));
-        }
-
+    public StreamingOutput streamPaths(String name,
+                                       Collection<HugeTraverser.Path> paths,
+                                       boolean withCrossPoint,
+                                       Iterator<Vertex> vertices) {
+        Iterator<Map<String, Object>> pathIter = Iterators.transform(
+                                                 paths.iterator(),
+                                                 p -> p.toMap(withCrossPoint));
         Map<String, Object> results;
         if (vertices == null) {
-            results = ImmutableMap.of(name, pathList);
+            results = ImmutableMap.of(name, pathIter);
         } else {
-            results = ImmutableMap.of(name, pathList, "vertices", vertices);
+            results = ImmutableMap.of(name, pathIter, "vertices", vertices);
         }
-        return JsonUtil.toJson(results);
+        return this.streamResults(results, vertices);
     }
 
     @Override
-    public String writeCrosspoints(CrosspointsPaths paths,
-                                   Iterator<Vertex> iterator,
-                                   boolean withPath) {
-        Map<String, Object> results;
-        List<Map<String, Object>> pathList;
+    public StreamingOutput streamCrosspoints(CrosspointsPaths paths,
+                                             Iterator<Vertex> iterator,
+                                             boolean withPath) {
+        Iterator<Map<String, Object>> pathIter;
         if (withPath) {
-            pathList = new ArrayList<>();
-            for (HugeTraverser.Path path : paths.paths()) {
-                pathList.add(path.toMap(false));
-            }
+            pathIter = Iterators.transform(paths.paths().iterator(),
+                                           p -> p.toMap(false));
         } else {
-            pathList = ImmutableList.of();
+            pathIter = Collections.emptyIterator();
         }
+        Map<String, Object> results;
         results = ImmutableMap.of("crosspoints", paths.crosspoints(),
-                                  "paths", pathList,
+                                  "paths", pathIter,
                                   "vertices", iterator);
-        return JsonUtil.toJson(results);
+        return this.streamResults(results, iterator);
     }
 
     @Override
-    public String writeSimilars(SimilarsMap similars,
-                                Iterator<Vertex> vertices) {
-        return JsonUtil.toJson(ImmutableMap.of("similars", similars.toMap(),
-                                               "vertices", vertices));
+    public StreamingOutput streamSimilars(SimilarsMap similars,
+                                          Iterator<Vertex> vertices) {
+        return this.streamResults(ImmutableMap.of("similars", similars.toMap(),
+                                                  "vertices", vertices),
+                                  vertices);
     }
 
     @Override
-    public String writeWeightedPath(NodeWithWeight path,
-                                    Iterator<Vertex> vertices) {
+    public StreamingOutput streamWeightedPath(NodeWithWeight path,
+                                              Iterator<Vertex> vertices) {
         Map<String, Object> pathMap = path == null ?
                                       ImmutableMap.of() : path.toMap();
-        return JsonUtil.toJson(ImmutableMap.of("path", pathMap,
-                                               "vertices", vertices));
+        return this.streamResults(ImmutableMap.of("path", pathMap,
+                                                  "vertices", vertices),
+                                  vertices);
     }
 
     @Override
-    public String writeWeightedPaths(WeightedPaths paths,
-                                     Iterator<Vertex> vertices) {
+    public StreamingOutput streamWeightedPaths(WeightedPaths paths,
+                                               Iterator<Vertex> vertices) {
         Map<Id, Map<String, Object>> pathMap = paths == null ?
                                                ImmutableMap.of() :
                                                paths.toMap();
-        return JsonUtil.toJson(ImmutableMap.of("paths", pathMap,
-                                               "vertices", vertices));
+        return this.streamResults(ImmutableMap.of("paths", pathMap,
+                                                  "vertices", vertices),
+                                  vertices);
     }
 
     @Override
@@ -311,4 +344,39 @@ public class JsonSerializer implements Serializer {
                                   "vertices", iterator);
         return JsonUtil.toJson(results);
     }
+
+    @Override
+    public StreamingOutput streamNodesWithPath(String name, Set<Id> nodes,
+                                               Collection<HugeTraverser.Path>
+                                               paths,
+                                               Iterator<Vertex> iterator,
+                                               boolean countOnly) {
+        // Paths are converted to map and vertices are fetched lazily
+        Iterator<Map<String, Object>> pathIter = Iterators.transform(
+                                                 paths.iterator(),
+                                                 p -> p.toMap(false));
+        Map<String, Object> results;
+        results = ImmutableMap.of("size", nodes.size(),
+                                  name, countOnly ? ImmutableSet.of() : nodes,
+                                  "paths", pathIter,
+                                  "vertices", iterator);
+        return this.streamResults(results, iterator);
+    }
+
+    /**
+     * Write the results through one json generator, the iterators in the
+     * results like paths and vertices are consumed while writing
+     */
+    private StreamingOutput streamResults(Map<String, Object> results,
+                                          Iterator<Vertex> vertices) {
+        return out -> {
+            try {
+                JsonGenerator generator = JsonUtil.generator(out);
+                JsonUtil.toJson(generator, results);
+                generator.close();
+            } finally {
+                CloseableIterator.closeIterator(vertices);
+            }
+        };
+    }
 }
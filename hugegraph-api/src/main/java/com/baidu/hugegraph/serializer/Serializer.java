@@ -25,6 +25,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.ws.rs.core.StreamingOutput;
+
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
@@ -41,7 +43,7 @@ import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
 import com.baidu.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser.NodeWithWeight;
 import com.baidu.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser.WeightedPaths;
 
-public interface Serializer {
+public interface Serializer extends StreamingSerializer {
 
     public String writeMap(Map<?, ?> map);
 
@@ -80,26 +82,30 @@ public interface Serializer {
     public <V extends AuthElement> String writeAuthElements(String label,
                                                             List<V> users);
 
-    public String writePaths(String name, Collection<HugeTraverser.Path> paths,
-                             boolean withCrossPoint, Iterator<Vertex> vertices);
+    public StreamingOutput streamPaths(String name,
+                                       Collection<HugeTraverser.Path> paths,
+                                       boolean withCrossPoint,
+                                       Iterator<Vertex> vertices);
 
-    public default String writePaths(String name,
-                                     Collection<HugeTraverser.Path> paths,
-                                     boolean withCrossPoint) {
-        return this.writePaths(name, paths, withCrossPoint, null);
+    public default StreamingOutput streamPaths(String name,
+                                               Collection<HugeTraverser.Path>
+                                               paths,
+                                               boolean withCrossPoint) {
+        return this.streamPaths(name, paths, withCrossPoint, null);
     }
 
-    public String writeCrosspoints(CrosspointsPaths paths,
-                                   Iterator<Vertex> iterator, boolean withPath);
+    public StreamingOutput streamCrosspoints(CrosspointsPaths paths,
+                                             Iterator<Vertex> iterator,
+                                             boolean withPath);
 
-    public String writeSimilars(SimilarsMap similars,
-                                Iterator<Vertex> vertices);
+    public StreamingOutput streamSimilars(SimilarsMap similars,
+                                          Iterator<Vertex> vertices);
 
-    public String writeWeightedPath(NodeWithWeight path,
-                                    Iterator<Vertex> vertices);
+    public StreamingOutput streamWeightedPath(NodeWithWeight path,
+                                              Iterator<Vertex> vertices);
 
-    public String writeWeightedPaths(WeightedPaths paths,
-                                     Iterator<Vertex> vertices);
+    public StreamingOutput streamWeightedPaths(WeightedPaths paths,
+                                               Iterator<Vertex> vertices);
 
     public String writeNodesWithPath(String name, Set<Id> nodes,
                                      Collection<HugeTraverser.Path> paths,
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.serializer;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+
+/**
+ * The serializer of the large responses, which are written to the response
+ * stream element by element instead of being built in memory
+ */
+public interface StreamingSerializer {
+
+    public StreamingOutput streamVertices(Iterator<Vertex> vertices,
+                                          boolean paging);
+
+    public StreamingOutput streamEdges(Iterator<Edge> edges, boolean paging);
+
+    public StreamingOutput streamNodesWithPath(String name, Set<Id> nodes,
+                                               Collection<HugeTraverser.Path>
+                                               paths,
+                                               Iterator<Vertex> iterator,
+                                               boolean countOnly);
+}
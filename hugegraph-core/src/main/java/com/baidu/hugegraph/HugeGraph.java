@@ -37,6 +37,7 @@ import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.BackendFeatures;
 import com.baidu.hugegraph.backend.store.BackendStoreSystemInfo;
 import com.baidu.hugegraph.backend.store.raft.RaftGroupManager;
+import com.baidu.hugegraph.backend.store.ram.RamTable;
 import com.baidu.hugegraph.config.ConfigOption;
 import com.baidu.hugegraph.config.TypedOption;
 import com.baidu.hugegraph.rpc.RpcServiceConfig4Client;
@@ -52,8 +53,10 @@ import com.baidu.hugegraph.structure.HugeFeatures;
 import com.baidu.hugegraph.task.TaskScheduler;
 import com.baidu.hugegraph.traversal.optimize.HugeCountStepStrategy;
 import com.baidu.hugegraph.traversal.optimize.HugeGraphStepStrategy;
+import com.baidu.hugegraph.traversal.optimize.HugeVertexStepByBatchStrategy;
 import com.baidu.hugegraph.traversal.optimize.HugeVertexStepStrategy;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.GraphMode;
 import com.baidu.hugegraph.type.define.GraphReadMode;
 import com.baidu.hugegraph.type.define.NodeRole;
@@ -128,6 +131,12 @@ public interface HugeGraph extends Graph {
     public Iterator<Edge> edges(Query query);
     public Iterator<Vertex> adjacentVertices(Iterator<Edge> edges) ;
     public Iterator<Edge> adjacentEdges(Id vertexId);
+    public Iterator<Edge> adjacentEdges(Collection<Id> vertexIds,
+                                        Directions direction,
+                                        Id[] edgeLabels, long limit);
+    public Iterator<Id> adjacentVertexIds(Collection<Id> vertexIds,
+                                          Directions direction,
+                                          Id[] edgeLabels, long limit);
 
     public Number queryNumber(Query query);
 
@@ -164,6 +173,7 @@ public interface HugeGraph extends Graph {
     public void switchAuthManager(AuthManager authManager);
     public TaskScheduler taskScheduler();
     public RaftGroupManager raftGroupManager(String group);
+    public RamTable ramtable();
 
     public void proxy(HugeGraph graph);
 
@@ -245,6 +255,7 @@ public interface HugeGraph extends Graph {
                                         .getStrategies(Graph.class)
                                         .clone();
         strategies.addStrategies(HugeVertexStepStrategy.instance(),
+                                 HugeVertexStepByBatchStrategy.instance(),
                                  HugeGraphStepStrategy.instance(),
                                  HugeCountStepStrategy.instance());
         TraversalStrategies.GlobalCache.registerStrategies(clazz, strategies);
@@ -90,6 +90,7 @@ import com.baidu.hugegraph.task.ServerInfoManager;
 import com.baidu.hugegraph.task.TaskManager;
 import com.baidu.hugegraph.task.TaskScheduler;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.GraphMode;
 import com.baidu.hugegraph.type.define.GraphReadMode;
 import com.baidu.hugegraph.type.define.NodeRole;
@@ -124,6 +125,8 @@ public class StandardHugeGraph implements HugeGraph {
            CoreOptions.TASK_RESULT_SIZE_LIMIT,
            CoreOptions.OLTP_CONCURRENT_THREADS,
            CoreOptions.OLTP_CONCURRENT_DEPTH,
+           CoreOptions.OLTP_QUERY_BATCH_SIZE,
+           CoreOptions.OLTP_DIRECTION_OPTIMIZING,
            CoreOptions.OLTP_COLLECTION_TYPE,
            CoreOptions.VERTEX_DEFAULT_LABEL,
            CoreOptions.VERTEX_ENCODE_PK_NUMBER
@@ -178,7 +181,9 @@ public class StandardHugeGraph implements HugeGraph {
         if (ramtableEnable) {
             long vc = config.get(CoreOptions.QUERY_RAMTABLE_VERTICES_CAPACITY);
             int ec = config.get(CoreOptions.QUERY_RAMTABLE_EDGES_CAPACITY);
-            this.ramtable = new RamTable(this, vc, ec);
+            List<String> properties = config.get(
+                         CoreOptions.QUERY_RAMTABLE_EDGE_PROPERTIES);
+            this.ramtable = new RamTable(this, vc, ec, properties);
         } else {
             this.ramtable = null;
         }
@@ -675,6 +680,25 @@ public class StandardHugeGraph implements HugeGraph {
         return this.graphTransaction().queryEdgesByVertex(vertexId);
     }
 
+    @Override
+    public Iterator<Edge> adjacentEdges(Collection<Id> vertexIds,
+                                        Directions direction,
+                                        Id[] edgeLabels, long limit) {
+        return this.graphTransaction().queryEdgesByVertices(vertexIds,
+                                                            direction,
+                                                            edgeLabels, limit);
+    }
+
+    @Override
+    public Iterator<Id> adjacentVertexIds(Collection<Id> vertexIds,
+                                          Directions direction,
+                                          Id[] edgeLabels, long limit) {
+        return this.graphTransaction().queryAdjacentVertexIds(vertexIds,
+                                                              direction,
+                                                              edgeLabels,
+                                                              limit);
+    }
+
     @Override
     public Number queryNumber(Query query) {
         return this.graphTransaction().queryNumber(query);
@@ -872,6 +896,9 @@ public class StandardHugeGraph implements HugeGraph {
             this.authManager.close();
         }
         this.taskManager.closeScheduler(this.params);
+        if (this.ramtable != null) {
+            this.ramtable.close();
+        }
         try {
             this.closeTx();
         } finally {
@@ -952,6 +979,11 @@ public class StandardHugeGraph implements HugeGraph {
         return provider.raftNodeManager(group);
     }
 
+    @Override
+    public RamTable ramtable() {
+        return this.ramtable;
+    }
+
     @Override
     public HugeConfig configuration() {
         return this.configuration;
@@ -26,6 +26,7 @@ import java.util.function.Function;
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
+import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 
 public abstract class AbstractCache<K, V> implements Cache<K, V> {
@@ -38,13 +39,14 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
 
     private volatile long hits = 0L;
     private volatile long miss = 0L;
+    private volatile long evictions = 0L;
 
     // Default expire time(ms)
     private volatile long expire = 0L;
 
     // NOTE: the count in number of items, not in bytes
-    private final long capacity;
-    private final long halfCapacity;
+    private volatile long capacity;
+    private volatile long halfCapacity;
 
     // For user attachment
     private final AtomicReference<Object> attachment;
@@ -75,17 +77,9 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         }
 
         if (value == null) {
-            ++this.miss;
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Cache missed '{}' (miss={}, hits={})",
-                          id, this.miss, this.hits);
-            }
+            this.missed(id);
         } else {
-            ++this.hits;
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Cache cached '{}' (hits={}, miss={})",
-                          id, this.hits, this.miss);
-            }
+            this.hit(id);
         }
         return value;
     }
@@ -103,20 +97,12 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         }
 
         if (value == null) {
-            ++this.miss;
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Cache missed '{}' (miss={}, hits={})",
-                          id, this.miss, this.hits);
-            }
+            this.missed(id);
             // Do fetch and update the cache
             value = fetcher.apply(id);
             this.update(id, value);
         } else {
-            ++this.hits;
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Cache cached '{}' (hits={}, miss={})",
-                          id, this.hits, this.miss);
-            }
+            this.hit(id);
         }
         return value;
     }
@@ -209,6 +195,11 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         return this.miss;
     }
 
+    @Override
+    public long evictions() {
+        return this.evictions;
+    }
+
     @Override
     public final long capacity() {
         return this.capacity;
@@ -231,6 +222,37 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         return this.halfCapacity;
     }
 
+    /**
+     * Change the capacity at runtime, the cache will evict items when
+     * writing if the size exceeds the new capacity
+     */
+    protected void capacity(long capacity) {
+        E.checkArgument(capacity > 0L,
+                        "The capacity must be > 0, but got %s", capacity);
+        this.capacity = capacity;
+        this.halfCapacity = capacity >> 1;
+    }
+
+    protected final void hit(K id) {
+        ++this.hits;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Cache cached '{}' (hits={}, miss={})",
+                      id, this.hits, this.miss);
+        }
+    }
+
+    protected final void missed(K id) {
+        ++this.miss;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Cache missed '{}' (miss={}, hits={})",
+                      id, this.miss, this.hits);
+        }
+    }
+
+    protected final void evicted() {
+        ++this.evictions;
+    }
+
     protected abstract V access(K id);
 
     protected abstract boolean write(K id, V value, long timeOffset);
@@ -63,6 +63,8 @@ public interface Cache<K, V> {
 
     public long miss();
 
+    public long evictions();
+
     public <T> T attachment(T object);
 
     public <T> T attachment();
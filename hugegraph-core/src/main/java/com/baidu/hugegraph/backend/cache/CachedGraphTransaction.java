@@ -23,13 +23,18 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
 import com.baidu.hugegraph.HugeGraphParams;
 import com.baidu.hugegraph.backend.cache.CachedBackendStore.QueryId;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.IdQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.query.QueryResults;
@@ -42,13 +47,17 @@ import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.event.EventHub;
 import com.baidu.hugegraph.event.EventListener;
 import com.baidu.hugegraph.exception.NotSupportException;
+import com.baidu.hugegraph.iterator.CIter;
 import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.iterator.ListIterator;
+import com.baidu.hugegraph.iterator.WrappedIterator;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
+import com.baidu.hugegraph.schema.EdgeLabel;
 import com.baidu.hugegraph.schema.IndexLabel;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Events;
 import com.google.common.collect.ImmutableSet;
@@ -63,6 +72,8 @@ public final class CachedGraphTransaction extends GraphTransaction {
 
     private final Cache<Id, Object> verticesCache;
     private final Cache<Id, Object> edgesCache;
+    // The off-heap level of edgesCache if any, to read ids from bytes
+    private final OffheapCache edgesOffheapCache;
 
     private EventListener storeEventListener;
     private EventListener cacheEventListener;
@@ -75,14 +86,18 @@ public final class CachedGraphTransaction extends GraphTransaction {
         String type = conf.get(CoreOptions.VERTEX_CACHE_TYPE);
         long capacity = conf.get(CoreOptions.VERTEX_CACHE_CAPACITY);
         int expire = conf.get(CoreOptions.VERTEX_CACHE_EXPIRE);
+        boolean adaptive = conf.get(CoreOptions.VERTEX_CACHE_ADAPTIVE);
         this.verticesCache = this.cache("vertex", type, capacity,
-                                        AVG_VERTEX_ENTRY_SIZE, expire);
+                                        AVG_VERTEX_ENTRY_SIZE, expire,
+                                        adaptive);
 
         type = conf.get(CoreOptions.EDGE_CACHE_TYPE);
         capacity = conf.get(CoreOptions.EDGE_CACHE_CAPACITY);
         expire = conf.get(CoreOptions.EDGE_CACHE_EXPIRE);
+        adaptive = conf.get(CoreOptions.EDGE_CACHE_ADAPTIVE);
         this.edgesCache = this.cache("edge", type, capacity,
-                                     AVG_EDGE_ENTRY_SIZE, expire);
+                                     AVG_EDGE_ENTRY_SIZE, expire, adaptive);
+        this.edgesOffheapCache = offheapCache(this.edgesCache);
 
         this.listenChanges();
     }
@@ -97,7 +112,8 @@ public final class CachedGraphTransaction extends GraphTransaction {
     }
 
     private Cache<Id, Object> cache(String prefix, String type, long capacity,
-                                    long entrySize, long expire) {
+                                    long entrySize, long expire,
+                                    boolean adaptive) {
         String name = prefix + "-" + this.params().name();
         Cache<Id, Object> cache;
         switch (type) {
@@ -109,6 +125,10 @@ public final class CachedGraphTransaction extends GraphTransaction {
                 cache = CacheManager.instance().levelCache(super.graph(),
                                                            name, heapCapacity,
                                                            capacity, entrySize);
+                ((LevelCache) cache).adaptive(adaptive);
+                break;
+            case "tinylfu":
+                cache = CacheManager.instance().tinyLfuCache(name, capacity);
                 break;
             default:
                 throw new NotSupportException("cache type '%s'", type);
@@ -278,20 +298,8 @@ public final class CachedGraphTransaction extends GraphTransaction {
         }
 
         Id cacheKey = new QueryId(query);
-        Object value = this.edgesCache.get(cacheKey);
-        @SuppressWarnings("unchecked")
-        Collection<HugeEdge> edges = (Collection<HugeEdge>) value;
-        if (value != null) {
-            for (HugeEdge edge : edges) {
-                if (edge.expired()) {
-                    this.edgesCache.invalidate(cacheKey);
-                    value = null;
-                }
-            }
-        }
-
-        if (value != null) {
-            // Not cached or the cache expired
+        Collection<HugeEdge> edges = this.edgesFromCache(cacheKey);
+        if (edges != null) {
             return edges.iterator();
         }
 
@@ -318,6 +326,99 @@ public final class CachedGraphTransaction extends GraphTransaction {
         return new ExtendableIterator<>(edges.iterator(), rs);
     }
 
+    /**
+     * Get the cached edges of a query
+     * @return null if not cached or the cache expired
+     */
+    private Collection<HugeEdge> edgesFromCache(Id cacheKey) {
+        @SuppressWarnings("unchecked")
+        Collection<HugeEdge> edges = (Collection<HugeEdge>)
+                                     this.edgesCache.get(cacheKey);
+        if (edges == null) {
+            return null;
+        }
+        for (HugeEdge edge : edges) {
+            if (edge.expired()) {
+                this.edgesCache.invalidate(cacheKey);
+                return null;
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    protected final List<Id> queryAdjacentVertexIdsFromCache(Query query) {
+        RamTable ramtable = this.params().ramtable();
+        if (this.edgesOffheapCache == null ||
+            (ramtable != null && ramtable.matched(query))) {
+            return null;
+        }
+        return this.edgesOffheapCache.adjacentVertexIds(new QueryId(query),
+                                                        this::idsOnlyLabel);
+    }
+
+    private boolean idsOnlyLabel(Id labelId) {
+        /*
+         * The edges with ttl may be expired, and the edges of hidden or
+         * deleting label are filtered, they must be checked by edges
+         */
+        EdgeLabel label = this.graph().edgeLabelOrNone(labelId);
+        return label.ttl() <= 0L && !label.status().deleting() &&
+               !Graph.Hidden.isHidden(label.name());
+    }
+
+    private static OffheapCache offheapCache(Cache<Id, Object> cache) {
+        if (cache instanceof LevelCache) {
+            cache = ((LevelCache) cache).last();
+        }
+        return cache instanceof OffheapCache ? (OffheapCache) cache : null;
+    }
+
+    @Override
+    protected final Iterator<HugeEdge> queryEdgesFromBackend(
+                                       List<Query> queries) {
+        RamTable ramtable = this.params().ramtable();
+        ExtendableIterator<HugeEdge> results = new ExtendableIterator<>();
+        List<Query> batch = new ArrayList<>(queries.size());
+        Map<Id, Id> batchCacheKeys = new HashMap<>();
+        for (Query query : queries) {
+            Iterator<HugeEdge> matched = null;
+            if (ramtable != null && ramtable.matched(query)) {
+                matched = ramtable.query(query);
+            } else if (!query.paging() && !query.bigCapacity()) {
+                Id cacheKey = new QueryId(query);
+                Collection<HugeEdge> edges = this.edgesFromCache(cacheKey);
+                if (edges != null) {
+                    matched = edges.iterator();
+                } else {
+                    ConditionQuery cq = (ConditionQuery) query;
+                    Id owner = cq.condition(HugeKeys.OWNER_VERTEX);
+                    batchCacheKeys.put(owner, cacheKey);
+                }
+            }
+            if (matched == null) {
+                // Query the edges not in cache by batch
+                batch.add(query);
+                continue;
+            }
+            // Keep the order of source vertices
+            if (!batch.isEmpty()) {
+                results.extend(new CachingEdgesIterator(
+                               super.queryEdgesFromBackend(batch),
+                               batchCacheKeys));
+                batch = new ArrayList<>(queries.size());
+                batchCacheKeys = new HashMap<>();
+            }
+            results.extend(matched);
+        }
+        if (!batch.isEmpty()) {
+            results.extend(new CachingEdgesIterator(
+                           super.queryEdgesFromBackend(batch),
+                           batchCacheKeys));
+        }
+        return results;
+    }
+
     @Override
     protected final void commitMutation2Backend(BackendMutation... mutations) {
         // Collect changes before commit
@@ -328,8 +429,25 @@ public final class CachedGraphTransaction extends GraphTransaction {
 
         int edgesInTxSize = this.edgesInTxSize();
 
+        // Collect edges changes for ramtable before commit
+        RamTable ramtable = this.params().ramtable();
+        Collection<HugeEdge> addedEdges = null;
+        Collection<HugeEdge> removedEdges = null;
+        if (ramtable != null && edgesInTxSize > 0) {
+            addedEdges = this.edgesInTxAdded();
+            removedEdges = this.edgesInTxRemoved();
+            if (ramtable.hasColumns()) {
+                // The properties of edges in columns may be updated
+                addedEdges.addAll(this.edgesInTxUpdated());
+            }
+        }
+
         try {
             super.commitMutation2Backend(mutations);
+            // Update ramtable with the committed edges
+            if (addedEdges != null) {
+                ramtable.updateEdges(addedEdges, removedEdges);
+            }
             // Update vertex cache
             for (HugeVertex vertex : updates) {
                 vertexIds[vertexOffset++] = vertex.id();
@@ -373,4 +491,80 @@ public final class CachedGraphTransaction extends GraphTransaction {
             }
         }
     }
+
+    /**
+     * Iterate the edges queried by a batch of queries, and write the edges
+     * of each query to the edges cache after all of them are iterated
+     */
+    private final class CachingEdgesIterator implements CIter<HugeEdge> {
+
+        private final Iterator<HugeEdge> edges;
+        // The cache key of the query of each source vertex
+        private final Map<Id, Id> cacheKeys;
+        private final Map<Id, List<HugeEdge>> cachingEdges;
+        private boolean cached;
+
+        public CachingEdgesIterator(Iterator<HugeEdge> edges,
+                                    Map<Id, Id> cacheKeys) {
+            this.edges = edges;
+            this.cacheKeys = cacheKeys;
+            this.cachingEdges = new HashMap<>(cacheKeys.size());
+            for (Id owner : cacheKeys.keySet()) {
+                this.cachingEdges.put(owner, new ArrayList<>());
+            }
+            this.cached = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.edges.hasNext()) {
+                return true;
+            }
+            this.cacheEdges();
+            return false;
+        }
+
+        @Override
+        public HugeEdge next() {
+            HugeEdge edge = this.edges.next();
+            Id owner = edge.id().ownerVertexId();
+            List<HugeEdge> caching = this.cachingEdges.get(owner);
+            if (caching != null) {
+                if (caching.size() < MAX_CACHE_EDGES_PER_QUERY) {
+                    caching.add(edge);
+                } else {
+                    // Don't cache the edges of super node
+                    this.cachingEdges.remove(owner);
+                }
+            }
+            return edge;
+        }
+
+        private void cacheEdges() {
+            if (this.cached) {
+                return;
+            }
+            this.cached = true;
+            for (Map.Entry<Id, List<HugeEdge>> e :
+                 this.cachingEdges.entrySet()) {
+                Id cacheKey = this.cacheKeys.get(e.getKey());
+                List<HugeEdge> caching = e.getValue();
+                if (caching.isEmpty()) {
+                    edgesCache.update(cacheKey, Collections.emptyList());
+                } else {
+                    edgesCache.update(cacheKey, caching);
+                }
+            }
+        }
+
+        @Override
+        public Object metadata(String meta, Object... args) {
+            throw new NotSupportException("Invalid meta '%s'", meta);
+        }
+
+        @Override
+        public void close() throws Exception {
+            WrappedIterator.close(this.edges);
+        }
+    }
 }
@@ -19,6 +19,8 @@
 
 package com.baidu.hugegraph.backend.cache;
 
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
 import java.util.Iterator;
 import java.util.function.Consumer;
 
@@ -28,8 +30,26 @@ import com.baidu.hugegraph.util.E;
 
 public final class LevelCache extends AbstractCache<Id, Object> {
 
+    // Adjust the capacity of the first level by 25% each time
+    private static final double ADJUST_RATIO = 0.25;
+    // The capacity of the first level can't exceed half of the total
+    private static final double MAX_FIRST_LEVEL_RATIO = 0.5;
+    // Shrink the first level if gc time exceeds 5% of the elapsed time
+    private static final double GC_TIME_RATIO_LIMIT = 0.05;
+
     // For multi-layer caches
     private final AbstractCache<Id, Object> caches[];
+    // The total capacity of the first level and the last level
+    private final long totalCapacity;
+
+    private volatile long promotions = 0L;
+    private volatile boolean adaptive = false;
+
+    // The statistics at the last adjustment, only accessed by tick()
+    private long lastAdjustTime = 0L;
+    private long lastFirstHits = 0L;
+    private long lastLastHits = 0L;
+    private long lastGcTime = 0L;
 
     @SuppressWarnings("unchecked")
     public LevelCache(AbstractCache<Id, Object> lavel1,
@@ -37,6 +57,50 @@ public final class LevelCache extends AbstractCache<Id, Object> {
         super(lavel2.capacity());
         super.expire(lavel2.expire());
         this.caches = new AbstractCache[]{lavel1, lavel2};
+        this.totalCapacity = lavel1.capacity() + lavel2.capacity();
+    }
+
+    /**
+     * Whether to move capacity between the first level (on heap) and the
+     * last level (off heap) by the hits of each level and the gc time,
+     * the adjustment is done when ticking
+     */
+    public void adaptive(boolean adaptive) {
+        if (adaptive && !this.adaptive) {
+            this.lastAdjustTime = now();
+            this.lastFirstHits = this.caches[0].hits();
+            this.lastLastHits = this.last().hits();
+            this.lastGcTime = gcTime();
+        }
+        this.adaptive = adaptive;
+    }
+
+    public boolean adaptive() {
+        return this.adaptive;
+    }
+
+    public long promotions() {
+        return this.promotions;
+    }
+
+    public int levels() {
+        return this.caches.length;
+    }
+
+    public Cache<Id, Object> level(int index) {
+        E.checkArgument(index >= 0 && index < this.caches.length,
+                        "Invalid level index %s, expect [0, %s)",
+                        index, this.caches.length);
+        return this.caches[index];
+    }
+
+    @Override
+    public long tick() {
+        long expireItems = super.tick();
+        if (this.adaptive) {
+            this.adjustCapacity();
+        }
+        return expireItems;
     }
 
     @Override
@@ -76,12 +140,23 @@ public final class LevelCache extends AbstractCache<Id, Object> {
 
     @Override
     protected Object access(Id id) {
-        for (AbstractCache<Id, Object> cache : this.caches) {
+        for (int i = 0; i < this.caches.length; i++) {
+            AbstractCache<Id, Object> cache = this.caches[i];
             // Priority access to the previous level
             Object value = cache.access(id);
-            if (value != null) {
-                return value;
+            if (value == null) {
+                cache.missed(id);
+                continue;
             }
+            cache.hit(id);
+            if (i > 0) {
+                // Promote to the previous levels to speed up the next access
+                for (int j = 0; j < i; j++) {
+                    this.caches[j].write(id, value, 0L);
+                }
+                ++this.promotions;
+            }
+            return value;
         }
         return null;
     }
@@ -112,6 +187,54 @@ public final class LevelCache extends AbstractCache<Id, Object> {
         return iters;
     }
 
+    private void adjustCapacity() {
+        AbstractCache<Id, Object> first = this.caches[0];
+        AbstractCache<Id, Object> last = this.last();
+
+        long now = now();
+        long firstHits = first.hits();
+        long lastHits = last.hits();
+        long gcTime = gcTime();
+
+        long elapsed = now - this.lastAdjustTime;
+        long firstHitsDelta = firstHits - this.lastFirstHits;
+        long lastHitsDelta = lastHits - this.lastLastHits;
+        long gcTimeDelta = gcTime - this.lastGcTime;
+
+        this.lastAdjustTime = now;
+        this.lastFirstHits = firstHits;
+        this.lastLastHits = lastHits;
+        this.lastGcTime = gcTime;
+        if (elapsed <= 0L) {
+            return;
+        }
+
+        long capacity = first.capacity();
+        long maxCapacity = (long) (this.totalCapacity * MAX_FIRST_LEVEL_RATIO);
+        long step = Math.max(1L, (long) (capacity * ADJUST_RATIO));
+        long delta;
+        if (gcTimeDelta > elapsed * GC_TIME_RATIO_LIMIT) {
+            // Too much gc time, move capacity from heap to off heap
+            delta = -Math.min(step, capacity - 1L);
+        } else if (lastHitsDelta > firstHitsDelta &&
+                   gcTimeDelta < elapsed * GC_TIME_RATIO_LIMIT / 2) {
+            // Most hits are from the last level, which cost deserialization
+            delta = Math.min(step, maxCapacity - capacity);
+        } else {
+            return;
+        }
+        if (delta == 0L) {
+            return;
+        }
+
+        first.capacity(capacity + delta);
+        last.capacity(last.capacity() - delta);
+        LOG.info("LevelCache adjusted capacity of levels to [{}, {}] " +
+                 "(hits [{}, {}], gc time {}ms in {}ms)",
+                 first.capacity(), last.capacity(), firstHitsDelta,
+                 lastHitsDelta, gcTimeDelta, elapsed);
+    }
+
     protected AbstractCache<Id, Object> last() {
         final int length = this.caches.length;
         E.checkState(length > 0,
@@ -119,4 +242,14 @@ public final class LevelCache extends AbstractCache<Id, Object> {
                      length);
         return this.caches[length - 1];
     }
+
+    private static long gcTime() {
+        long time = 0L;
+        for (GarbageCollectorMXBean gc :
+             ManagementFactory.getGarbageCollectorMXBeans()) {
+            // The time is -1 if it's undefined for the collector
+            time += Math.max(0L, gc.getCollectionTime());
+        }
+        return time;
+    }
 }
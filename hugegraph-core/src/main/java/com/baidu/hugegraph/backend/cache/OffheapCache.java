@@ -20,11 +20,13 @@
 package com.baidu.hugegraph.backend.cache;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.caffinitas.ohc.CacheSerializer;
 import org.caffinitas.ohc.CloseableIterator;
@@ -56,17 +58,16 @@ public class OffheapCache extends AbstractCache<Id, Object> {
     private final OHCache<Id, Value> cache;
     private final HugeGraph graph;
     private final AbstractSerializer serializer;
+    private final long entryBytes;
 
     public OffheapCache(HugeGraph graph, long capacity, long avgEntryBytes) {
         // NOTE: capacity unit is bytes, the super capacity expect elements size
         super(capacity);
-        long capacityInBytes = capacity * (avgEntryBytes + 64L);
-        if (capacityInBytes <= 0L) {
-            capacityInBytes = 1L;
-        }
+        this.entryBytes = avgEntryBytes + 64L;
         this.graph = graph;
-        this.cache = this.builder().capacity(capacityInBytes).build();
-        this.serializer = new BinarySerializer();
+        this.cache = this.builder().capacity(this.bytes(capacity)).build();
+        // Parse properties of vertices/edges only when they are accessed
+        this.serializer = new BinarySerializer(true, true, true);
     }
 
     private HugeGraph graph() {
@@ -102,12 +103,56 @@ public class OffheapCache extends AbstractCache<Id, Object> {
         return this.cache.containsKey(id);
     }
 
+    @Override
+    public long evictions() {
+        return this.cache.stats().getEvictionCount();
+    }
+
+    @Override
+    protected void capacity(long capacity) {
+        super.capacity(capacity);
+        this.cache.setCapacity(this.bytes(capacity));
+    }
+
+    private long bytes(long capacity) {
+        long capacityInBytes = capacity * this.entryBytes;
+        if (capacityInBytes <= 0L) {
+            capacityInBytes = 1L;
+        }
+        return capacityInBytes;
+    }
+
     @Override
     protected Object access(Id id) {
         Value value = this.cache.get(id);
         return value == null ? null : value.value();
     }
 
+    /**
+     * Get the other vertex ids of the edges list cached with the id, they
+     * are read from the cached bytes without constructing any edge.
+     * @param id            the cache key of the edges list
+     * @param labelFilter   whether the edges with the label can be returned
+     *                      as ids only, like labels without ttl
+     * @return the vertex ids, or null if the id is not cached or any edge
+     *         is not accepted by labelFilter, then it should be read by get()
+     */
+    public List<Id> adjacentVertexIds(Id id, Predicate<Id> labelFilter) {
+        if (id == null || this.capacity() <= 0L) {
+            return null;
+        }
+        Value value = this.cache.get(id);
+        if (value == null) {
+            return null;
+        }
+        List<Id> ids = value.adjacentVertexIds(labelFilter);
+        if (ids != null) {
+            // NOTE: the miss is counted by the following get() if any
+            this.hit(id);
+        }
+        return ids;
+    }
+
     @Override
     protected boolean write(Id id, Object value, long timeOffset) {
         Value serializedValue = new Value(value);
@@ -194,7 +239,7 @@ public class OffheapCache extends AbstractCache<Id, Object> {
 
     private class Value {
 
-        private final Object value;
+        private Object value;
         private BytesBuffer svalue = null;
         private int serializedSize = 0;
 
@@ -204,13 +249,58 @@ public class OffheapCache extends AbstractCache<Id, Object> {
         }
 
         public Value(ByteBuffer input) {
-            this.value = this.deserialize(BytesBuffer.wrap(input));
+            /*
+             * Copy the bytes out of the off-heap memory which may be freed
+             * after this, and deserialize them until the value is accessed
+             */
+            byte[] bytes = new byte[input.remaining()];
+            input.get(bytes);
+            this.value = null;
+            this.svalue = BytesBuffer.wrap(bytes);
+            this.serializedSize = bytes.length;
         }
 
         public Object value() {
+            if (this.value == null) {
+                assert this.svalue != null;
+                this.value = this.deserialize(
+                             BytesBuffer.wrap(this.svalue.array()));
+            }
             return this.value;
         }
 
+        public List<Id> adjacentVertexIds(Predicate<Id> labelFilter) {
+            assert this.svalue != null;
+            BytesBuffer buffer = BytesBuffer.wrap(this.svalue.array());
+            if (ValueType.valueOf(buffer.read()) != ValueType.LIST) {
+                return null;
+            }
+            int length = buffer.readVInt();
+            List<Id> ids = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                if (ValueType.valueOf(buffer.read()) != ValueType.EDGE) {
+                    return null;
+                }
+                /*
+                 * Read the edge name in place, which is in the format:
+                 * owner-vertex + dir + edge-label + sort-values + other-vertex
+                 */
+                int nameLength = buffer.readVInt();
+                int nameEnd = buffer.position() + nameLength;
+                buffer.readId();
+                buffer.read();
+                if (!labelFilter.test(buffer.readId())) {
+                    return null;
+                }
+                buffer.readStringWithEnding();
+                ids.add(buffer.readId());
+                assert buffer.position() == nameEnd;
+                // Skip the properties
+                buffer.skipBigBytes();
+            }
+            return ids;
+        }
+
         public int serializedSize() {
             this.asBuffer();
             return this.serializedSize;
@@ -377,9 +467,9 @@ public class OffheapCache extends AbstractCache<Id, Object> {
             Class<? extends Object> clazz = object.getClass();
             if (Collection.class.isAssignableFrom(clazz)) {
                 return ValueType.LIST;
-            } else if (clazz == HugeVertex.class) {
+            } else if (HugeVertex.class.isAssignableFrom(clazz)) {
                 return ValueType.VERTEX;
-            } else if (clazz == HugeEdge.class) {
+            } else if (HugeEdge.class.isAssignableFrom(clazz)) {
                 return ValueType.EDGE;
             } else {
                 for (ValueType type : values()) {
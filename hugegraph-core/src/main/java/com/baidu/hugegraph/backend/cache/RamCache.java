@@ -131,6 +131,7 @@ public class RamCache extends AbstractCache<Id, Object> {
                  * NOTE: it maybe return null if other threads are doing remove
                  */
                 this.map.remove(removed.key());
+                this.evicted();
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("RamCache replaced '{}' with '{}' (capacity={})",
                               removed.key(), id, capacity);
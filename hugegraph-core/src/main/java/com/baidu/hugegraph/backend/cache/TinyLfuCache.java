@@ -0,0 +1,622 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.cache;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.perf.PerfUtil.Watched;
+import com.baidu.hugegraph.util.E;
+
+/**
+ * A W-TinyLFU cache: new items enter a small LRU window, and the window
+ * victim is admitted into the main segmented LRU only if it's accessed more
+ * frequently than the main victim, which is estimated by a count-min sketch.
+ *
+ * Reads don't take any lock, the accessed nodes are recorded into striped
+ * lossy buffers and replayed to the policy in batch by whichever thread
+ * gets the eviction lock. Writes update the policy under the eviction lock.
+ */
+public class TinyLfuCache extends AbstractCache<Id, Object> {
+
+    // The percent of capacity for window segment and protected segment
+    private static final double WINDOW_PERCENT = 0.01;
+    private static final double PROTECTED_PERCENT = 0.8;
+
+    private final ConcurrentMap<Id, Node> map;
+    private final ReentrantLock evictionLock;
+    private final ReadBuffer[] readBuffers;
+    private final FrequencySketch sketch;
+
+    // Accessed under evictionLock
+    private final NodeQueue window;
+    private final NodeQueue probation;
+    private final NodeQueue protect;
+    private long windowCapacity;
+    private long protectCapacity;
+
+    public TinyLfuCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    public TinyLfuCache(long capacity) {
+        super(capacity);
+
+        capacity = this.capacity();
+        long initialCapacity = capacity >= MB ? capacity >> 10 : 256;
+        if (initialCapacity > MAX_INIT_CAP) {
+            initialCapacity = MAX_INIT_CAP;
+        }
+        this.map = new ConcurrentHashMap<>((int) initialCapacity);
+        this.evictionLock = new ReentrantLock();
+
+        int stripes = ceilingPowerOfTwo(
+                      Runtime.getRuntime().availableProcessors() * 4);
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.readBuffers[i] = new ReadBuffer();
+        }
+        this.sketch = new FrequencySketch(capacity);
+
+        this.window = new NodeQueue(NodeQueue.WINDOW);
+        this.probation = new NodeQueue(NodeQueue.PROBATION);
+        this.protect = new NodeQueue(NodeQueue.PROTECTED);
+        this.resizeSegments(capacity);
+    }
+
+    @Override
+    protected void capacity(long capacity) {
+        super.capacity(capacity);
+
+        this.evictionLock.lock();
+        try {
+            this.sketch.ensureCapacity(capacity);
+            this.resizeSegments(capacity);
+            while (this.protect.size() > this.protectCapacity) {
+                this.probation.add(this.protect.poll());
+            }
+            this.evict();
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void resizeSegments(long capacity) {
+        this.windowCapacity = Math.max(1L, (long) (capacity * WINDOW_PERCENT));
+        this.protectCapacity = (long) ((capacity - this.windowCapacity) *
+                                       PROTECTED_PERCENT);
+    }
+
+    @Override
+    @Watched(prefix = "tinylfucache")
+    protected final Object access(Id id) {
+        assert id != null;
+        Node node = this.map.get(id);
+        if (node == null) {
+            return null;
+        }
+        this.afterRead(node);
+        return node.value();
+    }
+
+    @Override
+    @Watched(prefix = "tinylfucache")
+    protected final boolean write(Id id, Object value, long timeOffset) {
+        assert id != null;
+        Node node = new Node(id, value, timeOffset);
+
+        this.evictionLock.lock();
+        try {
+            this.drainReadBuffers();
+
+            Node old = this.map.put(id, node);
+            if (old != null) {
+                // Inherit the position of the old node
+                NodeQueue queue = this.queueOf(old);
+                if (queue != null) {
+                    queue.unlink(old);
+                    queue.add(node);
+                } else {
+                    this.window.add(node);
+                }
+            } else {
+                this.window.add(node);
+            }
+            this.sketch.increment(id);
+
+            this.evict();
+            return true;
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    @Override
+    @Watched(prefix = "tinylfucache")
+    protected final void remove(Id id) {
+        if (id == null) {
+            return;
+        }
+        this.evictionLock.lock();
+        try {
+            Node node = this.map.remove(id);
+            if (node != null) {
+                NodeQueue queue = this.queueOf(node);
+                if (queue != null) {
+                    queue.unlink(node);
+                }
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    @Override
+    protected Iterator<CacheNode<Id, Object>> nodes() {
+        Iterator<Node> iter = this.map.values().iterator();
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Iterator<CacheNode<Id, Object>> iterSuper = (Iterator) iter;
+        return iterSuper;
+    }
+
+    @Override
+    public boolean containsKey(Id id) {
+        return this.map.containsKey(id);
+    }
+
+    @Watched(prefix = "tinylfucache")
+    @Override
+    public void traverse(Consumer<Object> consumer) {
+        E.checkNotNull(consumer, "consumer");
+        this.map.values().forEach(node -> consumer.accept(node.value()));
+    }
+
+    @Watched(prefix = "tinylfucache")
+    @Override
+    public void clear() {
+        if (this.capacity() <= 0 || this.map.isEmpty()) {
+            return;
+        }
+        this.evictionLock.lock();
+        try {
+            this.drainReadBuffers();
+            this.map.clear();
+            this.window.clear();
+            this.probation.clear();
+            this.protect.clear();
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public long size() {
+        return this.map.size();
+    }
+
+    @Override
+    public String toString() {
+        return this.map.toString();
+    }
+
+    private void afterRead(Node node) {
+        int index = (int) Thread.currentThread().getId() &
+                    (this.readBuffers.length - 1);
+        if (this.readBuffers[index].offer(node) &&
+            this.evictionLock.tryLock()) {
+            // The buffer is full, replay the accesses to policy
+            try {
+                this.drainReadBuffers();
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+    }
+
+    private void drainReadBuffers() {
+        assert this.evictionLock.isHeldByCurrentThread();
+        for (ReadBuffer buffer : this.readBuffers) {
+            buffer.drainTo(this::onAccess);
+        }
+    }
+
+    private void onAccess(Node node) {
+        this.sketch.increment(node.key());
+
+        NodeQueue queue = this.queueOf(node);
+        if (queue == null) {
+            // The node has been removed or replaced
+            return;
+        }
+        if (queue == this.probation) {
+            // Promote the node to protected segment
+            this.probation.unlink(node);
+            this.protect.add(node);
+            while (this.protect.size() > this.protectCapacity) {
+                // Demote the LRU node of protected segment
+                Node demoted = this.protect.poll();
+                this.probation.add(demoted);
+            }
+        } else {
+            queue.moveToTail(node);
+        }
+    }
+
+    private void evict() {
+        long capacity = this.capacity();
+        // Move the overflowed nodes of window to probation as candidates
+        while (this.window.size() > this.windowCapacity) {
+            this.probation.add(this.window.poll());
+        }
+
+        /*
+         * The candidates are at the tail of probation and the victims are at
+         * the head of it, evict the one accessed less frequently of them.
+         */
+        while (this.map.size() > capacity) {
+            Node victim = this.probation.peek();
+            Node candidate = this.probation.peekLast();
+            if (victim == null) {
+                // All nodes are in window and protected segments
+                victim = this.protect.peek();
+                if (victim == null) {
+                    victim = this.window.peek();
+                }
+                assert victim != null;
+                this.evictNode(victim);
+                continue;
+            }
+            if (victim != candidate && this.admit(candidate, victim)) {
+                this.evictNode(victim);
+            } else {
+                this.evictNode(candidate);
+            }
+        }
+    }
+
+    private boolean admit(Node candidate, Node victim) {
+        int candidateFreq = this.sketch.frequency(candidate.key());
+        int victimFreq = this.sketch.frequency(victim.key());
+        return candidateFreq > victimFreq;
+    }
+
+    private void evictNode(Node node) {
+        NodeQueue queue = this.queueOf(node);
+        assert queue != null;
+        queue.unlink(node);
+        this.map.remove(node.key(), node);
+        this.evicted();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("TinyLfuCache evicted '{}' (capacity={})",
+                      node.key(), this.capacity());
+        }
+    }
+
+    private NodeQueue queueOf(Node node) {
+        switch (node.queue) {
+            case NodeQueue.WINDOW:
+                return this.window;
+            case NodeQueue.PROBATION:
+                return this.probation;
+            case NodeQueue.PROTECTED:
+                return this.protect;
+            default:
+                assert node.queue == NodeQueue.NONE;
+                return null;
+        }
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return 1 << -Integer.numberOfLeadingZeros(value - 1);
+    }
+
+    private static final class Node extends CacheNode<Id, Object> {
+
+        // Accessed under evictionLock
+        private Node prev;
+        private Node next;
+        private byte queue;
+
+        public Node(Id key, Object value, long timeOffset) {
+            super(key, value, timeOffset);
+            this.prev = this.next = null;
+            this.queue = NodeQueue.NONE;
+        }
+    }
+
+    /**
+     * A doubly linked LRU queue, the head is the least recently used node
+     */
+    private static final class NodeQueue {
+
+        public static final byte NONE = 0;
+        public static final byte WINDOW = 1;
+        public static final byte PROBATION = 2;
+        public static final byte PROTECTED = 3;
+
+        private final byte type;
+        private Node head;
+        private Node tail;
+        private long size;
+
+        public NodeQueue(byte type) {
+            this.type = type;
+            this.head = this.tail = null;
+            this.size = 0L;
+        }
+
+        public long size() {
+            return this.size;
+        }
+
+        public Node peek() {
+            return this.head;
+        }
+
+        public Node peekLast() {
+            return this.tail;
+        }
+
+        public Node poll() {
+            Node node = this.head;
+            if (node != null) {
+                this.unlink(node);
+            }
+            return node;
+        }
+
+        public void add(Node node) {
+            assert node.queue == NONE;
+            node.queue = this.type;
+            node.prev = this.tail;
+            node.next = null;
+            if (this.tail == null) {
+                this.head = node;
+            } else {
+                this.tail.next = node;
+            }
+            this.tail = node;
+            this.size++;
+        }
+
+        public void unlink(Node node) {
+            assert node.queue == this.type;
+            Node prev = node.prev;
+            Node next = node.next;
+            if (prev == null) {
+                this.head = next;
+            } else {
+                prev.next = next;
+            }
+            if (next == null) {
+                this.tail = prev;
+            } else {
+                next.prev = prev;
+            }
+            node.prev = node.next = null;
+            node.queue = NONE;
+            this.size--;
+        }
+
+        public void moveToTail(Node node) {
+            if (node != this.tail) {
+                this.unlink(node);
+                this.add(node);
+            }
+        }
+
+        public void clear() {
+            for (Node node = this.head; node != null;) {
+                Node next = node.next;
+                node.prev = node.next = null;
+                node.queue = NONE;
+                node = next;
+            }
+            this.head = this.tail = null;
+            this.size = 0L;
+        }
+    }
+
+    /**
+     * A lossy ring buffer of accessed nodes, which is written by multiple
+     * threads and drained by the thread holding evictionLock
+     */
+    private static final class ReadBuffer {
+
+        private static final int SIZE = 16;
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<Node> buffer;
+        private final AtomicLong writeCounter;
+        private volatile long readCounter;
+
+        public ReadBuffer() {
+            this.buffer = new AtomicReferenceArray<>(SIZE);
+            this.writeCounter = new AtomicLong(0L);
+            this.readCounter = 0L;
+        }
+
+        /**
+         * Record a node, it may be dropped if contended or full
+         * @return true if the buffer is full and needs to be drained
+         */
+        public boolean offer(Node node) {
+            long head = this.readCounter;
+            long tail = this.writeCounter.get();
+            long size = tail - head;
+            if (size >= SIZE) {
+                return true;
+            }
+            if (this.writeCounter.compareAndSet(tail, tail + 1L)) {
+                this.buffer.lazySet((int) (tail & MASK), node);
+                return size + 1L >= SIZE;
+            }
+            return false;
+        }
+
+        public void drainTo(Consumer<Node> consumer) {
+            long head = this.readCounter;
+            long tail = this.writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & MASK);
+                Node node = this.buffer.get(index);
+                if (node == null) {
+                    // The writer has not published the node yet
+                    break;
+                }
+                this.buffer.lazySet(index, null);
+                consumer.accept(node);
+            }
+            this.readCounter = head;
+        }
+    }
+
+    /**
+     * A count-min sketch with 4-bit counters to estimate the frequency of
+     * keys, the counters are halved periodically to keep the history fresh
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+                0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long ONE_MASK = 0x1111111111111111L;
+
+        private static final int MIN_TABLE_SIZE = 8;
+        private static final int MAX_TABLE_SIZE = 1 << 28;
+
+        private long[] table;
+        private int tableMask;
+        private int sampleSize;
+        private int size;
+
+        public FrequencySketch(long items) {
+            this.table = null;
+            this.resize(tableSize(items));
+        }
+
+        /**
+         * Grow the sketch with the capacity of cache, the frequencies are
+         * kept after growing
+         */
+        public void ensureCapacity(long items) {
+            int size = tableSize(items);
+            if (this.table.length >= size) {
+                return;
+            }
+            this.resize(size);
+        }
+
+        public int frequency(Object item) {
+            int hash = spread(item.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = this.indexOf(hash, i);
+                int count = (int) ((this.table[index] >>>
+                                    ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        public void increment(Object item) {
+            int hash = spread(item.hashCode());
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = this.indexOf(hash, i);
+                added |= this.incrementAt(index, start + i);
+            }
+            if (added && ++this.size >= this.sampleSize) {
+                this.reset();
+            }
+        }
+
+        private void resize(int length) {
+            long[] old = this.table;
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = 10 * Math.max(length << 2, MIN_TABLE_SIZE);
+            if (old == null) {
+                this.size = 0;
+                return;
+            }
+            /*
+             * The index of an item is the low bits of its hash, so it's
+             * mapped to one of the copies of its old slot after growing
+             */
+            assert length >= old.length;
+            for (int i = 0; i < length; i++) {
+                this.table[i] = old[i & (old.length - 1)];
+            }
+        }
+
+        /**
+         * Each item takes 4 counters, and there are 16 counters per slot
+         */
+        private static int tableSize(long items) {
+            long size = Math.min(items >> 2, MAX_TABLE_SIZE);
+            if (size <= MIN_TABLE_SIZE) {
+                return MIN_TABLE_SIZE;
+            }
+            return ceilingPowerOfTwo((int) size);
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xfL << offset;
+            if ((this.table[index] & mask) != mask) {
+                this.table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            int count = 0;
+            for (int i = 0; i < this.table.length; i++) {
+                count += Long.bitCount(this.table[i] & ONE_MASK);
+                this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+            }
+            this.size = (this.size >>> 1) - (count >>> 2);
+        }
+
+        private int indexOf(int item, int i) {
+            long hash = (item + SEEDS[i]) * SEEDS[i];
+            hash += hash >>> 32;
+            return ((int) hash) & this.tableMask;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
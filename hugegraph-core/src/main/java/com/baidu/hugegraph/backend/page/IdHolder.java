@@ -30,7 +30,6 @@ import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.Query;
-import com.baidu.hugegraph.backend.store.BackendEntry;
 import com.baidu.hugegraph.iterator.CIter;
 import com.baidu.hugegraph.iterator.Metadatable;
 import com.baidu.hugegraph.util.E;
@@ -133,13 +132,12 @@ public abstract class IdHolder {
     public static class BatchIdHolder extends IdHolder
                                       implements CIter<IdHolder> {
 
-        private final Iterator<BackendEntry> entries;
+        private final Iterator<?> entries;
         private final Function<Long, Set<Id>> fetcher;
         private long count;
         private PageIds currentBatch;
 
-        public BatchIdHolder(ConditionQuery query,
-                             Iterator<BackendEntry> entries,
+        public BatchIdHolder(Query query, Iterator<?> entries,
                              Function<Long, Set<Id>> fetcher) {
             super(query);
             this.entries = entries;
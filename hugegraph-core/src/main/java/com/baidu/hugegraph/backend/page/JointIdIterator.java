@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.page;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.serializer.BinaryBackendEntry.BinaryId;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.util.Bytes;
+import com.baidu.hugegraph.util.E;
+
+/**
+ * Intersect the ids of several indexes by a leapfrog join, each input must
+ * return ids in ascending order of the serialized bytes, and the next id
+ * is only fetched (or seeked to) when it's needed.
+ */
+public class JointIdIterator implements Iterator<Id>, AutoCloseable {
+
+    private final List<SortedIds> inputs;
+    private final BinaryId[] heads;
+    private BinaryId next;
+    private boolean exhausted;
+
+    public JointIdIterator(List<SortedIds> inputs) {
+        E.checkArgument(!inputs.isEmpty(), "The inputs can't be empty");
+        this.inputs = inputs;
+        this.heads = new BinaryId[inputs.size()];
+        this.next = null;
+        this.exhausted = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next != null) {
+            return true;
+        }
+        if (this.exhausted) {
+            return false;
+        }
+        this.next = this.fetch();
+        if (this.next == null) {
+            this.close();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Id next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Id id = this.next.origin();
+        this.next = null;
+        return id;
+    }
+
+    @Override
+    public void close() {
+        if (this.exhausted) {
+            return;
+        }
+        this.exhausted = true;
+        for (SortedIds input : this.inputs) {
+            input.close();
+        }
+    }
+
+    private BinaryId fetch() {
+        // The first input always moves forward, others catch up with it
+        BinaryId target = this.inputs.get(0).next();
+        if (target == null) {
+            return null;
+        }
+        this.heads[0] = target;
+
+        int size = this.heads.length;
+        int matched = 1;
+        for (int i = 1; matched < size; i = (i + 1) % size) {
+            BinaryId head = this.heads[i];
+            if (head == null || compare(head, target) < 0) {
+                head = this.inputs.get(i).seek(target);
+                if (head == null) {
+                    return null;
+                }
+                this.heads[i] = head;
+            }
+            if (compare(head, target) == 0) {
+                matched++;
+            } else {
+                // Leap to the larger one, and let the others catch up with it
+                target = head;
+                matched = 1;
+            }
+        }
+        return target;
+    }
+
+    public static BinaryId encode(Id id) {
+        BytesBuffer buffer = BytesBuffer.allocate(1 + id.length());
+        return new BinaryId(buffer.writeId(id).bytes(), id);
+    }
+
+    public static int compare(BinaryId id1, BinaryId id2) {
+        return Bytes.compare(id1.asBytes(), id2.asBytes());
+    }
+
+    public static SortedIds of(Collection<Id> ids) {
+        return new FixedSortedIds(ids);
+    }
+
+    /**
+     * The ids of an index in ascending order, which can skip ahead
+     */
+    public interface SortedIds extends AutoCloseable {
+
+        /**
+         * Return the next id, or null if there are no more ids
+         */
+        public BinaryId next();
+
+        /**
+         * Skip ahead to the first id that is equal to or greater than
+         * the target, or return null if there is no such id
+         */
+        public BinaryId seek(BinaryId target);
+
+        @Override
+        public void close();
+    }
+
+    private static class FixedSortedIds implements SortedIds {
+
+        private final BinaryId[] ids;
+        private int position;
+
+        public FixedSortedIds(Collection<Id> ids) {
+            this.ids = new BinaryId[ids.size()];
+            int i = 0;
+            for (Id id : ids) {
+                this.ids[i++] = encode(id);
+            }
+            Arrays.sort(this.ids, JointIdIterator::compare);
+            this.position = 0;
+        }
+
+        @Override
+        public BinaryId next() {
+            if (this.position >= this.ids.length) {
+                return null;
+            }
+            return this.ids[this.position++];
+        }
+
+        @Override
+        public BinaryId seek(BinaryId target) {
+            int index = Arrays.binarySearch(this.ids, this.position,
+                                            this.ids.length, target,
+                                            JointIdIterator::compare);
+            this.position = index >= 0 ? index : -index - 1;
+            return this.next();
+        }
+
+        @Override
+        public void close() {
+            // pass
+        }
+    }
+}
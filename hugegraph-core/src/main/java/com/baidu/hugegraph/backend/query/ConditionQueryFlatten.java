@@ -31,6 +31,7 @@ import java.util.stream.Collectors;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.Condition.Relation;
 import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.NumericUtil;
 import com.google.common.collect.ImmutableList;
@@ -42,6 +43,9 @@ public final class ConditionQueryFlatten {
             HugeKeys.LABEL
     );
 
+    // The max number of sub-queries a query can be flattened into
+    private static final long MAX_FLATTEN_QUERIES = Query.DEFAULT_CAPACITY;
+
     public static List<ConditionQuery> flatten(ConditionQuery query) {
         if (query.isFlattened() && !query.mayHasDupKeys(SPECIAL_KEYS)) {
             return Arrays.asList(query);
@@ -197,6 +201,10 @@ public final class ConditionQueryFlatten {
 
     private static Set<Relations> and(Set<Relations> left,
                                       Set<Relations> right) {
+        long size = (long) left.size() * right.size();
+        E.checkArgument(size <= MAX_FLATTEN_QUERIES,
+                        "Too many sub-queries(%s) flattened from the " +
+                        "conditions, expect <= %s", size, MAX_FLATTEN_QUERIES);
         Set<Relations> result = InsertionOrderUtil.newSet();
         for (Relations leftRelations : left) {
             for (Relations rightRelations : right) {
@@ -174,7 +174,7 @@ public class BinaryBackendEntry implements BackendEntry {
         return true;
     }
 
-    protected static final class BinaryId implements Id {
+    public static final class BinaryId implements Id {
 
         private final byte[] bytes;
         private final Id id;
@@ -80,6 +80,12 @@ public class BinarySerializer extends AbstractSerializer {
      */
     private final boolean keyWithIdPrefix;
     private final boolean indexWithIdPrefix;
+    /*
+     * Properties of vertex/edge are parsed when accessed if lazyProperties
+     * is true, like reading from cache. NOTE: the properties of elements
+     * with ttl are always parsed eagerly since expired time follows them.
+     */
+    private final boolean lazyProperties;
 
     public BinarySerializer() {
         this(true, true);
@@ -87,8 +93,15 @@ public class BinarySerializer extends AbstractSerializer {
 
     public BinarySerializer(boolean keyWithIdPrefix,
                             boolean indexWithIdPrefix) {
+        this(keyWithIdPrefix, indexWithIdPrefix, false);
+    }
+
+    public BinarySerializer(boolean keyWithIdPrefix,
+                            boolean indexWithIdPrefix,
+                            boolean lazyProperties) {
         this.keyWithIdPrefix = keyWithIdPrefix;
         this.indexWithIdPrefix = indexWithIdPrefix;
+        this.lazyProperties = lazyProperties;
     }
 
     @Override
@@ -268,6 +281,14 @@ public class BinarySerializer extends AbstractSerializer {
         HugeEdge edge = HugeEdge.constructEdge(vertex, direction, edgeLabel,
                                                sortValues, otherVertexId);
 
+        if (this.lazyProperties && !edge.hasTtl()) {
+            byte[] value = col.value;
+            edge.lazyProperties(e -> {
+                this.parseProperties(BytesBuffer.wrap(value), e);
+            });
+            return;
+        }
+
         // Parse edge-id + edge-properties
         buffer = BytesBuffer.wrap(col.value);
 
@@ -290,6 +311,16 @@ public class BinarySerializer extends AbstractSerializer {
         VertexLabel label = vertex.graph().vertexLabelOrNone(buffer.readId());
         vertex.correctVertexLabel(label);
 
+        if (this.lazyProperties && !vertex.hasTtl()) {
+            int offset = buffer.position();
+            vertex.lazyProperties(v -> {
+                this.parseProperties(BytesBuffer.wrap(value, offset,
+                                                      value.length - offset),
+                                     v);
+            });
+            return;
+        }
+
         // Parse properties
         this.parseProperties(buffer, vertex);
 
@@ -321,6 +321,12 @@ public final class BytesBuffer extends OutputStream {
         return bytes;
     }
 
+    public void skipBigBytes() {
+        int length = this.readVInt();
+        assert length >= 0;
+        this.buffer.position(this.buffer.position() + length);
+    }
+
     public BytesBuffer writeStringRaw(String val) {
         this.write(StringEncoding.encode(val));
         return this;
@@ -33,6 +33,14 @@ public interface BackendFeatures {
         return false;
     }
 
+    public default boolean supportsBulkLoad() {
+        return false;
+    }
+
+    public default boolean supportsSnapshotRead() {
+        return false;
+    }
+
     public boolean supportsScanToken();
 
     public boolean supportsScanKeyPrefix();
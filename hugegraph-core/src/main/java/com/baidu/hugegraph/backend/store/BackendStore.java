@@ -20,12 +20,14 @@
 package com.baidu.hugegraph.backend.store;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.iterator.FlatMapperIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.E;
 
@@ -63,6 +65,11 @@ public interface BackendStore {
     public Iterator<BackendEntry> query(Query query);
     public Number queryNumber(Query query);
 
+    // Query data by a batch of queries, results are in the order of queries
+    public default Iterator<BackendEntry> query(List<Query> queries) {
+        return new FlatMapperIterator<>(queries.iterator(), this::query);
+    }
+
     // Transaction
     public void beginTx();
     public void commitTx();
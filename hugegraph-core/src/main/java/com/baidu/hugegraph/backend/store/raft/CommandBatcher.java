@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.store.raft;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+
+import com.alipay.sofa.jraft.Closure;
+import com.alipay.sofa.jraft.Node;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.entity.Task;
+import com.alipay.sofa.jraft.error.RaftError;
+import com.baidu.hugegraph.util.LZ4Util;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * Group the store commands submitted concurrently to a raft leader into
+ * one raft entry: the commands arrived within the delay are compressed
+ * together and applied as one task, the batch is applied immediately
+ * once its size reaches the max bytes.
+ */
+public final class CommandBatcher {
+
+    private static final Logger LOG = Log.logger(CommandBatcher.class);
+
+    private final int shard;
+    private final Node node;
+    private final long delay;
+    private final int maxBytes;
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by this
+    private List<RaftStoreClosure> pending;
+    private int pendingBytes;
+
+    public CommandBatcher(int shard, Node node, long delay, int maxBytes,
+                          ScheduledExecutorService scheduler) {
+        this.shard = shard;
+        this.node = node;
+        this.delay = delay;
+        this.maxBytes = maxBytes;
+        this.scheduler = scheduler;
+        this.pending = new ArrayList<>();
+        this.pendingBytes = 0;
+    }
+
+    public void submit(RaftStoreClosure closure) {
+        if (this.delay <= 0L) {
+            this.apply(closure);
+            return;
+        }
+        List<RaftStoreClosure> batch = null;
+        List<RaftStoreClosure> schedule = null;
+        synchronized (this) {
+            if (this.pending.isEmpty()) {
+                schedule = this.pending;
+            }
+            this.pending.add(closure);
+            this.pendingBytes += closure.command().data().length;
+            if (this.pendingBytes >= this.maxBytes) {
+                batch = this.takePending();
+                schedule = null;
+            }
+        }
+        if (batch != null) {
+            this.apply(batch);
+        } else if (schedule != null) {
+            List<RaftStoreClosure> expected = schedule;
+            this.scheduler.schedule(() -> this.flush(expected),
+                                    this.delay, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    private void flush(List<RaftStoreClosure> expected) {
+        List<RaftStoreClosure> batch;
+        synchronized (this) {
+            // The batch may have been applied due to reaching max bytes
+            if (this.pending != expected) {
+                return;
+            }
+            batch = this.takePending();
+        }
+        try {
+            this.apply(batch);
+        } catch (Throwable e) {
+            LOG.warn("Failed to apply {} commands of raft node {}",
+                     batch.size(), this.node, e);
+            Status status = new Status(RaftError.EINTERNAL, "%s",
+                                       e.getMessage());
+            new RaftBatchClosure(batch).failure(status, e);
+        }
+    }
+
+    private List<RaftStoreClosure> takePending() {
+        List<RaftStoreClosure> batch = this.pending;
+        this.pending = new ArrayList<>();
+        this.pendingBytes = 0;
+        return batch;
+    }
+
+    private void apply(List<RaftStoreClosure> batch) {
+        if (batch.size() == 1) {
+            this.apply(batch.get(0));
+            return;
+        }
+        int size = 0;
+        List<StoreCommand> commands = new ArrayList<>(batch.size());
+        for (RaftStoreClosure closure : batch) {
+            commands.add(closure.command());
+            size += closure.command().data().length;
+        }
+        byte[] bytes = StoreCommand.writeBatch(this.shard, commands, size);
+        LOG.debug("Group {} commands into one raft entry", batch.size());
+        this.apply(bytes, new RaftBatchClosure(batch));
+    }
+
+    private void apply(RaftStoreClosure closure) {
+        StoreCommand command = closure.command();
+        LOG.debug("The bytes size of command {} is {}",
+                  command.action(), command.data().length);
+        this.apply(command.data(), closure);
+    }
+
+    private void apply(byte[] bytes, Closure done) {
+        Task task = new Task();
+        task.setDone(done);
+        // compress return BytesBuffer
+        ByteBuffer buffer = LZ4Util.compress(bytes,
+                                             RaftSharedContext.BLOCK_SIZE)
+                                   .forReadWritten()
+                                   .asByteBuffer();
+        task.setData(buffer);
+        LOG.debug("submit to raft node {}", this.node);
+        this.node.apply(task);
+    }
+}
@@ -22,13 +22,13 @@ package com.baidu.hugegraph.backend.store.raft;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
 
 import com.alipay.sofa.jraft.Status;
-import com.alipay.sofa.jraft.closure.ReadIndexClosure;
-import com.alipay.sofa.jraft.util.BytesUtil;
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.BackendEntry;
@@ -41,6 +41,7 @@ import com.baidu.hugegraph.backend.store.raft.rpc.RaftRequests.StoreType;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.Log;
 
 public class RaftBackendStore implements BackendStore {
@@ -61,8 +62,12 @@ public class RaftBackendStore implements BackendStore {
         return this.store;
     }
 
+    private int shard() {
+        return this.context.shard(this.context.storeType(this.store()));
+    }
+
     private RaftNode node() {
-        RaftNode node = this.context.node();
+        RaftNode node = this.context.node(this.shard());
         E.checkState(node != null, "The raft node should be initialized first");
         return node;
     }
@@ -141,6 +146,13 @@ public class RaftBackendStore implements BackendStore {
                this.queryByRaft(query, o -> this.store.query(query));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<BackendEntry> query(List<Query> queries) {
+        return (Iterator<BackendEntry>)
+               this.queryByRaft(queries, o -> this.store.query(queries));
+    }
+
     @Override
     public Number queryNumber(Query query) {
         return (Number) this.queryByRaft(query, o -> this.store.queryNumber(query));
@@ -168,8 +180,27 @@ public class RaftBackendStore implements BackendStore {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <R> R metadata(HugeType type, String meta, Object[] args) {
-        return this.store.metadata(type, meta, args);
+        R result = this.store.metadata(type, meta, args);
+        if (type == null && "metrics".equals(meta) &&
+            this.context.isSafeRead()) {
+            // Append the read-index metrics of the raft group
+            Map<String, Object> metrics = InsertionOrderUtil.newMap();
+            metrics.putAll((Map<String, Object>) result);
+            metrics.put("raft_read_index", this.readIndexMetrics());
+            return (R) metrics;
+        }
+        return result;
+    }
+
+    private Map<String, Object> readIndexMetrics() {
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        RaftNode node = this.context.node(this.shard());
+        if (node != null) {
+            metrics.put(node.group(), node.readIndexMetrics());
+        }
+        return metrics;
     }
 
     @Override
@@ -191,7 +222,9 @@ public class RaftBackendStore implements BackendStore {
 
     private Object submitAndWait(StoreAction action, byte[] data) {
         StoreType type = this.context.storeType(this.store());
-        return this.submitAndWait(new StoreCommand(type, action, data));
+        StoreCommand command = new StoreCommand(this.shard(), type, action,
+                                                data, false);
+        return this.submitAndWait(command);
     }
 
     private Object submitAndWait(StoreCommand command) {
@@ -200,31 +233,28 @@ public class RaftBackendStore implements BackendStore {
     }
 
     private Object queryByRaft(Object query, Function<Object, Object> func) {
-        if (this.node().selfIsLeader() || !this.context.isSafeRead()) {
+        if (!this.context.isSafeRead()) {
             return func.apply(query);
         }
 
-        RaftClosure<Object> future = new RaftClosure<>();
-        ReadIndexClosure readIndexClosure = new ReadIndexClosure() {
-            @Override
-            public void run(Status status, long index, byte[] reqCtx) {
-                if (status.isOk()) {
-                    future.complete(status, () -> func.apply(query));
-                } else {
-                    future.failure(status, new BackendException(
-                           "Failed to execute query '%s' with read-index: %s",
-                           query, status));
-                }
-            }
-        };
-        this.node().node().readIndex(BytesUtil.EMPTY_BYTES, readIndexClosure);
+        /*
+         * Wait the group of this store to catch up with its leader, the
+         * read-index requests of the group are shared by concurrent queries.
+         * The leader also does read-index, which is answered locally by
+         * jraft while its lease is valid if using the lease based strategy,
+         * otherwise it confirms the leadership first
+         */
+        RaftNode node = this.node();
+        CompletableFuture<Status> future = node.readIndex();
         try {
-            return future.waitFinished();
-        } catch (Throwable e) {
+            node.waitReadIndex(future);
+        } catch (BackendException e) {
             LOG.warn("Failed to execute query '{}' with read-index: {}",
-                     query, future.status());
-            throw new BackendException("Failed to execute query: %s", e, query);
+                     query, e.getMessage());
+            throw new BackendException("Failed to execute query: %s",
+                                       e, query);
         }
+        return func.apply(query);
     }
 
     private MutationBatch getOrNewBatch() {
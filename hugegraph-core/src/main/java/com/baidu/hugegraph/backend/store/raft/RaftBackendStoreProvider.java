@@ -147,8 +147,9 @@ public class RaftBackendStoreProvider implements BackendStoreProvider {
 
     @Override
     public void close() {
-        this.provider.close();
+        // Stop the raft nodes first, they may still apply logs to the stores
         this.context.close();
+        this.provider.close();
     }
 
     @Override
@@ -201,10 +202,14 @@ public class RaftBackendStoreProvider implements BackendStoreProvider {
 
     @Override
     public void createSnapshot() {
-        StoreCommand command = new StoreCommand(StoreType.ALL,
-                                                StoreAction.SNAPSHOT, null);
-        RaftStoreClosure closure = new RaftStoreClosure(command);
-        this.context.node().submitAndWait(command, closure);
+        // Each raft group saves the snapshot of its own stores
+        for (int shard = 0; shard < this.context.shards(); shard++) {
+            StoreCommand command = new StoreCommand(shard, StoreType.ALL,
+                                                    StoreAction.SNAPSHOT,
+                                                    null, false);
+            RaftStoreClosure closure = new RaftStoreClosure(command);
+            this.context.node(shard).submitAndWait(command, closure);
+        }
         LOG.debug("Graph '{}' has writed snapshot", this.graph());
     }
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.store.raft;
+
+import java.util.List;
+
+import com.alipay.sofa.jraft.Closure;
+import com.alipay.sofa.jraft.Status;
+import com.baidu.hugegraph.util.E;
+
+/**
+ * The closure of a raft entry grouped by several store commands, the
+ * result is fanned out to the closure of each command
+ */
+public class RaftBatchClosure implements Closure {
+
+    private final List<RaftStoreClosure> closures;
+
+    public RaftBatchClosure(List<RaftStoreClosure> closures) {
+        E.checkArgument(closures != null && !closures.isEmpty(),
+                        "The closures of batch can't be empty");
+        this.closures = closures;
+    }
+
+    public List<RaftStoreClosure> closures() {
+        return this.closures;
+    }
+
+    public void failure(Status status, Throwable exception) {
+        for (RaftStoreClosure closure : this.closures) {
+            closure.failure(status, exception);
+        }
+    }
+
+    @Override
+    public void run(Status status) {
+        for (RaftStoreClosure closure : this.closures) {
+            closure.run(status);
+        }
+    }
+}
@@ -40,9 +40,9 @@ public class RaftGroupManagerImpl implements RaftGroupManager {
     private final RaftNode raftNode;
     private final RpcForwarder rpcForwarder;
 
-    public RaftGroupManagerImpl(RaftSharedContext context) {
-        this.group = context.group();
-        this.raftNode = context.node();
+    public RaftGroupManagerImpl(RaftSharedContext context, int shard) {
+        this.group = context.group(shard);
+        this.raftNode = context.node(shard);
         this.rpcForwarder = context.rpcForwarder();
     }
 
@@ -150,6 +150,13 @@ public class RaftGroupManagerImpl implements RaftGroupManager {
     }
 
     private <T extends Message> RaftClosure<T> forwardToLeader(Message request) {
+        /*
+         * The forwarded request doesn't carry the group, the leader always
+         * handles it with the default group
+         */
+        E.checkArgument(this.raftNode.shard() == 0,
+                        "The operation of group '%s' can only be executed " +
+                        "on leader", this.group);
         PeerId leaderId = this.raftNode.leaderId();
         return this.rpcForwarder.forwardToLeader(leaderId, request);
     }
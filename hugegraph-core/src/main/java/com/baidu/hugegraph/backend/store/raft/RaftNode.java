@@ -20,7 +20,8 @@
 package com.baidu.hugegraph.backend.store.raft;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -33,13 +34,11 @@ import com.alipay.sofa.jraft.Status;
 import com.alipay.sofa.jraft.closure.ReadIndexClosure;
 import com.alipay.sofa.jraft.core.Replicator.ReplicatorStateListener;
 import com.alipay.sofa.jraft.entity.PeerId;
-import com.alipay.sofa.jraft.entity.Task;
 import com.alipay.sofa.jraft.error.RaftError;
 import com.alipay.sofa.jraft.option.NodeOptions;
 import com.alipay.sofa.jraft.rpc.RpcServer;
 import com.alipay.sofa.jraft.util.BytesUtil;
 import com.baidu.hugegraph.backend.BackendException;
-import com.baidu.hugegraph.util.LZ4Util;
 import com.baidu.hugegraph.util.Log;
 
 public final class RaftNode {
@@ -47,15 +46,19 @@ public final class RaftNode {
     private static final Logger LOG = Log.logger(RaftNode.class);
 
     private final RaftSharedContext context;
+    private final int shard;
     private final Node node;
     private final StoreStateMachine stateMachine;
     private final AtomicReference<LeaderInfo> leaderInfo;
     private final AtomicBoolean started;
     private final AtomicInteger busyCounter;
+    private final ReadIndexBatcher readIndexBatcher;
+    private final CommandBatcher commandBatcher;
 
-    public RaftNode(RaftSharedContext context) {
+    public RaftNode(RaftSharedContext context, int shard) {
         this.context = context;
-        this.stateMachine = new StoreStateMachine(context);
+        this.shard = shard;
+        this.stateMachine = new StoreStateMachine(context, shard);
         try {
             this.node = this.initRaftNode();
         } catch (IOException e) {
@@ -65,12 +68,27 @@ public final class RaftNode {
         this.leaderInfo = new AtomicReference<>(LeaderInfo.NO_LEADER);
         this.started = new AtomicBoolean(false);
         this.busyCounter = new AtomicInteger();
+        this.readIndexBatcher = new ReadIndexBatcher(
+                                this.group(), this.node,
+                                context.readIndexTimeout());
+        this.commandBatcher = new CommandBatcher(
+                              shard, this.node, context.groupCommitDelay(),
+                              context.groupCommitMaxBytes(),
+                              context.groupCommitScheduler());
     }
 
     public RaftSharedContext context() {
         return this.context;
     }
 
+    public int shard() {
+        return this.shard;
+    }
+
+    public String group() {
+        return this.context.group(this.shard);
+    }
+
     public Node node() {
         assert this.node != null;
         return this.node;
@@ -95,6 +113,13 @@ public final class RaftNode {
 
     public void shutdown() {
         this.node.shutdown();
+        try {
+            // Wait the pending tasks to be applied before closing the stores
+            this.node.join();
+        } catch (InterruptedException e) {
+            LOG.info("Waiting for raft group '{}' shutdown is " +
+                     "interrupted: {}", this.group(), e);
+        }
     }
 
     public void snapshot() {
@@ -111,10 +136,10 @@ public final class RaftNode {
     }
 
     private Node initRaftNode() throws IOException {
-        NodeOptions nodeOptions = this.context.nodeOptions();
+        NodeOptions nodeOptions = this.context.nodeOptions(this.shard);
         nodeOptions.setFsm(this.stateMachine);
-        // TODO: When support sharding, groupId needs to be bound to shard Id
-        String groupId = this.context.group();
+        // Each shard of the graph data is replicated by a raft group
+        String groupId = this.group();
         PeerId endpoint = this.context.endpoint();
         RpcServer rpcServer = this.context.rpcServer();
         RaftGroupService raftGroupService;
@@ -125,7 +150,9 @@ public final class RaftNode {
         return raftGroupService.start(false);
     }
 
-    private void submitCommand(StoreCommand command, RaftStoreClosure closure) {
+    protected void submitCommand(StoreCommand command,
+                                 RaftStoreClosure closure) {
+        assert command.shard() == this.shard : command;
         // Wait leader elected
         LeaderInfo leaderInfo = this.waitLeaderElected(
                                 RaftSharedContext.NO_TIMEOUT);
@@ -137,22 +164,17 @@ public final class RaftNode {
         // Sleep a while when raft node is busy
         this.waitIfBusy();
 
-        Task task = new Task();
-        task.setDone(closure);
-        // compress return BytesBuffer
-        ByteBuffer buffer = LZ4Util.compress(command.data(),
-                                             RaftSharedContext.BLOCK_SIZE)
-                                   .forReadWritten()
-                                   .asByteBuffer();
-        LOG.debug("The bytes size of command(compressed) {} is {}",
-                  command.action(), buffer.limit());
-        task.setData(buffer);
-        LOG.debug("submit to raft node {}", this.node);
-        this.node.apply(task);
+        // Group with the commands submitted concurrently into one entry
+        this.commandBatcher.submit(closure);
     }
 
     public Object submitAndWait(StoreCommand command, RaftStoreClosure future) {
         this.submitCommand(command, future);
+        return this.waitFinished(command, future);
+    }
+
+    protected Object waitFinished(StoreCommand command,
+                                  RaftStoreClosure future) {
         try {
             /*
              * Here will wait future complete, actually the follower has waited
@@ -165,8 +187,24 @@ public final class RaftNode {
         }
     }
 
+    /**
+     * Request a read index shared with the concurrent queries, the data
+     * can be read after the returned future is waited by waitReadIndex()
+     */
+    public CompletableFuture<Status> readIndex() {
+        return this.readIndexBatcher.submit();
+    }
+
+    public void waitReadIndex(CompletableFuture<Status> future) {
+        this.readIndexBatcher.waitFinished(future);
+    }
+
+    public Map<String, Object> readIndexMetrics() {
+        return this.readIndexBatcher.metrics();
+    }
+
     protected LeaderInfo waitLeaderElected(int timeout) {
-        String group = this.context.group();
+        String group = this.group();
         LeaderInfo leaderInfo = this.leaderInfo.get();
         if (leaderInfo.leaderId != null) {
             return leaderInfo;
@@ -194,7 +232,7 @@ public final class RaftNode {
     }
 
     protected void waitStarted(int timeout) {
-        String group = this.context.group();
+        String group = this.group();
         ReadIndexClosure readIndexClosure = new ReadIndexClosure() {
             @Override
             public void run(Status status, long index, byte[] reqCtx) {
@@ -250,7 +288,7 @@ public final class RaftNode {
 
     @Override
     public String toString() {
-        return String.format("[%s-%s]", this.context.group(), this.nodeId());
+        return String.format("[%s-%s]", this.group(), this.nodeId());
     }
 
     protected final class RaftStateListener implements ReplicatorStateListener {
@@ -22,12 +22,16 @@ package com.baidu.hugegraph.backend.store.raft;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.commons.io.FileUtils;
@@ -37,6 +41,7 @@ import com.alipay.sofa.jraft.conf.Configuration;
 import com.alipay.sofa.jraft.entity.PeerId;
 import com.alipay.sofa.jraft.option.NodeOptions;
 import com.alipay.sofa.jraft.option.RaftOptions;
+import com.alipay.sofa.jraft.option.ReadOnlyOption;
 import com.alipay.sofa.jraft.rpc.RaftRpcServerFactory;
 import com.alipay.sofa.jraft.rpc.RpcServer;
 import com.alipay.sofa.jraft.util.NamedThreadFactory;
@@ -88,14 +93,16 @@ public final class RaftSharedContext {
     private final String graphStoreName;
     private final String systemStoreName;
     private final RaftBackendStore[] stores;
+    private final int shards;
     private final RpcServer rpcServer;
     @SuppressWarnings("unused")
     private final ExecutorService readIndexExecutor;
     private final ExecutorService snapshotExecutor;
     private final ExecutorService backendExecutor;
+    private final ScheduledExecutorService groupCommitScheduler;
 
-    private RaftNode raftNode;
-    private RaftGroupManager raftGroupManager;
+    private RaftNode[] raftNodes;
+    private RaftGroupManager[] raftGroupManagers;
     private RpcForwarder rpcForwarder;
 
     public RaftSharedContext(HugeGraphParams params) {
@@ -106,6 +113,7 @@ public final class RaftSharedContext {
         this.graphStoreName = config.get(CoreOptions.STORE_GRAPH);
         this.systemStoreName = config.get(CoreOptions.STORE_SYSTEM);
         this.stores = new RaftBackendStore[StoreType.ALL.getNumber()];
+        this.shards = config.get(CoreOptions.RAFT_SHARDS);
         this.rpcServer = this.initAndStartRpcServer();
         if (config.get(CoreOptions.RAFT_SAFE_READ)) {
             int threads = config.get(CoreOptions.RAFT_READ_INDEX_THREADS);
@@ -120,9 +128,13 @@ public final class RaftSharedContext {
         }
         int backendThreads = config.get(CoreOptions.RAFT_BACKEND_THREADS);
         this.backendExecutor = this.createBackendExecutor(backendThreads);
+        // The batches of each group are compressed and applied concurrently
+        this.groupCommitScheduler = Executors.newScheduledThreadPool(
+                                    this.shards, new NamedThreadFactory(
+                                    "store-group-commit", true));
 
-        this.raftNode = null;
-        this.raftGroupManager = null;
+        this.raftNodes = null;
+        this.raftGroupManagers = null;
         this.rpcForwarder = null;
         this.registerRpcRequestProcessors();
     }
@@ -134,26 +146,67 @@ public final class RaftSharedContext {
     }
 
     public void initRaftNode() {
-        this.raftNode = new RaftNode(this);
-        this.rpcForwarder = new RpcForwarder(this.raftNode);
-        this.raftGroupManager = new RaftGroupManagerImpl(this);
+        // The nodes may be accessed by state machine while starting
+        this.raftNodes = new RaftNode[this.shards];
+        for (int shard = 0; shard < this.shards; shard++) {
+            this.raftNodes[shard] = new RaftNode(this, shard);
+        }
+        this.rpcForwarder = new RpcForwarder(this.node());
+        this.raftGroupManagers = new RaftGroupManager[this.shards];
+        for (int shard = 0; shard < this.shards; shard++) {
+            this.raftGroupManagers[shard] = new RaftGroupManagerImpl(this,
+                                                                     shard);
+        }
     }
 
     public void waitRaftNodeStarted() {
-        RaftNode node = this.node();
-        node.waitLeaderElected(RaftSharedContext.WAIT_LEADER_TIMEOUT);
-        if (node.selfIsLeader()) {
-            node.waitStarted(RaftSharedContext.NO_TIMEOUT);
+        for (RaftNode node : this.raftNodes) {
+            node.waitLeaderElected(RaftSharedContext.WAIT_LEADER_TIMEOUT);
+            if (node.selfIsLeader()) {
+                node.waitStarted(RaftSharedContext.NO_TIMEOUT);
+            }
         }
     }
 
     public void close() {
         LOG.info("Stopping raft nodes");
+        if (this.raftNodes != null) {
+            for (RaftNode node : this.raftNodes) {
+                node.shutdown();
+            }
+        }
         this.rpcServer.shutdown();
+        this.groupCommitScheduler.shutdown();
     }
 
     public RaftNode node() {
-        return this.raftNode;
+        return this.node(0);
+    }
+
+    public RaftNode node(int shard) {
+        if (this.raftNodes == null) {
+            return null;
+        }
+        return this.raftNodes[shard];
+    }
+
+    public int shards() {
+        return this.shards;
+    }
+
+    /**
+     * Get the shard(raft group) of a store, the schema, graph and system
+     * stores are assigned to the groups by turns, so a transaction which
+     * only writes one store is always committed in one group.
+     * NOTE: the graph data isn't partitioned by owner vertex, the OUT/IN
+     * edges and the index entries of a transaction have different owners,
+     * they can't be committed atomically by several groups which apply
+     * to the same local store without a cross-group commit protocol.
+     */
+    public int shard(StoreType type) {
+        E.checkArgument(type != StoreType.ALL,
+                        "Can't get the shard of all stores");
+        return type.getNumber() % this.shards;
     }
 
     public RpcForwarder rpcForwarder() {
@@ -161,18 +214,37 @@ public final class RaftSharedContext {
     }
 
     public RaftGroupManager raftNodeManager(String group) {
-        E.checkArgument(DEFAULT_GROUP.equals(group),
-                        "The group must be '%s' now, actual is '%s'",
-                        DEFAULT_GROUP, group);
-        return this.raftGroupManager;
+        for (int shard = 0; shard < this.shards; shard++) {
+            if (this.group(shard).equals(group)) {
+                return this.raftGroupManagers[shard];
+            }
+        }
+        throw new IllegalArgumentException(String.format(
+                  "The group must be one of %s, actual is '%s'",
+                  this.groups(), group));
     }
 
     public RpcServer rpcServer() {
         return this.rpcServer;
     }
 
-    public String group() {
-        return DEFAULT_GROUP;
+    public String group(int shard) {
+        // The first group keeps the default name to be compatible
+        return shard == 0 ? DEFAULT_GROUP : DEFAULT_GROUP + "-" + shard;
+    }
+
+    public String snapshotPrefix(int shard) {
+        // The groups may save snapshots at the same time, keep them apart
+        return shard == 0 ? StoreSnapshotFile.SNAPSHOT_DIR :
+                            StoreSnapshotFile.SNAPSHOT_DIR + "-" + shard;
+    }
+
+    public List<String> groups() {
+        String[] groups = new String[this.shards];
+        for (int shard = 0; shard < this.shards; shard++) {
+            groups[shard] = this.group(shard);
+        }
+        return Arrays.asList(groups);
     }
 
     public void addStore(StoreType type, RaftBackendStore store) {
@@ -194,6 +266,17 @@ public final class RaftSharedContext {
         return this.stores;
     }
 
+    protected RaftBackendStore[] stores(int shard) {
+        List<RaftBackendStore> stores = new ArrayList<>();
+        for (RaftBackendStore store : this.stores) {
+            if (store != null &&
+                this.shard(this.storeType(store.store())) == shard) {
+                stores.add(store);
+            }
+        }
+        return stores.toArray(new RaftBackendStore[0]);
+    }
+
     public BackendStore originStore(StoreType storeType) {
         RaftBackendStore raftStore = this.stores[storeType.getNumber()];
         E.checkState(raftStore != null,
@@ -201,7 +284,7 @@ public final class RaftSharedContext {
         return raftStore.originStore();
     }
 
-    public NodeOptions nodeOptions() throws IOException {
+    public NodeOptions nodeOptions(int shard) throws IOException {
         HugeConfig config = this.config();
         PeerId selfId = new PeerId();
         selfId.parse(config.get(CoreOptions.RAFT_ENDPOINT));
@@ -231,6 +314,10 @@ public final class RaftSharedContext {
         nodeOptions.setInitialConf(groupPeers);
 
         String raftPath = config.get(CoreOptions.RAFT_PATH);
+        if (shard > 0) {
+            // The paths of the first group are kept to be compatible
+            raftPath = Paths.get(raftPath, this.group(shard)).toString();
+        }
         String logUri = Paths.get(raftPath, "log").toString();
         FileUtils.forceMkdir(new File(logUri));
         nodeOptions.setLogUri(logUri);
@@ -258,6 +345,8 @@ public final class RaftSharedContext {
         raftOptions.setReplicatorPipeline(
                     config.get(CoreOptions.RAFT_REPLICATOR_PIPELINE));
         raftOptions.setOpenStatistics(false);
+        raftOptions.setReadOnlyOptions(ReadOnlyOption.valueOf(
+                    config.get(CoreOptions.RAFT_READ_STRATEGY)));
 
         return nodeOptions;
     }
@@ -306,6 +395,22 @@ public final class RaftSharedContext {
         return this.config().get(CoreOptions.RAFT_SAFE_READ);
     }
 
+    public int readIndexTimeout() {
+        return this.config().get(CoreOptions.RAFT_READ_INDEX_TIMEOUT);
+    }
+
+    public long groupCommitDelay() {
+        return this.config().get(CoreOptions.RAFT_GROUP_COMMIT_DELAY);
+    }
+
+    public int groupCommitMaxBytes() {
+        return this.config().get(CoreOptions.RAFT_GROUP_COMMIT_BYTES);
+    }
+
+    public ScheduledExecutorService groupCommitScheduler() {
+        return this.groupCommitScheduler;
+    }
+
     public boolean useSnapshot() {
         return this.config().get(CoreOptions.RAFT_USE_SNAPSHOT);
     }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.store.raft;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+import com.alipay.sofa.jraft.Node;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.closure.ReadIndexClosure;
+import com.alipay.sofa.jraft.error.RaftError;
+import com.alipay.sofa.jraft.util.BytesUtil;
+import com.baidu.hugegraph.backend.BackendException;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * Share the read-index requests of a raft node among concurrent queries:
+ * at most one read-index request is in flight, the queries arrived during
+ * it are batched and served by the next one, which is sent as soon as the
+ * in-flight one is finished. Since a batch is sent after all of its queries
+ * arrived, the read index covers the writes committed before each of them.
+ */
+public final class ReadIndexBatcher {
+
+    private static final Logger LOG = Log.logger(ReadIndexBatcher.class);
+
+    private final String group;
+    private final Node node;
+    private final long timeout;
+
+    // Guarded by this
+    private CompletableFuture<Status> pending;
+    private int pendingSize;
+    private boolean requesting;
+
+    private final LongAdder requests;
+    private final LongAdder reads;
+    private final LongAdder timeouts;
+    private final LongAdder failures;
+    private final LongAdder waitTime;
+    private final LongAccumulator maxBatchSize;
+
+    public ReadIndexBatcher(String group, Node node, long timeout) {
+        this.group = group;
+        this.node = node;
+        this.timeout = timeout;
+        this.pending = null;
+        this.pendingSize = 0;
+        this.requesting = false;
+        this.requests = new LongAdder();
+        this.reads = new LongAdder();
+        this.timeouts = new LongAdder();
+        this.failures = new LongAdder();
+        this.waitTime = new LongAdder();
+        this.maxBatchSize = new LongAccumulator(Math::max, 0L);
+    }
+
+    /**
+     * Join the next read-index request, send it if no request is in flight
+     * @return the future completed when the read index has been applied
+     */
+    public CompletableFuture<Status> submit() {
+        CompletableFuture<Status> future;
+        int size = 0;
+        synchronized (this) {
+            if (this.pending == null) {
+                this.pending = new CompletableFuture<>();
+            }
+            future = this.pending;
+            this.pendingSize++;
+            if (!this.requesting) {
+                this.requesting = true;
+                size = this.pendingSize;
+                this.pending = null;
+                this.pendingSize = 0;
+            }
+        }
+        this.reads.increment();
+        if (size > 0) {
+            this.readIndex(future, size);
+        }
+        return future;
+    }
+
+    public void waitFinished(CompletableFuture<Status> future) {
+        long begin = System.currentTimeMillis();
+        Status status;
+        try {
+            status = future.get(this.timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            this.timeouts.increment();
+            throw new BackendException(
+                      "Waiting for read-index of raft group '%s' " +
+                      "timeout(%sms)", this.group, this.timeout);
+        } catch (InterruptedException | ExecutionException e) {
+            this.failures.increment();
+            throw new BackendException(
+                      "Failed to wait read-index of raft group '%s'",
+                      e, this.group);
+        } finally {
+            this.waitTime.add(System.currentTimeMillis() - begin);
+        }
+        if (!status.isOk()) {
+            this.failures.increment();
+            throw new BackendException(
+                      "Failed to read index of raft group '%s': %s",
+                      this.group, status);
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        long requests = this.requests.sum();
+        long reads = this.reads.sum();
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        metrics.put("read_index_requests", requests);
+        metrics.put("read_index_reads", reads);
+        metrics.put("avg_batch_size",
+                    requests == 0L ? 0D : (double) reads / requests);
+        metrics.put("max_batch_size", this.maxBatchSize.get());
+        metrics.put("avg_wait_time_ms",
+                    reads == 0L ? 0D : (double) this.waitTime.sum() / reads);
+        metrics.put("timeouts", this.timeouts.sum());
+        metrics.put("failures", this.failures.sum());
+        return metrics;
+    }
+
+    private void readIndex(CompletableFuture<Status> future, int size) {
+        this.requests.increment();
+        this.maxBatchSize.accumulate(size);
+        ReadIndexClosure readIndexClosure = new ReadIndexClosure() {
+            @Override
+            public void run(Status status, long index, byte[] reqCtx) {
+                ReadIndexBatcher.this.finish(future, status);
+            }
+        };
+        try {
+            this.node.readIndex(BytesUtil.EMPTY_BYTES, readIndexClosure);
+        } catch (Throwable e) {
+            LOG.warn("Failed to send read-index of raft group '{}'",
+                     this.group, e);
+            this.finish(future, new Status(RaftError.EINTERNAL, "%s",
+                                           e.getMessage()));
+        }
+    }
+
+    private void finish(CompletableFuture<Status> future, Status status) {
+        future.complete(status);
+        CompletableFuture<Status> next;
+        int size;
+        synchronized (this) {
+            next = this.pending;
+            size = this.pendingSize;
+            this.pending = null;
+            this.pendingSize = 0;
+            this.requesting = next != null;
+        }
+        // Send the read-index for the queries arrived during the last one
+        if (next != null) {
+            this.readIndex(next, size);
+        }
+    }
+}
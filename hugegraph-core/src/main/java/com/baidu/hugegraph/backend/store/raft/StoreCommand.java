@@ -19,25 +19,52 @@
 
 package com.baidu.hugegraph.backend.store.raft;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.baidu.hugegraph.backend.serializer.BytesBuffer;
 import com.baidu.hugegraph.backend.store.raft.rpc.RaftRequests.StoreAction;
 import com.baidu.hugegraph.backend.store.raft.rpc.RaftRequests.StoreType;
+import com.baidu.hugegraph.util.E;
 
 public final class StoreCommand {
 
     public static final int HEADER_SIZE = 2;
 
+    /*
+     * The shard(raft group) of command is kept in the high 4 bits of the
+     * StoreType byte, so the commands of single group are still readable
+     */
+    public static final int MAX_SHARDS = 16;
+    private static final int SHARD_SHIFT = 4;
+    private static final int TYPE_MASK = (1 << SHARD_SHIFT) - 1;
+    /*
+     * The commands grouped into one raft entry are marked by the reserved
+     * type value, the header is followed by the count and the commands
+     */
+    private static final int BATCH_TYPE = TYPE_MASK;
+
+    private final int shard;
     private final StoreType type;
     private final StoreAction action;
     private final byte[] data;
     private final boolean forwarded;
 
     public StoreCommand(StoreType type, StoreAction action, byte[] data) {
-        this(type, action, data, false);
+        this(0, type, action, data, false);
     }
 
     public StoreCommand(StoreType type, StoreAction action,
                         byte[] data, boolean forwarded) {
+        this(0, type, action, data, forwarded);
+    }
+
+    public StoreCommand(int shard, StoreType type, StoreAction action,
+                        byte[] data, boolean forwarded) {
+        E.checkArgument(shard >= 0 && shard < MAX_SHARDS,
+                        "The shard of store command must be in [0, %s), " +
+                        "but got %s", MAX_SHARDS, shard);
+        this.shard = shard;
         this.type = type;
         this.action = action;
         if (data == null) {
@@ -46,11 +73,15 @@ public final class StoreCommand {
             assert data.length >= HEADER_SIZE;
             this.data = data;
         }
-        this.data[0] = (byte) this.type.getNumber();
+        this.data[0] = (byte) (shard << SHARD_SHIFT | this.type.getNumber());
         this.data[1] = (byte) this.action.getNumber();
         this.forwarded = forwarded;
     }
 
+    public int shard() {
+        return this.shard;
+    }
+
     public StoreType type() {
         return this.type;
     }
@@ -78,15 +109,56 @@ public final class StoreCommand {
         return bytes;
     }
 
+    public static int shard(byte header) {
+        return (header & 0xff) >>> SHARD_SHIFT;
+    }
+
+    public static StoreType type(byte header) {
+        return StoreType.valueOf(header & TYPE_MASK);
+    }
+
+    public static boolean isBatch(byte header) {
+        return (header & TYPE_MASK) == BATCH_TYPE;
+    }
+
+    public static byte[] writeBatch(int shard, List<StoreCommand> commands,
+                                    int size) {
+        BytesBuffer buffer = BytesBuffer.allocate(HEADER_SIZE + size +
+                                                  commands.size() * 5);
+        buffer.write((byte) (shard << SHARD_SHIFT | BATCH_TYPE));
+        buffer.write((byte) 0);
+        buffer.writeVInt(commands.size());
+        for (StoreCommand command : commands) {
+            assert command.shard() == shard : command;
+            buffer.writeBigBytes(command.data());
+        }
+        return buffer.bytes();
+    }
+
+    public static List<byte[]> readBatch(BytesBuffer buffer) {
+        // The header has been read by the caller
+        int count = buffer.readVInt();
+        List<byte[]> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            commands.add(buffer.readBigBytes());
+        }
+        return commands;
+    }
+
     public static StoreCommand fromBytes(byte[] bytes) {
-        StoreType type = StoreType.valueOf(bytes[0]);
+        return fromBytes(bytes, false);
+    }
+
+    public static StoreCommand fromBytes(byte[] bytes, boolean forwarded) {
+        int shard = shard(bytes[0]);
+        StoreType type = type(bytes[0]);
         StoreAction action = StoreAction.valueOf(bytes[1]);
-        return new StoreCommand(type, action, bytes);
+        return new StoreCommand(shard, type, action, bytes, forwarded);
     }
 
     @Override
     public String toString() {
-        return String.format("StoreCommand{type=%s,action=%s}",
-                             this.type.name(), this.action.name());
+        return String.format("StoreCommand{shard=%s,type=%s,action=%s}",
+                             this.shard, this.type.name(), this.action.name());
     }
 }
@@ -55,10 +55,13 @@ public class StoreSnapshotFile {
     private static final String TAR = ".tar";
 
     private final RaftBackendStore[] stores;
+    private final String snapshotPrefix;
     private final Map<String, String> dataDisks;
 
-    public StoreSnapshotFile(RaftBackendStore[] stores) {
+    public StoreSnapshotFile(RaftBackendStore[] stores,
+                             String snapshotPrefix) {
         this.stores = stores;
+        this.snapshotPrefix = snapshotPrefix;
         this.dataDisks = new HashMap<>();
         for (RaftBackendStore raftStore : stores) {
             // Call RocksDBStore method reportDiskMapping()
@@ -127,7 +130,7 @@ public class StoreSnapshotFile {
         Map<String, String> snapshotDirMaps = InsertionOrderUtil.newMap();
         for (RaftBackendStore store : this.stores) {
             snapshotDirMaps.putAll(store.originStore()
-                                        .createSnapshot(SNAPSHOT_DIR));
+                                        .createSnapshot(this.snapshotPrefix));
         }
         LOG.info("Saved all snapshots: {}", snapshotDirMaps);
         return snapshotDirMaps;
@@ -135,7 +138,7 @@ public class StoreSnapshotFile {
 
     private void doSnapshotLoad() {
         for (RaftBackendStore store : this.stores) {
-            store.originStore().resumeSnapshot(SNAPSHOT_DIR, false);
+            store.originStore().resumeSnapshot(this.snapshotPrefix, false);
         }
     }
 
@@ -57,11 +57,16 @@ public final class StoreStateMachine extends StateMachineAdapter {
     private static final Logger LOG = Log.logger(StoreStateMachine.class);
 
     private final RaftSharedContext context;
+    private final int shard;
     private final StoreSnapshotFile snapshotFile;
 
-    public StoreStateMachine(RaftSharedContext context) {
+    public StoreStateMachine(RaftSharedContext context, int shard) {
         this.context = context;
-        this.snapshotFile = new StoreSnapshotFile(context.stores());
+        this.shard = shard;
+        // Each group only saves and loads the snapshot of its own stores
+        RaftBackendStore[] stores = context.stores(shard);
+        String prefix = context.snapshotPrefix(shard);
+        this.snapshotFile = new StoreSnapshotFile(stores, prefix);
     }
 
     private BackendStore store(StoreType type) {
@@ -69,7 +74,11 @@ public final class StoreStateMachine extends StateMachineAdapter {
     }
 
     private RaftNode node() {
-        return this.context.node();
+        return this.context.node(this.shard);
+    }
+
+    private String group() {
+        return this.context.group(this.shard);
     }
 
     private void updateCacheIfNeeded(BackendMutation mutation,
@@ -104,24 +113,19 @@ public final class StoreStateMachine extends StateMachineAdapter {
     public void onApply(Iterator iter) {
         LOG.debug("Node role: {}", this.node().selfIsLeader() ?
                                    "leader" : "follower");
-        RaftStoreClosure closure = null;
+        Closure done = null;
         List<Future<?>> futures = new ArrayList<>();
         try {
             while (iter.hasNext()) {
-                closure = (RaftStoreClosure) iter.done();
-                if (closure != null) {
-                    // Leader just take it out from the closure
-                    StoreCommand command = closure.command();
-                    BytesBuffer buffer = BytesBuffer.wrap(command.data());
-                    // The first two bytes are StoreType and StoreAction
-                    StoreType type = StoreType.valueOf(buffer.read());
-                    StoreAction action = StoreAction.valueOf(buffer.read());
-                    boolean forwarded = command.forwarded();
-                    // Let the producer thread to handle it
-                    closure.complete(Status.OK(), () -> {
-                        this.applyCommand(type, action, buffer, forwarded);
-                        return null;
-                    });
+                done = iter.done();
+                if (done instanceof RaftBatchClosure) {
+                    // Fan out to the closures of the grouped commands
+                    for (RaftStoreClosure closure :
+                         ((RaftBatchClosure) done).closures()) {
+                        this.completeClosure(closure);
+                    }
+                } else if (done != null) {
+                    this.completeClosure((RaftStoreClosure) done);
                 } else {
                     // Follower need readMutation data
                     byte[] bytes = iter.getData().array();
@@ -130,14 +134,18 @@ public final class StoreStateMachine extends StateMachineAdapter {
                         BytesBuffer buffer = LZ4Util.decompress(bytes,
                                              RaftSharedContext.BLOCK_SIZE);
                         buffer.forReadWritten();
-                        StoreType type = StoreType.valueOf(buffer.read());
-                        StoreAction action = StoreAction.valueOf(buffer.read());
-                        try {
-                            this.applyCommand(type, action, buffer, false);
-                        } catch (Throwable e) {
-                            String title = "Failed to execute backend command";
-                            LOG.error("{}: {}", title, action, e);
-                            throw new BackendException(title, e);
+                        byte header = buffer.read();
+                        if (!StoreCommand.isBatch(header)) {
+                            this.applyCommand(header, buffer);
+                            return;
+                        }
+                        // Skip the action byte of batch header
+                        buffer.read();
+                        for (byte[] command : StoreCommand.readBatch(buffer)) {
+                            BytesBuffer commandBuffer = BytesBuffer.wrap(
+                                                        command);
+                            this.applyCommand(commandBuffer.read(),
+                                              commandBuffer);
                         }
                     }));
                 }
@@ -152,8 +160,10 @@ public final class StoreStateMachine extends StateMachineAdapter {
             LOG.error("{}", title, e);
             Status status = new Status(RaftError.ESTATEMACHINE,
                                        "%s: %s", title, e.getMessage());
-            if (closure != null) {
-                closure.failure(status, e);
+            if (done instanceof RaftBatchClosure) {
+                ((RaftBatchClosure) done).failure(status, e);
+            } else if (done != null) {
+                ((RaftStoreClosure) done).failure(status, e);
             }
             // Will cause current node inactive
             // TODO: rollback to correct index
@@ -161,6 +171,33 @@ public final class StoreStateMachine extends StateMachineAdapter {
         }
     }
 
+    private void completeClosure(RaftStoreClosure closure) {
+        // Leader just take it out from the closure
+        StoreCommand command = closure.command();
+        BytesBuffer buffer = BytesBuffer.wrap(command.data());
+        // The first two bytes are StoreType and StoreAction
+        StoreType type = StoreCommand.type(buffer.read());
+        StoreAction action = StoreAction.valueOf(buffer.read());
+        boolean forwarded = command.forwarded();
+        // Let the producer thread to handle it
+        closure.complete(Status.OK(), () -> {
+            this.applyCommand(type, action, buffer, forwarded);
+            return null;
+        });
+    }
+
+    private void applyCommand(byte header, BytesBuffer buffer) {
+        StoreType type = StoreCommand.type(header);
+        StoreAction action = StoreAction.valueOf(buffer.read());
+        try {
+            this.applyCommand(type, action, buffer, false);
+        } catch (Throwable e) {
+            String title = "Failed to execute backend command";
+            LOG.error("{}: {}", title, action, e);
+            throw new BackendException(title, e);
+        }
+    }
+
     private void applyCommand(StoreType type, StoreAction action,
                               BytesBuffer buffer, boolean forwarded) {
         E.checkState(type != StoreType.ALL,
@@ -230,28 +267,32 @@ public final class StoreStateMachine extends StateMachineAdapter {
 
     @Override
     public void onLeaderStart(long term) {
-        LOG.info("The node {} become to leader", this.context.endpoint());
+        LOG.info("The node {} become to leader of group '{}'",
+                 this.context.endpoint(), this.group());
         this.node().onLeaderInfoChange(this.context.endpoint(), true);
         super.onLeaderStart(term);
     }
 
     @Override
     public void onLeaderStop(Status status) {
-        LOG.info("The node {} abdicated from leader", this.node().nodeId());
+        LOG.info("The node {} abdicated from leader of group '{}'",
+                 this.node().nodeId(), this.group());
         this.node().onLeaderInfoChange(null, false);
         super.onLeaderStop(status);
     }
 
     @Override
     public void onStartFollowing(LeaderChangeContext ctx) {
-        LOG.info("The node {} become to follower", this.node().nodeId());
+        LOG.info("The node {} become to follower of group '{}'",
+                 this.node().nodeId(), this.group());
         this.node().onLeaderInfoChange(ctx.getLeaderId(), false);
         super.onStartFollowing(ctx);
     }
 
     @Override
     public void onStopFollowing(LeaderChangeContext ctx) {
-        LOG.info("The node {} abdicated from follower", this.node().nodeId());
+        LOG.info("The node {} abdicated from follower of group '{}'",
+                 this.node().nodeId(), this.group());
         this.node().onLeaderInfoChange(null, false);
         super.onStopFollowing(ctx);
     }
@@ -51,9 +51,10 @@ public class StoreCommandProcessor
     public Message processRequest(StoreCommandRequest request,
                                   RpcRequestClosure done) {
         LOG.debug("Processing StoreCommandRequest");
-        RaftNode node = this.context.node();
         try {
             StoreCommand command = this.parseStoreCommand(request);
+            // Submit to the raft group of the shard which command belongs to
+            RaftNode node = this.context.node(command.shard());
             RaftStoreClosure closure = new RaftStoreClosure(command);
             node.submitAndWait(command, closure);
             return StoreCommandResponse.newBuilder().setStatus(true).build();
@@ -76,6 +77,8 @@ public class StoreCommandProcessor
         StoreType type = request.getType();
         StoreAction action = request.getAction();
         byte[] data = request.getData().toByteArray();
-        return new StoreCommand(type, action, data, true);
+        // The shard is kept in the header of data
+        int shard = StoreCommand.shard(data[0]);
+        return new StoreCommand(shard, type, action, data, true);
     }
 }
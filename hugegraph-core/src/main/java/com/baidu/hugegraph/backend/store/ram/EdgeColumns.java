@@ -0,0 +1,222 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.store.ram;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Collection;
+import java.util.Date;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.schema.PropertyKey;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.type.define.Cardinality;
+
+/**
+ * The property values of edges in ramtable, each property key is stored as
+ * a column which is indexed by the position of edges
+ */
+public final class EdgeColumns {
+
+    // The absent value, a long property with Long.MIN_VALUE is regarded absent
+    public static final long NULL = Long.MIN_VALUE;
+
+    // The values of an edge without any property
+    public static final long[] NULL_VALUES = new long[0];
+
+    private final PropertyKey[] keys;
+    private final IntLongMap[] columns;
+
+    public EdgeColumns(PropertyKey[] keys, int capacity) {
+        this.keys = keys;
+        this.columns = new IntLongMap[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            this.columns[i] = new IntLongMap(capacity);
+        }
+    }
+
+    public EdgeColumns(PropertyKey[] keys, IntLongMap[] columns) {
+        assert keys.length == columns.length;
+        this.keys = keys;
+        this.columns = columns;
+    }
+
+    public PropertyKey[] keys() {
+        return this.keys;
+    }
+
+    public int size() {
+        return this.keys.length;
+    }
+
+    public boolean contains(Id key) {
+        return this.index(key) >= 0;
+    }
+
+    public boolean containsAll(Collection<Id> keys) {
+        for (Id key : keys) {
+            if (!this.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int index(Id key) {
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i].id().equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void add(long[] values) {
+        assert values.length == 0 || values.length == this.columns.length;
+        for (int i = 0; i < this.columns.length; i++) {
+            this.columns[i].add(values.length == 0 ? NULL : values[i]);
+        }
+    }
+
+    public void add(EdgeColumns other, int position) {
+        assert other.columns.length == this.columns.length;
+        for (int i = 0; i < this.columns.length; i++) {
+            this.columns[i].add(other.columns[i].get(position));
+        }
+    }
+
+    public long[] values(int position) {
+        if (this.columns.length == 0) {
+            return NULL_VALUES;
+        }
+        long[] values = new long[this.columns.length];
+        for (int i = 0; i < this.columns.length; i++) {
+            values[i] = this.columns[i].get(position);
+        }
+        return values;
+    }
+
+    public long[] values(HugeEdge edge) {
+        if (this.columns.length == 0) {
+            return NULL_VALUES;
+        }
+        long[] values = new long[this.columns.length];
+        for (int i = 0; i < this.keys.length; i++) {
+            Object value = edge.getPropertyValue(this.keys[i].id());
+            values[i] = value == null ? NULL : encode(this.keys[i], value);
+        }
+        return values;
+    }
+
+    public void fill(HugeEdge edge, int position) {
+        for (int i = 0; i < this.columns.length; i++) {
+            long value = this.columns[i].get(position);
+            if (value != NULL) {
+                edge.addProperty(this.keys[i], decode(this.keys[i], value));
+            }
+        }
+    }
+
+    public void fill(HugeEdge edge, long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != NULL) {
+                edge.addProperty(this.keys[i],
+                                 decode(this.keys[i], values[i]));
+            }
+        }
+    }
+
+    public void writeTo(FileChannel channel) throws IOException {
+        for (IntLongMap column : this.columns) {
+            column.writeTo(channel);
+        }
+    }
+
+    public static void checkSupported(PropertyKey key) {
+        if (key.cardinality() != Cardinality.SINGLE) {
+            throw new HugeException("Only single property is supported by " +
+                                    "ramtable, but got %s property '%s'",
+                                    key.cardinality(), key.name());
+        }
+        switch (key.dataType()) {
+            case BOOLEAN:
+            case BYTE:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+            case DATE:
+                break;
+            default:
+                throw new HugeException("Only number, boolean and date " +
+                                        "property are supported by ramtable, " +
+                                        "but got %s property '%s'",
+                                        key.dataType(), key.name());
+        }
+    }
+
+    public static long encode(PropertyKey key, Object value) {
+        switch (key.dataType()) {
+            case BOOLEAN:
+                return (Boolean) value ? 1L : 0L;
+            case BYTE:
+            case INT:
+            case LONG:
+                return ((Number) value).longValue();
+            case FLOAT:
+                return Float.floatToIntBits((Float) value);
+            case DOUBLE:
+                long bits = Double.doubleToLongBits((Double) value);
+                // The bits of -0.0 are the same as NULL, store it as 0.0
+                return bits == NULL ? 0L : bits;
+            case DATE:
+                return ((Date) value).getTime();
+            default:
+                throw new AssertionError(String.format(
+                          "Unsupported data type %s of ramtable column",
+                          key.dataType()));
+        }
+    }
+
+    public static Object decode(PropertyKey key, long value) {
+        assert value != NULL;
+        switch (key.dataType()) {
+            case BOOLEAN:
+                return value != 0L;
+            case BYTE:
+                return (byte) value;
+            case INT:
+                return (int) value;
+            case LONG:
+                return value;
+            case FLOAT:
+                return Float.intBitsToFloat((int) value);
+            case DOUBLE:
+                return Double.longBitsToDouble(value);
+            case DATE:
+                return new Date(value);
+            default:
+                throw new AssertionError(String.format(
+                          "Unsupported data type %s of ramtable column",
+                          key.dataType()));
+        }
+    }
+}
@@ -22,6 +22,8 @@ package com.baidu.hugegraph.backend.store.ram;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 
 import com.baidu.hugegraph.HugeException;
@@ -29,50 +31,97 @@ import com.baidu.hugegraph.HugeException;
 public final class IntIntMap implements RamMap {
 
     // TODO: use com.carrotsearch.hppc.IntIntHashMap instead
-    private final int[] array;
+    private final int capacity;
+    // The array is allocated until the first put if not mapped from file
+    private int[] array;
+    private final MappedBuffer buffer;
 
     public IntIntMap(int capacity) {
-        this.array = new int[capacity];
+        this.capacity = capacity;
+        this.array = null;
+        this.buffer = null;
+    }
+
+    public IntIntMap(MappedBuffer buffer) {
+        this.capacity = (int) (buffer.size() / Integer.BYTES);
+        this.array = null;
+        this.buffer = buffer;
     }
 
     public void put(long key, int value) {
         assert 0 <= key && key < Integer.MAX_VALUE;
+        if (this.buffer != null) {
+            throw new HugeException("Can't put value to the map from file");
+        }
+        if (this.array == null) {
+            this.array = new int[this.capacity];
+        }
         this.array[(int) key] = value;
     }
 
     public int get(long key) {
         assert 0 <= key && key < Integer.MAX_VALUE;
+        if (this.buffer != null) {
+            return this.buffer.getInt(key * Integer.BYTES);
+        }
+        if (this.array == null) {
+            if (key >= this.capacity) {
+                throw new ArrayIndexOutOfBoundsException((int) key);
+            }
+            return 0;
+        }
         return this.array[(int) key];
     }
 
+    public boolean mapped() {
+        return this.buffer != null;
+    }
+
     @Override
     public void clear() {
-        Arrays.fill(this.array, 0);
+        if (this.buffer != null) {
+            throw new HugeException("Can't clear the map from file");
+        }
+        if (this.array != null) {
+            Arrays.fill(this.array, 0);
+        }
     }
 
     @Override
     public long size() {
-        return this.array.length;
+        return this.capacity;
     }
 
     @Override
     public void writeTo(DataOutputStream buffer) throws IOException {
-        buffer.writeInt(this.array.length);
-        for (int value : this.array) {
-            buffer.writeInt(value);
+        buffer.writeInt(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            buffer.writeInt(this.get(i));
+        }
+    }
+
+    @Override
+    public void writeTo(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        for (int i = 0; i < this.capacity; i++) {
+            if (buffer.remaining() < Integer.BYTES) {
+                MappedBuffer.write(channel, buffer);
+            }
+            buffer.putInt(this.get(i));
         }
+        MappedBuffer.write(channel, buffer);
     }
 
     @Override
     public void readFrom(DataInputStream buffer) throws IOException {
         int size = buffer.readInt();
-        if (size > this.array.length) {
+        if (size > this.capacity) {
             throw new HugeException("Invalid size %s, expect < %s",
-                                    size, this.array.length);
+                                    size, this.capacity);
         }
         for (int i = 0; i < size; i++) {
             int value = buffer.readInt();
-            this.array[i] = value;
+            this.put(i, value);
         }
     }
 }
@@ -22,6 +22,8 @@ package com.baidu.hugegraph.backend.store.ram;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 
 import com.baidu.hugegraph.HugeException;
@@ -29,18 +31,33 @@ import com.baidu.hugegraph.HugeException;
 public final class IntLongMap implements RamMap {
 
     // TODO: use com.carrotsearch.hppc.IntLongHashMap instead
-    private final long[] array;
+    private final int capacity;
+    // The array is allocated until the first add if not mapped from file
+    private long[] array;
+    private final MappedBuffer buffer;
     private int size;
 
     public IntLongMap(int capacity) {
-        this.array = new long[capacity];
+        this.capacity = capacity;
+        this.array = null;
+        this.buffer = null;
         this.size = 0;
     }
 
+    public IntLongMap(MappedBuffer buffer) {
+        this.capacity = (int) (buffer.size() / Long.BYTES);
+        this.array = null;
+        this.buffer = buffer;
+        this.size = this.capacity;
+    }
+
     public void put(int key, long value) {
         if (key >= this.size || key < 0) {
             throw new HugeException("Invalid key %s", key);
         }
+        if (this.buffer != null) {
+            throw new HugeException("Can't put value to the map from file");
+        }
         this.array[key] = value;
     }
 
@@ -48,6 +65,12 @@ public final class IntLongMap implements RamMap {
         if (this.size == Integer.MAX_VALUE) {
             throw new HugeException("Too many edges %s", this.size);
         }
+        if (this.buffer != null) {
+            throw new HugeException("Can't add value to the map from file");
+        }
+        if (this.array == null) {
+            this.array = new long[this.capacity];
+        }
         int index = this.size;
         this.array[index] = value;
         this.size++;
@@ -58,12 +81,24 @@ public final class IntLongMap implements RamMap {
         if (key >= this.size || key < 0) {
             throw new HugeException("Invalid key %s", key);
         }
+        if (this.buffer != null) {
+            return this.buffer.getLong((long) key * Long.BYTES);
+        }
         return this.array[key];
     }
 
+    public boolean mapped() {
+        return this.buffer != null;
+    }
+
     @Override
     public void clear() {
-        Arrays.fill(this.array, 0L);
+        if (this.buffer != null) {
+            throw new HugeException("Can't clear the map from file");
+        }
+        if (this.array != null) {
+            Arrays.fill(this.array, 0L);
+        }
         this.size = 0;
     }
 
@@ -74,18 +109,33 @@ public final class IntLongMap implements RamMap {
 
     @Override
     public void writeTo(DataOutputStream buffer) throws IOException {
-        buffer.writeInt(this.array.length);
-        for (long value : this.array) {
-            buffer.writeLong(value);
+        buffer.writeInt(this.size);
+        for (int i = 0; i < this.size; i++) {
+            buffer.writeLong(this.get(i));
         }
     }
 
+    @Override
+    public void writeTo(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        for (int i = 0; i < this.size; i++) {
+            if (buffer.remaining() < Long.BYTES) {
+                MappedBuffer.write(channel, buffer);
+            }
+            buffer.putLong(this.get(i));
+        }
+        MappedBuffer.write(channel, buffer);
+    }
+
     @Override
     public void readFrom(DataInputStream buffer) throws IOException {
         int size = buffer.readInt();
-        if (size > this.array.length) {
+        if (size > this.capacity) {
             throw new HugeException("Invalid size %s, expect < %s",
-                                    size, this.array.length);
+                                    size, this.capacity);
+        }
+        if (this.array == null) {
+            this.array = new long[this.capacity];
         }
         for (int i = 0; i < size; i++) {
             long value = buffer.readLong();
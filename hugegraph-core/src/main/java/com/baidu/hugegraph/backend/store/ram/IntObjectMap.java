@@ -22,6 +22,7 @@ package com.baidu.hugegraph.backend.store.ram;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 
 import com.baidu.hugegraph.exception.NotSupportException;
@@ -58,6 +59,11 @@ public final class IntObjectMap<V> implements RamMap {
         throw new NotSupportException("IntObjectMap.writeTo");
     }
 
+    @Override
+    public void writeTo(FileChannel channel) throws IOException {
+        throw new NotSupportException("IntObjectMap.writeTo");
+    }
+
     @Override
     public void readFrom(DataInputStream buffer) throws IOException {
         throw new NotSupportException("IntObjectMap.readFrom");
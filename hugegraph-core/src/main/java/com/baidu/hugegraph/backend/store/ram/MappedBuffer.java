@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.store.ram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import com.baidu.hugegraph.util.E;
+
+/**
+ * A read-only region of file mapped into memory, which is mapped by chunks
+ * since a MappedByteBuffer can't exceed 2GB
+ */
+public final class MappedBuffer {
+
+    // Each chunk is 1GB, which is a multiple of the size of int and long
+    public static final int CHUNK_BITS = 30;
+
+    private final MappedByteBuffer[] chunks;
+    private final int chunkBits;
+    private final long chunkMask;
+    private final long size;
+
+    public MappedBuffer(FileChannel channel, long offset, long size)
+                        throws IOException {
+        this(channel, offset, size, CHUNK_BITS);
+    }
+
+    public MappedBuffer(FileChannel channel, long offset, long size,
+                        int chunkBits) throws IOException {
+        E.checkArgument(chunkBits >= 3 && chunkBits <= CHUNK_BITS,
+                        "The chunk bits must be in [3, %s], but got %s",
+                        CHUNK_BITS, chunkBits);
+        E.checkArgument(offset >= 0L && size >= 0L &&
+                        offset + size <= channel.size(),
+                        "Invalid region [%s, %s) of file with size %s",
+                        offset, offset + size, channel.size());
+        this.chunkBits = chunkBits;
+        this.chunkMask = (1L << chunkBits) - 1L;
+        this.size = size;
+
+        int count = (int) ((size + this.chunkMask) >>> chunkBits);
+        this.chunks = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << chunkBits;
+            long length = Math.min(size - start, 1L << chunkBits);
+            this.chunks[i] = channel.map(MapMode.READ_ONLY,
+                                         offset + start, length);
+        }
+    }
+
+    public int getInt(long position) {
+        return this.chunk(position).getInt(this.offset(position));
+    }
+
+    public long getLong(long position) {
+        return this.chunk(position).getLong(this.offset(position));
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    private MappedByteBuffer chunk(long position) {
+        return this.chunks[(int) (position >>> this.chunkBits)];
+    }
+
+    private int offset(long position) {
+        return (int) (position & this.chunkMask);
+    }
+
+    public static void write(FileChannel channel, ByteBuffer buffer)
+                             throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -22,14 +22,19 @@ package com.baidu.hugegraph.backend.store.ram;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 
 public interface RamMap {
 
+    public static final int WRITE_BUFFER_SIZE = 1 << 20;
+
     public void clear();
 
     public long size();
 
     public void writeTo(DataOutputStream buffer) throws IOException;
 
+    public void writeTo(FileChannel channel) throws IOException;
+
     public void readFrom(DataInputStream buffer) throws IOException;
 }
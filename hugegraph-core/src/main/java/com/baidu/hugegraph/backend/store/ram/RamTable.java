@@ -19,28 +19,42 @@
 
 package com.baidu.hugegraph.backend.store.ram;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.HugeException;
@@ -48,18 +62,24 @@ import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.Condition.Relation;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.backend.store.BackendTable.ShardSpliter;
+import com.baidu.hugegraph.backend.store.Shard;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.schema.EdgeLabel;
+import com.baidu.hugegraph.schema.PropertyKey;
 import com.baidu.hugegraph.schema.VertexLabel;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.Consumers;
 import com.baidu.hugegraph.util.Log;
+import com.google.common.collect.ImmutableList;
 
 public final class RamTable {
 
@@ -73,8 +93,17 @@ public final class RamTable {
     // max edges count, include OUT and IN edges, default 2.1 billion
     private static final int EDGES_CAPACITY = 2100000000;
 
+    // compact the delta segments into edges if exceed the number of deltas
+    private static final long COMPACT_THRESHOLD = 1000000L;
+    // the estimated size of edges in each shard when loading from backend
+    private static final long LOAD_SHARD_SIZE = 64L * Bytes.MB;
+
     private static final int NULL = 0;
 
+    private static final int FILE_MAGIC = 0x52414d54;
+    private static final int FILE_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 32;
+
     private static final Condition BOTH_COND = Condition.or(
                          Condition.eq(HugeKeys.DIRECTION, Directions.OUT),
                          Condition.eq(HugeKeys.DIRECTION, Directions.IN));
@@ -83,10 +112,29 @@ public final class RamTable {
     private final long verticesCapacity;
     private final int verticesCapacityHalf;
     private final int edgesCapacity;
+    // The names of edge properties stored as columns
+    private final List<String> properties;
 
     private IntIntMap verticesLow;
     private IntIntMap verticesHigh;
     private IntLongMap edges;
+    private EdgeColumns columns;
+    private PropertyKey[] columnKeys;
+    private long maxVertex;
+
+    /*
+     * The edges committed after loading are kept in delta segments, each
+     * segment maps owner vertex to {edge value: property values or removed},
+     * and the newer segment (at the tail) overrides the older ones
+     */
+    private final List<DeltaSegment> segments;
+    private final AtomicLong deltasSize;
+    private final AtomicBoolean compacting;
+    // The vertices with edges that can't be kept, query them from backend
+    private final Set<Long> invalidOwners;
+    // Lock the edges/segments when updating, querying or swapping them
+    private final ReadWriteLock lock;
+    private ExecutorService compactExecutor;
 
     private volatile boolean loading = false;
 
@@ -95,22 +143,86 @@ public final class RamTable {
     }
 
     public RamTable(HugeGraph graph, long maxVertices, int maxEdges) {
+        this(graph, maxVertices, maxEdges, ImmutableList.of());
+    }
+
+    public RamTable(HugeGraph graph, long maxVertices, int maxEdges,
+                    List<String> properties) {
         this.graph = graph;
         this.verticesCapacity = maxVertices + 2L;
         this.verticesCapacityHalf = (int) (this.verticesCapacity / 2L);
         this.edgesCapacity = maxEdges + 1;
+        this.properties = properties;
+        // The property keys are resolved when loading
+        this.columnKeys = new PropertyKey[0];
+        this.segments = new CopyOnWriteArrayList<>();
+        this.deltasSize = new AtomicLong(0L);
+        this.compacting = new AtomicBoolean(false);
+        this.invalidOwners = ConcurrentHashMap.newKeySet();
+        this.lock = new ReentrantReadWriteLock();
+        this.compactExecutor = null;
         this.reset();
     }
 
-    private void reset() {
-        this.verticesLow = null;
-        this.verticesHigh = null;
-        this.edges = null;
-        this.verticesLow = new IntIntMap(this.verticesCapacityHalf);
-        this.verticesHigh = new IntIntMap(this.verticesCapacityHalf);
-        this.edges = new IntLongMap(this.edgesCapacity);
+    /**
+     * Create an empty table to compact the origin into, the arrays are
+     * allocated with the exact size of vertices and edges to be compacted
+     */
+    private RamTable(RamTable origin, long vertices, int edges) {
+        this.graph = origin.graph;
+        this.verticesCapacity = origin.verticesCapacity;
+        this.verticesCapacityHalf = origin.verticesCapacityHalf;
+        this.edgesCapacity = origin.edgesCapacity;
+        this.properties = origin.properties;
+        this.columnKeys = origin.columnKeys;
+        this.segments = new CopyOnWriteArrayList<>();
+        this.deltasSize = new AtomicLong(0L);
+        this.compacting = new AtomicBoolean(false);
+        this.invalidOwners = ConcurrentHashMap.newKeySet();
+        this.lock = new ReentrantReadWriteLock();
+        this.compactExecutor = null;
+
+        int half = this.verticesCapacityHalf;
+        this.verticesLow = new IntIntMap((int) Math.min(vertices, half));
+        this.verticesHigh = new IntIntMap((int) Math.max(vertices - half, 0L));
+        this.edges = new IntLongMap(edges);
+        this.columns = new EdgeColumns(this.columnKeys, edges);
         // Set the first element as null edge
         this.edges.add(0L);
+        this.columns.add(EdgeColumns.NULL_VALUES);
+        this.maxVertex = -1L;
+    }
+
+    private synchronized void reset() {
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            this.verticesLow = null;
+            this.verticesHigh = null;
+            this.edges = null;
+            this.verticesLow = new IntIntMap(this.verticesCapacityHalf);
+            this.verticesHigh = new IntIntMap(this.verticesCapacityHalf);
+            this.edges = new IntLongMap(this.edgesCapacity);
+            this.columns = new EdgeColumns(this.columnKeys, this.edgesCapacity);
+            // Set the first element as null edge
+            this.edges.add(0L);
+            this.columns.add(EdgeColumns.NULL_VALUES);
+            this.maxVertex = -1L;
+
+            this.segments.clear();
+            this.segments.add(new DeltaSegment());
+            this.deltasSize.set(0L);
+            this.invalidOwners.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public synchronized void close() {
+        if (this.compactExecutor != null) {
+            this.compactExecutor.shutdown();
+            this.compactExecutor = null;
+        }
     }
 
     public void reload(boolean loadFromFile, String file) {
@@ -120,7 +232,16 @@ public final class RamTable {
         }
 
         this.loading = true;
+        // Wait for the running compaction if exists
+        synchronized (this) {
+            this.doReload(loadFromFile, file);
+        }
+    }
+
+    private void doReload(boolean loadFromFile, String file) {
+        assert this.loading;
         try {
+            this.columnKeys = this.resolveColumnKeys();
             this.reset();
             if (loadFromFile) {
                 this.loadFromFile(file);
@@ -142,20 +263,97 @@ public final class RamTable {
         }
     }
 
+    private PropertyKey[] resolveColumnKeys() {
+        PropertyKey[] keys = new PropertyKey[this.properties.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = this.graph.propertyKey(this.properties.get(i));
+            EdgeColumns.checkSupported(keys[i]);
+        }
+        return keys;
+    }
+
+    /*
+     * The file is mapped into memory and queried in place, the format:
+     * header: magic, version, vertices capacity(low and high), edges size,
+     *         columns size, max vertex, then ids of column property keys,
+     *         vertices low, vertices high, edges and each column of edges
+     */
     private void loadFromFile(String fileName) throws Exception {
         File file = Paths.get(EXPORT_PATH, fileName).toFile();
         if (!file.exists() || !file.isFile() || !file.canRead()) {
             throw new IllegalArgumentException(String.format(
                       "File '%s' does not existed or readable", fileName));
         }
-        try (FileInputStream fis = new FileInputStream(file);
-             BufferedInputStream bis = new BufferedInputStream(fis);
-             DataInputStream input = new DataInputStream(bis)) {
-            // read vertices
-            this.verticesLow.readFrom(input);
-            this.verticesHigh.readFrom(input);
-            // read edges
-            this.edges.readFrom(input);
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                                                    StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read until the header is full or eof
+            }
+            header.flip();
+            if (header.remaining() < FILE_HEADER_SIZE ||
+                header.getInt() != FILE_MAGIC ||
+                header.getInt() != FILE_VERSION) {
+                throw new IllegalArgumentException(String.format(
+                          "Invalid ramtable file '%s', please export it " +
+                          "again", fileName));
+            }
+            int verticesLowSize = header.getInt();
+            int verticesHighSize = header.getInt();
+            int edgesSize = header.getInt();
+            int columnsSize = header.getInt();
+            long maxVertex = header.getLong();
+            if (verticesLowSize != this.verticesCapacityHalf ||
+                verticesHighSize != this.verticesCapacityHalf ||
+                edgesSize > this.edgesCapacity || edgesSize < 1) {
+                throw new IllegalArgumentException(String.format(
+                          "The capacity of ramtable file '%s' doesn't " +
+                          "match: vertices %s, edges %s", fileName,
+                          verticesLowSize + verticesHighSize, edgesSize));
+            }
+
+            ByteBuffer keys = ByteBuffer.allocate(columnsSize * Long.BYTES);
+            while (keys.hasRemaining() && channel.read(keys) >= 0) {
+                // read until all the column keys are read or eof
+            }
+            keys.flip();
+            if (columnsSize != this.columnKeys.length ||
+                keys.remaining() < columnsSize * Long.BYTES) {
+                throw new IllegalArgumentException(String.format(
+                          "The columns of ramtable file '%s' doesn't " +
+                          "match: expect %s columns, but got %s", fileName,
+                          this.columnKeys.length, columnsSize));
+            }
+            for (PropertyKey key : this.columnKeys) {
+                long id = keys.getLong();
+                if (id != key.id().asLong()) {
+                    throw new IllegalArgumentException(String.format(
+                              "The column '%s' of ramtable file '%s' " +
+                              "doesn't match", key.name(), fileName));
+                }
+            }
+
+            // map vertices, edges and columns
+            long offset = FILE_HEADER_SIZE + columnsSize * Long.BYTES;
+            long size = (long) verticesLowSize * Integer.BYTES;
+            this.verticesLow = new IntIntMap(new MappedBuffer(channel,
+                                                              offset, size));
+            offset += size;
+            size = (long) verticesHighSize * Integer.BYTES;
+            this.verticesHigh = new IntIntMap(new MappedBuffer(channel,
+                                                               offset, size));
+            offset += size;
+            size = (long) edgesSize * Long.BYTES;
+            this.edges = new IntLongMap(new MappedBuffer(channel,
+                                                         offset, size));
+            IntLongMap[] columns = new IntLongMap[columnsSize];
+            for (int i = 0; i < columnsSize; i++) {
+                offset += size;
+                columns[i] = new IntLongMap(new MappedBuffer(channel,
+                                                             offset, size));
+            }
+            this.columns = new EdgeColumns(this.columnKeys, columns);
+            this.maxVertex = maxVertex;
         }
     }
 
@@ -167,19 +365,44 @@ public final class RamTable {
                 return false;
             }
         }
-        try (FileOutputStream fos = new FileOutputStream(file);
-             BufferedOutputStream bos = new BufferedOutputStream(fos);
-             DataOutputStream output = new DataOutputStream(bos)) {
+        try (FileChannel channel = FileChannel.open(
+                                   file.toPath(),
+                                   StandardOpenOption.WRITE,
+                                   StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            header.putInt(FILE_MAGIC);
+            header.putInt(FILE_VERSION);
+            header.putInt((int) this.verticesLow.size());
+            header.putInt((int) this.verticesHigh.size());
+            header.putInt((int) this.edges.size());
+            header.putInt(this.columnKeys.length);
+            header.putLong(this.maxVertex);
+            MappedBuffer.write(channel, header);
+            // write column keys
+            ByteBuffer keys = ByteBuffer.allocate(this.columnKeys.length *
+                                                  Long.BYTES);
+            for (PropertyKey key : this.columnKeys) {
+                keys.putLong(key.id().asLong());
+            }
+            MappedBuffer.write(channel, keys);
             // write vertices
-            this.verticesLow.writeTo(output);
-            this.verticesHigh.writeTo(output);
-            // write edges
-            this.edges.writeTo(output);
+            this.verticesLow.writeTo(channel);
+            this.verticesHigh.writeTo(channel);
+            // write edges and columns
+            this.edges.writeTo(channel);
+            this.columns.writeTo(channel);
+            channel.force(false);
         }
         return true;
     }
 
     private void loadFromDB() throws Exception {
+        List<Shard> shards = this.edgeShards();
+        if (!shards.isEmpty()) {
+            this.loadFromShards(shards);
+            return;
+        }
+
         Query query = new Query(HugeType.VERTEX);
         query.capacity(this.verticesCapacityHalf * 2L);
         query.limit(Query.NO_LIMIT);
@@ -218,20 +441,40 @@ public final class RamTable {
         }
     }
 
-    public void addEdge(boolean newVertex, HugeEdge edge) {
-        if (edge.schemaLabel().existSortKeys()) {
-            throw new HugeException("Only edge label without sortkey is " +
-                                    "supported by ramtable, but got '%s'",
-                                    edge.schemaLabel());
+    private void loadFromShards(List<Shard> shards) throws Exception {
+        // Scan edges of each shard concurrently
+        try (ShardsLoader loader = new ShardsLoader()) {
+            loader.load(shards);
         }
-        ensureNumberId(edge.id().ownerVertexId());
-        ensureNumberId(edge.id().otherVertexId());
+    }
+
+    private List<Shard> edgeShards() {
+        // Only the backend stored edges in order of key can be split
+        if (!this.graph.backendStoreFeatures().supportsScanKeyRange()) {
+            return Collections.emptyList();
+        }
+        List<Shard> splits = this.graph.metadata(HugeType.EDGE_OUT, "splits",
+                                                 LOAD_SHARD_SIZE);
+        if (splits.isEmpty()) {
+            return splits;
+        }
+        /*
+         * The splits may only cover the key range of OUT edges, extend the
+         * first and the last split to make sure all IN edges are scanned
+         */
+        List<Shard> shards = new ArrayList<>(splits);
+        Shard first = shards.get(0);
+        shards.set(0, new Shard(ShardSpliter.START, first.end(), 0L));
+        Shard last = shards.get(shards.size() - 1);
+        shards.set(shards.size() - 1,
+                   new Shard(last.start(), ShardSpliter.END, 0L));
+        return shards;
+    }
 
-        this.addEdge(newVertex,
-                     edge.id().ownerVertexId().asLong(),
-                     edge.id().otherVertexId().asLong(),
-                     edge.direction(),
-                     (int) edge.schemaLabel().id().asLong());
+    public void addEdge(boolean newVertex, HugeEdge edge) {
+        long value = encode(edge);
+        this.addEdge(newVertex, edge.id().ownerVertexId().asLong(), value,
+                     this.columns.values(edge));
     }
 
     public void addEdge(boolean newVertex, long owner, long target,
@@ -241,13 +484,238 @@ public final class RamTable {
     }
 
     public void addEdge(boolean newVertex, long owner, long value) {
+        this.addEdge(newVertex, owner, value, EdgeColumns.NULL_VALUES);
+    }
+
+    public void addEdge(boolean newVertex, long owner, long value,
+                        long[] values) {
         int position = this.edges.add(value);
+        this.columns.add(values);
+        this.addAdjacency(newVertex, owner, position);
+    }
+
+    private void addEdge(boolean newVertex, long owner, RamTable from,
+                         int position) {
+        // Copy the edge and its columns without decoding them
+        int newPosition = this.edges.add(from.edges.get(position));
+        this.columns.add(from.columns, position);
+        this.addAdjacency(newVertex, owner, newPosition);
+    }
+
+    private void addAdjacency(boolean newVertex, long owner, int position) {
         if (newVertex) {
             assert this.vertexAdjPosition(owner) <= NULL : owner;
             this.vertexAdjPosition(owner, position);
         }
         // maybe there is no edges of the next vertex, set -position first
         this.vertexAdjPosition(owner + 1, -position);
+        if (owner > this.maxVertex) {
+            this.maxVertex = owner;
+        }
+    }
+
+    /**
+     * Apply the edges committed to backend, the added and removed edges
+     * are kept in the delta segments until they are compacted into edges
+     * @param addedEdges    edges added into backend
+     * @param removedEdges  edges removed from backend
+     */
+    @Watched
+    public void updateEdges(Collection<HugeEdge> addedEdges,
+                            Collection<HugeEdge> removedEdges) {
+        if (this.edgesSize() == 0L && !this.loading) {
+            // Ignore if not loaded
+            return;
+        }
+
+        long deltas = 0L;
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            DeltaSegment segment = this.segments.get(this.segments.size() - 1);
+            for (HugeEdge edge : removedEdges) {
+                deltas += this.updateEdge(segment, edge, false);
+            }
+            for (HugeEdge edge : addedEdges) {
+                deltas += this.updateEdge(segment, edge, true);
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        if (this.deltasSize.addAndGet(deltas) >= COMPACT_THRESHOLD &&
+            this.compacting.compareAndSet(false, true)) {
+            this.compactAsync();
+        }
+    }
+
+    private int updateEdge(DeltaSegment segment, HugeEdge edge,
+                           boolean added) {
+        long value;
+        try {
+            value = encode(edge);
+        } catch (HugeException e) {
+            /*
+             * The edge can't be kept in ramtable, e.g. its label has sort
+             * keys, only the vertices of it are queried from backend later
+             * instead of clearing the whole table
+             */
+            LOG.warn("Query the vertices of edge '{}' from backend since " +
+                     "it can't be applied to ramtable: {}",
+                     edge.id(), e.getMessage());
+            this.invalidateOwner(edge.id().ownerVertexId());
+            this.invalidateOwner(edge.id().otherVertexId());
+            return 0;
+        }
+        long owner = edge.id().ownerVertexId().asLong();
+        long other = edge.id().otherVertexId().asLong();
+        int label = (int) edge.schemaLabel().id().asLong();
+        Directions dir = edge.direction();
+        long[] values = added ? this.columns.values(edge) :
+                                DeltaSegment.REMOVED;
+        // Update edge of both OUT and IN owner
+        int deltas = segment.update(owner, value, values);
+        deltas += segment.update(other, encode(owner, dir.opposite(), label),
+                                 values);
+        return deltas;
+    }
+
+    private void invalidateOwner(Id owner) {
+        if (owner.number()) {
+            this.invalidOwners.add(owner.asLong());
+        }
+    }
+
+    /**
+     * Whether there are edges that can't be kept in the table, the
+     * adjacency of their vertices is incomplete
+     */
+    public boolean incomplete() {
+        return !this.invalidOwners.isEmpty();
+    }
+
+    /**
+     * Merge the delta segments into edges, the vertices and edges are
+     * copied into new arrays of the exact size (rather than the capacity),
+     * then replace the old ones
+     */
+    @Watched
+    public synchronized void compact() {
+        if (this.loading) {
+            // The delta segments will be kept after loading
+            return;
+        }
+
+        List<DeltaSegment> compactings;
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            // Freeze the current segments and write into a new segment
+            compactings = new ArrayList<>(this.segments);
+            this.segments.add(new DeltaSegment());
+        } finally {
+            writeLock.unlock();
+        }
+
+        long deltas = 0L;
+        long maxVertex = this.maxVertex;
+        for (DeltaSegment segment : compactings) {
+            deltas += segment.size();
+            maxVertex = Math.max(maxVertex, segment.maxVertex());
+        }
+        if (deltas == 0L) {
+            this.segments.removeAll(compactings);
+            return;
+        }
+
+        /*
+         * Merge the edges of the vertices with deltas first to count the
+         * compacted edges, the other vertices are copied from the edges
+         * directly. It's safe to read the edges without lock since they
+         * are only replaced by the synchronized methods
+         */
+        long[] owners = deltaOwners(compactings);
+        VertexEdges[] merged = new VertexEdges[owners.length];
+        long edgesSize = this.edgesSize();
+        for (int i = 0; i < owners.length; i++) {
+            merged[i] = this.mergeEdges(owners[i], compactings);
+            assert merged[i] != null;
+            edgesSize += merged[i].size() - this.adjacentSize(owners[i]);
+        }
+        if (edgesSize >= this.edgesCapacity) {
+            throw new HugeException("Too many edges %s to compact into " +
+                                    "ramtable, the capacity is %s",
+                                    edgesSize, this.edgesCapacity - 1);
+        }
+        // The position of the next vertex of max vertex is also kept
+        long vertices = maxVertex + 2L;
+        if (vertices > this.verticesCapacity) {
+            throw new HugeException("Out of vertices capaticy %s",
+                                    this.verticesCapacity);
+        }
+
+        RamTable table = new RamTable(this, vertices, (int) edgesSize + 1);
+        int next = 0;
+        for (long vertex = 0L; vertex <= maxVertex; vertex++) {
+            if (next < owners.length && owners[next] == vertex) {
+                VertexEdges edges = merged[next];
+                // Release the merged edges once they are copied
+                merged[next++] = null;
+                for (int i = 0; i < edges.size(); i++) {
+                    table.addEdge(i == 0, vertex, edges.value(i),
+                                  edges.values(i));
+                }
+                continue;
+            }
+            int start = this.vertexAdjPosition(vertex);
+            if (start <= NULL) {
+                continue;
+            }
+            int end = this.vertexAdjEnd(vertex);
+            for (int i = start; i < end; i++) {
+                table.addEdge(i == start, vertex, this, i);
+            }
+        }
+
+        writeLock.lock();
+        try {
+            this.verticesLow = table.verticesLow;
+            this.verticesHigh = table.verticesHigh;
+            this.edges = table.edges;
+            this.columns = table.columns;
+            this.maxVertex = table.maxVertex;
+            this.segments.removeAll(compactings);
+        } finally {
+            writeLock.unlock();
+        }
+        this.deltasSize.addAndGet(-deltas);
+        LOG.info("Compacted {} deltas into ramtable with {} edges",
+                 deltas, this.edgesSize());
+    }
+
+    private synchronized void compactAsync() {
+        if (this.compactExecutor == null) {
+            this.compactExecutor = Consumers.newThreadPool("ramtable-compact",
+                                                           1);
+        }
+        this.compactExecutor.submit(() -> {
+            try {
+                this.compact();
+            } catch (Throwable e) {
+                LOG.warn("Failed to compact ramtable", e);
+                this.reset();
+            } finally {
+                this.compacting.set(false);
+            }
+        });
+    }
+
+    public long deltasSize() {
+        return this.deltasSize.get();
+    }
+
+    public boolean hasColumns() {
+        return this.columnKeys.length > 0;
     }
 
     public long edgesSize() {
@@ -286,12 +754,23 @@ public final class RamTable {
         } else {
             return false;
         }
+        if (!owner.number() || this.invalidOwners.contains(owner.asLong())) {
+            return false;
+        }
         if (direction != null) {
             matchedConds++;
         }
         if (label != null) {
             matchedConds++;
         }
+        // The conditions of edge properties in columns can be matched
+        for (Condition cond : this.userpropConditions(cq)) {
+            if (!cond.isRelation() ||
+                !this.columns.contains((Id) ((Relation) cond).key())) {
+                return false;
+            }
+            matchedConds++;
+        }
         return matchedConds == cq.conditions().size();
     }
 
@@ -311,27 +790,212 @@ public final class RamTable {
         if (label == null) {
             label = IdGenerator.ZERO;
         }
-        return this.query(owner.asLong(), dir, (int) label.asLong());
+        return this.query(owner.asLong(), dir, (int) label.asLong(),
+                          this.userpropConditions(cq));
     }
 
-    @Watched
     public Iterator<HugeEdge> query(long owner, Directions dir, int label) {
+        return this.query(owner, dir, label, ImmutableList.of());
+    }
+
+    @Watched
+    public Iterator<HugeEdge> query(long owner, Directions dir, int label,
+                                    List<Condition> conditions) {
         if (this.loading) {
             // don't query when loading
             return Collections.emptyIterator();
         }
 
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            VertexEdges edges = this.mergeEdges(owner, this.segments);
+            if (edges != null) {
+                if (edges.size() == 0) {
+                    return Collections.emptyIterator();
+                }
+                return new EdgeRangeIterator(edges.values, edges.columns,
+                                             0, edges.size(), dir, label,
+                                             owner, conditions);
+            }
+
+            // No delta of the vertex, query from the edges directly
+            int start = this.vertexAdjPosition(owner);
+            if (start <= NULL) {
+                return Collections.emptyIterator();
+            }
+            int end = this.vertexAdjEnd(owner);
+            return new EdgeRangeIterator(this.edges, this.columns, start, end,
+                                         dir, label, owner, conditions);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public long maxVertex() {
+        long maxVertex = this.maxVertex;
+        for (DeltaSegment segment : this.segments) {
+            maxVertex = Math.max(maxVertex, segment.maxVertex());
+        }
+        return maxVertex;
+    }
+
+    /**
+     * Get the number of adjacent edges of the vertex in both directions,
+     * the edges in delta segments are not counted, so it's an estimation
+     */
+    public int degree(long owner) {
+        if (this.loading || owner < 0L ||
+            owner >= this.verticesCapacity - 1L) {
+            return 0;
+        }
+
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            int start = this.vertexAdjPosition(owner);
+            if (start <= NULL) {
+                return 0;
+            }
+            return this.vertexAdjEnd(owner) - start;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Find the first adjacent vertex of the owner that matches the filter,
+     * it's cheaper than query() since no edge is constructed
+     * @return the id of the matched adjacent vertex, or -1 if not found
+     */
+    @Watched
+    public long firstAdjacentVertex(long owner, Directions dir, int label,
+                                    LongPredicate filter) {
+        if (this.loading) {
+            return -1L;
+        }
+
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            VertexEdges edges = this.mergeEdges(owner, this.segments);
+            if (edges != null) {
+                for (int i = 0; i < edges.size(); i++) {
+                    long target = matchedTarget(edges.value(i), dir, label);
+                    if (target >= 0L && filter.test(target)) {
+                        return target;
+                    }
+                }
+                return -1L;
+            }
+
+            int start = this.vertexAdjPosition(owner);
+            if (start <= NULL) {
+                return -1L;
+            }
+            int end = this.vertexAdjEnd(owner);
+            for (int i = start; i < end; i++) {
+                long target = matchedTarget(this.edges.get(i), dir, label);
+                if (target >= 0L && filter.test(target)) {
+                    return target;
+                }
+            }
+            return -1L;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Merge edges of the vertex with the delta segments
+     * @return null if there is no delta of the vertex
+     */
+    private VertexEdges mergeEdges(long owner, List<DeltaSegment> segments) {
+        Map<Long, long[]> deltas = null;
+        for (DeltaSegment segment : segments) {
+            Map<Long, long[]> delta = segment.get(owner);
+            if (delta == null) {
+                continue;
+            }
+            if (deltas == null) {
+                deltas = new HashMap<>();
+            }
+            // The newer segment overrides the older ones
+            deltas.putAll(delta);
+        }
+        if (deltas == null) {
+            return null;
+        }
+
+        VertexEdges base = this.edgesOfVertex(owner);
+        VertexEdges edges = new VertexEdges(this.columnKeys,
+                                            base.size() + deltas.size());
+        for (int i = 0; i < base.size(); i++) {
+            long value = base.value(i);
+            long[] values = deltas.remove(value);
+            if (values == null) {
+                edges.add(value, base.values(i));
+            } else if (values != DeltaSegment.REMOVED) {
+                // The properties of edge may be updated
+                edges.add(value, values);
+            }
+        }
+        for (Map.Entry<Long, long[]> delta : deltas.entrySet()) {
+            if (delta.getValue() != DeltaSegment.REMOVED) {
+                edges.add(delta.getKey(), delta.getValue());
+            }
+        }
+        return edges;
+    }
+
+    private int adjacentSize(long owner) {
         int start = this.vertexAdjPosition(owner);
         if (start <= NULL) {
-            return Collections.emptyIterator();
+            return 0;
         }
-        int end = this.vertexAdjPosition(owner + 1);
-        assert start != NULL;
+        return this.vertexAdjEnd(owner) - start;
+    }
+
+    private static long[] deltaOwners(List<DeltaSegment> segments) {
+        LongHashSet owners = new LongHashSet();
+        for (DeltaSegment segment : segments) {
+            for (long owner : segment.owners()) {
+                owners.add(owner);
+            }
+        }
+        return owners.toSortedArray();
+    }
+
+    private VertexEdges edgesOfVertex(long owner) {
+        int start = this.vertexAdjPosition(owner);
+        if (start <= NULL) {
+            return new VertexEdges(this.columnKeys, 0);
+        }
+        int end = this.vertexAdjEnd(owner);
+        VertexEdges edges = new VertexEdges(this.columnKeys, end - start);
+        for (int i = start; i < end; i++) {
+            edges.add(this.edges.get(i), this.columns.values(i));
+        }
+        return edges;
+    }
+
+    private List<Condition> userpropConditions(ConditionQuery query) {
+        List<Condition> conditions = new ArrayList<>();
+        for (Condition cond : query.conditions()) {
+            if (!cond.isSysprop()) {
+                conditions.add(cond);
+            }
+        }
+        return conditions;
+    }
+
+    private int vertexAdjEnd(long vertex) {
+        int end = this.vertexAdjPosition(vertex + 1);
         if (end < NULL) {
             // The next vertex does not exist edges
             end = 1 - end;
         }
-        return new EdgeRangeIterator(start, end, dir, label, owner);
+        return end;
     }
 
     private void vertexAdjPosition(long vertex, int position) {
@@ -348,11 +1012,18 @@ public final class RamTable {
     }
 
     private int vertexAdjPosition(long vertex) {
+        // The compacted vertices may be less than the capacity
         if (vertex < this.verticesCapacityHalf) {
+            if (vertex >= this.verticesLow.size()) {
+                return NULL;
+            }
             return this.verticesLow.get(vertex);
         } else if (vertex < this.verticesCapacity) {
             vertex -= this.verticesCapacityHalf;
             assert vertex < Integer.MAX_VALUE;
+            if (vertex >= this.verticesHigh.size()) {
+                return NULL;
+            }
             return this.verticesHigh.get(vertex);
         } else {
             throw new HugeException("Out of vertices capaticy %s: %s",
@@ -368,6 +1039,19 @@ public final class RamTable {
         }
     }
 
+    private static long encode(HugeEdge edge) {
+        if (edge.schemaLabel().existSortKeys()) {
+            throw new HugeException("Only edge label without sortkey is " +
+                                    "supported by ramtable, but got '%s'",
+                                    edge.schemaLabel());
+        }
+        ensureNumberId(edge.id().ownerVertexId());
+        ensureNumberId(edge.id().otherVertexId());
+
+        return encode(edge.id().otherVertexId().asLong(), edge.direction(),
+                      (int) edge.schemaLabel().id().asLong());
+    }
+
     private static long encode(long target, Directions direction, int label) {
         // TODO: support property
         assert (label & 0x0fffffff) == label;
@@ -379,18 +1063,42 @@ public final class RamTable {
         return value;
     }
 
+    /**
+     * Decode the target vertex of an encoded edge
+     * @return the target vertex, or -1 if direction or label not matched
+     */
+    private static long matchedTarget(long value, Directions dir, int label) {
+        Directions actualDir = (value & 0x80000000L) == 0L ?
+                               Directions.OUT : Directions.IN;
+        if (dir != actualDir && dir != Directions.BOTH) {
+            return -1L;
+        }
+        int actualLabel = (int) value & 0x7fffffff;
+        if (label != actualLabel && label != 0) {
+            return -1L;
+        }
+        return value >>> 32;
+    }
+
     private class EdgeRangeIterator implements Iterator<HugeEdge> {
 
+        private final IntLongMap edges;
+        private final EdgeColumns columns;
         private final int end;
         private final Directions dir;
         private final int label;
         private final HugeVertex owner;
+        private final List<Condition> conditions;
         private int current;
         private HugeEdge currentEdge;
 
-        public EdgeRangeIterator(int start, int end,
-                                 Directions dir, int label, long owner) {
-            assert 0 < start && start < end;
+        public EdgeRangeIterator(IntLongMap edges, EdgeColumns columns,
+                                 int start, int end, Directions dir, int label,
+                                 long owner, List<Condition> conditions) {
+            assert 0 <= start && start < end;
+            this.edges = edges;
+            this.columns = columns;
+            this.conditions = conditions;
             this.end = end;
             this.dir = dir;
             this.label = label;
@@ -430,7 +1138,8 @@ public final class RamTable {
             if (this.current >= this.end) {
                 return null;
             }
-            long value = RamTable.this.edges.get(this.current++);
+            int position = this.current++;
+            long value = this.edges.get(position);
             long otherV = value >>> 32;
             assert otherV >= 0L : otherV;
             Directions actualDir = (value & 0x80000000L) == 0L ?
@@ -456,11 +1165,305 @@ public final class RamTable {
             HugeEdge edge = HugeEdge.constructEdge(this.owner, direction,
                                                    edgeLabel, sortValues,
                                                    otherVertexId);
-            edge.propNotLoaded();
+            this.columns.fill(edge, position);
+            if (!this.columns.containsAll(edgeLabel.properties())) {
+                // Load the properties not in columns from backend if needed
+                edge.propNotLoaded();
+            }
+            for (Condition cond : this.conditions) {
+                if (!cond.test(edge)) {
+                    return null;
+                }
+            }
             return edge;
         }
     }
 
+    private static class DeltaSegment {
+
+        // The mark of removed edge
+        private static final long[] REMOVED = new long[0];
+
+        private final ConcurrentMap<Long, Map<Long, long[]>> deltas;
+        private final AtomicLong maxVertex;
+
+        public DeltaSegment() {
+            this.deltas = new ConcurrentHashMap<>();
+            this.maxVertex = new AtomicLong(-1L);
+        }
+
+        /**
+         * Update an edge of the owner vertex
+         * @return the number of new deltas, 0 if the edge is overridden
+         */
+        public int update(long owner, long value, long[] values) {
+            Map<Long, long[]> delta = this.deltas.computeIfAbsent(
+                                      owner, k -> new ConcurrentHashMap<>());
+            long[] old = delta.put(value, values);
+            this.maxVertex.accumulateAndGet(owner, Math::max);
+            return old == null ? 1 : 0;
+        }
+
+        public Map<Long, long[]> get(long owner) {
+            return this.deltas.get(owner);
+        }
+
+        public Set<Long> owners() {
+            return this.deltas.keySet();
+        }
+
+        public long maxVertex() {
+            return this.maxVertex.get();
+        }
+
+        public long size() {
+            long size = 0L;
+            for (Map<Long, long[]> delta : this.deltas.values()) {
+                size += delta.size();
+            }
+            return size;
+        }
+    }
+
+    private static class VertexEdges {
+
+        private final IntLongMap values;
+        private final EdgeColumns columns;
+
+        public VertexEdges(PropertyKey[] keys, int capacity) {
+            this.values = new IntLongMap(capacity);
+            this.columns = new EdgeColumns(keys, capacity);
+        }
+
+        public void add(long value, long[] values) {
+            this.values.add(value);
+            this.columns.add(values);
+        }
+
+        public int size() {
+            return (int) this.values.size();
+        }
+
+        public long value(int index) {
+            return this.values.get(index);
+        }
+
+        public long[] values(int index) {
+            return this.columns.values(index);
+        }
+    }
+
+    private class ShardsLoader implements AutoCloseable {
+
+        private final HugeGraph graph;
+        private final ExecutorService executor;
+        // The snapshot shared by the loading threads, null if unsupported
+        private final Object snapshot;
+
+        public ShardsLoader() {
+            this.graph = RamTable.this.graph;
+            this.executor = Consumers.newThreadPool("ramtable-load",
+                                                    Consumers.THREADS);
+            /*
+             * Pin a snapshot to scan all the shards from the same view,
+             * otherwise the OUT and IN edges written while loading may be
+             * partially scanned
+             */
+            if (this.graph.backendStoreFeatures().supportsSnapshotRead()) {
+                this.snapshot = this.graph.metadata(null, "snapshot", true);
+            } else {
+                this.snapshot = null;
+            }
+        }
+
+        @Override
+        public void close() {
+            this.executor.shutdownNow();
+            if (this.snapshot != null) {
+                // The snapshot is released by the last thread using it
+                this.graph.metadata(null, "snapshot", false);
+            }
+        }
+
+        protected long load(List<Shard> shards) throws Exception {
+            /*
+             * The edges of shards are scanned concurrently, and they must be
+             * added into the table in order of shards, the last vertex of a
+             * shard may be continued by the next shard. Only one shard per
+             * thread is scanned ahead of the shard being added, so that the
+             * scanned edges waiting in memory are bounded
+             */
+            Iterator<Shard> pendings = shards.iterator();
+            Deque<Future<ShardEdges>> futures = new ArrayDeque<>();
+            while (futures.size() < Consumers.THREADS && pendings.hasNext()) {
+                this.submit(futures, pendings.next());
+            }
+
+            long lastVertex = -1L;
+            long total = 0L;
+            while (!futures.isEmpty()) {
+                ShardEdges shard = futures.poll().get();
+                if (pendings.hasNext()) {
+                    this.submit(futures, pendings.next());
+                }
+                if (shard.vertices() == 0) {
+                    continue;
+                }
+                if (shard.vertex(0) < lastVertex) {
+                    throw new HugeException("The ramtable feature is not " +
+                                            "supported by %s backend",
+                                            this.graph.backend());
+                }
+                for (int i = 0; i < shard.vertices(); i++) {
+                    long vertex = shard.vertex(i);
+                    boolean newVertex = vertex != lastVertex;
+                    for (int j = shard.start(i); j < shard.end(i); j++) {
+                        addEdge(newVertex && j == shard.start(i),
+                                vertex, shard.edge(j), shard.values(j));
+                    }
+                    lastVertex = vertex;
+                }
+                total += shard.edges();
+            }
+            LOG.info("Loaded {} edges from {} shards", total, shards.size());
+            return total;
+        }
+
+        private void submit(Deque<Future<ShardEdges>> futures, Shard shard) {
+            futures.add(this.executor.submit(() -> this.scan(shard)));
+        }
+
+        private ShardEdges scan(Shard shard) {
+            if (this.snapshot != null) {
+                this.graph.metadata(null, "snapshot", this.snapshot);
+            }
+            Iterator<Edge> outEdges = null;
+            Iterator<Edge> inEdges = null;
+            ShardEdges results = new ShardEdges(columns.size());
+            try {
+                outEdges = this.edges(HugeType.EDGE_OUT, shard);
+                inEdges = this.edges(HugeType.EDGE_IN, shard);
+                HugeEdge out = next(outEdges);
+                HugeEdge in = next(inEdges);
+                // Merge OUT and IN edges in order of owner vertex
+                while (out != null || in != null) {
+                    if (in == null || (out != null &&
+                        out.id().ownerVertexId().compareTo(
+                        in.id().ownerVertexId()) <= 0)) {
+                        this.add(results, out);
+                        out = next(outEdges);
+                    } else {
+                        this.add(results, in);
+                        in = next(inEdges);
+                    }
+                }
+            } finally {
+                CloseableIterator.closeIterator(outEdges);
+                CloseableIterator.closeIterator(inEdges);
+                if (this.snapshot != null) {
+                    this.graph.metadata(null, "snapshot", false);
+                }
+                // Close the tx opened by scanning in the loading thread
+                this.graph.tx().close();
+            }
+            return results;
+        }
+
+        private void add(ShardEdges results, HugeEdge edge) {
+            if (!results.add(edge, columns.values(edge))) {
+                throw new HugeException("The ramtable feature is not " +
+                                        "supported by %s backend",
+                                        this.graph.backend());
+            }
+        }
+
+        private Iterator<Edge> edges(HugeType type, Shard shard) {
+            ConditionQuery query = new ConditionQuery(type);
+            query.scan(shard.start(), shard.end());
+            query.capacity(Query.NO_CAPACITY);
+            query.limit(Query.NO_LIMIT);
+            return this.graph.edges(query);
+        }
+
+        private HugeEdge next(Iterator<Edge> edges) {
+            return edges.hasNext() ? (HugeEdge) edges.next() : null;
+        }
+    }
+
+    private static class ShardEdges {
+
+        private final LongArrayList vertices;
+        private final IntArrayList starts;
+        private final LongArrayList edges;
+        // The property values of edges in columns, one row per edge
+        private final LongArrayList values;
+        private final int columns;
+
+        public ShardEdges(int columns) {
+            this.vertices = new LongArrayList();
+            this.starts = new IntArrayList();
+            this.edges = new LongArrayList();
+            this.values = new LongArrayList();
+            this.columns = columns;
+        }
+
+        /**
+         * Add an edge of the shard
+         * @return false if the edges are not in order of owner vertex
+         */
+        public boolean add(HugeEdge edge, long[] values) {
+            long value = encode(edge);
+            long vertex = edge.id().ownerVertexId().asLong();
+            int size = this.vertices.size();
+            if (size == 0 || vertex != this.vertices.get(size - 1)) {
+                if (size > 0 && vertex < this.vertices.get(size - 1)) {
+                    return false;
+                }
+                this.vertices.add(vertex);
+                this.starts.add(this.edges.size());
+            }
+            this.edges.add(value);
+            this.values.addAll(values);
+            return true;
+        }
+
+        public int vertices() {
+            return this.vertices.size();
+        }
+
+        public long vertex(int index) {
+            return this.vertices.get(index);
+        }
+
+        public int start(int index) {
+            return this.starts.get(index);
+        }
+
+        public int end(int index) {
+            return index + 1 < this.starts.size() ?
+                   this.starts.get(index + 1) : this.edges.size();
+        }
+
+        public int edges() {
+            return this.edges.size();
+        }
+
+        public long edge(int index) {
+            return this.edges.get(index);
+        }
+
+        public long[] values(int index) {
+            if (this.columns == 0) {
+                return EdgeColumns.NULL_VALUES;
+            }
+            long[] values = new long[this.columns];
+            for (int i = 0; i < this.columns; i++) {
+                values[i] = this.values.get(index * this.columns + i);
+            }
+            return values;
+        }
+    }
+
     private class LoadTraverser implements AutoCloseable {
 
         private final HugeGraph graph;
@@ -19,6 +19,10 @@
 
 package com.baidu.hugegraph.backend.tx;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
@@ -160,6 +164,38 @@ public abstract class AbstractTransaction implements Transaction {
         }
     }
 
+    @Watched(prefix = "tx")
+    public Iterator<BackendEntry> query(List<Query> queries) {
+        LOG.debug("Transaction query batch: {}", queries);
+
+        List<Query> squeries = new ArrayList<>(queries.size());
+        for (Query query : queries) {
+            if (query.empty() && !query.getClass().equals(Query.class)) {
+                throw new BackendException("Query without any id or " +
+                                           "condition: %s", query);
+            }
+            squeries.add(this.serializer.writeQuery(query));
+        }
+
+        // Do rate limit if needed, one permit for each query
+        RateLimiter rateLimiter = this.graph.readRateLimiter();
+        if (rateLimiter != null && !queries.isEmpty() &&
+            queries.get(0).resultType().isGraph()) {
+            double time = rateLimiter.acquire(queries.size());
+            if (time > 0) {
+                LOG.debug("Waited for {}s to query batch", time);
+            }
+            BackendEntryIterator.checkInterrupted();
+        }
+
+        this.beforeRead();
+        try {
+            return this.store.query(squeries);
+        } finally {
+            this.afterRead();
+        }
+    }
+
     @Watched(prefix = "tx")
     public BackendEntry query(HugeType type, Id id) {
         IdQuery idQuery = new IdQuery(type, id);
@@ -45,9 +45,10 @@ import com.baidu.hugegraph.analyzer.Analyzer;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.page.IdHolder;
 import com.baidu.hugegraph.backend.page.IdHolder.BatchIdHolder;
-import com.baidu.hugegraph.backend.page.IdHolder.FixedIdHolder;
 import com.baidu.hugegraph.backend.page.IdHolder.PagingIdHolder;
 import com.baidu.hugegraph.backend.page.IdHolderList;
+import com.baidu.hugegraph.backend.page.JointIdIterator;
+import com.baidu.hugegraph.backend.page.JointIdIterator.SortedIds;
 import com.baidu.hugegraph.backend.page.PageIds;
 import com.baidu.hugegraph.backend.page.PageInfo;
 import com.baidu.hugegraph.backend.page.PageState;
@@ -59,9 +60,11 @@ import com.baidu.hugegraph.backend.query.Condition.RelationType;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.ConditionQuery.OptimizedType;
 import com.baidu.hugegraph.backend.query.ConditionQueryFlatten;
+import com.baidu.hugegraph.backend.query.IdPrefixQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.query.QueryResults;
 import com.baidu.hugegraph.backend.serializer.AbstractSerializer;
+import com.baidu.hugegraph.backend.serializer.BinaryBackendEntry.BinaryId;
 import com.baidu.hugegraph.backend.store.BackendEntry;
 import com.baidu.hugegraph.backend.store.BackendStore;
 import com.baidu.hugegraph.config.CoreOptions;
@@ -86,6 +89,7 @@ import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.Action;
 import com.baidu.hugegraph.type.define.HugeKeys;
 import com.baidu.hugegraph.type.define.IndexType;
+import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.CollectionUtil;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
@@ -516,9 +520,10 @@ public class GraphIndexTransaction extends AbstractTransaction {
                      "instead of joint index: {}", queries.rootQuery());
         }
         // All queries are joined with AND
-        Set<Id> intersectIds = null;
-        boolean filtering = false;
-        IdHolder resultHolder = null;
+        List<Set<Id>> fixedIds = new ArrayList<>();
+        List<SortedIds> sortedIds = new ArrayList<>();
+        List<IndexLabel> indexLabels = new ArrayList<>();
+        BatchIdHolder filterHolder = null;
         for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
             IndexLabel indexLabel = e.getKey();
             ConditionQuery query = e.getValue();
@@ -529,49 +534,109 @@ public class GraphIndexTransaction extends AbstractTransaction {
             }
             /*
              * Try to query by joint indexes:
-             * 1 If there is any index exceeded the threshold, transform into
-             *   partial index query, then filter after back-table.
-             * 1.1 Return the holder of the first index that not exceeded the
-             *     threshold if there exists one index, this holder will be used
-             *     as the only query condition.
-             * 1.2 Return the holder of the first index if all indexes exceeded
-             *     the threshold.
-             * 2 Else intersect holders for all indexes, and return intersection
-             *   ids of all indexes.
+             * 1 If the index can be scanned in the order of element ids,
+             *   read it lazily and skip ahead when intersecting.
+             * 2 Else peek the ids of the index, if exceeded the threshold,
+             *   transform into partial index query, then filter after
+             *   back-table, otherwise sort the ids to take part in the
+             *   intersection.
+             * 3 Return the holder of the first index if all indexes exceeded
+             *   the threshold.
+             * 4 Else intersect ids of all indexes by leapfrog join, and
+             *   return the intersection ids lazily batch by batch.
              */
-            IdHolder holder = this.doIndexQuery(indexLabel, query);
-            if (resultHolder == null) {
-                resultHolder = holder;
+            Id prefix = this.sortedIndexPrefix(query);
+            if (prefix != null) {
+                sortedIds.add(new SortedIndexIds(query, prefix));
+                indexLabels.add(indexLabel);
+                continue;
             }
+            BatchIdHolder holder = (BatchIdHolder) this.doIndexQuery(indexLabel,
+                                                                    query);
             assert this.indexIntersectThresh > 0; // default value is 1000
-            Set<Id> ids = ((BatchIdHolder) holder).peekNext(
-                          this.indexIntersectThresh).ids();
-            if (ids.size() >= this.indexIntersectThresh) {
+            Set<Id> ids = holder.peekNext(this.indexIntersectThresh).ids();
+            if (ids.size() < this.indexIntersectThresh) {
+                holder.close();
+                fixedIds.add(ids);
+            } else {
                 // Transform into filtering
-                filtering = true;
                 query.optimized(OptimizedType.INDEX_FILTER);
-            } else if (filtering) {
-                assert ids.size() < this.indexIntersectThresh;
-                resultHolder = holder;
-                break;
-            } else {
-                if (intersectIds == null) {
-                    intersectIds = ids;
+                if (filterHolder == null) {
+                    filterHolder = holder;
                 } else {
-                    CollectionUtil.intersectWithModify(intersectIds, ids);
-                }
-                if (intersectIds.isEmpty()) {
-                    break;
+                    holder.close();
                 }
             }
         }
 
-        if (filtering) {
-            return resultHolder;
-        } else {
-            assert intersectIds != null;
-            return new FixedIdHolder(queries.asJointQuery(), intersectIds);
+        if (fixedIds.isEmpty() && sortedIds.isEmpty()) {
+            assert filterHolder != null;
+            return filterHolder;
+        }
+        if (filterHolder != null) {
+            filterHolder.close();
         }
+
+        // Let the smallest input drive the intersection
+        fixedIds.sort((ids1, ids2) -> Integer.compare(ids1.size(),
+                                                      ids2.size()));
+        List<SortedIds> inputs = new ArrayList<>(fixedIds.size() +
+                                                 sortedIds.size());
+        for (Set<Id> ids : fixedIds) {
+            inputs.add(JointIdIterator.of(ids));
+        }
+        inputs.addAll(sortedIds);
+        return this.doJointIndexLazily(queries.asJointQuery(), indexLabels,
+                                       new JointIdIterator(inputs));
+    }
+
+    private IdHolder doJointIndexLazily(Query query,
+                                        List<IndexLabel> indexLabels,
+                                        JointIdIterator ids) {
+        return new BatchIdHolder(query, ids, batch -> {
+            LockUtil.Locks locks = new LockUtil.Locks(this.graphName());
+            try {
+                // Catch lock every batch
+                for (IndexLabel indexLabel : indexLabels) {
+                    locks.lockReads(LockUtil.INDEX_LABEL_DELETE,
+                                    indexLabel.id());
+                    locks.lockReads(LockUtil.INDEX_LABEL_REBUILD,
+                                    indexLabel.id());
+                    if (!indexLabel.system()) {
+                        // Check exist because it may be deleted
+                        graph().indexLabel(indexLabel.id());
+                    }
+                }
+
+                Set<Id> results = InsertionOrderUtil.newSet();
+                while ((results.size() < batch || batch == Query.NO_LIMIT) &&
+                       ids.hasNext()) {
+                    results.add(ids.next());
+                    Query.checkForceCapacity(results.size());
+                }
+                return results;
+            } finally {
+                locks.unlock();
+            }
+        });
+    }
+
+    private Id sortedIndexPrefix(ConditionQuery query) {
+        /*
+         * The index entries with the same prefix are sorted by element ids
+         * if the index query is serialized as an id prefix query, and the
+         * backend can skip ahead to an entry by the position of paging.
+         * NOTE: range index query without equal condition is serialized as
+         * id range query, of which entries are sorted by field values.
+         */
+        if (!this.store().features().supportsQueryByPage()) {
+            return null;
+        }
+        Query squery = this.serializer.writeQuery(query);
+        if (!(squery instanceof IdPrefixQuery)) {
+            return null;
+        }
+        return ((IdPrefixQuery) squery).prefix();
     }
 
     @Watched(prefix = "index")
@@ -1457,6 +1522,79 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
+    private class SortedIndexIds implements SortedIds {
+
+        // Scan forward some ids before skipping ahead by a new iterator
+        private static final int SEEK_SCAN_STEPS = 64;
+
+        private final ConditionQuery query;
+        private final byte[] prefix;
+        private Iterator<BackendEntry> entries;
+        private Iterator<Id> ids;
+        private BinaryId last;
+
+        public SortedIndexIds(ConditionQuery query, Id prefix) {
+            this.query = query;
+            this.prefix = prefix.asBytes();
+            this.entries = null;
+            this.ids = Collections.emptyIterator();
+            this.last = null;
+        }
+
+        @Override
+        public BinaryId next() {
+            while (true) {
+                while (this.ids.hasNext()) {
+                    BinaryId id = JointIdIterator.encode(this.ids.next());
+                    // Skip the same element id with different expired time
+                    if (this.last == null ||
+                        JointIdIterator.compare(id, this.last) > 0) {
+                        this.last = id;
+                        return id;
+                    }
+                }
+                if (this.entries == null) {
+                    this.entries = query(this.query).iterator();
+                }
+                if (!this.entries.hasNext()) {
+                    return null;
+                }
+                HugeIndex index = serializer.readIndex(graph(), this.query,
+                                                       this.entries.next());
+                removeExpiredIndexIfNeeded(index, this.query.showExpired());
+                this.ids = index.elementIds().iterator();
+            }
+        }
+
+        @Override
+        public BinaryId seek(BinaryId target) {
+            BinaryId id = null;
+            for (int i = 0; i < SEEK_SCAN_STEPS; i++) {
+                id = this.next();
+                if (id == null || JointIdIterator.compare(id, target) >= 0) {
+                    return id;
+                }
+            }
+
+            // Skip ahead by scanning from the position of target id
+            this.close();
+            byte[] position = Bytes.concat(this.prefix, target.asBytes());
+            ConditionQuery query = this.query.copy();
+            query.page(new PageState(position, 0, 0).toString());
+            this.entries = query(query).iterator();
+            this.ids = Collections.emptyIterator();
+            do {
+                id = this.next();
+            } while (id != null && JointIdIterator.compare(id, target) < 0);
+            return id;
+        }
+
+        @Override
+        public void close() {
+            CloseableIterator.closeIterator(this.entries);
+        }
+    }
+
     private static class IndexQueries
                    extends HashMap<IndexLabel, ConditionQuery> {
 
@@ -50,11 +50,15 @@ import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.SplicingIdGenerator;
+import com.baidu.hugegraph.backend.page.IdHolder;
+import com.baidu.hugegraph.backend.page.IdHolder.BatchIdHolder;
 import com.baidu.hugegraph.backend.page.IdHolderList;
 import com.baidu.hugegraph.backend.page.PageInfo;
 import com.baidu.hugegraph.backend.page.QueryList;
 import com.baidu.hugegraph.backend.query.Aggregate;
 import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.Condition.Relation;
+import com.baidu.hugegraph.backend.query.Condition.RelationType;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.query.ConditionQuery.OptimizedType;
 import com.baidu.hugegraph.backend.query.ConditionQueryFlatten;
@@ -67,6 +71,7 @@ import com.baidu.hugegraph.backend.store.BackendStore;
 import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.exception.LimitExceedException;
+import com.baidu.hugegraph.exception.NoIndexException;
 import com.baidu.hugegraph.exception.NotFoundException;
 import com.baidu.hugegraph.iterator.BatchMapperIterator;
 import com.baidu.hugegraph.iterator.ExtendableIterator;
@@ -130,6 +135,7 @@ public class GraphTransaction extends IndexableTransaction {
     private final int commitPartOfAdjacentEdges;
     private final int batchSize;
     private final int pageSize;
+    private final int inBatchThreshold;
 
     private final int verticesCapacity;
     private final int edgesCapacity;
@@ -155,6 +161,7 @@ public class GraphTransaction extends IndexableTransaction {
              conf.get(CoreOptions.QUERY_IGNORE_INVALID_DATA);
         this.batchSize = conf.get(CoreOptions.QUERY_BATCH_SIZE);
         this.pageSize = conf.get(CoreOptions.QUERY_PAGE_SIZE);
+        this.inBatchThreshold = conf.get(CoreOptions.QUERY_IN_BATCH_THRESHOLD);
 
         this.verticesCapacity = conf.get(CoreOptions.VERTEX_TX_CAPACITY);
         this.edgesCapacity = conf.get(CoreOptions.EDGE_TX_CAPACITY);
@@ -283,6 +290,24 @@ public class GraphTransaction extends IndexableTransaction {
         return new ArrayList<>(this.removedVertices.values());
     }
 
+    protected final Collection<HugeEdge> edgesInTxAdded() {
+        return new ArrayList<>(this.addedEdges.values());
+    }
+
+    protected final Collection<HugeEdge> edgesInTxUpdated() {
+        List<HugeEdge> edges = new ArrayList<>(this.updatedEdges.size());
+        for (HugeEdge edge : this.updatedEdges.values()) {
+            if (!this.removedEdges.containsKey(edge.id())) {
+                edges.add(edge);
+            }
+        }
+        return edges;
+    }
+
+    protected final Collection<HugeEdge> edgesInTxRemoved() {
+        return new ArrayList<>(this.removedEdges.values());
+    }
+
     protected final boolean removingEdgeOwner(HugeEdge edge) {
         for (HugeVertex vertex : this.removedVertices.values()) {
             if (edge.belongToVertex(vertex)) {
@@ -969,6 +994,155 @@ public class GraphTransaction extends IndexableTransaction {
         return edges;
     }
 
+    /**
+     * Query edges of a batch of source vertices, the edges of each source
+     * vertex with the same direction are adjacent in the results, and at
+     * most `limit` edges would be returned for each source vertex
+     * @param sources source vertices of edges
+     * @param direction only be "IN", "OUT" or "BOTH"
+     * @param edgeLabels edge labels of queried edges
+     * @param limit max edges of each source vertex
+     * @return edges grouped by source vertex
+     */
+    @Watched
+    public Iterator<Edge> queryEdgesByVertices(Collection<Id> sources,
+                                               Directions direction,
+                                               Id[] edgeLabels, long limit) {
+        List<Query> queries = new ArrayList<>(sources.size());
+        for (Id source : sources) {
+            Query query = constructEdgesQuery(source, direction, edgeLabels);
+            if (limit != Query.NO_LIMIT) {
+                query.limit(limit);
+            }
+            queries.add(query);
+        }
+
+        if (queries.size() <= 1 || this.hasUpdate()) {
+            // Query one by one to join the edges updated in tx
+            return new FlatMapperIterator<>(queries.iterator(),
+                                            this::queryEdges);
+        }
+
+        Iterator<HugeEdge> results = this.queryEdgesFromBackend(queries);
+        // The queries differ only in source vertex, so filter by any of them
+        results = this.filterUnmatchedRecords(results, queries.get(0));
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Iterator<Edge> edges = (Iterator) results;
+        return edges;
+    }
+
+    /**
+     * Query the other vertex ids of adjacent edges of a batch of vertices,
+     * the ids may be read from cache without constructing any edge
+     */
+    public Iterator<Id> queryAdjacentVertexIds(Collection<Id> sources,
+                                               Directions direction,
+                                               Id[] edgeLabels, long limit) {
+        if (this.hasUpdate()) {
+            // Query edges to join the edges updated in tx
+            return otherVertexIds(this.queryEdgesByVertices(sources, direction,
+                                                            edgeLabels, limit));
+        }
+
+        ExtendableIterator<Id> results = new ExtendableIterator<>();
+        List<Id> batch = new ArrayList<>();
+        for (Id source : sources) {
+            Query query = constructEdgesQuery(source, direction, edgeLabels);
+            if (limit != Query.NO_LIMIT) {
+                query.limit(limit);
+            }
+            List<Id> ids = this.queryAdjacentVertexIdsFromCache(query);
+            if (ids == null) {
+                // Query the edges not in cache by batch
+                batch.add(source);
+                continue;
+            }
+            // Keep the order of source vertices
+            if (!batch.isEmpty()) {
+                results.extend(otherVertexIds(this.queryEdgesByVertices(
+                               batch, direction, edgeLabels, limit)));
+                batch = new ArrayList<>();
+            }
+            if (limit != Query.NO_LIMIT && ids.size() > limit) {
+                ids = ids.subList(0, (int) limit);
+            }
+            results.extend(ids.iterator());
+        }
+        if (!batch.isEmpty()) {
+            results.extend(otherVertexIds(this.queryEdgesByVertices(
+                           batch, direction, edgeLabels, limit)));
+        }
+        return results;
+    }
+
+    /**
+     * Read the other vertex ids of the edges matched query from cache
+     * @return null if the edges are not cached or can't be read as ids
+     */
+    protected List<Id> queryAdjacentVertexIdsFromCache(Query query) {
+        return null;
+    }
+
+    private static Iterator<Id> otherVertexIds(Iterator<Edge> edges) {
+        return new MapperIterator<>(edges, edge -> {
+            return ((HugeEdge) edge).id().otherVertexId();
+        });
+    }
+
+    protected Iterator<HugeEdge> queryEdgesFromBackend(List<Query> queries) {
+        /*
+         * Flatten the query of each source vertex (like query BOTH edges),
+         * and put the queries with the same direction together since they
+         * may be stored in the same table. NOTE: assume the same limit.
+         */
+        long limit = Query.NO_LIMIT;
+        List<Query> outQueries = new ArrayList<>(queries.size());
+        List<Query> inQueries = new ArrayList<>();
+        for (Query query : queries) {
+            assert query.resultType().isEdge();
+            limit = query.limit();
+            for (ConditionQuery cq : ConditionQueryFlatten.flatten(
+                                     (ConditionQuery) query)) {
+                if (cq.condition(HugeKeys.DIRECTION) == Directions.IN) {
+                    inQueries.add(cq);
+                } else {
+                    outQueries.add(cq);
+                }
+            }
+        }
+        List<Query> flattenQueries = outQueries;
+        flattenQueries.addAll(inQueries);
+
+        Iterator<BackendEntry> entries = this.query(flattenQueries);
+        Iterator<HugeEdge> edges = new FlatMapperIterator<>(entries, entry -> {
+            // Edges are in a vertex
+            HugeVertex vertex = this.parseEntry(entry);
+            if (vertex == null) {
+                return null;
+            }
+            return new ListIterator<>(ImmutableList.copyOf(vertex.getEdges()));
+        });
+        edges = this.filterExpiredResultFromFromBackend(queries.get(0), edges);
+
+        if (limit == Query.NO_LIMIT) {
+            return edges;
+        }
+
+        /*
+         * Keep the limit of each source vertex, since a source vertex may
+         * be queried by multi queries, and some backends don't do limit
+         */
+        long max = limit;
+        Map<Id, Long> counts = new HashMap<>(queries.size());
+        return new FilterIterator<>(edges, edge -> {
+            Id owner = edge.id().ownerVertexId();
+            long count = counts.getOrDefault(owner, 0L) + 1L;
+            counts.put(owner, count);
+            return count <= max;
+        });
+    }
+
     @Watched(prefix = "graph")
     public <V> void addVertexProperty(HugeVertexProperty<V> prop) {
         // NOTE: this method can also be used to update property
@@ -1288,6 +1462,14 @@ public class GraphTransaction extends IndexableTransaction {
     private <R> QueryList<R> optimizeQueries(Query query,
                                              QueryResults.Fetcher<R> fetcher) {
         QueryList<R> queries = new QueryList<>(query, fetcher);
+        // Look up IN conditions by batch instead of flattening if possible
+        Query inQuery = this.optimizeInQuery((ConditionQuery) query);
+        if (inQuery != null) {
+            if (!inQuery.empty()) {
+                queries.add(inQuery);
+            }
+            return queries;
+        }
         for (ConditionQuery cq: ConditionQueryFlatten.flatten(
                                 (ConditionQuery) query)) {
             // Optimize by sysprop
@@ -1389,6 +1571,196 @@ public class GraphTransaction extends IndexableTransaction {
         return null;
     }
 
+    private Query optimizeInQuery(ConditionQuery query) {
+        /*
+         * Flattening IN conditions would generate the cartesian product of
+         * their values as sub-queries, e.g. 200 values of city and 50 values
+         * of age lead to 10000 sub-queries, instead of that:
+         * 1.splice vertex ids of all the primary-values combinations, or
+         * 2.do index query for each value of an IN condition, then intersect
+         *   the ids between IN conditions, other conditions would be
+         *   filtered after back-table.
+         * Return null if can't optimize, then the query should be flattened
+         */
+        if (query.paging() || !query.ids().isEmpty() || !query.allRelation()) {
+            return null;
+        }
+
+        Id label = null;
+        List<Relation> inRelations = new ArrayList<>();
+        List<Relation> otherRelations = new ArrayList<>();
+        for (Relation relation : query.relations()) {
+            if (relation.isSysprop()) {
+                // Only support querying by label besides userprops
+                if (relation.key() != HugeKeys.LABEL || label != null ||
+                    relation.relation() != RelationType.EQ) {
+                    return null;
+                }
+                label = (Id) relation.value();
+            } else if (relation.relation() == RelationType.IN) {
+                inRelations.add(relation);
+            } else if (relation.isFlattened()) {
+                otherRelations.add(relation);
+            } else {
+                return null;
+            }
+        }
+        if (inRelations.isEmpty()) {
+            return null;
+        }
+
+        // Optimize vertex query by primary-values combinations
+        if (label != null && query.resultType().isVertex()) {
+            VertexLabel vertexLabel = this.graph().vertexLabel(label);
+            if (vertexLabel.idStrategy() == IdStrategy.PRIMARY_KEY &&
+                query.matchUserpropKeys(vertexLabel.primaryKeys())) {
+                Set<Id> ids = this.primaryKeysIds(query, vertexLabel);
+                if (ids != null) {
+                    query.optimized(OptimizedType.PRIMARY_KEY);
+                    LOG.debug("Query vertices by {} primaryKeys: {}",
+                              ids.size(), query);
+                    return new IdQuery(query, ids);
+                }
+                return null;
+            }
+        }
+
+        // Optimize by index query for each value of IN conditions
+        Set<Id> ids = null;
+        inRelations.sort((r1, r2) -> Integer.compare(inValues(r1).size(),
+                                                     inValues(r2).size()));
+        for (Relation relation : inRelations) {
+            Set<Id> results = InsertionOrderUtil.newSet();
+            for (Object value : inValues(relation)) {
+                ConditionQuery q = new ConditionQuery(query.resultType());
+                if (label != null) {
+                    q.eq(HugeKeys.LABEL, label);
+                }
+                for (Relation other : otherRelations) {
+                    q.query(other);
+                }
+                q.query(Condition.eq((Id) relation.key(), value));
+                IdHolderList holders;
+                try {
+                    holders = this.indexQuery(q);
+                } catch (NoIndexException e) {
+                    // Let the flattened sub-queries report it if needed
+                    return null;
+                }
+                if (!this.collectInIds(holders, results)) {
+                    return null;
+                }
+            }
+            if (ids == null) {
+                ids = results;
+            } else {
+                ids.retainAll(results);
+            }
+            if (ids.isEmpty()) {
+                break;
+            }
+        }
+        assert ids != null;
+
+        /*
+         * The index results of other conditions are not intersected
+         * with each other, so filter the results after back-table
+         */
+        query.optimized(OptimizedType.INDEX_FILTER);
+        LOG.debug("Query by {} ids of IN conditions index: {}",
+                  ids.size(), query);
+        return new IdQuery(query, ids);
+    }
+
+    private boolean collectInIds(IdHolderList holders, Set<Id> results) {
+        /*
+         * Fetch the ids of index query by batch, and stop once they exceed
+         * the threshold rather than reading all of them
+         * Return false if exceeded
+         */
+        try {
+            for (IdHolder holder : holders) {
+                if (!(holder instanceof BatchIdHolder)) {
+                    // The ids of joint index or search index are in memory
+                    results.addAll(holder.all());
+                } else {
+                    BatchIdHolder batch = (BatchIdHolder) holder;
+                    while (batch.hasNext() &&
+                           results.size() <= this.inBatchThreshold) {
+                        long size = this.inBatchThreshold - results.size() + 1;
+                        results.addAll(batch.fetchNext(null, size).ids());
+                    }
+                }
+                if (results.size() > this.inBatchThreshold) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            for (IdHolder holder : holders) {
+                if (holder instanceof BatchIdHolder) {
+                    ((BatchIdHolder) holder).close();
+                }
+            }
+        }
+    }
+
+    private Set<Id> primaryKeysIds(ConditionQuery query,
+                                   VertexLabel vertexLabel) {
+        List<Id> keys = vertexLabel.primaryKeys();
+        List<List<Object>> keysValues = new ArrayList<>(keys.size());
+        long combinations = 1L;
+        for (Id key : keys) {
+            List<Condition> conditions = query.userpropConditions(key);
+            if (conditions.size() != 1) {
+                return null;
+            }
+            Relation relation = (Relation) conditions.get(0);
+            List<Object> values;
+            if (relation.relation() == RelationType.EQ) {
+                values = ImmutableList.of(relation.serialValue());
+            } else if (relation.relation() == RelationType.IN) {
+                values = inValues(relation);
+            } else {
+                return null;
+            }
+            combinations *= values.size();
+            if (combinations > this.inBatchThreshold) {
+                return null;
+            }
+            keysValues.add(values);
+        }
+
+        // Splice vertex id of each combination of the primary-values
+        Set<Id> ids = InsertionOrderUtil.newSet();
+        List<List<Object>> combination = new ArrayList<>();
+        combination.add(ImmutableList.of());
+        for (List<Object> values : keysValues) {
+            List<List<Object>> next = new ArrayList<>(combination.size() *
+                                                      values.size());
+            for (List<Object> prefix : combination) {
+                for (Object value : values) {
+                    List<Object> primaryValues = new ArrayList<>(prefix);
+                    primaryValues.add(value);
+                    next.add(primaryValues);
+                }
+            }
+            combination = next;
+        }
+        for (List<Object> primaryValues : combination) {
+            String values = ConditionQuery.concatValues(primaryValues);
+            ids.add(SplicingIdGenerator.splicing(vertexLabel.id().asString(),
+                                                 values));
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> inValues(Relation relation) {
+        assert relation.relation() == RelationType.IN;
+        return (List<Object>) relation.value();
+    }
+
     private IdHolderList indexQuery(ConditionQuery query) {
         /*
          * Optimize by index-query
@@ -29,6 +29,7 @@ import static com.baidu.hugegraph.config.OptionChecker.rangeInt;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.type.define.CollectionType;
 import com.baidu.hugegraph.util.Bytes;
+import com.google.common.collect.ImmutableList;
 
 public class CoreOptions extends OptionHolder {
 
@@ -121,6 +122,30 @@ public class CoreOptions extends OptionHolder {
                     false
             );
 
+    public static final ConfigOption<String> RAFT_READ_STRATEGY =
+            new ConfigOption<>(
+                    "raft.read_strategy",
+                    "The linearly consistent read strategy when safe_read is " +
+                    "enabled, ReadOnlySafe: confirm the leadership by " +
+                    "heartbeats for each read-index, ReadOnlyLeaseBased: " +
+                    "trust the leader lease, the read-index is answered " +
+                    "without heartbeats while the lease is valid. Note that " +
+                    "the leader also reads by read-index instead of reading " +
+                    "directly without confirming the leadership, use " +
+                    "ReadOnlyLeaseBased to keep the leader reads cheap.",
+                    allowValues("ReadOnlySafe", "ReadOnlyLeaseBased"),
+                    "ReadOnlySafe"
+            );
+
+    public static final ConfigOption<Integer> RAFT_READ_INDEX_TIMEOUT =
+            new ConfigOption<>(
+                    "raft.read_index_timeout",
+                    "The timeout in milliseconds to wait read-index when " +
+                    "safe_read is enabled.",
+                    positiveInt(),
+                    10000
+            );
+
     public static final ConfigOption<Boolean> RAFT_USE_SNAPSHOT =
             new ConfigOption<>(
                     "raft.use_snapshot",
@@ -145,6 +170,20 @@ public class CoreOptions extends OptionHolder {
                     "127.0.0.1:8281,127.0.0.1:8282,127.0.0.1:8283"
             );
 
+    public static final ConfigOption<Integer> RAFT_SHARDS =
+            new ConfigOption<>(
+                    "raft.shards",
+                    "The number of raft groups that the stores are " +
+                    "assigned to, each group has its own leader, state " +
+                    "machine and snapshot. The schema, graph and system " +
+                    "stores are assigned to the groups by turns, so a " +
+                    "transaction is always committed in one group. Note " +
+                    "that the graph store isn't partitioned by vertex, " +
+                    "all graph data is still written through one group.",
+                    rangeInt(1, 3),
+                    1
+            );
+
     public static final ConfigOption<String> RAFT_PATH =
             new ConfigOption<>(
                     "raft.path",
@@ -205,6 +244,26 @@ public class CoreOptions extends OptionHolder {
                     1
             );
 
+    public static final ConfigOption<Integer> RAFT_GROUP_COMMIT_DELAY =
+            new ConfigOption<>(
+                    "raft.group_commit_delay",
+                    "The time in microseconds to collect the concurrent " +
+                    "store commands into one raft entry, 0 means disable " +
+                    "group commit.",
+                    rangeInt(0, 1000000),
+                    200
+            );
+
+    public static final ConfigOption<Integer> RAFT_GROUP_COMMIT_BYTES =
+            new ConfigOption<>(
+                    "raft.group_commit_bytes",
+                    "The max bytes of the store commands grouped into one " +
+                    "raft entry, the entry is submitted immediately once " +
+                    "its size reaches it.",
+                    positiveInt(),
+                    1024 * 1024
+            );
+
     public static final ConfigOption<Integer> RAFT_QUEUE_SIZE =
             new ConfigOption<>(
                     "raft.queue_size",
@@ -403,6 +462,16 @@ public class CoreOptions extends OptionHolder {
                     1000
             );
 
+    public static final ConfigOption<Boolean> OLTP_DIRECTION_OPTIMIZING =
+            new ConfigOption<>(
+                    "oltp.direction_optimizing",
+                    "Whether to switch between top-down and bottom-up " +
+                    "expansion per layer in k-out and k-neighbor algorithm, " +
+                    "bottom-up is only available when ramtable is enabled.",
+                    disallowEmpty(),
+                    true
+            );
+
     public static final ConfigOption<Integer> QUERY_PAGE_SIZE =
             new ConfigOption<>(
                     "query.page_size",
@@ -421,6 +490,17 @@ public class CoreOptions extends OptionHolder {
                     1000
             );
 
+    public static final ConfigOption<Integer> QUERY_IN_BATCH_THRESHOLD =
+            new ConfigOption<>(
+                    "query.in_batch_threshold",
+                    "The maximum number of primary-key combinations or " +
+                    "index results to look up by batch for the IN " +
+                    "conditions of a query, the query will be flattened " +
+                    "into sub-queries if exceeded.",
+                    rangeInt(1, (int) Query.DEFAULT_CAPACITY),
+                    10000
+            );
+
     public static final ConfigOption<Boolean> QUERY_RAMTABLE_ENABLE =
             new ConfigOption<>(
                     "query.ramtable_enable",
@@ -447,6 +527,18 @@ public class CoreOptions extends OptionHolder {
                     20000000
             );
 
+    public static final ConfigListOption<String> QUERY_RAMTABLE_EDGE_PROPERTIES =
+            new ConfigListOption<>(
+                    "query.ramtable_edge_properties",
+                    false,
+                    "The edge properties stored as columns in ramtable, " +
+                    "only single number, boolean or date property is " +
+                    "supported, each costs 8 bytes per edge.",
+                    null,
+                    String.class,
+                    ImmutableList.of()
+            );
+
     public static final ConfigOption<Integer> VERTEX_TX_CAPACITY =
             new ConfigOption<>(
                     "vertex.tx_capacity",
@@ -497,8 +589,9 @@ public class CoreOptions extends OptionHolder {
     public static final ConfigOption<String> VERTEX_CACHE_TYPE =
             new ConfigOption<>(
                     "vertex.cache_type",
-                    "The type of vertex cache, allowed values are [l1, l2].",
-                    allowValues("l1", "l2"),
+                    "The type of vertex cache, allowed values are " +
+                    "[l1, l2, tinylfu].",
+                    allowValues("l1", "l2", "tinylfu"),
                     "l1"
             );
 
@@ -518,11 +611,22 @@ public class CoreOptions extends OptionHolder {
                     (60 * 10)
             );
 
+    public static final ConfigOption<Boolean> VERTEX_CACHE_ADAPTIVE =
+            new ConfigOption<>(
+                    "vertex.cache_adaptive",
+                    "Whether to adjust the capacity of heap level and " +
+                    "off-heap level of l2 vertex cache adaptively by the " +
+                    "hits of each level and the gc time.",
+                    disallowEmpty(),
+                    false
+            );
+
     public static final ConfigOption<String> EDGE_CACHE_TYPE =
             new ConfigOption<>(
                     "edge.cache_type",
-                    "The type of edge cache, allowed values are [l1, l2].",
-                    allowValues("l1", "l2"),
+                    "The type of edge cache, allowed values are " +
+                    "[l1, l2, tinylfu].",
+                    allowValues("l1", "l2", "tinylfu"),
                     "l1"
             );
 
@@ -542,6 +646,16 @@ public class CoreOptions extends OptionHolder {
                     (60 * 10)
             );
 
+    public static final ConfigOption<Boolean> EDGE_CACHE_ADAPTIVE =
+            new ConfigOption<>(
+                    "edge.cache_adaptive",
+                    "Whether to adjust the capacity of heap level and " +
+                    "off-heap level of l2 edge cache adaptively by the " +
+                    "hits of each level and the gc time.",
+                    disallowEmpty(),
+                    false
+            );
+
     public static final ConfigOption<Long> SNOWFLAKE_WORKER_ID =
             new ConfigOption<>(
                     "snowflake.worker_id",
@@ -626,6 +740,15 @@ public class CoreOptions extends OptionHolder {
                     10
             );
 
+    public static final ConfigOption<Integer> OLTP_QUERY_BATCH_SIZE =
+            new ConfigOption<>(
+                    "oltp.query_batch_size",
+                    "The number of source vertices to query adjacent edges " +
+                    "by batch in oltp algorithm.",
+                    rangeInt(1, (int) Query.DEFAULT_CAPACITY),
+                    1000
+            );
+
     public static final ConfigOption<Double> AUTH_AUDIT_LOG_RATE =
             new ConfigOption<>(
                     "auth.audit_log_rate",
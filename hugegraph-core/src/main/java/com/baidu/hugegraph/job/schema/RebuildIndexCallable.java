@@ -19,15 +19,36 @@
 
 package com.baidu.hugegraph.job.schema;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.slf4j.Logger;
 
+import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.backend.store.BackendFeatures;
+import com.baidu.hugegraph.backend.store.Shard;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
 import com.baidu.hugegraph.backend.tx.SchemaTransaction;
 import com.baidu.hugegraph.schema.EdgeLabel;
@@ -37,12 +58,22 @@ import com.baidu.hugegraph.schema.SchemaLabel;
 import com.baidu.hugegraph.schema.VertexLabel;
 import com.baidu.hugegraph.structure.HugeElement;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
 import com.baidu.hugegraph.type.define.SchemaStatus;
+import com.baidu.hugegraph.util.Bytes;
+import com.baidu.hugegraph.util.Consumers;
 import com.baidu.hugegraph.util.LockUtil;
+import com.baidu.hugegraph.util.Log;
 import com.google.common.collect.ImmutableSet;
 
 public class RebuildIndexCallable extends SchemaCallable {
 
+    private static final Logger LOG = Log.logger(RebuildIndexCallable.class);
+
+    private static final long REBUILD_SHARD_SIZE = 64L * Bytes.MB;
+    private static final long REBUILD_BY_SHARD_THRESHOLD = 100000L;
+    private static final long PROGRESS_INTERVAL = 1000L;
+
     @Override
     public String type() {
         return SchemaCallable.REBUILD_INDEX;
@@ -121,7 +152,10 @@ public class RebuildIndexCallable extends SchemaCallable {
             graphTx.commit();
 
             try {
-                if (label.type() == HugeType.VERTEX_LABEL) {
+                List<Shard> shards = this.shards(label);
+                if (!shards.isEmpty()) {
+                    this.rebuildIndex(label, indexLabelIds, shards);
+                } else if (label.type() == HugeType.VERTEX_LABEL) {
                     @SuppressWarnings("unchecked")
                     Consumer<Vertex> consumer = (Consumer<Vertex>) indexUpdater;
                     graphTx.traverseVerticesByLabel((VertexLabel) label,
@@ -149,6 +183,206 @@ public class RebuildIndexCallable extends SchemaCallable {
         }
     }
 
+    private void rebuildIndex(SchemaLabel label, Collection<Id> indexLabelIds,
+                              List<Shard> shards) {
+        Queue<Shard> pending = new ConcurrentLinkedQueue<>(shards);
+        AtomicInteger done = new AtomicInteger(0);
+        int workers = Math.min(Consumers.THREADS, shards.size());
+        ExecutorService executor = Consumers.newThreadPool("index-rebuild",
+                                                           workers);
+        GraphTransaction graphTx = this.params().graphTransaction();
+        // Scan all the shards from the same view if possible
+        Object snapshot = this.scanBySnapshot(indexLabelIds) ?
+                          graphTx.metadata(null, "snapshot", true) : null;
+        try {
+            // Each worker takes the pending shards until all are rebuilt
+            List<Future<Long>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        return this.rebuildIndex(label, indexLabelIds,
+                                                 pending, done,
+                                                 snapshot);
+                    } catch (Throwable e) {
+                        // Stop other workers after their current shards
+                        pending.clear();
+                        throw e;
+                    }
+                }));
+            }
+
+            long total = 0L;
+            for (Future<Long> future : futures) {
+                total += this.waitWorker(future, done, shards.size());
+            }
+            LOG.info("Rebuilt index of {} elements of label '{}' " +
+                     "from {} shards", total, label.name(), shards.size());
+        } catch (ExecutionException e) {
+            throw new HugeException("Failed to rebuild index of label '%s'",
+                                    e.getCause(), label.name());
+        } catch (InterruptedException e) {
+            throw new HugeException("Interrupted while rebuilding index " +
+                                    "of label '%s'", e, label.name());
+        } finally {
+            executor.shutdownNow();
+            if (snapshot != null) {
+                // The snapshot is released by the last thread using it
+                graphTx.metadata(null, "snapshot", false);
+            }
+        }
+
+        if (this.graph().backendStoreFeatures().supportsBulkLoad()) {
+            // Flush the index tables once since they are written without WAL
+            Set<HugeType> tables = new HashSet<>();
+            for (Id id : indexLabelIds) {
+                tables.add(this.graph().indexLabel(id).indexType().type());
+            }
+            graphTx.metadata(null, "flush", tables.toArray());
+        }
+    }
+
+    private boolean scanBySnapshot(Collection<Id> indexLabelIds) {
+        if (!this.graph().backendStoreFeatures().supportsSnapshotRead()) {
+            return false;
+        }
+        /*
+         * The reads of a session are all from the snapshot, the unique
+         * index must be checked against the index written by rebuilding
+         */
+        for (Id id : indexLabelIds) {
+            if (this.graph().indexLabel(id).indexType().isUnique()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long waitWorker(Future<Long> future, AtomicInteger done,
+                            int shards) throws ExecutionException,
+                                               InterruptedException {
+        while (true) {
+            try {
+                return future.get(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ignored) {
+                this.updateProgress(done.get() * 100 / shards);
+            }
+        }
+    }
+
+    private long rebuildIndex(SchemaLabel label, Collection<Id> indexLabelIds,
+                              Queue<Shard> shards, AtomicInteger done,
+                              Object snapshot) {
+        // Each worker updates index with its own transaction
+        GraphTransaction graphTx = this.params().openTransaction();
+        boolean bulkLoad = graphTx.storeFeatures().supportsBulkLoad();
+        if (bulkLoad) {
+            graphTx.metadata(null, "bulk_load", true);
+        }
+        if (snapshot != null) {
+            graphTx.metadata(null, "snapshot", snapshot);
+        }
+
+        long count = 0L;
+        try {
+            Shard shard;
+            while ((shard = shards.poll()) != null) {
+                count += this.rebuildIndex(graphTx, label, indexLabelIds,
+                                           shard);
+                done.incrementAndGet();
+            }
+        } finally {
+            if (graphTx.hasUpdate()) {
+                graphTx.rollback();
+            }
+            if (bulkLoad) {
+                graphTx.metadata(null, "bulk_load", false);
+            }
+            if (snapshot != null) {
+                graphTx.metadata(null, "snapshot", false);
+            }
+            graphTx.close();
+        }
+        return count;
+    }
+
+    private long rebuildIndex(GraphTransaction graphTx, SchemaLabel label,
+                              Collection<Id> indexLabelIds, Shard shard) {
+        HugeType type = label.type() == HugeType.VERTEX_LABEL ?
+                        HugeType.VERTEX : HugeType.EDGE_OUT;
+        ConditionQuery query = new ConditionQuery(type);
+        query.scan(shard.start(), shard.end());
+        query.capacity(Query.NO_CAPACITY);
+        query.limit(Query.NO_LIMIT);
+        if (label.hidden()) {
+            query.showHidden(true);
+        }
+
+        long count = 0L;
+        Iterator<?> iter = type == HugeType.VERTEX ?
+                           graphTx.queryVertices(query) :
+                           graphTx.queryEdges(query);
+        try {
+            while (iter.hasNext()) {
+                HugeElement elem = (HugeElement) iter.next();
+                // The shard contains elements of all labels
+                if (!label.equals(elem.schemaLabel())) {
+                    continue;
+                }
+                for (Id id : indexLabelIds) {
+                    graphTx.updateIndex(id, elem, false);
+                }
+                graphTx.commitIfGtSize(GraphTransaction.COMMIT_BATCH);
+                count++;
+            }
+            graphTx.commit();
+        } finally {
+            CloseableIterator.closeIterator(iter);
+        }
+        return count;
+    }
+
+    private List<Shard> shards(SchemaLabel label) {
+        // Only the backend which can scan by shard is split
+        BackendFeatures features = this.graph().backendStoreFeatures();
+        if (!features.supportsScanKeyRange() &&
+            !features.supportsScanToken()) {
+            return Collections.emptyList();
+        }
+        // Scanning the whole table only pays off for a large label
+        if (!this.largeLabel(label)) {
+            return Collections.emptyList();
+        }
+        HugeType type = label.type() == HugeType.VERTEX_LABEL ?
+                        HugeType.VERTEX : HugeType.EDGE_OUT;
+        return this.graph().metadata(type, "splits", REBUILD_SHARD_SIZE);
+    }
+
+    private boolean largeLabel(SchemaLabel label) {
+        if (!label.enableLabelIndex()) {
+            // The traversal by label would scan the whole table too
+            return true;
+        }
+        HugeType type = label.type() == HugeType.VERTEX_LABEL ?
+                        HugeType.VERTEX : HugeType.EDGE;
+        ConditionQuery query = new ConditionQuery(type);
+        query.eq(HugeKeys.LABEL, label.id());
+        query.capacity(Query.NO_CAPACITY);
+        query.limit(REBUILD_BY_SHARD_THRESHOLD);
+        if (label.hidden()) {
+            query.showHidden(true);
+        }
+
+        GraphTransaction graphTx = this.params().graphTransaction();
+        Iterator<?> iter = type == HugeType.VERTEX ?
+                           graphTx.queryVertices(query) :
+                           graphTx.queryEdges(query);
+        try {
+            return IteratorUtils.count(iter) >= REBUILD_BY_SHARD_THRESHOLD;
+        } finally {
+            CloseableIterator.closeIterator(iter);
+        }
+    }
+
     private void removeIndex(Collection<Id> indexLabelIds) {
         SchemaTransaction schemaTx = this.params().schemaTransaction();
         GraphTransaction graphTx = this.params().graphTransaction();
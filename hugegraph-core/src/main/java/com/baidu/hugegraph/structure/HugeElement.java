@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -58,12 +59,15 @@ import com.baidu.hugegraph.util.collection.CollectionFactory;
 
 public abstract class HugeElement implements Element, GraphType, Idfiable {
 
+    private static final Consumer<HugeElement> PARSING = element -> {};
     private static final MutableIntObjectMap<HugeProperty<?>> EMPTY_MAP =
                          CollectionFactory.newIntObjectMap();
     private static final int MAX_PROPERTIES = BytesBuffer.UINT16_MAX;
 
     private final HugeGraph graph;
     private MutableIntObjectMap<HugeProperty<?>> properties;
+    // Parse the serialized properties when accessed, see lazyProperties()
+    private volatile Consumer<HugeElement> propertiesParser;
 
     private long expiredTime; // TODO: move into properties to keep small object
 
@@ -76,6 +80,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
         E.checkArgument(graph != null, "HugeElement graph can't be null");
         this.graph = graph;
         this.properties = EMPTY_MAP;
+        this.propertiesParser = null;
         this.expiredTime = 0L;
         this.removed = false;
         this.fresh = false;
@@ -101,7 +106,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
         this.defaultValueUpdated = true;
         // Set default value if needed
         for (Id pkeyId : this.schemaLabel().properties()) {
-            if (this.properties.containsKey(intFromId(pkeyId))) {
+            if (this.properties().containsKey(intFromId(pkeyId))) {
                 continue;
             }
             PropertyKey pkey = this.graph().propertyKey(pkeyId);
@@ -204,7 +209,8 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     // TODO: return MutableIntObjectMap<HugeProperty<?>>
     public Map<Id, HugeProperty<?>> getProperties() {
         Map<Id, HugeProperty<?>> props = new HashMap<>();
-        for (IntObjectPair<HugeProperty<?>> e : this.properties.keyValuesView()) {
+        for (IntObjectPair<HugeProperty<?>> e :
+             this.properties().keyValuesView()) {
             props.put(IdGenerator.of(e.getOne()), e.getTwo());
         }
         return props;
@@ -219,7 +225,8 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     // TODO: return MutableIntObjectMap<HugeProperty<?>>
     public Map<Id, Object> getPropertiesMap() {
         Map<Id, Object> props = new HashMap<>();
-        for (IntObjectPair<HugeProperty<?>> e : this.properties.keyValuesView()) {
+        for (IntObjectPair<HugeProperty<?>> e :
+             this.properties().keyValuesView()) {
             props.put(IdGenerator.of(e.getOne()), e.getTwo().value());
         }
         return props;
@@ -228,7 +235,8 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     // TODO: return MutableIntObjectMap<HugeProperty<?>>
     public Map<Id, HugeProperty<?>> getAggregateProperties() {
         Map<Id, HugeProperty<?>> aggrProps = new HashMap<>();
-        for (IntObjectPair<HugeProperty<?>> e : this.properties.keyValuesView()) {
+        for (IntObjectPair<HugeProperty<?>> e :
+             this.properties().keyValuesView()) {
             if (e.getTwo().type().isAggregateProperty()) {
                 aggrProps.put(IdGenerator.of(e.getOne()), e.getTwo());
             }
@@ -238,12 +246,12 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     @SuppressWarnings("unchecked")
     public <V> HugeProperty<V> getProperty(Id key) {
-        return (HugeProperty<V>) this.properties.get(intFromId(key));
+        return (HugeProperty<V>) this.properties().get(intFromId(key));
     }
 
     @SuppressWarnings("unchecked")
     public <V> V getPropertyValue(Id key) {
-        HugeProperty<?> prop = this.properties.get(intFromId(key));
+        HugeProperty<?> prop = this.properties().get(intFromId(key));
         if (prop == null) {
             return null;
         }
@@ -251,20 +259,20 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     }
 
     public boolean hasProperty(Id key) {
-        return this.properties.containsKey(intFromId(key));
+        return this.properties().containsKey(intFromId(key));
     }
 
     public boolean hasProperties() {
-        return this.properties.size() > 0;
+        return this.properties().size() > 0;
     }
 
     public int sizeOfProperties() {
-        return this.properties.size();
+        return this.properties().size();
     }
 
     public int sizeOfSubProperties() {
         int size = 0;
-        for (HugeProperty<?> p : this.properties.values()) {
+        for (HugeProperty<?> p : this.properties().values()) {
             size++;
             if (p.propertyKey().cardinality() != Cardinality.SINGLE &&
                 p.value() instanceof Collection) {
@@ -276,19 +284,19 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     @Watched(prefix = "element")
     public <V> HugeProperty<?> setProperty(HugeProperty<V> prop) {
-        if (this.properties == EMPTY_MAP) {
+        if (this.properties() == EMPTY_MAP) {
             this.properties = CollectionFactory.newIntObjectMap();
         }
         PropertyKey pkey = prop.propertyKey();
 
-        E.checkArgument(this.properties.containsKey(intFromId(pkey.id())) ||
-                        this.properties.size() < MAX_PROPERTIES,
+        E.checkArgument(this.properties().containsKey(intFromId(pkey.id())) ||
+                        this.properties().size() < MAX_PROPERTIES,
                         "Exceeded the maximum number of properties");
-        return this.properties.put(intFromId(pkey.id()), prop);
+        return this.properties().put(intFromId(pkey.id()), prop);
     }
 
     public <V> HugeProperty<?> removeProperty(Id key) {
-        return this.properties.remove(intFromId(key));
+        return this.properties().remove(intFromId(key));
     }
 
     public <V> HugeProperty<V> addProperty(PropertyKey pkey, V value) {
@@ -366,16 +374,53 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     public void resetProperties() {
         this.properties = CollectionFactory.newIntObjectMap();
+        this.propertiesParser = null;
         this.propLoaded = false;
     }
 
+    /**
+     * Set the parser of the serialized properties, which will be called
+     * when any property is accessed for the first time
+     */
+    public void lazyProperties(Consumer<HugeElement> parser) {
+        E.checkNotNull(parser, "properties parser");
+        this.properties = EMPTY_MAP;
+        this.propertiesParser = parser;
+    }
+
+    private MutableIntObjectMap<HugeProperty<?>> properties() {
+        if (this.propertiesParser != null) {
+            this.parseProperties();
+        }
+        return this.properties;
+    }
+
+    /*
+     * The element may be shared by multiple threads through cache, so parse
+     * the properties under the lock, and other threads will wait for it
+     */
+    private synchronized void parseProperties() {
+        Consumer<HugeElement> parser = this.propertiesParser;
+        if (parser == null || parser == PARSING) {
+            // Parsed by others, or reentered when adding the parsed property
+            return;
+        }
+        this.propertiesParser = PARSING;
+        try {
+            parser.accept(this);
+        } finally {
+            this.propertiesParser = null;
+        }
+    }
+
     protected void copyProperties(HugeElement element) {
-        if (element.properties == EMPTY_MAP) {
+        if (element.properties() == EMPTY_MAP) {
             this.properties = EMPTY_MAP;
         } else {
             this.properties = CollectionFactory.newIntObjectMap(
-                              element.properties);
+                              element.properties());
         }
+        this.propertiesParser = null;
         this.propLoaded = true;
     }
 
@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.schema.PropertyKey;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.traversal.algorithm.steps.WeightedEdgeStep;
@@ -86,7 +87,7 @@ public class CustomizePathsTraverser extends HugeTraverser {
                         Node newNode;
                         if (sorted) {
                             double w = step.weightBy() != null ?
-                                       edge.value(step.weightBy().name()) :
+                                       weight(edge, step.weightBy()) :
                                        step.defaultWeight();
                             newNode = new WeightNode(target, n, w);
                         } else {
@@ -150,6 +151,15 @@ public class CustomizePathsTraverser extends HugeTraverser {
         return paths.subList(0, (int) limit);
     }
 
+    private static double weight(HugeEdge edge, PropertyKey weightBy) {
+        // The weight may be filled by ramtable without loading properties
+        Object weight = edge.getPropertyValue(weightBy.id());
+        if (weight == null) {
+            weight = edge.value(weightBy.name());
+        }
+        return ((Number) weight).doubleValue();
+    }
+
     private static List<Node> sample(List<Node> nodes, long sample) {
         if (nodes.size() <= sample) {
             return nodes;
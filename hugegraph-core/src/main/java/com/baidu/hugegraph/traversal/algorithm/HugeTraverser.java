@@ -47,7 +47,6 @@ import com.baidu.hugegraph.exception.NotFoundException;
 import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.iterator.FilterIterator;
 import com.baidu.hugegraph.iterator.LimitIterator;
-import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.schema.SchemaLabel;
 import com.baidu.hugegraph.structure.HugeEdge;
@@ -64,6 +63,7 @@ import com.baidu.hugegraph.util.collection.CollectionFactory;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
 
 public class HugeTraverser {
 
@@ -103,6 +103,14 @@ public class HugeTraverser {
         return this.graph.option(CoreOptions.OLTP_CONCURRENT_DEPTH);
     }
 
+    protected boolean directionOptimizing() {
+        return this.graph.option(CoreOptions.OLTP_DIRECTION_OPTIMIZING);
+    }
+
+    protected int queryBatchSize() {
+        return this.graph.option(CoreOptions.OLTP_QUERY_BATCH_SIZE);
+    }
+
     private CollectionType collectionType() {
         return this.graph.option(CoreOptions.OLTP_COLLECTION_TYPE);
     }
@@ -116,12 +124,14 @@ public class HugeTraverser {
         }
 
         Set<Id> neighbors = newIdSet();
-        for (Id source : vertices) {
-            Iterator<Edge> edges = this.edgesOfVertex(source, dir,
-                                                      label, degree);
-            while (edges.hasNext()) {
-                HugeEdge e = (HugeEdge) edges.next();
-                Id target = e.id().otherVertexId();
+        Iterator<List<Id>> batches = Iterators.partition(
+                                     vertices.iterator(),
+                                     this.queryBatchSize());
+        while (batches.hasNext()) {
+            Iterator<Id> targets = this.adjacentVertexIds(batches.next(), dir,
+                                                          label, degree);
+            while (targets.hasNext()) {
+                Id target = targets.next();
                 boolean matchExcluded = (excluded != null &&
                                          excluded.contains(target));
                 if (matchExcluded || neighbors.contains(target) ||
@@ -139,11 +149,8 @@ public class HugeTraverser {
 
     protected Iterator<Id> adjacentVertices(Id source, Directions dir,
                                             Id label, long limit) {
-        Iterator<Edge> edges = this.edgesOfVertex(source, dir, label, limit);
-        return new MapperIterator<>(edges, e -> {
-            HugeEdge edge = (HugeEdge) e;
-            return edge.id().otherVertexId();
-        });
+        return this.adjacentVertexIds(ImmutableList.of(source), dir,
+                                      label, limit);
     }
 
     protected Set<Id> adjacentVertices(Id source, EdgeStep step) {
@@ -170,6 +177,79 @@ public class HugeTraverser {
         return this.graph.edges(query);
     }
 
+    /**
+     * Query edges of a batch of source vertices by batch backend queries,
+     * at most `limit` edges would be returned for each source vertex
+     */
+    @Watched
+    protected Iterator<Edge> edgesOfVertices(Collection<Id> sources,
+                                             Directions dir, Id label,
+                                             long limit) {
+        Id[] labels = {};
+        if (label != null) {
+            labels = new Id[]{label};
+        }
+        return this.graph.adjacentEdges(sources, dir, labels, limit);
+    }
+
+    /**
+     * Query edges of a batch of source vertices with the edge step by batch
+     * backend queries, the edges of each source vertex are limited by the
+     * degree and skipped if the source vertex is a super node
+     */
+    @Watched
+    protected Iterator<Edge> edgesOfVertices(Collection<Id> sources,
+                                             EdgeStep edgeStep) {
+        if (edgeStep.properties() != null &&
+            !edgeStep.properties().isEmpty()) {
+            // Query one by one to filter edges by properties or sort-keys
+            ExtendableIterator<Edge> edges = new ExtendableIterator<>();
+            for (Id source : sources) {
+                edges.extend(this.edgesOfVertex(source, edgeStep));
+            }
+            return edges;
+        }
+
+        Iterator<Edge> edges = this.graph.adjacentEdges(sources,
+                                                        edgeStep.direction(),
+                                                        edgeStep.edgeLabels(),
+                                                        edgeStep.limit());
+        if (edgeStep.skipDegree() <= 0L) {
+            return edges;
+        }
+
+        // Group edges by the owner vertex to skip super nodes one by one
+        Map<Id, List<Edge>> edgesOfSources = newMap();
+        while (edges.hasNext()) {
+            HugeEdge edge = (HugeEdge) edges.next();
+            edgesOfSources.computeIfAbsent(edge.id().ownerVertexId(),
+                                           k -> newList())
+                          .add(edge);
+        }
+        ExtendableIterator<Edge> results = new ExtendableIterator<>();
+        for (List<Edge> edgesOfSource : edgesOfSources.values()) {
+            results.extend(edgeStep.skipSuperNodeIfNeeded(
+                           edgesOfSource.iterator()));
+        }
+        return results;
+    }
+
+    /**
+     * Query the other vertex ids of adjacent edges of a batch of source
+     * vertices, which may be read from the edge cache without edges,
+     * at most `limit` ids would be returned for each source vertex
+     */
+    @Watched
+    protected Iterator<Id> adjacentVertexIds(Collection<Id> sources,
+                                             Directions dir, Id label,
+                                             long limit) {
+        Id[] labels = {};
+        if (label != null) {
+            labels = new Id[]{label};
+        }
+        return this.graph.adjacentVertexIds(sources, dir, labels, limit);
+    }
+
     @Watched
     protected Iterator<Edge> edgesOfVertex(Id source, Directions dir,
                                            Map<Id, String> labels, long limit) {
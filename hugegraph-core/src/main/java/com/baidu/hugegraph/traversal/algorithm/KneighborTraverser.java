@@ -21,6 +21,7 @@ package com.baidu.hugegraph.traversal.algorithm;
 
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -31,6 +32,7 @@ import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.traversal.algorithm.records.KneighborRecords;
 import com.baidu.hugegraph.traversal.algorithm.records.record.RecordType;
 import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
+import com.baidu.hugegraph.traversal.algorithm.strategy.DirectionOptimizingStrategy;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
 
@@ -80,7 +82,7 @@ public class KneighborTraverser extends OltpTraverser {
         boolean concurrent = maxDepth >= this.concurrentDepth() &&
                              step.direction() == Directions.BOTH;
 
-        KneighborRecords records = new KneighborRecords(RecordType.INT,
+        KneighborRecords records = new KneighborRecords(RecordType.BITMAP,
                                                         concurrent,
                                                         source, true);
 
@@ -95,9 +97,20 @@ public class KneighborTraverser extends OltpTraverser {
             }
         };
 
+        BiPredicate<Id, Id> linker = (v, target) -> {
+            if (this.reachLimit(limit, records.size())) {
+                return false;
+            }
+            records.addPath(v, target);
+            return true;
+        };
+
+        DirectionOptimizingStrategy strategy = this.directionOptimizing(
+                                               source, step, true);
         while (maxDepth-- > 0) {
             records.startOneLayer(true);
-            traverseIds(records.keys(), consumer, concurrent);
+            this.traverseOneLayer(strategy, records.keys(), consumer,
+                                  linker, concurrent);
             records.finishOneLayer();
         }
         return records;
@@ -21,6 +21,7 @@ package com.baidu.hugegraph.traversal.algorithm;
 
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -32,6 +33,7 @@ import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.traversal.algorithm.records.KoutRecords;
 import com.baidu.hugegraph.traversal.algorithm.records.record.RecordType;
 import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
+import com.baidu.hugegraph.traversal.algorithm.strategy.DirectionOptimizingStrategy;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
 
@@ -110,7 +112,12 @@ public class KoutTraverser extends OltpTraverser {
         depth[0] = maxDepth;
         boolean concurrent = maxDepth >= this.concurrentDepth() &&
                              step.direction() == Directions.BOTH;
-        KoutRecords records = new KoutRecords(RecordType.INT, concurrent,
+        /*
+         * The layers of nearest traversal are almost contiguous ranges of
+         * the dense codes, which are compact in bitmap records
+         */
+        RecordType type = nearest ? RecordType.BITMAP : RecordType.INT;
+        KoutRecords records = new KoutRecords(type, concurrent,
                                               source, nearest);
 
         Consumer<Id> consumer = v -> {
@@ -126,9 +133,21 @@ public class KoutTraverser extends OltpTraverser {
             }
         };
 
+        BiPredicate<Id, Id> linker = (v, target) -> {
+            if (this.reachLimit(limit, depth[0], records.size())) {
+                return false;
+            }
+            records.addPath(v, target);
+            this.checkCapacity(capacity, records.accessed(), depth[0]);
+            return true;
+        };
+
+        DirectionOptimizingStrategy strategy = this.directionOptimizing(
+                                               source, step, nearest);
         while (depth[0]-- > 0) {
             records.startOneLayer(true);
-            traverseIds(records.keys(), consumer, concurrent);
+            this.traverseOneLayer(strategy, records.keys(), consumer,
+                                  linker, concurrent);
             records.finishOneLayer();
         }
         return records;
@@ -19,24 +19,21 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.ws.rs.core.MultivaluedMap;
 
-import org.apache.tinkerpop.gremlin.structure.Edge;
-
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
-import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.OrderLimitMap;
+import com.google.common.collect.ImmutableList;
 
-public class NeighborRankTraverser extends HugeTraverser {
+public class NeighborRankTraverser extends OltpTraverser {
 
     public static final int MAX_TOP = 1000;
 
@@ -69,18 +66,19 @@ public class NeighborRankTraverser extends HugeTraverser {
             Map<Id, Double> sameLayerIncrRanks = newMap();
             List<Adjacencies> adjacencies = newList();
             MultivaluedMap<Id, Node> newVertices = newMultivalueMap();
+            // Fetch the adjacent vertices of previous level by batches
+            Map<Id, List<Id>> targets = this.adjacentVertices(sources.keySet(),
+                                                              step.edgeStep);
             // Traversal vertices of previous level
             for (Map.Entry<Id, List<Node>> entry : sources.entrySet()) {
                 Id vertex = entry.getKey();
-                Iterator<Edge> edges = this.edgesOfVertex(vertex,
-                                                          step.edgeStep);
+                List<Id> targetsV = targets.getOrDefault(vertex,
+                                                         ImmutableList.of());
 
                 Adjacencies adjacenciesV = new Adjacencies(vertex);
                 Set<Id> sameLayerNodesV = newIdSet();
                 Map<Integer, Set<Id>> prevLayerNodesV = newMap();
-                while (edges.hasNext()) {
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
+                for (Id target : targetsV) {
                     // Determine whether it belongs to the same layer
                     if (this.belongToSameLayer(sources.keySet(), target,
                                                sameLayerNodesV)) {
@@ -148,6 +146,13 @@ public class NeighborRankTraverser extends HugeTraverser {
         return this.topRanks(ranks, steps);
     }
 
+    private Map<Id, List<Id>> adjacentVertices(Set<Id> vertices,
+                                               EdgeStep step) {
+        return this.adjacentVertices(vertices, batch -> {
+            return this.edgesOfVertices(batch, step);
+        });
+    }
+
     private boolean belongToSameLayer(Set<Id> sources, Id target,
                                       Set<Id> sameLayerNodes) {
         if (sources.contains(target)) {
@@ -19,13 +19,18 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -35,7 +40,11 @@ import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.iterator.FilterIterator;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
+import com.baidu.hugegraph.traversal.algorithm.strategy.DirectionOptimizingStrategy;
 import com.baidu.hugegraph.util.Consumers;
+import com.google.common.collect.Iterators;
 
 import jersey.repackaged.com.google.common.base.Objects;
 
@@ -43,6 +52,7 @@ public abstract class OltpTraverser extends HugeTraverser
                                     implements AutoCloseable {
 
     private static final String EXECUTOR_NAME = "oltp";
+    private static final int SCAN_BATCH = 4096;
     private static Consumers.ExecutorPool executors;
 
     protected OltpTraverser(HugeGraph graph) {
@@ -95,6 +105,65 @@ public abstract class OltpTraverser extends HugeTraverser
         }
     }
 
+    /**
+     * Traverse one layer top-down by consumer, or bottom-up by linker if
+     * the strategy decides so, the strategy may be null if not available
+     */
+    protected void traverseOneLayer(DirectionOptimizingStrategy strategy,
+                                    Iterator<Id> frontier,
+                                    Consumer<Id> consumer,
+                                    BiPredicate<Id, Id> linker,
+                                    boolean concurrent) {
+        if (strategy != null) {
+            frontier = strategy.nextLayer(frontier);
+            if (frontier == null) {
+                this.traverseBottomUp(strategy, linker, concurrent);
+                return;
+            }
+        }
+        this.traverseIds(frontier, consumer, concurrent);
+    }
+
+    protected DirectionOptimizingStrategy directionOptimizing(
+                                          Id source, EdgeStep step,
+                                          boolean nearest) {
+        if (!this.directionOptimizing()) {
+            return null;
+        }
+        return DirectionOptimizingStrategy.create(this.graph(), source,
+                                                  step, nearest);
+    }
+
+    private void traverseBottomUp(DirectionOptimizingStrategy strategy,
+                                  BiPredicate<Id, Id> linker,
+                                  boolean concurrent) {
+        int vertices = strategy.vertices();
+        if (!concurrent) {
+            strategy.scan(0, vertices, linker);
+            return;
+        }
+        Iterator<Integer> starts = new Iterator<Integer>() {
+            private int start = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.start < vertices;
+            }
+
+            @Override
+            public Integer next() {
+                int start = this.start;
+                this.start = (int) Math.min((long) start + SCAN_BATCH,
+                                            vertices);
+                return start;
+            }
+        };
+        this.traverse(starts, start -> {
+            int end = (int) Math.min((long) start + SCAN_BATCH, vertices);
+            strategy.scan(start, end, linker);
+        }, "traverse-bottom-up");
+    }
+
     protected long traverseIds(Iterator<Id> ids, Consumer<Id> consumer) {
         return this.traverse(ids, consumer, "traverse-ids");
     }
@@ -132,6 +201,44 @@ public abstract class OltpTraverser extends HugeTraverser
         return total;
     }
 
+    /**
+     * Query the adjacent vertex ids of each vertex, the vertices are fetched
+     * by batches through the fetcher, and the batches are fetched in
+     * parallel if there are more than one. The ids of each vertex keep the
+     * edges order, and the vertex without any edge is absent in the results
+     */
+    protected Map<Id, List<Id>> adjacentVertices(
+                                Collection<Id> vertices,
+                                Function<List<Id>, Iterator<Edge>> fetcher) {
+        boolean concurrent = executors != null &&
+                             vertices.size() > this.queryBatchSize();
+        Map<Id, List<Id>> results = concurrent ? new ConcurrentHashMap<>() :
+                                    newMap();
+        Consumer<List<Id>> consumer = batch -> {
+            // The edges of a batch are grouped by their owner vertices
+            Map<Id, List<Id>> adjacencies = newMap();
+            Iterator<Edge> edges = fetcher.apply(batch);
+            while (edges.hasNext()) {
+                HugeEdge edge = (HugeEdge) edges.next();
+                adjacencies.computeIfAbsent(edge.id().ownerVertexId(),
+                                            k -> newList())
+                           .add(edge.id().otherVertexId());
+            }
+            results.putAll(adjacencies);
+        };
+        Iterator<List<Id>> batches = Iterators.partition(
+                                     vertices.iterator(),
+                                     this.queryBatchSize());
+        if (concurrent) {
+            this.traverse(batches, consumer, "traverse-adjacencies");
+        } else {
+            while (batches.hasNext()) {
+                consumer.accept(batches.next());
+            }
+        }
+        return results;
+    }
+
     protected Iterator<Vertex> filter(Iterator<Vertex> vertices,
                                       String key, Object value) {
         return new FilterIterator<>(vertices, vertex -> {
@@ -19,7 +19,9 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.tinkerpop.gremlin.structure.Edge;
 
@@ -110,16 +112,18 @@ public class PathsTraverser extends HugeTraverser {
 
             this.record.startOneLayer(true);
             while (this.record.hasNextKey()) {
-                Id vid = this.record.nextKey();
+                List<Id> vids = this.nextKeys();
 
-                edges = edgesOfVertex(vid, direction, this.label, this.degree);
+                edges = edgesOfVertices(vids, direction,
+                                        this.label, this.degree);
 
                 while (edges.hasNext()) {
                     HugeEdge edge = (HugeEdge) edges.next();
+                    Id source = edge.id().ownerVertexId();
                     Id target = edge.id().otherVertexId();
 
-                    PathSet results = this.record.findPath(target, null,
-                                                           true, false);
+                    PathSet results = this.record.findPath(source, target,
+                                                           null, true, false);
                     for (Path path : results) {
                         this.paths.add(path);
                         if (this.reachLimit()) {
@@ -140,15 +144,17 @@ public class PathsTraverser extends HugeTraverser {
 
             this.record.startOneLayer(false);
             while (this.record.hasNextKey()) {
-                Id vid = this.record.nextKey();
-                edges = edgesOfVertex(vid, direction, this.label, this.degree);
+                List<Id> vids = this.nextKeys();
+                edges = edgesOfVertices(vids, direction,
+                                        this.label, this.degree);
 
                 while (edges.hasNext()) {
                     HugeEdge edge = (HugeEdge) edges.next();
+                    Id source = edge.id().ownerVertexId();
                     Id target = edge.id().otherVertexId();
 
-                    PathSet results = this.record.findPath(target, null,
-                                                           true, false);
+                    PathSet results = this.record.findPath(source, target,
+                                                           null, true, false);
                     for (Path path : results) {
                         this.paths.add(path);
                         if (this.reachLimit()) {
@@ -165,6 +171,15 @@ public class PathsTraverser extends HugeTraverser {
             return this.paths;
         }
 
+        private List<Id> nextKeys() {
+            int batchSize = queryBatchSize();
+            List<Id> keys = new ArrayList<>(batchSize);
+            while (this.record.hasNextKey() && keys.size() < batchSize) {
+                keys.add(this.record.nextKey());
+            }
+            return keys;
+        }
+
         private boolean reachLimit() {
             checkCapacity(this.capacity, this.record.accessed(), "paths");
             return this.limit != NO_LIMIT && this.paths.size() >= this.limit;
@@ -19,13 +19,12 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.function.BiFunction;
 
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
@@ -34,8 +33,12 @@ import com.baidu.hugegraph.schema.VertexLabel;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.collection.MappingFactory;
+import com.baidu.hugegraph.util.collection.ObjectIntMapping;
 
-public class PersonalRankTraverser extends HugeTraverser {
+public class PersonalRankTraverser extends OltpTraverser {
+
+    private static final int[] NO_NEIGHBORS = new int[0];
 
     private final double alpha;
     private final long degree;
@@ -55,84 +58,88 @@ public class PersonalRankTraverser extends HugeTraverser {
         this.checkVertexExist(source, "source vertex");
         E.checkArgumentNotNull(label, "The edge label can't be null");
 
-        Map<Id, Double> ranks = newMap();
-        ranks.put(source, 1.0);
-
         Id labelId = this.graph().edgeLabel(label).id();
         Directions dir = this.getStartDirection(source, label);
 
-        Set<Id> outSeeds = newIdSet();
-        Set<Id> inSeeds = newIdSet();
+        Walker walker = new Walker(labelId);
+        int root = walker.code(source);
+        Ranks ranks = new Ranks(walker.size());
+        ranks.put(root, 1.0);
+
+        Seeds outSeeds = new Seeds();
+        Seeds inSeeds = new Seeds();
         if (dir == Directions.OUT) {
-            outSeeds.add(source);
+            outSeeds.add(root);
         } else {
-            inSeeds.add(source);
+            inSeeds.add(root);
         }
 
-        Set<Id> rootAdjacencies = newIdSet();
+        BitSet rootAdjacencies = new BitSet();
         for (long i = 0; i < this.maxDepth; i++) {
-            Map<Id, Double> newRanks = this.calcNewRanks(outSeeds, inSeeds,
-                                                         labelId, ranks);
-            ranks = this.compensateRoot(source, newRanks);
+            Ranks newRanks = this.calcNewRanks(walker, outSeeds, inSeeds,
+                                               ranks);
+            ranks = this.compensateRoot(root, newRanks);
             if (i == 0) {
-                rootAdjacencies.addAll(ranks.keySet());
+                rootAdjacencies.or(ranks.keys());
             }
         }
         // Remove directly connected neighbors
-        removeAll(ranks, rootAdjacencies);
+        ranks.removeAll(rootAdjacencies);
         // Remove unnecessary label
         if (withLabel == WithLabel.SAME_LABEL) {
-            removeAll(ranks, dir == Directions.OUT ? inSeeds : outSeeds);
+            ranks.removeAll(dir == Directions.OUT ? inSeeds.keys() :
+                                                    outSeeds.keys());
         } else if (withLabel == WithLabel.OTHER_LABEL) {
-            removeAll(ranks, dir == Directions.OUT ? outSeeds : inSeeds);
+            ranks.removeAll(dir == Directions.OUT ? outSeeds.keys() :
+                                                    inSeeds.keys());
         }
-        return ranks;
+        return ranks.toMap(walker);
     }
 
-    private Map<Id, Double> calcNewRanks(Set<Id> outSeeds, Set<Id> inSeeds,
-                                         Id label, Map<Id, Double> ranks) {
-        Map<Id, Double> newRanks = newMap();
-        BiFunction<Set<Id>, Directions, Set<Id>> neighborIncrRanks;
-        neighborIncrRanks = (seeds, dir) -> {
-            Set<Id> tmpSeeds = newIdSet();
-            for (Id seed : seeds) {
-                Double oldRank = ranks.get(seed);
-                E.checkState(oldRank != null, "Expect rank of seed exists");
-
-                Iterator<Id> iter = this.adjacentVertices(seed, dir, label,
-                                                          this.degree);
-                List<Id> neighbors = IteratorUtils.list(iter);
-
-                long degree = neighbors.size();
-                if (degree == 0L) {
-                    newRanks.put(seed, oldRank);
-                    continue;
-                }
-                double incrRank = oldRank * this.alpha / degree;
-
-                // Collect all neighbors increment
-                for (Id neighbor : neighbors) {
-                    tmpSeeds.add(neighbor);
-                    // Assign an initial value when firstly update neighbor rank
-                    double rank = newRanks.getOrDefault(neighbor, 0.0);
-                    newRanks.put(neighbor, rank + incrRank);
-                }
-            }
-            return tmpSeeds;
-        };
+    private Ranks calcNewRanks(Walker walker, Seeds outSeeds, Seeds inSeeds,
+                               Ranks ranks) {
+        // Fetch the neighbors of the new seeds of last layer by batches
+        walker.fetchNeighbors(outSeeds, Directions.OUT);
+        walker.fetchNeighbors(inSeeds, Directions.IN);
 
-        Set<Id> tmpInSeeds = neighborIncrRanks.apply(outSeeds, Directions.OUT);
-        Set<Id> tmpOutSeeds = neighborIncrRanks.apply(inSeeds, Directions.IN);
+        Ranks newRanks = new Ranks(walker.size());
+        Seeds tmpInSeeds = this.neighborIncrRanks(walker, outSeeds,
+                                                  ranks, newRanks);
+        Seeds tmpOutSeeds = this.neighborIncrRanks(walker, inSeeds,
+                                                   ranks, newRanks);
 
         outSeeds.addAll(tmpOutSeeds);
         inSeeds.addAll(tmpInSeeds);
         return newRanks;
     }
 
-    private Map<Id, Double> compensateRoot(Id root, Map<Id, Double> newRanks) {
-        double rank = newRanks.getOrDefault(root, 0.0);
-        rank += (1 - this.alpha);
-        newRanks.put(root, rank);
+    private Seeds neighborIncrRanks(Walker walker, Seeds seeds,
+                                    Ranks ranks, Ranks newRanks) {
+        Seeds tmpSeeds = new Seeds();
+        for (int i = 0; i < seeds.size(); i++) {
+            int seed = seeds.get(i);
+            E.checkState(ranks.contains(seed), "Expect rank of seed exists");
+            double oldRank = ranks.get(seed);
+
+            int[] neighbors = walker.neighbors(seed);
+            long degree = neighbors.length;
+            if (degree == 0L) {
+                newRanks.put(seed, oldRank);
+                continue;
+            }
+            double incrRank = oldRank * this.alpha / degree;
+
+            // Collect all neighbors increment
+            for (int neighbor : neighbors) {
+                tmpSeeds.add(neighbor);
+                newRanks.add(neighbor, incrRank);
+            }
+        }
+        return tmpSeeds;
+    }
+
+    private Ranks compensateRoot(int root, Ranks newRanks) {
+        newRanks.add(root, 1 - this.alpha);
         return newRanks;
     }
 
@@ -158,9 +165,180 @@ public class PersonalRankTraverser extends HugeTraverser {
         }
     }
 
-    private static void removeAll(Map<Id, Double> map, Set<Id> keys) {
-        for (Id key : keys) {
-            map.remove(key);
+    /**
+     * Map the vertex ids to int codes and keep the neighbors of each walked
+     * vertex, which are fetched once and reused by the later layers
+     */
+    private class Walker {
+
+        private final Id label;
+        private final ObjectIntMapping<Id> idMapping;
+        private int[][] neighbors;
+
+        public Walker(Id label) {
+            this.label = label;
+            this.idMapping = MappingFactory.newObjectIntMapping();
+            this.neighbors = new int[Ranks.INIT_CAPACITY][];
+        }
+
+        public int code(Id id) {
+            return this.idMapping.object2Code(id);
+        }
+
+        public Id id(int code) {
+            return this.idMapping.code2Object(code);
+        }
+
+        public int size() {
+            return this.idMapping.size();
+        }
+
+        public int[] neighbors(int code) {
+            int[] neighbors = this.neighbors[code];
+            assert neighbors != null : code;
+            return neighbors;
+        }
+
+        public void fetchNeighbors(Seeds seeds, Directions dir) {
+            List<Id> vertices = newList();
+            for (int i = 0; i < seeds.size(); i++) {
+                int seed = seeds.get(i);
+                if (seed >= this.neighbors.length ||
+                    this.neighbors[seed] == null) {
+                    vertices.add(this.id(seed));
+                }
+            }
+            if (vertices.isEmpty()) {
+                return;
+            }
+
+            long degree = PersonalRankTraverser.this.degree;
+            Map<Id, List<Id>> adjacencies = adjacentVertices(vertices, b -> {
+                return edgesOfVertices(b, dir, this.label, degree);
+            });
+
+            // Assign codes in order of vertices to keep the walk stable
+            for (Id vertex : vertices) {
+                List<Id> adjacency = adjacencies.get(vertex);
+                int[] codes = NO_NEIGHBORS;
+                if (adjacency != null) {
+                    codes = new int[adjacency.size()];
+                    for (int i = 0; i < codes.length; i++) {
+                        codes[i] = this.code(adjacency.get(i));
+                    }
+                }
+                int code = this.code(vertex);
+                this.ensureCapacity(this.size());
+                this.neighbors[code] = codes;
+            }
+        }
+
+        private void ensureCapacity(int size) {
+            if (size > this.neighbors.length) {
+                int capacity = Math.max(size, this.neighbors.length << 1);
+                this.neighbors = Arrays.copyOf(this.neighbors, capacity);
+            }
+        }
+    }
+
+    /**
+     * The seeds walked in order of their first occurrence
+     */
+    private static class Seeds {
+
+        private final IntArrayList seeds;
+        private final BitSet keys;
+
+        public Seeds() {
+            this.seeds = new IntArrayList();
+            this.keys = new BitSet();
+        }
+
+        public void add(int seed) {
+            if (!this.keys.get(seed)) {
+                this.keys.set(seed);
+                this.seeds.add(seed);
+            }
+        }
+
+        public void addAll(Seeds other) {
+            for (int i = 0; i < other.size(); i++) {
+                this.add(other.get(i));
+            }
+        }
+
+        public int get(int index) {
+            return this.seeds.get(index);
+        }
+
+        public int size() {
+            return this.seeds.size();
+        }
+
+        public BitSet keys() {
+            return this.keys;
+        }
+    }
+
+    /**
+     * The ranks of vertices indexed by the codes, a rank exists only if
+     * it has been put or added
+     */
+    private static class Ranks {
+
+        private static final int INIT_CAPACITY = 16;
+
+        private double[] ranks;
+        private final BitSet keys;
+
+        public Ranks(int size) {
+            this.ranks = new double[Math.max(size, INIT_CAPACITY)];
+            this.keys = new BitSet();
+        }
+
+        public boolean contains(int code) {
+            return this.keys.get(code);
+        }
+
+        public double get(int code) {
+            return this.ranks[code];
+        }
+
+        public void put(int code, double rank) {
+            this.ensureCapacity(code);
+            this.ranks[code] = rank;
+            this.keys.set(code);
+        }
+
+        public void add(int code, double rank) {
+            this.ensureCapacity(code);
+            // Assign an initial value when firstly update rank
+            this.ranks[code] += rank;
+            this.keys.set(code);
+        }
+
+        public BitSet keys() {
+            return this.keys;
+        }
+
+        public void removeAll(BitSet codes) {
+            this.keys.andNot(codes);
+        }
+
+        public Map<Id, Double> toMap(Walker walker) {
+            Map<Id, Double> results = newMap(this.keys.cardinality());
+            for (int code = this.keys.nextSetBit(0); code >= 0;
+                 code = this.keys.nextSetBit(code + 1)) {
+                results.put(walker.id(code), this.ranks[code]);
+            }
+            return results;
+        }
+
+        private void ensureCapacity(int code) {
+            if (code >= this.ranks.length) {
+                int capacity = Math.max(code + 1, this.ranks.length << 1);
+                this.ranks = Arrays.copyOf(this.ranks, capacity);
+            }
         }
     }
 
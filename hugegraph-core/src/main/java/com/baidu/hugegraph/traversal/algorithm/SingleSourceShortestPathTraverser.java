@@ -19,6 +19,8 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -32,12 +34,12 @@ import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.QueryResults;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.type.define.Directions;
-import com.baidu.hugegraph.util.CollectionUtil;
 import com.baidu.hugegraph.util.E;
-import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.NumericUtil;
+import com.baidu.hugegraph.util.collection.IntDoubleHeap;
+import com.baidu.hugegraph.util.collection.MappingFactory;
+import com.baidu.hugegraph.util.collection.ObjectIntMapping;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 
 public class SingleSourceShortestPathTraverser extends HugeTraverser {
 
@@ -58,17 +60,23 @@ public class SingleSourceShortestPathTraverser extends HugeTraverser {
         checkLimit(limit);
 
         Id labelId = this.getEdgeLabelId(label);
-        Traverser traverser = new Traverser(sourceV, dir, labelId, weight,
-                                            degree, skipDegree, capacity,
-                                            limit);
-        while (true) {
-            // Found, reach max depth or reach capacity, stop searching
-            traverser.forward();
-            if (traverser.done()) {
-                return traverser.shortestPaths();
+        Traverser traverser = new Traverser(labelId, weight, degree,
+                                            skipDegree, capacity);
+        Search search = traverser.search(sourceV, dir);
+        // The source itself is settled first, which isn't a result
+        search.forward(null);
+
+        WeightedPaths paths = new WeightedPaths();
+        while (!search.exhausted()) {
+            // Settle the nearest vertex, its shortest path is found
+            int code = search.forward(null);
+            paths.put(traverser.id(code), search.path(code));
+            if (limit != NO_LIMIT && paths.size() >= limit) {
+                break;
             }
             checkCapacity(traverser.capacity, traverser.size, "shortest path");
         }
+        return paths;
     }
 
     public NodeWithWeight weightedShortestPath(Id sourceV, Id targetV,
@@ -85,123 +93,101 @@ public class SingleSourceShortestPathTraverser extends HugeTraverser {
         checkCapacity(capacity);
         checkSkipDegree(skipDegree, degree, capacity);
 
+        if (sourceV.equals(targetV)) {
+            return null;
+        }
+
         Id labelId = this.getEdgeLabelId(label);
-        Traverser traverser = new Traverser(sourceV, dir, labelId, weight,
-                                            degree, skipDegree, capacity,
-                                            NO_LIMIT);
-        while (true) {
-            traverser.forward();
-            Map<Id, NodeWithWeight> results = traverser.shortestPaths();
-            if (results.containsKey(targetV) || traverser.done()) {
-                return results.get(targetV);
+        Traverser traverser = new Traverser(labelId, weight, degree,
+                                            skipDegree, capacity);
+        // Search forward from source and backward from target by turns
+        Search forward = traverser.search(sourceV, dir);
+        Search backward = traverser.search(targetV, dir.opposite());
+        while (!forward.exhausted() && !backward.exhausted()) {
+            /*
+             * Any path not found yet is longer than the sum of the nearest
+             * unsettled vertices of both sides, stop if it can't be shorter
+             */
+            if (forward.minWeight() + backward.minWeight() >=
+                traverser.bestWeight) {
+                break;
+            }
+            // Expand the side with smaller frontier
+            if (forward.frontier() <= backward.frontier()) {
+                forward.forward(backward);
+            } else {
+                backward.forward(forward);
             }
             checkCapacity(traverser.capacity, traverser.size, "shortest path");
         }
+        return traverser.bestPath(forward, backward);
     }
 
     private class Traverser {
 
-        private WeightedPaths findingNodes = new WeightedPaths();
-        private WeightedPaths foundNodes = new WeightedPaths();
-        private Set<NodeWithWeight> sources;
-        private Id source;
-        private final Directions direction;
+        private final ObjectIntMapping<Id> idMapping;
         private final Id label;
         private final String weight;
         private final long degree;
         private final long skipDegree;
         private final long capacity;
-        private final long limit;
         private long size;
-        private boolean done = false;
-
-        public Traverser(Id sourceV, Directions dir, Id label, String weight,
-                         long degree, long skipDegree, long capacity,
-                         long limit) {
-            this.source = sourceV;
-            this.sources = ImmutableSet.of(new NodeWithWeight(
-                           0D, new Node(sourceV, null)));
-            this.direction = dir;
+
+        // The shortest path between the two sides met by bidirectional search
+        private double bestWeight;
+        private int bestCode;
+
+        public Traverser(Id label, String weight, long degree,
+                         long skipDegree, long capacity) {
+            this.idMapping = MappingFactory.newObjectIntMapping();
             this.label = label;
             this.weight = weight;
             this.degree = degree;
             this.skipDegree = skipDegree;
             this.capacity = capacity;
-            this.limit = limit;
             this.size = 0L;
+            this.bestWeight = Double.POSITIVE_INFINITY;
+            this.bestCode = -1;
         }
 
-        /**
-         * Search forward from source
-         */
-        public void forward() {
-            long degree = this.skipDegree > 0L ? this.skipDegree : this.degree;
-            for (NodeWithWeight node : this.sources) {
-                Iterator<Edge> edges = edgesOfVertex(node.node().id(),
-                                                     this.direction,
-                                                     this.label, degree);
-                edges = this.skipSuperNodeIfNeeded(edges);
-                while (edges.hasNext()) {
-                    HugeEdge edge = (HugeEdge) edges.next();
-                    Id target = edge.id().otherVertexId();
-
-                    if (this.foundNodes.containsKey(target) ||
-                        this.source.equals(target)) {
-                        // Already find shortest path for target, skip
-                        continue;
-                    }
-
-                    double currentWeight = this.edgeWeight(edge);
-                    double weight = currentWeight + node.weight();
-                    NodeWithWeight nw = new NodeWithWeight(weight, target, node);
-                    NodeWithWeight exist = this.findingNodes.get(target);
-                    if (exist == null || weight < exist.weight()) {
-                        /*
-                         * There are 2 scenarios to update finding nodes:
-                         * 1. The 'target' found first time, add current path
-                         * 2. Already exist path for 'target' and current
-                         *    path is shorter, update path for 'target'
-                         */
-                        this.findingNodes.put(target, nw);
-                    }
-                }
-            }
+        public Search search(Id source, Directions direction) {
+            return new Search(this, source, direction);
+        }
 
-            Map<Id, NodeWithWeight> sorted = CollectionUtil.sortByValue(
-                                             this.findingNodes, true);
-            double minWeight = 0;
-            Set<NodeWithWeight> newSources = InsertionOrderUtil.newSet();
-            for (Map.Entry<Id, NodeWithWeight> entry : sorted.entrySet()) {
-                Id id = entry.getKey();
-                NodeWithWeight wn = entry.getValue();
-                if (minWeight == 0) {
-                    minWeight = wn.weight();
-                } else if (wn.weight() > minWeight) {
-                    break;
-                }
-                // Move shortest paths from 'findingNodes' to 'foundNodes'
-                this.foundNodes.put(id, wn);
-                if (this.limit != NO_LIMIT &&
-                    this.foundNodes.size() >= this.limit) {
-                    this.done = true;
-                    return;
-                }
-                this.findingNodes.remove(id);
-                // Re-init 'sources'
-                newSources.add(wn);
-            }
-            this.sources = newSources;
-            if (this.sources.isEmpty()) {
-                this.done = true;
+        public int code(Id id) {
+            return this.idMapping.object2Code(id);
+        }
+
+        public Id id(int code) {
+            return this.idMapping.code2Object(code);
+        }
+
+        public void meet(int code, double weight) {
+            if (weight < this.bestWeight) {
+                this.bestWeight = weight;
+                this.bestCode = code;
             }
         }
 
-        public boolean done() {
-            return this.done;
+        public NodeWithWeight bestPath(Search forward, Search backward) {
+            if (this.bestCode < 0) {
+                return null;
+            }
+            // Join the path from source and the reversed path from target
+            Node node = forward.node(this.bestCode);
+            Node back = backward.node(this.bestCode).parent();
+            for (; back != null; back = back.parent()) {
+                node = new Node(back.id(), node);
+            }
+            return new NodeWithWeight(this.bestWeight, node);
         }
 
-        public WeightedPaths shortestPaths() {
-            return this.foundNodes;
+        private Iterator<Edge> edgesOfVertex(Id vertex, Directions dir) {
+            long degree = this.skipDegree > 0L ? this.skipDegree : this.degree;
+            Iterator<Edge> edges = SingleSourceShortestPathTraverser.this
+                                   .edgesOfVertex(vertex, dir, this.label,
+                                                  degree);
+            return this.skipSuperNodeIfNeeded(edges);
         }
 
         private double edgeWeight(HugeEdge edge) {
@@ -235,6 +221,113 @@ public class SingleSourceShortestPathTraverser extends HugeTraverser {
         }
     }
 
+    /**
+     * Dijkstra search from one vertex: the reached vertices are kept in a
+     * heap with decrease-key, indexed by the codes of their ids, and each
+     * step settles the nearest one
+     */
+    private static class Search {
+
+        private static final int INIT_CAPACITY = 16;
+
+        private final Traverser traverser;
+        private final Directions direction;
+        private final IntDoubleHeap heap;
+        private final BitSet settled;
+        // The path and weight from source of the reached vertices by code
+        private Node[] nodes;
+        private double[] weights;
+
+        public Search(Traverser traverser, Id source, Directions direction) {
+            this.traverser = traverser;
+            this.direction = direction;
+            this.heap = new IntDoubleHeap();
+            this.settled = new BitSet();
+            this.nodes = new Node[INIT_CAPACITY];
+            this.weights = new double[INIT_CAPACITY];
+
+            int code = traverser.code(source);
+            this.ensureCapacity(code);
+            this.nodes[code] = new Node(source, null);
+            this.weights[code] = 0D;
+            this.heap.offer(code, 0D);
+        }
+
+        public boolean exhausted() {
+            return this.heap.isEmpty();
+        }
+
+        public int frontier() {
+            return this.heap.size();
+        }
+
+        public double minWeight() {
+            return this.heap.peekWeight();
+        }
+
+        public Node node(int code) {
+            return this.nodes[code];
+        }
+
+        public NodeWithWeight path(int code) {
+            return new NodeWithWeight(this.weights[code], this.nodes[code]);
+        }
+
+        /**
+         * Settle the nearest reached vertex and relax its edges, the paths
+         * meeting the other side are recorded if other isn't null
+         * @return the code of the settled vertex
+         */
+        public int forward(Search other) {
+            int code = this.heap.poll();
+            this.settled.set(code);
+            Node node = this.nodes[code];
+            double weight = this.weights[code];
+
+            Iterator<Edge> edges = this.traverser.edgesOfVertex(
+                                   node.id(), this.direction);
+            while (edges.hasNext()) {
+                HugeEdge edge = (HugeEdge) edges.next();
+                Id target = edge.id().otherVertexId();
+                int targetCode = this.traverser.code(target);
+                if (this.settled.get(targetCode)) {
+                    // Already find shortest path for target, skip
+                    continue;
+                }
+
+                double targetWeight = weight + this.traverser.edgeWeight(edge);
+                this.ensureCapacity(targetCode);
+                Node exist = this.nodes[targetCode];
+                if (exist == null) {
+                    this.traverser.size++;
+                }
+                if (exist == null || targetWeight < this.weights[targetCode]) {
+                    // Found first time or found a shorter path for target
+                    this.nodes[targetCode] = new Node(target, node);
+                    this.weights[targetCode] = targetWeight;
+                    this.heap.offer(targetCode, targetWeight);
+                }
+                if (other != null && other.reached(targetCode)) {
+                    this.traverser.meet(targetCode, targetWeight +
+                                        other.weights[targetCode]);
+                }
+            }
+            return code;
+        }
+
+        private boolean reached(int code) {
+            return code < this.nodes.length && this.nodes[code] != null;
+        }
+
+        private void ensureCapacity(int code) {
+            if (code >= this.nodes.length) {
+                int capacity = Math.max(code + 1, this.nodes.length << 1);
+                this.nodes = Arrays.copyOf(this.nodes, capacity);
+                this.weights = Arrays.copyOf(this.weights, capacity);
+            }
+        }
+    }
+
     public static class NodeWithWeight implements Comparable<NodeWithWeight> {
 
         private final double weight;
@@ -112,6 +112,15 @@ public abstract class DoubleWayMultiPathsRecords extends AbstractRecords {
         return results;
     }
 
+    @Watched
+    public PathSet findPath(Id source, Id target,
+                            Function<Id, Boolean> filter,
+                            boolean all, boolean ring) {
+        // Find path from the specified key instead of the last one
+        this.currentKey = this.code(source);
+        return this.findPath(target, filter, all, ring);
+    }
+
     @Override
     public long accessed() {
         return this.accessed;
@@ -26,20 +26,16 @@ import java.util.List;
 import java.util.Stack;
 import java.util.function.Function;
 
-import org.eclipse.collections.api.set.primitive.MutableIntSet;
-import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
-import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
-
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.Path;
 import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.PathSet;
-import com.baidu.hugegraph.traversal.algorithm.records.record.Int2IntRecord;
 import com.baidu.hugegraph.traversal.algorithm.records.record.IntIterator;
 import com.baidu.hugegraph.traversal.algorithm.records.record.Record;
 import com.baidu.hugegraph.traversal.algorithm.records.record.RecordType;
+import com.baidu.hugegraph.util.collection.IntSet;
 
 public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
 
@@ -47,7 +43,7 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
 
     private final int sourceCode;
     private final boolean nearest;
-    private final MutableIntSet accessedVertices;
+    private final IntSet accessedVertices;
 
     private IntIterator lastRecordKeys;
 
@@ -63,8 +59,9 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
         this.records = new Stack<>();
         this.records.push(firstRecord);
 
-        this.accessedVertices = concurrent ? new IntHashSet().asSynchronized() :
-                                new IntHashSet();
+        this.accessedVertices = type == RecordType.BITMAP ?
+                                IntSet.newBitSet(concurrent) :
+                                IntSet.newHashSet(concurrent);
     }
 
     @Override
@@ -129,19 +126,18 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
     public Path getPath(int target) {
         List<Id> ids = new ArrayList<>();
         for (int i = 0; i < this.records.size(); i++) {
-            IntIntHashMap layer = ((Int2IntRecord) this.records
-                                  .elementAt(i)).layer();
+            Record layer = this.records.elementAt(i);
             if (!layer.containsKey(target)) {
                 continue;
             }
 
             ids.add(this.id(target));
-            int parent = layer.get(target);
+            int parent = parent(layer, target);
             ids.add(this.id(parent));
             i--;
             for (; i > 0; i--) {
-                layer = ((Int2IntRecord) this.records.elementAt(i)).layer();
-                parent = layer.get(parent);
+                layer = this.records.elementAt(i);
+                parent = parent(layer, parent);
                 ids.add(this.id(parent));
             }
             break;
@@ -151,19 +147,18 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
 
     public Path getPath(int layerIndex, int target) {
         List<Id> ids = new ArrayList<>();
-        IntIntHashMap layer = ((Int2IntRecord) this.records
-                              .elementAt(layerIndex)).layer();
+        Record layer = this.records.elementAt(layerIndex);
         if (!layer.containsKey(target)) {
             throw new HugeException("Failed to get path for %s",
                                     this.id(target));
         }
         ids.add(this.id(target));
-        int parent = layer.get(target);
+        int parent = parent(layer, target);
         ids.add(this.id(parent));
         layerIndex--;
         for (; layerIndex > 0; layerIndex--) {
-            layer = ((Int2IntRecord) this.records.elementAt(layerIndex)).layer();
-            parent = layer.get(parent);
+            layer = this.records.elementAt(layerIndex);
+            parent = parent(layer, parent);
             ids.add(this.id(parent));
         }
         Collections.reverse(ids);
@@ -173,4 +168,9 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
     public Stack<Record> records() {
         return this.records;
     }
+
+    private static int parent(Record layer, int node) {
+        // Only one parent of each node is kept by the single way records
+        return layer.get(node).next();
+    }
 }
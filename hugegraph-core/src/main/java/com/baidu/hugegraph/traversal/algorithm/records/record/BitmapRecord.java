@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.traversal.algorithm.records.record;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A record keeps the nodes in a bitmap and the parent of each node in an
+ * int array, both are offset by the min node of the record.
+ *
+ * It fits the dense codes of ObjectIntMapping: a vertex gets its code when
+ * it's reached at the first time, so each layer of a nearest traversal is
+ * almost a contiguous range of codes, and a node costs 4 bytes and 1 bit
+ * rather than an entry of IntIntHashMap. Only one parent is kept for each
+ * node like Int2IntRecord.
+ */
+public class BitmapRecord implements Record {
+
+    private static final int INIT_CAPACITY = 16;
+
+    // The bit (node - base) is set if the node exists
+    private BitSet nodes;
+    // The parent of node is parents[node - base]
+    private int[] parents;
+    private int base;
+    private int size;
+
+    public BitmapRecord() {
+        this.nodes = new BitSet();
+        this.parents = null;
+        this.base = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public IntIterator keys() {
+        BitSet nodes = this.nodes;
+        int base = this.base;
+        return new IntIterator(
+               new org.eclipse.collections.api.iterator.IntIterator() {
+
+            private int current = nodes.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return this.current >= 0;
+            }
+
+            @Override
+            public int next() {
+                int node = base + this.current;
+                this.current = nodes.nextSetBit(this.current + 1);
+                return node;
+            }
+        });
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        int offset = key - this.base;
+        return this.parents != null && key >= this.base &&
+               offset < this.parents.length && this.nodes.get(offset);
+    }
+
+    @Override
+    public IntIterator get(int key) {
+        if (!this.containsKey(key)) {
+            return new IntIterator(new int[0]);
+        }
+        return new IntIterator(new int[]{this.parents[key - this.base]});
+    }
+
+    @Override
+    public void addPath(int node, int parent) {
+        assert node >= 0 : node;
+        this.ensureCapacity(node);
+        int offset = node - this.base;
+        this.parents[offset] = parent;
+        if (!this.nodes.get(offset)) {
+            this.nodes.set(offset);
+            this.size++;
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    private void ensureCapacity(int node) {
+        if (this.parents == null) {
+            this.base = node;
+            this.parents = new int[INIT_CAPACITY];
+            return;
+        }
+
+        int length = this.parents.length;
+        long end = (long) this.base + length;
+        if (node >= this.base && node < end) {
+            return;
+        }
+
+        long newLength = Math.max(length + (length >> 1),
+                                  node < this.base ? end - node :
+                                                     node - this.base + 1L);
+        newLength = Math.min(newLength, Integer.MAX_VALUE - 8L);
+        if (node > this.base) {
+            this.parents = Arrays.copyOf(this.parents, (int) newLength);
+            return;
+        }
+
+        // Extend ahead of base, and move the nodes backward
+        int newBase = (int) Math.max(0L, end - newLength);
+        int shift = this.base - newBase;
+        int[] parents = new int[(int) (end - newBase)];
+        System.arraycopy(this.parents, 0, parents, shift, length);
+        BitSet nodes = new BitSet(parents.length);
+        for (int i = this.nodes.nextSetBit(0); i >= 0;
+             i = this.nodes.nextSetBit(i + 1)) {
+            nodes.set(i + shift);
+        }
+        this.parents = parents;
+        this.nodes = nodes;
+        this.base = newBase;
+    }
+}
@@ -41,7 +41,10 @@ public class Int2IntRecord implements Record {
 
     @Override
     public IntIterator get(int key) {
-        return null;
+        if (!this.layer.containsKey(key)) {
+            return new IntIterator(new int[0]);
+        }
+        return new IntIterator(new int[]{this.layer.get(key)});
     }
 
     @Override
@@ -37,6 +37,9 @@ public class RecordFactory {
             case INT:
                 record = new Int2IntRecord();
                 break;
+            case BITMAP:
+                record = new BitmapRecord();
+                break;
             default:
                 throw new AssertionError("Unsupported record type: " + type);
         }
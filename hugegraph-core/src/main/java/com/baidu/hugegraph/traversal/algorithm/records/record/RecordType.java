@@ -29,7 +29,10 @@ public enum RecordType implements SerialEnum {
     // Eclipse Collection
     SET(2, "set"),
 
-    INT(3, "int");
+    INT(3, "int"),
+
+    // Bitmap of nodes with array of parents, fits dense codes
+    BITMAP(4, "bitmap");
 
     private final byte code;
     private final String name;
@@ -58,6 +61,10 @@ public enum RecordType implements SerialEnum {
                 return ARRAY;
             case 2:
                 return SET;
+            case 3:
+                return INT;
+            case 4:
+                return BITMAP;
             default:
                 throw new AssertionError("Unsupported record code: " + code);
         }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.traversal.algorithm.strategy;
+
+import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.NO_LIMIT;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.store.ram.RamTable;
+import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
+import com.baidu.hugegraph.type.define.Directions;
+
+/**
+ * Decide the direction of each layer of a breadth-first traversal, refer to
+ * "Direction-Optimizing Breadth-First Search" by Beamer et al.
+ *
+ * A top-down layer queries the edges of each vertex in the frontier, while
+ * a bottom-up layer scans all the (unvisited) vertices of ramtable and links
+ * each of them to one of its adjacent vertices in the frontier. Bottom-up is
+ * much cheaper when the frontier covers a large part of the graph.
+ */
+public class DirectionOptimizingStrategy {
+
+    /*
+     * Switch to bottom-up if the edges of frontier are more than 1/ALPHA
+     * of the unexplored edges, and switch back to top-down if the frontier
+     * vertices are less than 1/BETA of all vertices
+     */
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    private final RamTable ramtable;
+    // The direction from a scanned vertex back to the frontier
+    private final Directions direction;
+    private final int label;
+    private final long degree;
+    private final int vertices;
+    // Only the unvisited vertices are scanned if the traversal is nearest
+    private final boolean nearest;
+
+    /*
+     * The bitsets are sized by all the vertices of ramtable, so they are
+     * allocated only when switching to bottom-up, the vertices visited
+     * before that are kept in the set
+     */
+    private LongHashSet visitedIds;
+    private BitSet visited;
+    private BitSet frontier;
+    private long unexploredEdges;
+
+    private DirectionOptimizingStrategy(RamTable ramtable, EdgeStep step,
+                                        int vertices, boolean nearest) {
+        this.ramtable = ramtable;
+        this.direction = step.direction().opposite();
+        Id label = step.labels().isEmpty() ? null :
+                   step.labels().keySet().iterator().next();
+        this.label = label == null ? 0 : (int) label.asLong();
+        this.degree = step.degree();
+        this.vertices = vertices;
+        this.nearest = nearest;
+        this.visitedIds = nearest ? new LongHashSet() : null;
+        this.visited = null;
+        this.frontier = null;
+        this.unexploredEdges = ramtable.edgesSize();
+    }
+
+    /**
+     * Create a strategy for the traversal from source, return null if
+     * bottom-up can't be applied and the traversal should be top-down only
+     */
+    public static DirectionOptimizingStrategy create(HugeGraph graph,
+                                                     Id source, EdgeStep step,
+                                                     boolean nearest) {
+        RamTable ramtable = graph.ramtable();
+        if (ramtable == null || ramtable.edgesSize() <= 0L ||
+            ramtable.incomplete() || !source.number()) {
+            return null;
+        }
+        // The edges of ramtable can only be filtered by direction and label
+        if (step.labels().size() > 1 || step.properties() != null ||
+            step.skipDegree() > 0L) {
+            return null;
+        }
+        long vertices = ramtable.maxVertex() + 1L;
+        if (vertices <= 0L || vertices > Integer.MAX_VALUE) {
+            return null;
+        }
+        return new DirectionOptimizingStrategy(ramtable, step,
+                                               (int) vertices, nearest);
+    }
+
+    /**
+     * Decide the direction of the next layer according to the frontier
+     * @param frontier the vertices reached by the last layer
+     * @return the frontier to be expanded top-down, or null if the next
+     *         layer should be bottom-up by calling scan()
+     */
+    public Iterator<Id> nextLayer(Iterator<Id> frontier) {
+        List<Id> ids = new ArrayList<>();
+        long frontierEdges = 0L;
+        long maxDegree = 0L;
+        while (frontier.hasNext()) {
+            Id id = frontier.next();
+            ids.add(id);
+
+            long vertex = id.asLong();
+            int degree = this.ramtable.degree(vertex);
+            frontierEdges += degree;
+            maxDegree = Math.max(maxDegree, degree);
+        }
+
+        boolean bottomUp;
+        if (this.degree != NO_LIMIT && maxDegree > this.degree) {
+            // Only top-down can limit the edges of each frontier vertex
+            bottomUp = false;
+        } else if (this.frontier != null) {
+            bottomUp = ids.size() >= this.vertices / BETA;
+        } else {
+            bottomUp = frontierEdges > this.unexploredEdges / ALPHA;
+        }
+        this.unexploredEdges -= frontierEdges;
+
+        if (!bottomUp) {
+            this.frontier = null;
+            this.visit(ids);
+            return ids.iterator();
+        }
+
+        BitSet bits = new BitSet(this.vertices);
+        for (Id id : ids) {
+            long vertex = id.asLong();
+            if (this.inRange(vertex)) {
+                bits.set((int) vertex);
+            }
+        }
+        if (this.nearest) {
+            if (this.visited == null) {
+                this.visited = new BitSet(this.vertices);
+                LongIterator iter = this.visitedIds.longIterator();
+                while (iter.hasNext()) {
+                    this.visited.set((int) iter.next());
+                }
+                this.visitedIds = null;
+            }
+            this.visited.or(bits);
+        }
+        this.frontier = bits;
+        return null;
+    }
+
+    private void visit(List<Id> ids) {
+        if (!this.nearest) {
+            return;
+        }
+        for (Id id : ids) {
+            long vertex = id.asLong();
+            if (!this.inRange(vertex)) {
+                continue;
+            }
+            if (this.visited != null) {
+                this.visited.set((int) vertex);
+            } else {
+                this.visitedIds.add(vertex);
+            }
+        }
+    }
+
+    private boolean inRange(long vertex) {
+        return vertex >= 0L && vertex < this.vertices;
+    }
+
+    public int vertices() {
+        return this.vertices;
+    }
+
+    /**
+     * Scan the vertices in range [start, end) of a bottom-up layer
+     * @param consumer accept (frontier vertex, scanned vertex), return
+     *                 false to stop scanning
+     */
+    public void scan(int start, int end, BiPredicate<Id, Id> consumer) {
+        BitSet frontier = this.frontier;
+        assert frontier != null;
+        for (int vertex = start; vertex < end; vertex++) {
+            if (this.visited != null && this.visited.get(vertex)) {
+                continue;
+            }
+            long parent = this.ramtable.firstAdjacentVertex(
+                          vertex, this.direction, this.label,
+                          v -> v < this.vertices && frontier.get((int) v));
+            if (parent < 0L) {
+                continue;
+            }
+            if (!consumer.test(IdGenerator.of(parent),
+                               IdGenerator.of(vertex))) {
+                return;
+            }
+        }
+    }
+}
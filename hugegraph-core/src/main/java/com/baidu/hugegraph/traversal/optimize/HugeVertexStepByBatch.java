@@ -0,0 +1,275 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.traversal.optimize;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.backend.query.QueryResults;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.iterator.LimitIterator;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * Vertex step which queries the adjacent edges of a batch of traversers by
+ * one batch query, then the results are split for each traverser in turn,
+ * so the order, path, bulk and sack of each traverser are kept as
+ * HugeVertexStep. The results of a batch are buffered until the batch is
+ * read, if there are too many of them, the traversers of the batch are
+ * queried one by one instead.
+ */
+public class HugeVertexStepByBatch<E extends Element>
+       extends HugeVertexStep<E> {
+
+    private static final long serialVersionUID = -3609787815053052222L;
+
+    private static final Logger LOG = Log.logger(HugeVertexStepByBatch.class);
+
+    // The max average results of each vertex buffered in a batch
+    private static final int MAX_BUFFERED_PER_VERTEX = 100;
+
+    private Queue<Traverser.Admin<Vertex>> batch;
+    // The results of each vertex in the batch, null if too many to buffer
+    private Map<Id, List<E>> batchResults;
+    private int batchSize;
+
+    private Traverser.Admin<Vertex> head;
+    private Iterator<E> iterator;
+
+    public HugeVertexStepByBatch(final HugeVertexStep<E> originVertexStep) {
+        super(originVertexStep);
+        originVertexStep.getHasContainers().forEach(this::addHasContainer);
+        this.queryInfo().copyBasic(originVertexStep.queryInfo());
+
+        this.batch = new ArrayDeque<>();
+        this.batchResults = Collections.emptyMap();
+        this.batchSize = 0;
+        this.head = null;
+        this.iterator = QueryResults.emptyIterator();
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() {
+        while (true) {
+            if (this.iterator.hasNext()) {
+                return this.head.split(this.iterator.next(), this);
+            }
+            if (this.batch.isEmpty() && !this.queryNextBatch()) {
+                throw FastNoSuchElementException.instance();
+            }
+            this.head = this.batch.poll();
+            this.iterator = this.results(this.head);
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        CloseableIterator.closeIterator(this.iterator);
+        this.batch.clear();
+        this.batchResults = Collections.emptyMap();
+        this.head = null;
+        this.iterator = QueryResults.emptyIterator();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public HugeVertexStepByBatch<E> clone() {
+        HugeVertexStepByBatch<E> step = (HugeVertexStepByBatch<E>)
+                                        super.clone();
+        // Don't share the batch states with the origin step
+        step.batch = new ArrayDeque<>();
+        step.batchResults = Collections.emptyMap();
+        step.head = null;
+        step.iterator = QueryResults.emptyIterator();
+        return step;
+    }
+
+    private Iterator<E> results(Traverser.Admin<Vertex> traverser) {
+        if (this.batchResults == null) {
+            return this.queryOneByOne(traverser);
+        }
+        List<E> results = this.batchResults.get((Id) traverser.get().id());
+        return results == null ? QueryResults.emptyIterator() :
+                                 results.iterator();
+    }
+
+    private boolean queryNextBatch() {
+        HugeGraph graph = TraversalUtil.getGraph(this);
+        if (this.batchSize == 0) {
+            this.batchSize = graph.option(CoreOptions.QUERY_BATCH_SIZE);
+        }
+
+        // Pull the traversers available, at most batchSize
+        Set<Id> vertices = InsertionOrderUtil.newSet();
+        while (this.batch.size() < this.batchSize && this.starts.hasNext()) {
+            Traverser.Admin<Vertex> traverser = this.starts.next();
+            this.batch.add(traverser);
+            vertices.add((Id) traverser.get().id());
+        }
+        if (this.batch.isEmpty()) {
+            this.batchResults = Collections.emptyMap();
+            return false;
+        }
+
+        List<HasContainer> conditions = this.getHasContainers();
+        Directions direction = Directions.convert(this.getDirection());
+        Id[] edgeLabels = graph.mapElName2Id(this.getEdgeLabels());
+        // Unset limit when needed to filter adjacent vertices after query
+        long limit = conditions.isEmpty() ? this.queryInfo().limit() :
+                                            Query.NO_LIMIT;
+
+        LOG.debug("HugeVertexStepByBatch.queryNextBatch(): vertices={}, " +
+                  "direction={}, edgeLabels={}, has={}",
+                  vertices.size(), direction, edgeLabels, conditions);
+
+        Iterator<Edge> edges = graph.adjacentEdges(vertices, direction,
+                                                   edgeLabels, limit);
+        try {
+            long maxBuffered = (long) vertices.size() *
+                               MAX_BUFFERED_PER_VERTEX;
+            this.batchResults = this.readResults(edges, maxBuffered);
+        } finally {
+            CloseableIterator.closeIterator(edges);
+        }
+        if (this.batchResults == null) {
+            LOG.debug("HugeVertexStepByBatch.queryNextBatch(): query the " +
+                      "{} vertices one by one since there are more than " +
+                      "{} results", vertices.size(), MAX_BUFFERED_PER_VERTEX);
+        }
+        return true;
+    }
+
+    /**
+     * Read the results of a batch grouped by the owner vertex, return null
+     * if the results are more than maxBuffered
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Id, List<E>> readResults(Iterator<Edge> edges,
+                                         long maxBuffered) {
+        Map<Id, List<E>> results = new HashMap<>();
+        long buffered = 0L;
+        if (this.returnsEdge()) {
+            assert this.getHasContainers().isEmpty();
+            while (edges.hasNext()) {
+                HugeEdge edge = (HugeEdge) edges.next();
+                if (this.addResult(results, edge.ownerVertex().id(),
+                                   (E) edge) && ++buffered > maxBuffered) {
+                    return null;
+                }
+            }
+            return results;
+        }
+
+        assert this.returnsVertex();
+        HugeGraph graph = TraversalUtil.getGraph(this);
+        List<HasContainer> conditions = this.getHasContainers();
+        // Query the adjacent vertices of every batchSize edges
+        List<Edge> adjacentEdges = new ArrayList<>(this.batchSize);
+        while (edges.hasNext()) {
+            adjacentEdges.clear();
+            while (adjacentEdges.size() < this.batchSize && edges.hasNext()) {
+                adjacentEdges.add(edges.next());
+            }
+            Map<Id, Vertex> adjacentVertices = new HashMap<>();
+            Iterator<Vertex> iter = graph.adjacentVertices(adjacentEdges
+                                                           .iterator());
+            if (!conditions.isEmpty()) {
+                iter = TraversalUtil.filterResult(conditions, iter);
+            }
+            while (iter.hasNext()) {
+                Vertex vertex = iter.next();
+                adjacentVertices.put((Id) vertex.id(), vertex);
+            }
+            for (Edge e : adjacentEdges) {
+                HugeEdge edge = (HugeEdge) e;
+                Vertex vertex = adjacentVertices.get(edge.otherVertex().id());
+                if (vertex == null) {
+                    // Not exist or filtered
+                    continue;
+                }
+                if (this.addResult(results, edge.ownerVertex().id(),
+                                   (E) vertex) && ++buffered > maxBuffered) {
+                    return null;
+                }
+            }
+        }
+        return results;
+    }
+
+    private boolean addResult(Map<Id, List<E>> results, Id owner, E result) {
+        List<E> ownerResults = results.computeIfAbsent(owner,
+                                                       k -> new ArrayList<>());
+        // Keep the limit of each vertex if it's not done by the query
+        if (ownerResults.size() >= this.queryInfo().limit()) {
+            return false;
+        }
+        ownerResults.add(result);
+        return true;
+    }
+
+    private Iterator<E> queryOneByOne(Traverser.Admin<Vertex> traverser) {
+        long limit = this.queryInfo().limit();
+        Iterator<E> results = this.flatMap(traverser);
+        if (limit == Query.NO_LIMIT) {
+            return results;
+        }
+        // The limit is unset by flatMap() when filtering, keep it per vertex
+        this.queryInfo().limit(limit);
+        long[] count = new long[1];
+        return new LimitIterator<>(results, e -> count[0]++ >= limit);
+    }
+
+    /**
+     * Whether the vertex step can be queried by batch: the same query is
+     * done for each traverser without paging, offset or order, and edge
+     * conditions are left to be optimized by sort-keys one by one.
+     */
+    public static boolean batchable(HugeVertexStep<?> step) {
+        Query queryInfo = step.queryInfo();
+        if (queryInfo.paging() || queryInfo.offset() > 0L ||
+            !queryInfo.orders().isEmpty() || queryInfo.aggregate() != null) {
+            return false;
+        }
+        return step.returnsVertex() || step.getHasContainers().isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.traversal.optimize;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy.ProviderOptimizationStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+public final class HugeVertexStepByBatchStrategy
+             extends AbstractTraversalStrategy<ProviderOptimizationStrategy>
+             implements ProviderOptimizationStrategy {
+
+    private static final long serialVersionUID = 8463720316573470713L;
+
+    private static final HugeVertexStepByBatchStrategy INSTANCE;
+
+    static {
+        INSTANCE = new HugeVertexStepByBatchStrategy();
+    }
+
+    private HugeVertexStepByBatchStrategy() {
+        // pass
+    }
+
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        List<HugeVertexStep> steps = TraversalHelper.getStepsOfClass(
+                                     HugeVertexStep.class, traversal);
+        for (HugeVertexStep originStep : steps) {
+            if (!HugeVertexStepByBatch.batchable(originStep)) {
+                continue;
+            }
+            HugeVertexStepByBatch<?> newStep =
+                                     new HugeVertexStepByBatch<>(originStep);
+            TraversalHelper.replaceStep(originStep, newStep, traversal);
+        }
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
+        return Collections.singleton(HugeVertexStepStrategy.class);
+    }
+
+    public static HugeVertexStepByBatchStrategy instance() {
+        return INSTANCE;
+    }
+}
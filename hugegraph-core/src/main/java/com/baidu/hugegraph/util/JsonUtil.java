@@ -20,14 +20,18 @@
 package com.baidu.hugegraph.util;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Date;
 
+import org.apache.tinkerpop.shaded.jackson.core.JsonEncoding;
 import org.apache.tinkerpop.shaded.jackson.core.JsonGenerator;
 import org.apache.tinkerpop.shaded.jackson.core.JsonProcessingException;
 import org.apache.tinkerpop.shaded.jackson.core.type.TypeReference;
 import org.apache.tinkerpop.shaded.jackson.databind.Module;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectReader;
+import org.apache.tinkerpop.shaded.jackson.databind.ObjectWriter;
+import org.apache.tinkerpop.shaded.jackson.databind.SerializationFeature;
 import org.apache.tinkerpop.shaded.jackson.databind.SerializerProvider;
 import org.apache.tinkerpop.shaded.jackson.databind.module.SimpleModule;
 import org.apache.tinkerpop.shaded.jackson.databind.ser.std.StdSerializer;
@@ -39,6 +43,9 @@ public final class JsonUtil {
 
     private static final ObjectMapper mapper = new ObjectMapper();
 
+    // Rebuilt after registering modules, a writer only sees modules before it
+    private static volatile ObjectWriter streamWriter;
+
     static {
         SimpleModule module = new SimpleModule();
 
@@ -50,10 +57,17 @@ public final class JsonUtil {
         HugeGraphSONModule.registerGraphSerializers(module);
 
         mapper.registerModule(module);
+        streamWriter = newStreamWriter();
     }
 
-    public static void registerModule(Module module) {
+    public static synchronized void registerModule(Module module) {
         mapper.registerModule(module);
+        streamWriter = newStreamWriter();
+    }
+
+    private static ObjectWriter newStreamWriter() {
+        return mapper.writer().without(
+               SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     public static String toJson(Object object) {
@@ -64,6 +78,36 @@ public final class JsonUtil {
         }
     }
 
+    /**
+     * Create a generator writing UTF-8 json straight to the output stream,
+     * the stream will not be closed when the generator is closed.
+     * @param out   the target stream, like the socket of a response
+     * @return      the generator, should be closed (flushed) by the caller
+     */
+    public static JsonGenerator generator(OutputStream out) {
+        try {
+            JsonGenerator generator = mapper.getFactory().createGenerator(
+                                      out, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            return generator;
+        } catch (IOException e) {
+            throw new HugeException("Can't create json generator: %s",
+                                    e, e.getMessage());
+        }
+    }
+
+    /**
+     * Write an object to the generator without flushing it, so that the
+     * buffer of the generator is flushed to the stream only when it's full
+     */
+    public static void toJson(JsonGenerator generator, Object object) {
+        try {
+            streamWriter.writeValue(generator, object);
+        } catch (IOException e) {
+            throw new HugeException("Can't write json: %s", e, e.getMessage());
+        }
+    }
+
     public static <T> T fromJson(String json, Class<T> clazz) {
         E.checkState(json != null,
                      "Json value can't be null for '%s'",
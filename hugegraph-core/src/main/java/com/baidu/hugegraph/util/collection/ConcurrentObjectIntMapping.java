@@ -19,28 +19,116 @@
 
 package com.baidu.hugegraph.util.collection;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 
+/**
+ * A dense object-int mapping that can be shared by multiple threads.
+ *
+ * Looking up an existing object is lock-free, and a new object only locks
+ * the bin of ConcurrentHashMap it's hashed to, the code is allocated inside
+ * that bin lock so no code is ever wasted by a lost race. The reverse
+ * mapping is stored in fixed size chunks, a chunk is never moved once
+ * allocated, so code2Object() is lock-free too.
+ *
+ * NOTE: clear() can't be called concurrently with other methods.
+ */
 public class ConcurrentObjectIntMapping<V> implements ObjectIntMapping<V> {
 
-    private SingleThreadObjectIntMapping<V> objectIntMapping;
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INIT_CHUNKS = 4;
+
+    private final ConcurrentHashMap<Object, Integer> object2Codes;
+    private final AtomicInteger nextCode;
+    private volatile Object[][] chunks;
 
     public ConcurrentObjectIntMapping() {
-        this.objectIntMapping = new SingleThreadObjectIntMapping<>();
+        this.object2Codes = new ConcurrentHashMap<>();
+        this.nextCode = new AtomicInteger(0);
+        this.chunks = new Object[INIT_CHUNKS][];
     }
 
     @Watched
-    public synchronized int object2Code(Object object) {
-        return this.objectIntMapping.object2Code(object);
+    @Override
+    public int object2Code(Object object) {
+        Integer code = this.object2Codes.get(object);
+        if (code != null) {
+            return code;
+        }
+        return this.object2Codes.computeIfAbsent(object, this::newCode);
     }
 
     @Watched
-    public synchronized V code2Object(int code) {
-        return this.objectIntMapping.code2Object(code);
+    @SuppressWarnings("unchecked")
+    @Override
+    public V code2Object(int code) {
+        if (code < 0) {
+            return null;
+        }
+        Object[][] chunks = this.chunks;
+        int index = code >>> CHUNK_BITS;
+        if (index >= chunks.length || chunks[index] == null) {
+            return null;
+        }
+        return (V) chunks[index][code & CHUNK_MASK];
+    }
+
+    @Override
+    public int size() {
+        return this.nextCode.get();
     }
 
     @Override
     public synchronized void clear() {
-        this.objectIntMapping.clear();
+        this.object2Codes.clear();
+        this.nextCode.set(0);
+        this.chunks = new Object[INIT_CHUNKS][];
+    }
+
+    private Integer newCode(Object object) {
+        int code = this.nextCode.getAndIncrement();
+        if (code < 0) {
+            this.nextCode.decrementAndGet();
+            throw new HugeException("Failed to get code for object: %s, " +
+                                    "too many objects", object);
+        }
+        /*
+         * The slot is written before the code is published by the map,
+         * so any thread that got the code can see the object
+         */
+        this.chunk(code >>> CHUNK_BITS)[code & CHUNK_MASK] = object;
+        return code;
+    }
+
+    private Object[] chunk(int index) {
+        Object[][] chunks = this.chunks;
+        if (index < chunks.length && chunks[index] != null) {
+            return chunks[index];
+        }
+        return this.allocateChunk(index);
+    }
+
+    private synchronized Object[] allocateChunk(int index) {
+        Object[][] chunks = this.chunks;
+        if (index >= chunks.length) {
+            int length = chunks.length;
+            while (index >= length) {
+                length <<= 1;
+            }
+            Object[][] newChunks = new Object[length][];
+            System.arraycopy(chunks, 0, newChunks, 0, chunks.length);
+            chunks = newChunks;
+        }
+        if (chunks[index] == null) {
+            chunks[index] = new Object[CHUNK_SIZE];
+        }
+        // Publish the new chunk (and the grown array) by volatile write
+        this.chunks = chunks;
+        return chunks[index];
     }
 }
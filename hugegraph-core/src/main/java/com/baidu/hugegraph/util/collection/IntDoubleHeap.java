@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.Arrays;
+
+import com.baidu.hugegraph.util.E;
+
+/**
+ * An indexed binary min-heap of int keys ordered by double weights, which
+ * supports decrease-key in O(log n). The position of each key is kept in
+ * an array indexed by the key, so it fits dense keys like the codes of
+ * ObjectIntMapping.
+ */
+public class IntDoubleHeap {
+
+    private static final int INIT_CAPACITY = 16;
+    private static final int ABSENT = -1;
+
+    // The keys in heap order
+    private int[] heap;
+    // The weights in heap order
+    private double[] weights;
+    // The position in heap of each key, ABSENT if not in heap
+    private int[] positions;
+    private int size;
+
+    public IntDoubleHeap() {
+        this.heap = new int[INIT_CAPACITY];
+        this.weights = new double[INIT_CAPACITY];
+        this.positions = new int[INIT_CAPACITY];
+        Arrays.fill(this.positions, ABSENT);
+        this.size = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(int key) {
+        return key < this.positions.length && this.positions[key] != ABSENT;
+    }
+
+    /**
+     * Insert the key if absent, or decrease its weight if the new weight
+     * is smaller than the current one
+     * @return true if the key is inserted or its weight is decreased
+     */
+    public boolean offer(int key, double weight) {
+        E.checkArgument(key >= 0, "The key must be >= 0, but got %s", key);
+        this.ensurePositions(key);
+        int pos = this.positions[key];
+        if (pos == ABSENT) {
+            this.ensureHeap();
+            pos = this.size++;
+            this.heap[pos] = key;
+            this.weights[pos] = weight;
+            this.positions[key] = pos;
+        } else if (weight < this.weights[pos]) {
+            this.weights[pos] = weight;
+        } else {
+            return false;
+        }
+        this.siftUp(pos);
+        return true;
+    }
+
+    public int peek() {
+        E.checkState(this.size > 0, "The heap is empty");
+        return this.heap[0];
+    }
+
+    public double peekWeight() {
+        E.checkState(this.size > 0, "The heap is empty");
+        return this.weights[0];
+    }
+
+    /**
+     * Remove the key with the smallest weight
+     * @return the removed key
+     */
+    public int poll() {
+        E.checkState(this.size > 0, "The heap is empty");
+        int key = this.heap[0];
+        this.positions[key] = ABSENT;
+        if (--this.size > 0) {
+            this.move(this.size, 0);
+            this.siftDown(0);
+        }
+        return key;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.positions[this.heap[i]] = ABSENT;
+        }
+        this.size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int key = this.heap[pos];
+        double weight = this.weights[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (this.weights[parent] <= weight) {
+                break;
+            }
+            this.move(parent, pos);
+            pos = parent;
+        }
+        this.set(pos, key, weight);
+    }
+
+    private void siftDown(int pos) {
+        int key = this.heap[pos];
+        double weight = this.weights[pos];
+        int half = this.size >>> 1;
+        while (pos < half) {
+            int child = (pos << 1) + 1;
+            int right = child + 1;
+            if (right < this.size && this.weights[right] < this.weights[child]) {
+                child = right;
+            }
+            if (weight <= this.weights[child]) {
+                break;
+            }
+            this.move(child, pos);
+            pos = child;
+        }
+        this.set(pos, key, weight);
+    }
+
+    private void move(int from, int to) {
+        this.set(to, this.heap[from], this.weights[from]);
+    }
+
+    private void set(int pos, int key, double weight) {
+        this.heap[pos] = key;
+        this.weights[pos] = weight;
+        this.positions[key] = pos;
+    }
+
+    private void ensureHeap() {
+        if (this.size == this.heap.length) {
+            int capacity = this.heap.length << 1;
+            this.heap = Arrays.copyOf(this.heap, capacity);
+            this.weights = Arrays.copyOf(this.weights, capacity);
+        }
+    }
+
+    private void ensurePositions(int key) {
+        if (key >= this.positions.length) {
+            int length = this.positions.length;
+            int capacity = Math.max(key + 1, length << 1);
+            this.positions = Arrays.copyOf(this.positions, capacity);
+            Arrays.fill(this.positions, length, capacity, ABSENT);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.BitSet;
+
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+
+public interface IntSet {
+
+    public boolean add(int key);
+
+    public boolean contains(int key);
+
+    public int size();
+
+    public void clear();
+
+    /**
+     * Create an int set backed by a hash set, which fits sparse keys
+     */
+    public static IntSet newHashSet(boolean concurrent) {
+        return new HashIntSet(concurrent);
+    }
+
+    /**
+     * Create an int set backed by a bitmap, which costs 1 bit per key in
+     * range [0, max key], and fits dense keys like codes of ObjectIntMapping
+     */
+    public static IntSet newBitSet(boolean concurrent) {
+        IntSet set = new BitIntSet();
+        return concurrent ? new SyncIntSet(set) : set;
+    }
+
+    public static class HashIntSet implements IntSet {
+
+        private final MutableIntSet set;
+
+        public HashIntSet(boolean concurrent) {
+            this.set = concurrent ? new IntHashSet().asSynchronized() :
+                                    new IntHashSet();
+        }
+
+        @Override
+        public boolean add(int key) {
+            return this.set.add(key);
+        }
+
+        @Override
+        public boolean contains(int key) {
+            return this.set.contains(key);
+        }
+
+        @Override
+        public int size() {
+            return this.set.size();
+        }
+
+        @Override
+        public void clear() {
+            this.set.clear();
+        }
+    }
+
+    public static class BitIntSet implements IntSet {
+
+        private final BitSet bits;
+        private int size;
+
+        public BitIntSet() {
+            this.bits = new BitSet();
+            this.size = 0;
+        }
+
+        @Override
+        public boolean add(int key) {
+            if (this.bits.get(key)) {
+                return false;
+            }
+            this.bits.set(key);
+            this.size++;
+            return true;
+        }
+
+        @Override
+        public boolean contains(int key) {
+            return key >= 0 && this.bits.get(key);
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        @Override
+        public void clear() {
+            this.bits.clear();
+            this.size = 0;
+        }
+    }
+
+    public static class SyncIntSet implements IntSet {
+
+        private final IntSet set;
+
+        public SyncIntSet(IntSet set) {
+            this.set = set;
+        }
+
+        @Override
+        public synchronized boolean add(int key) {
+            return this.set.add(key);
+        }
+
+        @Override
+        public synchronized boolean contains(int key) {
+            return this.set.contains(key);
+        }
+
+        @Override
+        public synchronized int size() {
+            return this.set.size();
+        }
+
+        @Override
+        public synchronized void clear() {
+            this.set.clear();
+        }
+    }
+}
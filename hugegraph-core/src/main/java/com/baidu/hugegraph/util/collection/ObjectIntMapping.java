@@ -25,5 +25,11 @@ public interface ObjectIntMapping<V> {
 
     public V code2Object(int code);
 
+    /**
+     * Codes are dense and assigned in order of first occurrence, so the
+     * codes of a mapping are always in the range [0, size())
+     */
+    public int size();
+
     public void clear();
 }
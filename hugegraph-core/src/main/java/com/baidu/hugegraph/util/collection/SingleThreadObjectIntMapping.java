@@ -19,58 +19,61 @@
 
 package com.baidu.hugegraph.util.collection;
 
-import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 
 public class SingleThreadObjectIntMapping<V> implements ObjectIntMapping<V> {
 
-    private static final int MAGIC = 1 << 16;
-    private static final int MAX_OFFSET = 10;
+    private static final int NULL_CODE = -1;
 
-    private final IntObjectHashMap<V> int2IdMap;
+    private final ObjectIntHashMap<V> object2Codes;
+    private final List<V> code2Objects;
 
     public SingleThreadObjectIntMapping() {
-        this.int2IdMap = new IntObjectHashMap<>();
+        this.object2Codes = new ObjectIntHashMap<>();
+        this.code2Objects = new ArrayList<>();
     }
 
     @Watched
     @SuppressWarnings("unchecked")
+    @Override
     public int object2Code(Object object) {
-        int code = object.hashCode();
-        // TODO: improve hash algorithm
-        for (int i = 1; i > 0; i <<= 1) {
-            for (int j = 0; j < MAX_OFFSET; j++) {
-                V existed = this.int2IdMap.get(code);
-                if (existed == null) {
-                    this.int2IdMap.put(code, (V) object);
-                    return code;
-                }
-                if (existed.equals(object)) {
-                    return code;
-                }
-                code = code + i + j;
-                /*
-                 * If i < MAGIC, try (i * 2) to reduce conflicts, otherwise
-                 * try (i + 1), (i + 2), ..., (i + 10) to try more times
-                 * before try (i * 2).
-                 */
-                if (i < MAGIC) {
-                    break;
-                }
-            }
+        int code = this.object2Codes.getIfAbsent(object, NULL_CODE);
+        if (code != NULL_CODE) {
+            return code;
         }
-        throw new HugeException("Failed to get code for object: %s", object);
+        code = this.code2Objects.size();
+        if (code == Integer.MAX_VALUE) {
+            throw new HugeException("Failed to get code for object: %s, " +
+                                    "too many objects", object);
+        }
+        this.object2Codes.put((V) object, code);
+        this.code2Objects.add((V) object);
+        return code;
     }
 
     @Watched
+    @Override
     public V code2Object(int code) {
-        return this.int2IdMap.get(code);
+        if (code < 0 || code >= this.code2Objects.size()) {
+            return null;
+        }
+        return this.code2Objects.get(code);
+    }
+
+    @Override
+    public int size() {
+        return this.code2Objects.size();
     }
 
     @Override
     public void clear() {
-        this.int2IdMap.clear();
+        this.object2Codes.clear();
+        this.code2Objects.clear();
     }
 }
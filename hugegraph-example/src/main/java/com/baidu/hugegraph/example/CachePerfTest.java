@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.example;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.backend.cache.Cache;
+import com.baidu.hugegraph.backend.cache.RamCache;
+import com.baidu.hugegraph.backend.cache.TinyLfuCache;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * Compare the throughput and hit ratio of RamCache and TinyLfuCache by
+ * multiple threads doing getOrFetch() with Zipfian distributed keys
+ */
+public class CachePerfTest {
+
+    private static final Logger LOG = Log.logger(CachePerfTest.class);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 5) {
+            System.out.println("Usage: threads times capacity keys skew");
+            return;
+        }
+
+        int threads = Integer.parseInt(args[0]);
+        int times = Integer.parseInt(args[1]);
+        long capacity = Long.parseLong(args[2]);
+        int keys = Integer.parseInt(args[3]);
+        double skew = Double.parseDouble(args[4]);
+
+        Id[][] samples = samples(threads, times, keys, skew);
+
+        // Warm up the JIT
+        test("RamCache", new RamCache(capacity), samples);
+        test("TinyLfuCache", new TinyLfuCache(capacity), samples);
+
+        LOG.info("===================================");
+        LOG.info("threads: {}, times: {}, capacity: {}, keys: {}, skew: {}",
+                 threads, times, capacity, keys, skew);
+        test("RamCache", new RamCache(capacity), samples);
+        test("TinyLfuCache", new TinyLfuCache(capacity), samples);
+    }
+
+    private static void test(String name, Cache<Id, Object> cache,
+                             Id[][] samples) throws InterruptedException {
+        Function<Id, Object> fetcher = id -> id.asString();
+        Thread[] threads = new Thread[samples.length];
+        for (int i = 0; i < threads.length; i++) {
+            Id[] ids = samples[i];
+            threads[i] = new Thread(() -> {
+                for (Id id : ids) {
+                    cache.getOrFetch(id, fetcher);
+                }
+            }, "cache-perf-" + i);
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long cost = System.nanoTime() - start;
+
+        long total = (long) samples.length * samples[0].length;
+        double hitRatio = cache.hits() / (double) (cache.hits() +
+                                                   cache.miss());
+        LOG.info("{}: {} ops cost {}ms, {} ops/ms, hit ratio {}",
+                 name, total, cost / 1000000L,
+                 total * 1000000L / Math.max(cost, 1L),
+                 String.format("%.4f", hitRatio));
+    }
+
+    private static Id[][] samples(int threads, int times, int keys,
+                                  double skew) {
+        // The cumulative probability of the Zipfian distribution
+        double[] cdf = new double[keys];
+        double sum = 0.0;
+        for (int i = 0; i < keys; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+
+        Id[] ids = new Id[keys];
+        for (int i = 0; i < keys; i++) {
+            ids[i] = IdGenerator.of("key-" + i);
+        }
+
+        Id[][] samples = new Id[threads][times];
+        Random random = new Random(keys);
+        for (int i = 0; i < threads; i++) {
+            for (int j = 0; j < times; j++) {
+                int index = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+                if (index < 0) {
+                    index = -index - 1;
+                }
+                samples[i][j] = ids[Math.min(index, keys - 1)];
+            }
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.traversal.algorithm.records.record.IntIterator;
+import com.baidu.hugegraph.traversal.algorithm.records.record.Record;
+import com.baidu.hugegraph.traversal.algorithm.records.record.RecordFactory;
+import com.baidu.hugegraph.traversal.algorithm.records.record.RecordType;
+import com.baidu.hugegraph.util.Log;
+import com.baidu.hugegraph.util.collection.IntSet;
+
+/**
+ * Compare the cost and retained heap of the record types by simulating
+ * the layers of a nearest traversal: the nodes of each layer are the next
+ * range of dense codes, and each node links to a random parent of the
+ * previous layer
+ */
+public class RecordPerfTest {
+
+    private static final Logger LOG = Log.logger(RecordPerfTest.class);
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: layers nodes_per_layer");
+            return;
+        }
+
+        int layers = Integer.parseInt(args[0]);
+        int nodes = Integer.parseInt(args[1]);
+
+        // Warm up the JIT
+        test(RecordType.INT, layers, nodes);
+        test(RecordType.BITMAP, layers, nodes);
+
+        LOG.info("===================================");
+        LOG.info("layers: {}, nodes per layer: {}", layers, nodes);
+        for (RecordType type : new RecordType[]{RecordType.INT,
+                                                RecordType.SET,
+                                                RecordType.BITMAP}) {
+            test(type, layers, nodes);
+        }
+    }
+
+    private static void test(RecordType type, int layers, int nodes) {
+        long usedBefore = usedMemory();
+        long start = System.nanoTime();
+
+        Random random = new Random(layers);
+        IntSet accessed = type == RecordType.BITMAP ?
+                          IntSet.newBitSet(false) :
+                          IntSet.newHashSet(false);
+        List<Record> records = new ArrayList<>(layers);
+        int code = 0;
+        for (int i = 0; i < layers; i++) {
+            Record record = RecordFactory.newRecord(type);
+            int first = code;
+            for (int j = 0; j < nodes; j++) {
+                int node = code++;
+                int parent = first == 0 ? 0 : random.nextInt(first);
+                if (accessed.contains(node)) {
+                    continue;
+                }
+                record.addPath(node, parent);
+                accessed.add(node);
+            }
+            records.add(record);
+        }
+
+        // Look up the parent of each node like path reconstruction
+        long parents = 0L;
+        for (Record record : records) {
+            IntIterator keys = record.keys();
+            while (keys.hasNext()) {
+                int node = keys.next();
+                if (record.containsKey(node)) {
+                    parents += record.get(node).next();
+                }
+            }
+        }
+
+        long cost = System.nanoTime() - start;
+        long retained = usedMemory() - usedBefore;
+        LOG.info("{}: {} nodes cost {}ms, retained {}MB, checksum {}",
+                 type, accessed.size(), cost / 1000000L,
+                 retained / 1024L / 1024L, parents);
+        // Keep the records reachable until the memory is measured
+        records.clear();
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
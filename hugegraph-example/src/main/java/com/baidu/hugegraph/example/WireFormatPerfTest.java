@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.example;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.schema.EdgeLabel;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.serializer.BinaryElementSerializer;
+import com.baidu.hugegraph.serializer.JsonSerializer;
+import com.baidu.hugegraph.serializer.StreamingSerializer;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.util.JsonUtil;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * Compare the json and the binary wire format of the REST API by encoding
+ * element lists like the list/scan responses, and decoding them like the
+ * batch creating requests
+ */
+public class WireFormatPerfTest {
+
+    private static final Logger LOG = Log.logger(WireFormatPerfTest.class);
+
+    private static final int[] SIZES = {1000, 10000, 100000};
+    private static final int TIMES = 5;
+
+    public static void main(String[] args) throws Exception {
+        HugeGraph graph = ExampleUtil.loadGraph();
+        try {
+            initSchema(graph);
+            // Warm up the JIT
+            test(graph, SIZES[1], false);
+            for (int size : SIZES) {
+                test(graph, size, true);
+            }
+        } finally {
+            graph.close();
+            HugeFactory.shutdown(30L);
+        }
+    }
+
+    private static void initSchema(HugeGraph graph) {
+        SchemaManager schema = graph.schema();
+        schema.propertyKey("name").asText().ifNotExist().create();
+        schema.propertyKey("age").asInt().ifNotExist().create();
+        schema.propertyKey("city").asText().ifNotExist().create();
+        schema.propertyKey("date").asDate().ifNotExist().create();
+        schema.propertyKey("weight").asDouble().ifNotExist().create();
+
+        schema.vertexLabel("person")
+              .properties("name", "age", "city")
+              .useCustomizeNumberId()
+              .ifNotExist().create();
+        schema.edgeLabel("knows")
+              .sourceLabel("person").targetLabel("person")
+              .properties("date", "weight")
+              .ifNotExist().create();
+    }
+
+    private static void test(HugeGraph graph, int size, boolean print)
+                             throws IOException {
+        VertexLabel person = graph.vertexLabel("person");
+        EdgeLabel knows = graph.edgeLabel("knows");
+        Random random = new Random(size);
+
+        List<Vertex> vertices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            HugeVertex vertex = new HugeVertex(graph, IdGenerator.of(i),
+                                               person);
+            vertex.addProperty(graph.propertyKey("name"), "person-" + i);
+            vertex.addProperty(graph.propertyKey("age"), random.nextInt(100));
+            vertex.addProperty(graph.propertyKey("city"),
+                               "city-" + random.nextInt(1000));
+            vertices.add(vertex);
+        }
+        List<Edge> edges = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            HugeVertex source = (HugeVertex) vertices.get(i);
+            HugeVertex target = (HugeVertex) vertices.get(
+                                random.nextInt(size));
+            HugeEdge edge = new HugeEdge(graph, null, knows);
+            edge.vertices(true, source, target);
+            edge.addProperty(graph.propertyKey("date"),
+                             new Date(random.nextInt()));
+            edge.addProperty(graph.propertyKey("weight"),
+                             random.nextDouble());
+            edge.assignId();
+            edges.add(edge);
+        }
+
+        JsonSerializer json = JsonSerializer.instance();
+        BinaryElementSerializer binary = BinaryElementSerializer.instance();
+
+        byte[] jsonVertices = encode(json, vertices, true, size, print);
+        byte[] binVertices = encode(binary, vertices, true, size, print);
+        byte[] jsonEdges = encode(json, edges, false, size, print);
+        byte[] binEdges = encode(binary, edges, false, size, print);
+
+        long start = System.nanoTime();
+        for (int t = 0; t < TIMES; t++) {
+            JsonUtil.fromJson(new String(jsonVertices, "UTF-8"), Map.class);
+            JsonUtil.fromJson(new String(jsonEdges, "UTF-8"), Map.class);
+        }
+        long jsonCost = (System.nanoTime() - start) / TIMES;
+
+        start = System.nanoTime();
+        for (int t = 0; t < TIMES; t++) {
+            BytesBuffer buffer = BytesBuffer.wrap(binVertices);
+            binary.readElements(buffer, () -> binary.readVertex(graph, buffer));
+            BytesBuffer buffer2 = BytesBuffer.wrap(binEdges);
+            binary.readElements(buffer2, () -> binary.readEdge(graph, buffer2));
+        }
+        long binaryCost = (System.nanoTime() - start) / TIMES;
+
+        if (print) {
+            LOG.info("decode {} vertices and {} edges: json {}ms, " +
+                     "binary {}ms", size, size, jsonCost / 1000000.0,
+                     binaryCost / 1000000.0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] encode(StreamingSerializer serializer,
+                                 List<?> elements, boolean vertex,
+                                 int size, boolean print)
+                                 throws IOException {
+        ByteArrayOutputStream out = null;
+        long start = System.nanoTime();
+        for (int t = 0; t < TIMES; t++) {
+            out = new ByteArrayOutputStream();
+            StreamingOutput output = vertex ?
+                                     serializer.streamVertices(
+                                     ((List<Vertex>) elements).iterator(),
+                                     false) :
+                                     serializer.streamEdges(
+                                     ((List<Edge>) elements).iterator(),
+                                     false);
+            output.write(out);
+        }
+        long cost = (System.nanoTime() - start) / TIMES;
+
+        if (print) {
+            LOG.info("encode {} {}: {} {}ms, {} bytes", size,
+                     vertex ? "vertices" : "edges",
+                     serializer.getClass().getSimpleName(),
+                     cost / 1000000.0, out.size());
+        }
+        return out.toByteArray();
+    }
+}
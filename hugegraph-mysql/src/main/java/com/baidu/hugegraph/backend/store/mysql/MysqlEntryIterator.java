@@ -65,7 +65,12 @@ public class MysqlEntryIterator extends BackendEntryIterator {
         }
 
         try {
-            while (!this.results.isClosed() && this.results.next()) {
+            while (!this.results.isClosed()) {
+                if (!this.results.next()) {
+                    // Close the results to make the statement reusable
+                    this.results.close();
+                    break;
+                }
                 MysqlBackendEntry entry = this.row2Entry(this.results);
                 this.lastest = entry;
                 BackendEntry merged = this.merger.apply(this.current, entry);
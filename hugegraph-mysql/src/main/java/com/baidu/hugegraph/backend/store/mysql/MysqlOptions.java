@@ -98,6 +98,19 @@ public class MysqlOptions extends OptionHolder {
                     "false"
             );
 
+    public static final ConfigOption<Integer> JDBC_FETCH_SIZE =
+            new ConfigOption<>(
+                    "jdbc.fetch_size",
+                    "The number of rows fetched from database at a time " +
+                    "when scanning more rows than it, 0 means fetching all " +
+                    "rows at once. Note that it enables the cursor fetch of " +
+                    "MySQL, which also makes the prepared statements " +
+                    "server-side, and scans PostgreSQL in a read-only " +
+                    "transaction.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    0
+            );
+
     public static final ConfigOption<String> STORAGE_ENGINE =
             new ConfigOption<>(
                    "jdbc.storage_engine",
@@ -25,7 +25,11 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
 
@@ -44,6 +48,7 @@ public class MysqlSessions extends BackendSessionPool {
     private static final Logger LOG = Log.logger(MysqlStore.class);
 
     private static final int DROP_DB_TIMEOUT = 10000;
+    private static final int QUERY_STATEMENTS_CAPACITY = 256;
 
     private HugeConfig config;
     private String database;
@@ -219,6 +224,7 @@ public class MysqlSessions extends BackendSessionPool {
         int maxTimes = this.config.get(MysqlOptions.JDBC_RECONNECT_MAX_TIMES);
         int interval = this.config.get(MysqlOptions.JDBC_RECONNECT_INTERVAL);
         String sslMode = this.config.get(MysqlOptions.JDBC_SSL_MODE);
+        int fetchSize = this.config.get(MysqlOptions.JDBC_FETCH_SIZE);
 
         URIBuilder builder = this.newConnectionURIBuilder();
         builder.setPath(url).setParameter("useSSL", sslMode);
@@ -229,6 +235,10 @@ public class MysqlSessions extends BackendSessionPool {
                    .setParameter("autoReconnect", String.valueOf(autoReconnect))
                    .setParameter("maxReconnects", String.valueOf(maxTimes))
                    .setParameter("initialTimeout", String.valueOf(interval));
+            if (fetchSize > 0) {
+                // Fetch rows by batch instead of reading all the results
+                builder.setParameter("useCursorFetch", "true");
+            }
         }
         if (timeout != null) {
             builder.setParameter("socketTimeout", String.valueOf(timeout));
@@ -253,6 +263,15 @@ public class MysqlSessions extends BackendSessionPool {
         return new URIBuilder();
     }
 
+    /**
+     * Whether the fetch size only takes effect in a transaction, the driver
+     * reads all rows of the results at once under auto-commit if true
+     * @return true if fetching the results by the cursor in a transaction
+     */
+    protected boolean fetchInTransaction() {
+        return false;
+    }
+
     private Connection connect(String url) throws SQLException {
         LOG.info("Connect to the jdbc url: '{}'", url);
         String driverName = this.config.get(MysqlOptions.JDBC_DRIVER);
@@ -272,11 +291,17 @@ public class MysqlSessions extends BackendSessionPool {
 
         private Connection conn;
         private Map<String, PreparedStatement> statements;
+        private Map<String, QueryStatement> queryStatements;
+        private Connection scanConn;
+        private List<ResultSet> scanResults;
         private int count;
 
         public Session() {
             this.conn = null;
             this.statements = new HashMap<>();
+            this.queryStatements = new QueryStatements();
+            this.scanConn = null;
+            this.scanResults = new ArrayList<>();
             this.count = 0;
         }
 
@@ -330,6 +355,26 @@ public class MysqlSessions extends BackendSessionPool {
                 }
             }
             this.statements.clear();
+            for (QueryStatement statement : this.queryStatements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    exception = e;
+                }
+            }
+            this.queryStatements.clear();
+            this.scanResults.clear();
+
+            if (this.scanConn != null) {
+                try {
+                    // Abort the read-only transaction of scanning
+                    this.scanConn.close();
+                } catch (SQLException e) {
+                    exception = e;
+                } finally {
+                    this.scanConn = null;
+                }
+            }
 
             try {
                 this.conn.close();
@@ -478,6 +523,79 @@ public class MysqlSessions extends BackendSessionPool {
             return this.conn.createStatement().executeQuery(sql);
         }
 
+        /**
+         * Query with the prepared statement of the sql template, which is
+         * cached and reused by the later queries with the same template
+         * @param sqlTemplate the select statement with '?' placeholders
+         * @param parameters the values to be bound to the placeholders
+         * @param fetchSize the number of rows to be fetched at a time,
+         *                  0 means using the default of the driver
+         * @return the results
+         * @throws SQLException if a database access error occurs
+         */
+        public ResultSet select(String sqlTemplate, List<Object> parameters,
+                                int fetchSize) throws SQLException {
+            assert this.conn.getAutoCommit();
+            if (fetchSize > 0 && MysqlSessions.this.fetchInTransaction()) {
+                return this.scan(sqlTemplate, parameters, fetchSize);
+            }
+            PreparedStatement statement = this.prepareQuery(sqlTemplate);
+            for (int i = 0, n = parameters.size(); i < n; i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            statement.setFetchSize(fetchSize);
+            ResultSet results = statement.executeQuery();
+            QueryStatement cached = this.queryStatements.get(sqlTemplate);
+            if (cached != null && cached.statement == statement) {
+                cached.results = results;
+            }
+            return results;
+        }
+
+        /**
+         * Scan with a dedicated read-only connection in a transaction, so
+         * that the results are fetched by the cursor. It's separated from
+         * the write connection, whose commits would close the cursors of
+         * the results still being read
+         */
+        private ResultSet scan(String sqlTemplate, List<Object> parameters,
+                               int fetchSize) throws SQLException {
+            this.commitScanIfIdle();
+            if (this.scanConn == null || this.scanConn.isClosed()) {
+                this.scanResults.clear();
+                this.scanConn = MysqlSessions.this.open(true);
+                // Can't change the read-only property in a transaction
+                this.scanConn.setReadOnly(true);
+                this.scanConn.setAutoCommit(false);
+            }
+            PreparedStatement statement;
+            statement = this.scanConn.prepareStatement(sqlTemplate);
+            statement.closeOnCompletion();
+            for (int i = 0, n = parameters.size(); i < n; i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            statement.setFetchSize(fetchSize);
+            ResultSet results = statement.executeQuery();
+            this.scanResults.add(results);
+            return results;
+        }
+
+        private void commitScanIfIdle() throws SQLException {
+            if (this.scanConn == null) {
+                return;
+            }
+            Iterator<ResultSet> iter = this.scanResults.iterator();
+            while (iter.hasNext()) {
+                if (iter.next().isClosed()) {
+                    iter.remove();
+                }
+            }
+            if (this.scanResults.isEmpty() && !this.scanConn.isClosed()) {
+                // End the transaction to read the latest committed rows
+                this.scanConn.commit();
+            }
+        }
+
         public boolean execute(String sql) throws SQLException {
             /*
              * commit() or rollback() failed to set connection to auto-commit
@@ -509,5 +627,84 @@ public class MysqlSessions extends BackendSessionPool {
             }
             return statement;
         }
+
+        private PreparedStatement prepareQuery(String sqlTemplate)
+                                               throws SQLException {
+            QueryStatement cached = this.queryStatements.get(sqlTemplate);
+            if (cached == null) {
+                PreparedStatement statement;
+                statement = this.conn.prepareStatement(sqlTemplate);
+                this.queryStatements.put(sqlTemplate,
+                                         new QueryStatement(statement));
+                return statement;
+            }
+            if (cached.busy()) {
+                /*
+                 * The results of the cached statement are still being read,
+                 * which would be closed if executing it again, so use a new
+                 * statement for the nested query, which is closed once its
+                 * results are closed
+                 */
+                PreparedStatement statement;
+                statement = this.conn.prepareStatement(sqlTemplate);
+                statement.closeOnCompletion();
+                return statement;
+            }
+            return cached.statement;
+        }
+    }
+
+    private static class QueryStatement {
+
+        private final PreparedStatement statement;
+        private ResultSet results;
+
+        public QueryStatement(PreparedStatement statement) {
+            this.statement = statement;
+            this.results = null;
+        }
+
+        public boolean busy() throws SQLException {
+            return this.results != null && !this.results.isClosed();
+        }
+
+        public void closeOnCompletion() throws SQLException {
+            this.statement.closeOnCompletion();
+        }
+
+        public void close() throws SQLException {
+            this.statement.close();
+        }
+    }
+
+    private static class QueryStatements
+                   extends LinkedHashMap<String, QueryStatement> {
+
+        private static final long serialVersionUID = -2863281429395530613L;
+
+        public QueryStatements() {
+            // Evict the least recently used statements
+            super(16, 0.75F, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+                  Map.Entry<String, QueryStatement> eldest) {
+            if (this.size() <= QUERY_STATEMENTS_CAPACITY) {
+                return false;
+            }
+            QueryStatement statement = eldest.getValue();
+            try {
+                if (statement.busy()) {
+                    // Close the statement once the results being read closed
+                    statement.closeOnCompletion();
+                } else {
+                    statement.close();
+                }
+            } catch (SQLException e) {
+                LOG.warn("Failed to close statement '{}'", eldest.getKey(), e);
+            }
+            return true;
+        }
     }
 }
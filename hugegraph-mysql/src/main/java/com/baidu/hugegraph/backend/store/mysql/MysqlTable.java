@@ -27,7 +27,6 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.BiFunction;
 
 import org.apache.logging.log4j.util.Strings;
@@ -334,11 +333,12 @@ public abstract class MysqlTable
         Aggregate aggregate = query.aggregateNotNull();
 
         Iterator<Number> results = this.query(session, query, (q, rs) -> {
-            try {
-                if (!rs.next()) {
+            // Close the results to make the statement reusable
+            try (ResultSet result = rs) {
+                if (!result.next()) {
                     return IteratorUtils.of(aggregate.defaultValue());
                 }
-                return IteratorUtils.of(rs.getLong(1));
+                return IteratorUtils.of(result.getLong(1));
             } catch (SQLException e) {
                 throw new BackendException(e);
             }
@@ -361,10 +361,13 @@ public abstract class MysqlTable
             return rs;
         }
 
-        List<StringBuilder> selections = this.query2Select(this.table(), query);
+        List<Select> selections = this.query2Select(this.table(), query);
+        int fetchSize = this.fetchSize(session, query);
         try {
-            for (StringBuilder selection : selections) {
-                ResultSet results = session.select(selection.toString());
+            for (Select selection : selections) {
+                ResultSet results = session.select(selection.sql(),
+                                                   selection.parameters(),
+                                                   fetchSize);
                 rs.extend(parser.apply(query, results));
             }
         } catch (SQLException e) {
@@ -375,9 +378,19 @@ public abstract class MysqlTable
         return rs;
     }
 
-    protected List<StringBuilder> query2Select(String table, Query query) {
+    protected int fetchSize(Session session, Query query) {
+        int fetchSize = session.config().get(MysqlOptions.JDBC_FETCH_SIZE);
+        // Only fetch by batch when scanning more rows than a batch
+        if (fetchSize > 0 && query.ids().isEmpty() &&
+            query.limit() > fetchSize) {
+            return fetchSize;
+        }
+        return 0;
+    }
+
+    protected List<Select> query2Select(String table, Query query) {
         // Build query
-        StringBuilder select = new StringBuilder(64);
+        Select select = new Select();
         select.append("SELECT ");
 
         // Set aggregate
@@ -392,9 +405,9 @@ public abstract class MysqlTable
         select.append(" FROM ").append(table);
 
         // Is query by id?
-        List<StringBuilder> ids = this.queryId2Select(query, select);
+        List<Select> ids = this.queryId2Select(query, select);
 
-        List<StringBuilder> selections;
+        List<Select> selections;
 
         if (query.conditions().isEmpty()) {
             // Query only by id
@@ -408,14 +421,14 @@ public abstract class MysqlTable
             }
 
             selections = new ArrayList<>(ids.size());
-            for (StringBuilder selection : ids) {
+            for (Select selection : ids) {
                 // Query by condition
                 selections.addAll(this.queryCondition2Select(query, selection));
             }
             LOG.debug("Query by conditions: {}", selections);
         }
         // Set page, order-by and limit
-        for (StringBuilder selection : selections) {
+        for (Select selection : selections) {
             boolean hasOrder = !query.orders().isEmpty();
             if (hasOrder) {
                 this.wrapOrderBy(selection, query);
@@ -425,7 +438,7 @@ public abstract class MysqlTable
                 wrapLimit(selection, query);
             } else {
                 if (aggregate == null && !hasOrder) {
-                    select.append(this.orderByKeys());
+                    selection.append(this.orderByKeys());
                 }
                 if (!query.noLimit() || query.offset() > 0L) {
                     this.wrapOffset(selection, query);
@@ -436,8 +449,7 @@ public abstract class MysqlTable
         return selections;
     }
 
-    protected StringBuilder queryByRange(ConditionQuery query,
-                                         StringBuilder select) {
+    protected Select queryByRange(ConditionQuery query, Select select) {
         E.checkArgument(query.relations().size() == 1,
                         "Invalid scan with multi conditions: %s", query);
         Condition.Relation scan = query.relations().iterator().next();
@@ -462,7 +474,7 @@ public abstract class MysqlTable
                 where.and();
                 where.lt(formatKey(partitionKey), shard.end());
             }
-            select.append(where.build());
+            select.append(where);
         } else {
             // >= start
             WhereBuilder where = this.newWhereBuilder();
@@ -478,15 +490,14 @@ public abstract class MysqlTable
                 }
                 where.lt(formatKey(partitionKey), shard.end());
             }
-            select.append(where.build());
+            select.append(where);
         }
         this.wrapLimit(select, query);
 
         return select;
     }
 
-    protected List<StringBuilder> queryId2Select(Query query,
-                                                 StringBuilder select) {
+    protected List<Select> queryId2Select(Query query, Select select) {
         // Query by id(s)
         if (query.ids().isEmpty()) {
             return ImmutableList.of(select);
@@ -515,7 +526,7 @@ public abstract class MysqlTable
 
             WhereBuilder where = this.newWhereBuilder();
             where.in(formatKey(nameParts.get(0)), values);
-            select.append(where.build());
+            select.append(where);
             return ImmutableList.of(select);
         }
 
@@ -526,10 +537,10 @@ public abstract class MysqlTable
          * columns when using: select.where(QueryBuilder.in(names, idList));
          * So we use multi-query instead of IN
          */
-        List<StringBuilder> selections = new ArrayList<>(ids.size());
+        List<Select> selections = new ArrayList<>(ids.size());
         for (List<Object> objects : ids) {
             assert nameParts.size() == objects.size();
-            StringBuilder idSelection = new StringBuilder(select);
+            Select idSelection = select.copy();
             /*
              * NOTE: concat with AND relation, like:
              * "pk = id and ck1 = v1 and ck2 = v2"
@@ -537,54 +548,69 @@ public abstract class MysqlTable
             WhereBuilder where = this.newWhereBuilder();
             where.and(formatKeys(nameParts), objects);
 
-            idSelection.append(where.build());
+            idSelection.append(where);
             selections.add(idSelection);
         }
         return selections;
     }
 
-    protected List<StringBuilder> queryCondition2Select(Query query,
-                                                        StringBuilder select) {
+    protected List<Select> queryCondition2Select(Query query, Select select) {
         // Query by conditions
-        Set<Condition> conditions = query.conditions();
-        List<StringBuilder> clauses = new ArrayList<>(conditions.size());
-        for (Condition condition : conditions) {
-            clauses.add(this.condition2Sql(condition));
-        }
         WhereBuilder where = this.newWhereBuilder();
-        where.and(clauses);
-        select.append(where.build());
+        int i = 0;
+        for (Condition condition : query.conditions()) {
+            if (i++ > 0) {
+                where.and();
+            }
+            this.condition2Sql(condition, where);
+        }
+        select.append(where);
         return ImmutableList.of(select);
     }
 
-    protected StringBuilder condition2Sql(Condition condition) {
+    protected void condition2Sql(Condition condition, WhereBuilder where) {
         switch (condition.type()) {
             case AND:
                 Condition.And and = (Condition.And) condition;
-                StringBuilder left = this.condition2Sql(and.left());
-                StringBuilder right = this.condition2Sql(and.right());
-                int size = left.length() + right.length() + " AND ".length();
-                StringBuilder sql = new StringBuilder(size);
-                sql.append(left).append(" AND ").append(right);
-                return sql;
+                this.condition2Sql(and.left(), where);
+                where.and();
+                this.condition2Sql(and.right(), where);
+                break;
             case OR:
                 throw new BackendException("Not support OR currently");
             case RELATION:
                 Condition.Relation r = (Condition.Relation) condition;
-                return this.relation2Sql(r);
+                this.relation2Sql(r, where);
+                break;
             default:
                 final String msg = "Unsupported condition: " + condition;
                 throw new AssertionError(msg);
         }
     }
 
-    protected StringBuilder relation2Sql(Condition.Relation relation) {
+    protected void relation2Sql(Condition.Relation relation,
+                                WhereBuilder where) {
         String key = relation.serialKey().toString();
-        Object value = relation.serialValue();
+        Object value = this.relationValue(relation);
+        where.relation(key, relation.relation(), value);
+    }
 
-        WhereBuilder sql = this.newWhereBuilder(false);
-        sql.relation(key, relation.relation(), value);
-        return sql.build();
+    protected Object relationValue(Condition.Relation relation) {
+        Object value = relation.serialValue();
+        String type = this.tableDefine().columns().get(relation.serialKey());
+        if (type == null || !type.startsWith(DECIMAL)) {
+            return value;
+        }
+        // Bind decimal parameters to decimal columns like insert() does
+        if (value instanceof List) {
+            List<?> values = (List<?>) value;
+            List<Object> decimals = new ArrayList<>(values.size());
+            for (Object v : values) {
+                decimals.add(new BigDecimal(v.toString()));
+            }
+            return decimals;
+        }
+        return new BigDecimal(value.toString());
     }
 
     protected WhereBuilder newWhereBuilder() {
@@ -592,10 +618,10 @@ public abstract class MysqlTable
     }
 
     protected WhereBuilder newWhereBuilder(boolean startWithWhere) {
-        return new WhereBuilder(startWithWhere);
+        return new WhereBuilder(startWithWhere, true);
     }
 
-    protected void wrapOrderBy(StringBuilder select, Query query) {
+    protected void wrapOrderBy(Select select, Query query) {
         int size = query.orders().size();
         assert size > 0;
 
@@ -619,7 +645,7 @@ public abstract class MysqlTable
         }
     }
 
-    protected void wrapPage(StringBuilder select, Query query, boolean scan) {
+    protected void wrapPage(Select select, Query query, boolean scan) {
         String page = query.page();
         // It's the first time if page is empty
         if (!page.isEmpty()) {
@@ -640,16 +666,16 @@ public abstract class MysqlTable
                 where.and();
             }
             where.gte(formatKeys(idColumnNames), values);
-            select.append(where.build());
+            select.append(where);
         }
     }
 
-    private void wrapLimit(StringBuilder select, Query query) {
+    private void wrapLimit(Select select, Query query) {
         select.append(this.orderByKeys());
         if (!query.noLimit()) {
             // Fetch `limit + 1` rows for judging whether reached the last page
-            select.append(" limit ");
-            select.append(query.limit() + 1);
+            select.append(" limit ?");
+            select.parameter(query.limit() + 1);
         }
         select.append(";");
     }
@@ -658,14 +684,14 @@ public abstract class MysqlTable
         return Strings.EMPTY;
     }
 
-    protected void wrapOffset(StringBuilder select, Query query) {
+    protected void wrapOffset(Select select, Query query) {
         assert query.limit() >= 0;
         assert query.offset() >= 0;
         // Set limit and offset
-        select.append(" limit ");
-        select.append(query.limit());
-        select.append(" offset ");
-        select.append(query.offset());
+        select.append(" limit ?");
+        select.parameter(query.limit());
+        select.append(" offset ?");
+        select.parameter(query.offset());
         select.append(";");
 
         query.goOffset(query.offset());
@@ -697,6 +723,59 @@ public abstract class MysqlTable
         return names;
     }
 
+    /**
+     * The sql template of a select statement, with the values to be bound to
+     * its '?' placeholders in order
+     */
+    protected static class Select {
+
+        private final StringBuilder sql;
+        private final List<Object> parameters;
+
+        public Select() {
+            this(new StringBuilder(64), new ArrayList<>());
+        }
+
+        private Select(StringBuilder sql, List<Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        public Select append(String sql) {
+            this.sql.append(sql);
+            return this;
+        }
+
+        public Select append(WhereBuilder where) {
+            this.sql.append(where.build());
+            this.parameters.addAll(where.parameters());
+            return this;
+        }
+
+        public Select parameter(Object value) {
+            this.parameters.add(value);
+            return this;
+        }
+
+        public Select copy() {
+            return new Select(new StringBuilder(this.sql),
+                              new ArrayList<>(this.parameters));
+        }
+
+        public String sql() {
+            return this.sql.toString();
+        }
+
+        public List<Object> parameters() {
+            return this.parameters;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s", this.sql, this.parameters);
+        }
+    }
+
     private static class MysqlShardSpliter extends ShardSpliter<Session> {
 
         private static final String BASE64 =
@@ -19,6 +19,8 @@
 
 package com.baidu.hugegraph.backend.store.mysql;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import com.baidu.hugegraph.backend.query.Condition.RelationType;
@@ -28,17 +30,31 @@ import com.baidu.hugegraph.util.E;
 public class WhereBuilder {
 
     private StringBuilder builder;
+    // The values bound to the '?' placeholders if parameterized
+    private List<Object> parameters;
 
     public WhereBuilder() {
         this(true);
     }
 
     public WhereBuilder(boolean startWithWhere) {
+        this(startWithWhere, false);
+    }
+
+    /**
+     * @param startWithWhere whether to start with the 'WHERE' keyword
+     * @param parameterized  append '?' instead of the values and collect the
+     *                       values as parameters of the prepared statement,
+     *                       so that the statements with the same shape can
+     *                       share one sql template
+     */
+    public WhereBuilder(boolean startWithWhere, boolean parameterized) {
         if (startWithWhere) {
             this.builder = new StringBuilder(" WHERE ");
         } else {
             this.builder = new StringBuilder(" ");
         }
+        this.parameters = parameterized ? new ArrayList<>() : null;
     }
 
     public WhereBuilder relation(String key, RelationType type, Object value) {
@@ -202,16 +218,28 @@ public class WhereBuilder {
     }
 
     /**
-     * Concat as: key in (value1, value2...)
+     * Concat as: key in (value1, value2...), the parameterized values are
+     * padded with the last value to the next power of two
      * @param key the key to be concatted with 'IN' operator
      * @param values the values to be concated with ',' and wappred by '()'
      * @return WhereBuilder
      */
     public WhereBuilder in(String key, List<Object> values) {
         this.builder.append(key).append(" IN (");
-        for (int i = 0, n = values.size(); i < n; i++) {
-            this.builder.append(wrapStringIfNeeded(values.get(i)));
-            if (i != n - 1) {
+        int size = values.size();
+        if (this.parameters != null && size > 0) {
+            /*
+             * Pad the values with the last one to the next power of two,
+             * so that the lists of varying sizes share a few sql templates
+             * instead of churning the cached statements of the session
+             */
+            int padded = Integer.highestOneBit(size);
+            size = padded == size ? size : padded << 1;
+        }
+        for (int i = 0; i < size; i++) {
+            Object value = values.get(Math.min(i, values.size() - 1));
+            this.builder.append(wrapStringIfNeeded(value));
+            if (i != size - 1) {
                 this.builder.append(", ");
             }
         }
@@ -270,12 +298,28 @@ public class WhereBuilder {
         return this.builder;
     }
 
+    /**
+     * The values to be bound to the '?' placeholders in order,
+     * always empty if not parameterized
+     * @return the parameters list
+     */
+    public List<Object> parameters() {
+        if (this.parameters == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(this.parameters);
+    }
+
     @Override
     public String toString() {
         return this.builder.toString();
     }
 
     protected String wrapStringIfNeeded(Object value) {
+        if (this.parameters != null) {
+            this.parameters.add(this.parameterValue(value));
+            return "?";
+        }
         if (value instanceof String) {
             return this.escapeAndWrapString((String) value);
         } else {
@@ -286,4 +330,8 @@ public class WhereBuilder {
     protected String escapeAndWrapString(String value) {
         return MysqlUtil.escapeAndWrapString(value);
     }
+
+    protected Object parameterValue(Object value) {
+        return value;
+    }
 }
@@ -122,6 +122,12 @@ public class PostgresqlSessions extends MysqlSessions {
         return this.config().get(PostgresqlOptions.POSTGRESQL_CONNECT_DATABASE);
     }
 
+    @Override
+    protected boolean fetchInTransaction() {
+        // The fetch size is ignored by the driver under auto-commit
+        return true;
+    }
+
     public static String escapeAndWrapString(String value) {
         StringBuilder builder = new StringBuilder(8 + value.length());
         builder.append('\'');
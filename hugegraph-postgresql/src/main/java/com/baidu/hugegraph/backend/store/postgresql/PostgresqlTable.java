@@ -131,13 +131,13 @@ public abstract class PostgresqlTable extends MysqlTable {
 
     @Override
     protected WhereBuilder newWhereBuilder(boolean startWithWhere) {
-        return new PgWhereBuilder(startWithWhere);
+        return new PgWhereBuilder(startWithWhere, true);
     }
 
     private static class PgWhereBuilder extends WhereBuilder {
 
-        public PgWhereBuilder(boolean startWithWhere) {
-            super(startWithWhere);
+        public PgWhereBuilder(boolean startWithWhere, boolean parameterized) {
+            super(startWithWhere, parameterized);
         }
 
         @Override
@@ -147,5 +147,13 @@ public abstract class PostgresqlTable extends MysqlTable {
             }
             return PostgresqlSessions.escapeAndWrapString(value);
         }
+
+        @Override
+        protected Object parameterValue(Object value) {
+            if ("\u0000".equals(value)) {
+                return "";
+            }
+            return value;
+        }
     }
 }
@@ -33,6 +33,16 @@ public class RocksDBFeatures implements BackendFeatures {
         return true;
     }
 
+    @Override
+    public boolean supportsBulkLoad() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsSnapshotRead() {
+        return true;
+    }
+
     @Override
     public boolean supportsScanToken() {
         return false;
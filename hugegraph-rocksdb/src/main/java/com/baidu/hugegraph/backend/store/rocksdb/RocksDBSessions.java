@@ -19,6 +19,7 @@
 
 package com.baidu.hugegraph.backend.store.rocksdb;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -76,6 +77,8 @@ public abstract class RocksDBSessions extends BackendSessionPool {
         public static final int SCAN_GTE_BEGIN = 0x0c;
         public static final int SCAN_LT_END = 0x10;
         public static final int SCAN_LTE_END = 0x30;
+        // Bulk scan a large range, like scanning all records or a shard
+        public static final int SCAN_BULK = 0x100;
 
         public abstract String dataPath();
         public abstract String walPath();
@@ -84,6 +87,32 @@ public abstract class RocksDBSessions extends BackendSessionPool {
         public abstract Pair<byte[], byte[]> keyRange(String table);
         public abstract void compactRange(String table);
 
+        /**
+         * Pin a snapshot of the db, the following reads of this session
+         * will see the same view until releaseSnapshot() is called.
+         * It can be nested, and the snapshot is released by the last
+         * releaseSnapshot() which matches the first openSnapshot().
+         */
+        public abstract void openSnapshot();
+        public abstract void releaseSnapshot();
+        public abstract boolean hasSnapshot();
+
+        /**
+         * Share the snapshot opened by a session of another thread, which
+         * is got by snapshot(), the following reads of this session will
+         * see the same view as that session until releaseSnapshot() is
+         * called. The shared snapshot is released by the last session.
+         */
+        public abstract void openSnapshot(Object snapshot);
+        public abstract Object snapshot();
+
+        /**
+         * Write the following commits of this session without WAL, the
+         * written data is only durable after the tables are flushed.
+         */
+        public abstract void bulkLoad(boolean enabled);
+        public abstract void flush(String... tables);
+
         public abstract void put(String table, byte[] key, byte[] value);
         public abstract void merge(String table, byte[] key, byte[] value);
         public abstract void increase(String table, byte[] key, byte[] value);
@@ -95,10 +124,15 @@ public abstract class RocksDBSessions extends BackendSessionPool {
                                          byte[] keyFrom, byte[] keyTo);
 
         public abstract byte[] get(String table, byte[] key);
+        public abstract BackendColumnIterator get(String table,
+                                                  List<byte[]> keys);
 
         public abstract BackendColumnIterator scan(String table);
         public abstract BackendColumnIterator scan(String table,
                                                    byte[] prefix);
+        public abstract Iterator<BackendColumnIterator> scan(
+                                                   String table,
+                                                   Iterator<byte[]> prefixes);
         public abstract BackendColumnIterator scan(String table,
                                                    byte[] keyFrom,
                                                    byte[] keyTo,
@@ -26,7 +26,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -48,14 +50,18 @@ import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
 import org.rocksdb.DBOptionsInterface;
 import org.rocksdb.Env;
+import org.rocksdb.FlushOptions;
 import org.rocksdb.InfoLogLevel;
 import org.rocksdb.LRUCache;
 import org.rocksdb.MutableColumnFamilyOptionsInterface;
 import org.rocksdb.MutableDBOptionsInterface;
 import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+import org.rocksdb.Snapshot;
 import org.rocksdb.SstFileManager;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
@@ -65,6 +71,7 @@ import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.serializer.BinarySerializer;
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIteratorWrapper;
 import com.baidu.hugegraph.backend.store.BackendEntryIterator;
 import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
@@ -78,6 +85,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
     private static final Logger LOG = Log.logger(RocksDBStdSessions.class);
 
+    private static final long BULK_SCAN_READAHEAD_SIZE = 2L * Bytes.MB;
+
     private final HugeConfig config;
     private final String dataPath;
     private final String walPath;
@@ -671,6 +680,21 @@ public class RocksDBStdSessions extends RocksDBSessions {
         }
     }
 
+    /**
+     * Get the smallest key greater than all the keys with the prefix
+     * @return the next prefix, or null if there is no such key
+     */
+    private static byte[] nextPrefix(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xff) {
+                byte[] next = Arrays.copyOf(prefix, i + 1);
+                next[i]++;
+                return next;
+            }
+        }
+        return null;
+    }
+
     public static final byte[] encode(String string) {
         return StringEncoding.encode(string);
     }
@@ -783,6 +807,48 @@ public class RocksDBStdSessions extends RocksDBSessions {
         }
     }
 
+    /**
+     * A snapshot pinned by a session, which can be shared with the sessions
+     * of other threads, it's released by the last session using it
+     */
+    private final class SharedSnapshot {
+
+        private final Snapshot snapshot;
+        private final AtomicInteger refs;
+
+        public SharedSnapshot(Snapshot snapshot) {
+            E.checkNotNull(snapshot, "snapshot");
+            this.snapshot = snapshot;
+            this.refs = new AtomicInteger(1);
+        }
+
+        public Snapshot get() {
+            return this.snapshot;
+        }
+
+        public RocksDBStdSessions db() {
+            return RocksDBStdSessions.this;
+        }
+
+        public boolean retain() {
+            int refs;
+            do {
+                refs = this.refs.get();
+                if (refs <= 0) {
+                    // Has been released by all the sessions
+                    return false;
+                }
+            } while (!this.refs.compareAndSet(refs, refs + 1));
+            return true;
+        }
+
+        public void release() {
+            if (this.refs.decrementAndGet() == 0) {
+                rocksdb().releaseSnapshot(this.snapshot);
+            }
+        }
+    }
+
     /**
      * StdSession implement for RocksDB
      */
@@ -790,19 +856,25 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
         private WriteBatch batch;
         private WriteOptions writeOptions;
+        private final boolean raftMode;
+
+        private SharedSnapshot snapshot;
+        private int snapshotRefs;
 
         public StdSession(HugeConfig conf) {
-            boolean raftMode = conf.get(CoreOptions.RAFT_MODE);
+            this.raftMode = conf.get(CoreOptions.RAFT_MODE);
             this.batch = new WriteBatch();
             this.writeOptions = new WriteOptions();
             /*
              * When work under raft mode. if store crashed, the state-machine
              * can restore by snapshot + raft log, doesn't need wal and sync
              */
-            if (raftMode) {
+            if (this.raftMode) {
                 this.writeOptions.setDisableWAL(true);
                 this.writeOptions.setSync(false);
             }
+            this.snapshot = null;
+            this.snapshotRefs = 0;
         }
 
         @Override
@@ -813,6 +885,10 @@ public class RocksDBStdSessions extends RocksDBSessions {
         @Override
         public void close() {
             assert this.closeable();
+            if (this.snapshot != null) {
+                this.snapshotRefs = 1;
+                this.releaseSnapshot();
+            }
             this.opened = false;
         }
 
@@ -885,6 +961,77 @@ public class RocksDBStdSessions extends RocksDBSessions {
             }
         }
 
+        @Override
+        public void openSnapshot() {
+            if (this.snapshotRefs++ == 0) {
+                assert this.snapshot == null;
+                this.snapshot = new SharedSnapshot(rocksdb().getSnapshot());
+            }
+        }
+
+        @Override
+        public void openSnapshot(Object snapshot) {
+            E.checkArgument(snapshot instanceof SharedSnapshot &&
+                            ((SharedSnapshot) snapshot).db() ==
+                            RocksDBStdSessions.this,
+                            "Invalid snapshot of %s: %s",
+                            this.dataPath(), snapshot);
+            if (this.snapshotRefs == 0) {
+                assert this.snapshot == null;
+                SharedSnapshot shared = (SharedSnapshot) snapshot;
+                E.checkState(shared.retain(),
+                             "The snapshot to share has been released");
+                this.snapshot = shared;
+            }
+            // Keep the current view if a snapshot has been opened
+            this.snapshotRefs++;
+        }
+
+        @Override
+        public void releaseSnapshot() {
+            E.checkState(this.snapshotRefs > 0,
+                         "No snapshot opened to release");
+            if (--this.snapshotRefs == 0) {
+                assert this.snapshot != null;
+                this.snapshot.release();
+                this.snapshot = null;
+            }
+        }
+
+        @Override
+        public boolean hasSnapshot() {
+            return this.snapshot != null;
+        }
+
+        @Override
+        public Object snapshot() {
+            return this.snapshot;
+        }
+
+        @Override
+        public void bulkLoad(boolean enabled) {
+            if (this.raftMode) {
+                // The WAL is always disabled under raft mode
+                return;
+            }
+            this.writeOptions.setDisableWAL(enabled);
+        }
+
+        @Override
+        public void flush(String... tables) {
+            // The data written without WAL only exists in memtables
+            try (FlushOptions options = new FlushOptions()) {
+                options.setWaitForFlush(true);
+                for (String table : tables) {
+                    try (CFHandle cf = cf(table)) {
+                        rocksdb().flush(options, cf.get());
+                    }
+                }
+            } catch (RocksDBException e) {
+                throw new BackendException(e);
+            }
+        }
+
         /**
          * Commit all updates(put/delete) to DB
          */
@@ -1014,10 +1161,50 @@ public class RocksDBStdSessions extends RocksDBSessions {
             assert !this.hasChanges();
 
             try (CFHandle cf = cf(table)) {
-                return rocksdb().get(cf.get(), key);
+                if (this.snapshot == null) {
+                    return rocksdb().get(cf.get(), key);
+                }
+                try (ReadOptions options = this.readOptions()) {
+                    return rocksdb().get(cf.get(), options, key);
+                }
+            } catch (RocksDBException e) {
+                throw new BackendException(e);
+            }
+        }
+
+        /**
+         * Get records by a batch of keys from a table, the missing keys
+         * will be skipped and the order of the found keys is retained
+         */
+        @Override
+        public BackendColumnIterator get(String table, List<byte[]> keys) {
+            assert !this.hasChanges();
+
+            List<byte[]> values;
+            try (CFHandle cf = cf(table)) {
+                // Each key needs a column family handle to multiGet()
+                List<ColumnFamilyHandle> cfs = Collections.nCopies(
+                                               keys.size(), cf.get());
+                if (this.snapshot == null) {
+                    values = rocksdb().multiGetAsList(cfs, keys);
+                } else {
+                    try (ReadOptions options = this.readOptions()) {
+                        values = rocksdb().multiGetAsList(options, cfs, keys);
+                    }
+                }
             } catch (RocksDBException e) {
                 throw new BackendException(e);
             }
+
+            assert values.size() == keys.size();
+            List<BackendColumn> cols = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] value = values.get(i);
+                if (value != null) {
+                    cols.add(BackendColumn.of(keys.get(i), value));
+                }
+            }
+            return new BackendColumnIteratorWrapper(cols.iterator());
         }
 
         /**
@@ -1026,9 +1213,13 @@ public class RocksDBStdSessions extends RocksDBSessions {
         @Override
         public BackendColumnIterator scan(String table) {
             assert !this.hasChanges();
+            int scanType = SCAN_ANY | SCAN_BULK;
+            ScanOptions options = this.scanOptions(null, null, scanType);
             try (CFHandle cf = cf(table)) {
-                RocksIterator iter = rocksdb().newIterator(cf.get());
-                return new ColumnIterator(table, iter, null, null, SCAN_ANY);
+                RocksIterator iter = rocksdb().newIterator(cf.get(),
+                                                           options.get());
+                return new ColumnIterator(table, iter, options,
+                                          null, null, scanType);
             }
         }
 
@@ -1040,17 +1231,36 @@ public class RocksDBStdSessions extends RocksDBSessions {
             assert !this.hasChanges();
             /*
              * NOTE: Options.prefix_extractor is a prerequisite for
-             * Options.setPrefixSameAsStart(true):
-             * ReadOptions options = new ReadOptions();
-             * options.setPrefixSameAsStart(true);
+             * Options.setPrefixSameAsStart(true), so set the upper bound
+             * to the next prefix instead to stop the iterator early
              */
+            ScanOptions options = this.scanOptions(prefix, null,
+                                                   SCAN_PREFIX_BEGIN);
             try (CFHandle cf = cf(table)) {
-                RocksIterator iter = rocksdb().newIterator(cf.get());
-                return new ColumnIterator(table, iter, prefix, null,
+                RocksIterator iter = rocksdb().newIterator(cf.get(),
+                                                           options.get());
+                return new ColumnIterator(table, iter, options, prefix, null,
                                           SCAN_PREFIX_BEGIN);
             }
         }
 
+        /**
+         * Scan records by a batch of key prefixes from a table, the records
+         * of each prefix are scanned in turn by the same RocksIterator
+         */
+        @Override
+        public Iterator<BackendColumnIterator> scan(String table,
+                                                    Iterator<byte[]> prefixes) {
+            assert !this.hasChanges();
+            // NOTE: can't set the upper bound since the iterator is shared
+            ScanOptions options = this.scanOptions(null, null, SCAN_ANY);
+            try (CFHandle cf = cf(table)) {
+                RocksIterator iter = rocksdb().newIterator(cf.get(),
+                                                           options.get());
+                return new PrefixesIterator(table, iter, options, prefixes);
+            }
+        }
+
         /**
          * Scan records by key range from a table
          */
@@ -1063,12 +1273,134 @@ public class RocksDBStdSessions extends RocksDBSessions {
              * ReadOptions options = new ReadOptions();
              * options.setTotalOrderSeek(true);
              */
+            ScanOptions options = this.scanOptions(keyFrom, keyTo, scanType);
             try (CFHandle cf = cf(table)) {
-                RocksIterator iter = rocksdb().newIterator(cf.get());
-                return new ColumnIterator(table, iter, keyFrom,
+                RocksIterator iter = rocksdb().newIterator(cf.get(),
+                                                           options.get());
+                return new ColumnIterator(table, iter, options, keyFrom,
                                           keyTo, scanType);
             }
         }
+
+        private ReadOptions readOptions() {
+            ReadOptions options = new ReadOptions();
+            if (this.snapshot != null) {
+                options.setSnapshot(this.snapshot.get());
+            }
+            return options;
+        }
+
+        private ScanOptions scanOptions(byte[] keyBegin, byte[] keyEnd,
+                                        int scanType) {
+            ReadOptions options = this.readOptions();
+            if (Session.matchScanType(SCAN_BULK, scanType)) {
+                // Don't evict the hot blocks from cache by bulk scan
+                options.setFillCache(false);
+                options.setReadaheadSize(BULK_SCAN_READAHEAD_SIZE);
+            }
+
+            /*
+             * Set the exclusive upper bound of the keys to scan, then the
+             * iterator will be invalid beyond it, rather than skipping the
+             * deleted keys after it until the filter failed.
+             * NOTE: the default comparator of RocksDB is unsigned bytewise
+             */
+            byte[] upperBound = null;
+            if (Session.matchScanType(SCAN_PREFIX_BEGIN, scanType)) {
+                upperBound = nextPrefix(keyBegin);
+            } else if (Session.matchScanType(SCAN_PREFIX_END, scanType) ||
+                       Session.matchScanType(SCAN_LTE_END, scanType)) {
+                upperBound = nextPrefix(keyEnd);
+            } else if (Session.matchScanType(SCAN_LT_END, scanType)) {
+                upperBound = keyEnd;
+            }
+
+            Slice upperBoundSlice = null;
+            if (upperBound != null) {
+                upperBoundSlice = new Slice(upperBound);
+                options.setIterateUpperBound(upperBoundSlice);
+            }
+            return new ScanOptions(options, upperBoundSlice);
+        }
+    }
+
+    /**
+     * The ReadOptions of a RocksIterator with the upper bound it refers to,
+     * they must be alive until the RocksIterator is closed
+     */
+    private static class ScanOptions implements AutoCloseable {
+
+        private final ReadOptions options;
+        private final Slice upperBound;
+
+        public ScanOptions(ReadOptions options, Slice upperBound) {
+            this.options = options;
+            this.upperBound = upperBound;
+        }
+
+        public ReadOptions get() {
+            return this.options;
+        }
+
+        @Override
+        public void close() {
+            this.options.close();
+            if (this.upperBound != null) {
+                this.upperBound.close();
+            }
+        }
+    }
+
+    /**
+     * A wrapper for RocksIterator that scan each prefix in turn, the
+     * RocksIterator is shared by the ColumnIterator of each prefix
+     */
+    private static class PrefixesIterator
+                   implements Iterator<BackendColumnIterator>, AutoCloseable {
+
+        private final String table;
+        private final RocksIterator iter;
+        private final ScanOptions options;
+        private final Iterator<byte[]> prefixes;
+
+        public PrefixesIterator(String table, RocksIterator iter,
+                                ScanOptions options,
+                                Iterator<byte[]> prefixes) {
+            E.checkNotNull(iter, "iter");
+            E.checkNotNull(options, "options");
+            this.table = table;
+            this.iter = iter;
+            this.options = options;
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.iter.isOwningHandle() && this.prefixes.hasNext()) {
+                return true;
+            }
+            // Free the iterator if finished
+            this.close();
+            return false;
+        }
+
+        @Override
+        public BackendColumnIterator next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return new ColumnIterator(this.table, this.iter, null,
+                                      this.prefixes.next(), null,
+                                      Session.SCAN_PREFIX_BEGIN);
+        }
+
+        @Override
+        public void close() {
+            if (this.iter.isOwningHandle()) {
+                this.iter.close();
+                this.options.close();
+            }
+        }
     }
 
     /**
@@ -1079,6 +1411,11 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
         private final String table;
         private final RocksIterator iter;
+        /*
+         * The options of the RocksIterator, which are closed with it when
+         * the scan is finished, or null if the RocksIterator is not owned
+         */
+        private final ScanOptions options;
         private final byte[] keyBegin;
         private final byte[] keyEnd;
         private final int scanType;
@@ -1087,11 +1424,13 @@ public class RocksDBStdSessions extends RocksDBSessions {
         private boolean matched;
 
         public ColumnIterator(String table, RocksIterator iter,
-                              byte[] keyBegin, byte[] keyEnd, int scanType) {
+                              ScanOptions options, byte[] keyBegin,
+                              byte[] keyEnd, int scanType) {
             E.checkNotNull(iter, "iter");
             this.table = table;
 
             this.iter = iter;
+            this.options = options;
             this.keyBegin = keyBegin;
             this.keyEnd = keyEnd;
             this.scanType = scanType;
@@ -1293,8 +1632,9 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
         @Override
         public void close() {
-            if (this.iter.isOwningHandle()) {
+            if (this.options != null && this.iter.isOwningHandle()) {
                 this.iter.close();
+                this.options.close();
             }
         }
     }
@@ -62,6 +62,7 @@ import com.baidu.hugegraph.backend.store.BackendTable;
 import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.exception.ConnectionException;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.Consumers;
 import com.baidu.hugegraph.util.E;
@@ -131,6 +132,57 @@ public abstract class RocksDBStore extends AbstractBackendStore<Session> {
             RocksDBMetrics metrics = new RocksDBMetrics(dbsGet.get(), session);
             return metrics.compact();
         });
+
+        this.registerMetaHandler("bulk_load", (session, meta, args) -> {
+            E.checkArgument(args.length == 1 && args[0] instanceof Boolean,
+                            "The args of bulk_load must be a boolean");
+            // Apply to the sessions of all disks held by current thread
+            for (Session s : this.session()) {
+                s.bulkLoad((Boolean) args[0]);
+            }
+            return null;
+        });
+
+        this.registerMetaHandler("snapshot", (session, meta, args) -> {
+            E.checkArgument(args.length == 1,
+                            "The args of snapshot must be a boolean or " +
+                            "the snapshot to share");
+            // Apply to the sessions of all disks held by current thread
+            List<Session> sessions = this.session();
+            if (Boolean.TRUE.equals(args[0])) {
+                // Pin a snapshot, return it to share with other threads
+                List<Object> snapshots = new ArrayList<>(sessions.size());
+                for (Session s : sessions) {
+                    s.openSnapshot();
+                    snapshots.add(s.snapshot());
+                }
+                return snapshots;
+            } else if (Boolean.FALSE.equals(args[0])) {
+                for (Session s : sessions) {
+                    s.releaseSnapshot();
+                }
+                return null;
+            }
+            E.checkArgument(args[0] instanceof List &&
+                            ((List<?>) args[0]).size() == sessions.size(),
+                            "Invalid snapshot to share: %s", args[0]);
+            List<?> snapshots = (List<?>) args[0];
+            for (int i = 0; i < sessions.size(); i++) {
+                sessions.get(i).openSnapshot(snapshots.get(i));
+            }
+            return null;
+        });
+
+        this.registerMetaHandler("flush", (session, meta, args) -> {
+            // Flush the tables of the specified types, like the bulk loaded
+            for (Object arg : args) {
+                E.checkArgument(arg instanceof HugeType,
+                                "The args of flush must be table types");
+                HugeType type = (HugeType) arg;
+                this.session(type).flush(this.table(type).table());
+            }
+            return null;
+        });
     }
 
     protected void registerTableManager(HugeType type, RocksDBTable table) {
@@ -440,6 +492,35 @@ public abstract class RocksDBStore extends AbstractBackendStore<Session> {
         }
     }
 
+    @Override
+    public Iterator<BackendEntry> query(List<Query> queries) {
+        Lock readLock = this.storeLock.readLock();
+        readLock.lock();
+        try {
+            this.checkOpened();
+
+            // Query each run of the queries with the same table in batch
+            ExtendableIterator<BackendEntry> results =
+                                             new ExtendableIterator<>();
+            int start = 0;
+            for (int i = 1; i <= queries.size(); i++) {
+                HugeType tableType = RocksDBTable.tableType(
+                                     queries.get(start));
+                if (i < queries.size() &&
+                    RocksDBTable.tableType(queries.get(i)) == tableType) {
+                    continue;
+                }
+                RocksDBTable table = this.table(tableType);
+                results.extend(table.query(this.session(tableType),
+                                           queries.subList(start, i)));
+                start = i;
+            }
+            return results;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     @Override
     public Number queryNumber(Query query) {
         Lock readLock = this.storeLock.readLock();
@@ -20,6 +20,7 @@
 package com.baidu.hugegraph.backend.store.rocksdb;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -55,11 +56,14 @@ import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 import com.baidu.hugegraph.util.StringEncoding;
+import com.google.common.collect.Iterators;
 
 public class RocksDBTable extends BackendTable<Session, BackendEntry> {
 
     private static final Logger LOG = Log.logger(RocksDBStore.class);
 
+    private static final int MULTI_GET_BATCH = 1000;
+
     private final RocksDBShardSpliter shardSpliter;
 
     public RocksDBTable(String database, String table) {
@@ -145,6 +149,26 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         return newEntryIterator(this.queryBy(session, query), query);
     }
 
+    public Iterator<BackendEntry> query(Session session, List<Query> queries) {
+        for (Query query : queries) {
+            if (!isPlainPrefixQuery(query)) {
+                return new FlatMapperIterator<>(queries.iterator(),
+                                                q -> this.query(session, q));
+            }
+        }
+
+        // NOTE: scan all the prefixes by a shared rocksdb iterator
+        Iterator<byte[]> prefixes = Iterators.transform(queries.iterator(),
+                                    q -> ((IdPrefixQuery) q).prefix().asBytes());
+        Iterator<BackendColumnIterator> results = session.scan(this.table(),
+                                                               prefixes);
+        // The results are in the order of queries
+        Iterator<Query> iter = queries.iterator();
+        return new FlatMapperIterator<>(results, cols -> {
+            return newEntryIterator(cols, iter.next());
+        });
+    }
+
     protected BackendColumnIterator queryBy(Session session, Query query) {
         // Query all
         if (query.empty()) {
@@ -166,10 +190,11 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         // Query by id
         if (query.conditions().isEmpty()) {
             assert !query.ids().isEmpty();
-            // NOTE: this will lead to lazy create rocksdb iterator
-            return new BackendColumnIteratorWrapper(new FlatMapperIterator<>(
-                   query.ids().iterator(), id -> this.queryById(session, id)
-            ));
+            if (query.ids().size() == 1) {
+                Id id = query.ids().iterator().next();
+                return this.queryById(session, id);
+            }
+            return this.queryByIds(session, query.ids());
         }
 
         // Query by condition (or condition + id)
@@ -181,7 +206,8 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         if (query.paging()) {
             PageState page = PageState.fromString(query.page());
             byte[] begin = page.position();
-            return session.scan(this.table(), begin, null, Session.SCAN_ANY);
+            int type = Session.SCAN_ANY | Session.SCAN_BULK;
+            return session.scan(this.table(), begin, null, type);
         } else {
             return session.scan(this.table());
         }
@@ -192,6 +218,14 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         return session.scan(this.table(), id.asBytes());
     }
 
+    protected BackendColumnIterator queryByIds(Session session,
+                                               Collection<Id> ids) {
+        // NOTE: this will lead to lazy create rocksdb iterator
+        return new BackendColumnIteratorWrapper(new FlatMapperIterator<>(
+               ids.iterator(), id -> this.queryById(session, id)
+        ));
+    }
+
     protected BackendColumnIterator getById(Session session, Id id) {
         byte[] value = session.get(this.table(), id.asBytes());
         if (value == null) {
@@ -201,6 +235,22 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         return new BackendEntry.BackendColumnIteratorWrapper(col);
     }
 
+    protected BackendColumnIterator getByIds(Session session,
+                                             Collection<Id> ids) {
+        // NOTE: multi-get a batch of ids each time, and lazy get next batch
+        Iterator<List<Id>> batches = Iterators.partition(ids.iterator(),
+                                                         MULTI_GET_BATCH);
+        return new BackendColumnIteratorWrapper(new FlatMapperIterator<>(
+               batches, batch -> {
+                   List<byte[]> keys = new ArrayList<>(batch.size());
+                   for (Id id : batch) {
+                       keys.add(id.asBytes());
+                   }
+                   return session.get(this.table(), keys);
+               }
+        ));
+    }
+
     protected BackendColumnIterator queryByPrefix(Session session,
                                                   IdPrefixQuery query) {
         int type = query.inclusiveStart() ?
@@ -249,13 +299,24 @@ public class RocksDBTable extends BackendTable<Session, BackendEntry> {
         if (start == null) {
             start = ShardSpliter.START_BYTES;
         }
-        int type = Session.SCAN_GTE_BEGIN;
+        int type = Session.SCAN_GTE_BEGIN | Session.SCAN_BULK;
         if (end != null) {
             type |= Session.SCAN_LT_END;
         }
         return session.scan(this.table(), start, end, type);
     }
 
+    private static boolean isPlainPrefixQuery(Query query) {
+        if (!(query instanceof IdPrefixQuery) || query.paging()) {
+            return false;
+        }
+        if (query.limit() == 0L && !query.noLimit()) {
+            return false;
+        }
+        IdPrefixQuery pq = (IdPrefixQuery) query;
+        return pq.inclusiveStart() && pq.start().equals(pq.prefix());
+    }
+
     protected static final BackendEntryIterator newEntryIterator(
                                                 BackendColumnIterator cols,
                                                 Query query) {
@@ -21,6 +21,7 @@ package com.baidu.hugegraph.backend.store.rocksdb;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Collection;
 import java.util.List;
 
 import com.baidu.hugegraph.backend.id.Id;
@@ -136,6 +137,12 @@ public class RocksDBTables {
         protected BackendColumnIterator queryById(Session session, Id id) {
             return this.getById(session, id);
         }
+
+        @Override
+        protected BackendColumnIterator queryByIds(Session session,
+                                                   Collection<Id> ids) {
+            return this.getByIds(session, ids);
+        }
     }
 
     public static class Edge extends RocksDBTable {
@@ -159,6 +166,12 @@ public class RocksDBTables {
         protected BackendColumnIterator queryById(Session session, Id id) {
             return this.getById(session, id);
         }
+
+        @Override
+        protected BackendColumnIterator queryByIds(Session session,
+                                                   Collection<Id> ids) {
+            return this.getByIds(session, ids);
+        }
     }
 
     public static class IndexTable extends RocksDBTable {
@@ -24,7 +24,9 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -330,6 +332,41 @@ public class RocksDBSstSessions extends RocksDBSessions {
             throw new NotSupportException("RocksDBSstStore compactRange()");
         }
 
+        @Override
+        public void openSnapshot() {
+            // pass
+        }
+
+        @Override
+        public void openSnapshot(Object snapshot) {
+            // pass
+        }
+
+        @Override
+        public void releaseSnapshot() {
+            // pass
+        }
+
+        @Override
+        public boolean hasSnapshot() {
+            return false;
+        }
+
+        @Override
+        public Object snapshot() {
+            return null;
+        }
+
+        @Override
+        public void bulkLoad(boolean enabled) {
+            // pass
+        }
+
+        @Override
+        public void flush(String... tables) {
+            // pass
+        }
+
         /**
          * Add a KV record to a table
          */
@@ -402,6 +439,15 @@ public class RocksDBSstSessions extends RocksDBSessions {
             return null;
         }
 
+        /**
+         * Get records by a batch of keys from a table
+         */
+        @Override
+        public BackendColumnIterator get(String table, List<byte[]> keys) {
+            assert !this.hasChanges();
+            return BackendColumnIterator.empty();
+        }
+
         /**
          * Scan all records from a table
          */
@@ -420,6 +466,16 @@ public class RocksDBSstSessions extends RocksDBSessions {
             return BackendColumnIterator.empty();
         }
 
+        /**
+         * Scan records by a batch of key prefixes from a table
+         */
+        @Override
+        public Iterator<BackendColumnIterator> scan(String table,
+                                                    Iterator<byte[]> prefixes) {
+            assert !this.hasChanges();
+            return Collections.emptyIterator();
+        }
+
         /**
          * Scan records by key range from a table
          */